@@ -145,7 +145,26 @@ def _zippy_gate_runner(args, tasks):
 mx_gate.add_gate_runner(_suite, _zippy_gate_runner)
 
 
+def zippy_jmh(args):
+    """run the JMH benchmarks of the runtime, on plain HotSpot unless --graal is given"""
+    vmArgs = ['-cp', mx.classpath(["edu.uci.python.benchmark"])]
+    jdk = mx.get_jdk()
+    if '--graal' in args:
+        args = [arg for arg in args if arg != '--graal']
+        check_vm(must_be_jvmci=True)
+        jdk = get_jdk()
+        vmArgs += ['-XX:+UseJVMCICompiler', '-Djvmci.Compiler=graal']
+
+    env = os.environ
+    if not 'ZIPPY_HOME' in env:
+        env['ZIPPY_HOME'] = _suite.dir
+
+    # JMH forks its measurement VMs with the options of this one
+    return mx.run_java(vmArgs + ['org.openjdk.jmh.Main'] + args, jdk=jdk, env=env)
+
+
 mx.update_commands(_suite, {
     # new commands
     'python' : [python, '[Python args|@VM options]'],
+    'zippy-jmh' : [zippy_jmh, '[--graal] [JMH options]'],
 })
@@ -99,6 +99,16 @@ suite = {
       "workingSets" : "Truffle,Python",
     },
 
+    "edu.uci.python.benchmark" : {
+      "subDir" : "zippy",
+      "sourceDirs" : ["src"],
+      "dependencies" : ["edu.uci.python","mx:JMH_1_18"],
+      "checkstyle" : "edu.uci.python",
+      "javaCompliance" : "1.8",
+      "annotationProcessors" : ["mx:JMH_1_18"],
+      "workingSets" : "Truffle,Python",
+    },
+
   },
 
   "licenses" : {
@@ -141,5 +151,18 @@ suite = {
 
       "sourcesPath" : "zippy.tests.src.zip",
       },
+
+    "ZIPPY_MICRO_BENCHMARKS" : {
+      "description" : "JMH benchmarks of runtime data structures and the parser",
+      "dependencies" : [
+        "edu.uci.python.benchmark",
+       ],
+      "exclude": ["mx:JMH_1_18"],
+      "distDependencies" : [
+        "ZIPPY",
+      ],
+
+      "sourcesPath" : "zippy.benchmarks.src.zip",
+      },
   },
 }
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.sequence.*;
+
+/**
+ * Insertion and lookup in {@link PDict} and {@link PBaseSet} with int, string and mixed keys, so
+ * that each key specialized storage and the generalized one are covered.
+ */
+@State(Scope.Thread)
+public class DictAndSetBenchmark extends ZipPyBenchmark {
+
+    @Param({"16", "1024", "65536"}) public int size;
+
+    private Object[] intKeys;
+    private Object[] stringKeys;
+    private Object[] mixedKeys;
+    private PDict intDict;
+    private PDict stringDict;
+    private PDict mixedDict;
+    private PSet intSet;
+    private PSet stringSet;
+    private PSet overlappingIntSet;
+
+    @Setup
+    public void setup() {
+        intKeys = new Object[size];
+        stringKeys = new Object[size];
+        mixedKeys = new Object[size];
+        for (int i = 0; i < size; i++) {
+            intKeys[i] = i * 7;
+            stringKeys[i] = "key" + i;
+            mixedKeys[i] = i % 2 == 0 ? intKeys[i] : stringKeys[i];
+        }
+
+        intDict = fillDict(intKeys);
+        stringDict = fillDict(stringKeys);
+        mixedDict = fillDict(mixedKeys);
+        intSet = fillSet(intKeys);
+        stringSet = fillSet(stringKeys);
+
+        Object[] overlappingKeys = new Object[size];
+        for (int i = 0; i < size; i++) {
+            overlappingKeys[i] = i * 14;
+        }
+
+        overlappingIntSet = fillSet(overlappingKeys);
+    }
+
+    private static PDict fillDict(Object[] keys) {
+        PDict dict = new PDict();
+        for (int i = 0; i < keys.length; i++) {
+            dict.setItem(keys[i], i);
+        }
+
+        return dict;
+    }
+
+    private static PSet fillSet(Object[] keys) {
+        PSet set = new PSet();
+        for (int i = 0; i < keys.length; i++) {
+            set.add(keys[i]);
+        }
+
+        return set;
+    }
+
+    @Benchmark
+    public PDict dictSetIntKeys() {
+        return fillDict(intKeys);
+    }
+
+    @Benchmark
+    public PDict dictSetStringKeys() {
+        return fillDict(stringKeys);
+    }
+
+    @Benchmark
+    public PDict dictSetMixedKeys() {
+        return fillDict(mixedKeys);
+    }
+
+    @Benchmark
+    public int dictGetIntKeys() {
+        return lookup(intDict, intKeys);
+    }
+
+    @Benchmark
+    public int dictGetStringKeys() {
+        return lookup(stringDict, stringKeys);
+    }
+
+    @Benchmark
+    public int dictGetMixedKeys() {
+        return lookup(mixedDict, mixedKeys);
+    }
+
+    private static int lookup(PDict dict, Object[] keys) {
+        int found = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (dict.getItem(keys[i]) != null) {
+                found++;
+            }
+        }
+
+        return found;
+    }
+
+    @Benchmark
+    public PSet setAddIntKeys() {
+        return fillSet(intKeys);
+    }
+
+    @Benchmark
+    public PSet setAddStringKeys() {
+        return fillSet(stringKeys);
+    }
+
+    @Benchmark
+    public int setContainsIntKeys() {
+        return contains(intSet, intKeys);
+    }
+
+    @Benchmark
+    public int setContainsStringKeys() {
+        return contains(stringSet, stringKeys);
+    }
+
+    private static int contains(PBaseSet set, Object[] keys) {
+        int found = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (set.contains(keys[i])) {
+                found++;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Half of the keys are shared.
+     */
+    @Benchmark
+    public PBaseSet setIntersection() {
+        return intSet.intersection(overlappingIntSet);
+    }
+
+    @Benchmark
+    public PBaseSet setUnion() {
+        return intSet.union(overlappingIntSet);
+    }
+
+    /**
+     * Unites int and string keys, which generalizes the storage of the result.
+     */
+    @Benchmark
+    public PBaseSet setUnionGeneralizing() {
+        return intSet.union(stringSet);
+    }
+
+}
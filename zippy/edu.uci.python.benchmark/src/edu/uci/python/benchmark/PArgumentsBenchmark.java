@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.benchmark;
+
+import java.util.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import edu.uci.python.runtime.function.*;
+
+/**
+ * Creation of the frame argument arrays for calls with positional and keyword arguments, at the
+ * arities of typical Python functions.
+ */
+@State(Scope.Thread)
+public class PArgumentsBenchmark extends ZipPyBenchmark {
+
+    @Param({"0", "2", "6"}) public int arity;
+
+    private Object[] userArguments;
+    private Arity calleeArity;
+    private PKeyword[] keywords;
+    private Object[] positionalHalf;
+
+    @Setup
+    public void setup() {
+        userArguments = new Object[arity];
+        List<String> parameterIds = new ArrayList<>();
+        for (int i = 0; i < arity; i++) {
+            userArguments[i] = i;
+            parameterIds.add("arg" + i);
+        }
+
+        calleeArity = new Arity("callee", arity, arity, parameterIds);
+        int positional = arity / 2;
+        keywords = new PKeyword[arity - positional];
+        for (int i = positional; i < arity; i++) {
+            keywords[i - positional] = new PKeyword("arg" + i, i);
+        }
+
+        positionalHalf = Arrays.copyOf(userArguments, positional);
+    }
+
+    @Benchmark
+    public Object[] create() {
+        Object[] arguments = PArguments.create(arity);
+        for (int i = 0; i < arity; i++) {
+            PArguments.setArgument(arguments, i, userArguments[i]);
+        }
+
+        return arguments;
+    }
+
+    @Benchmark
+    public Object[] createWithUserArguments() {
+        return PArguments.createWithUserArguments(userArguments);
+    }
+
+    @Benchmark
+    public Object[] insertSelf() {
+        return PArguments.insertSelf(PArguments.createWithUserArguments(userArguments), this);
+    }
+
+    /**
+     * Passes the first half of the arguments positionally and the rest by keyword.
+     */
+    @Benchmark
+    public Object[] applyKeywordArgs() {
+        return PArguments.applyKeywordArgs(calleeArity, PArguments.createWithUserArguments(positionalHalf), keywords);
+    }
+
+}
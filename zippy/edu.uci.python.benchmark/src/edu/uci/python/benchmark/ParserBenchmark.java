@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.benchmark;
+
+import java.io.*;
+import java.nio.file.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.oracle.truffle.api.source.*;
+
+import edu.uci.python.*;
+import edu.uci.python.builtins.*;
+import edu.uci.python.parser.*;
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.standardtype.*;
+
+/**
+ * Parse and translation throughput of {@link PythonParserImpl#parse} on whole benchmark programs
+ * of increasing size. The parse cache is off unless set on the command line.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.MILLISECONDS)
+public class ParserBenchmark extends ZipPyBenchmark {
+
+    @Param({"richards3.py", "nbody3.py", "pypy-go.py"}) public String program;
+
+    private PythonContext context;
+    private PythonParserImpl parser;
+    private Source source;
+
+    @Setup
+    public void setup() throws IOException {
+        JythonRuntime.ensureInitialized();
+        parser = new PythonParserImpl();
+        context = new PythonContext(null, new PythonOptions(), new PythonDefaultBuiltinsLookup(), parser);
+        Path path = Paths.get(ZippyEnvVars.zippyHome(), "zippy", "benchmarks", "src", "benchmarks", program);
+        source = Source.newBuilder(path.toFile()).mimeType(PythonLanguage.MIME_TYPE).build();
+    }
+
+    @Benchmark
+    public PythonParseResult parse() {
+        PythonModule module = new PythonModule(context, "__main__", source.getPath());
+        return parser.parse(context, module, source);
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.sequence.storage.*;
+
+/**
+ * Appends, inserts, slices and generalizations of the typed sequence storages, on lists of
+ * small, medium and large Python programs' sizes.
+ */
+@State(Scope.Thread)
+public class SequenceStorageBenchmark extends ZipPyBenchmark {
+
+    @Param({"16", "1024", "65536"}) public int size;
+
+    private int[] ints;
+    private Object[] objects;
+    private IntSequenceStorage intStorage;
+    private ObjectSequenceStorage objectStorage;
+
+    @Setup
+    public void setup() {
+        ints = new int[size];
+        objects = new Object[size];
+        for (int i = 0; i < size; i++) {
+            ints[i] = i * 31;
+            objects[i] = "item" + i;
+        }
+
+        intStorage = new IntSequenceStorage(ints.clone());
+        objectStorage = new ObjectSequenceStorage(objects.clone());
+    }
+
+    @Benchmark
+    public SequenceStorage appendInt() {
+        IntSequenceStorage storage = new IntSequenceStorage();
+        for (int i = 0; i < size; i++) {
+            storage.appendInt(ints[i]);
+        }
+
+        return storage;
+    }
+
+    @Benchmark
+    public SequenceStorage appendObject() throws SequenceStoreException {
+        ObjectSequenceStorage storage = new ObjectSequenceStorage();
+        for (int i = 0; i < size; i++) {
+            storage.append(objects[i]);
+        }
+
+        return storage;
+    }
+
+    /**
+     * Builds the list through {@link PList#append}, starting from the empty storage as the
+     * interpreter does.
+     */
+    @Benchmark
+    public PList appendList() {
+        PList list = new PList();
+        for (int i = 0; i < size; i++) {
+            list.append(ints[i]);
+        }
+
+        return list;
+    }
+
+    /**
+     * Inserts in the middle of a fresh copy, so the cost includes one copy of the storage.
+     */
+    @Benchmark
+    public SequenceStorage insertInt() {
+        IntSequenceStorage storage = (IntSequenceStorage) intStorage.copy();
+        storage.insertIntItem(size / 2, 42);
+        return storage;
+    }
+
+    @Benchmark
+    public SequenceStorage insertObject() throws SequenceStoreException {
+        SequenceStorage storage = objectStorage.copy();
+        storage.insertItem(size / 2, "inserted");
+        return storage;
+    }
+
+    @Benchmark
+    public SequenceStorage sliceInt() {
+        return intStorage.getSliceInBound(0, size, 2, size / 2);
+    }
+
+    @Benchmark
+    public SequenceStorage sliceObject() {
+        return objectStorage.getSliceInBound(0, size, 2, size / 2);
+    }
+
+    /**
+     * Appends a string to a list of ints, which generalizes the storage to objects.
+     */
+    @Benchmark
+    public PList generalizeIntToObject() {
+        PList list = new PList(intStorage.copy());
+        list.append("generalized");
+        return list;
+    }
+
+    @Benchmark
+    public PList generalizeIntToLong() {
+        PList list = new PList(intStorage.copy());
+        list.append(Long.MAX_VALUE);
+        return list;
+    }
+
+}
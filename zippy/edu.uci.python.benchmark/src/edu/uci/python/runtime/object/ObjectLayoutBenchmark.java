@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.object;
+
+import org.openjdk.jmh.annotations.*;
+
+import edu.uci.python.benchmark.*;
+
+/**
+ * Growing object layouts attribute by attribute and finding storage locations in them. It lives in
+ * the layout's package because {@link ObjectLayout#addAttribute} is not public.
+ */
+@State(Scope.Thread)
+public class ObjectLayoutBenchmark extends ZipPyBenchmark {
+
+    private static final Class<?>[] TYPES = {Integer.class, Double.class, Object.class, Boolean.class};
+
+    @Param({"4", "16", "48"}) public int attributes;
+
+    private String[] names;
+    private ObjectLayout layout;
+
+    @Setup
+    public void setup() {
+        names = new String[attributes];
+        for (int i = 0; i < attributes; i++) {
+            names[i] = "attribute" + i;
+        }
+
+        layout = buildLayout();
+    }
+
+    private ObjectLayout buildLayout() {
+        ObjectLayout result = ObjectLayout.empty();
+        for (int i = 0; i < attributes; i++) {
+            result = result.addAttribute(names[i], TYPES[i % TYPES.length]);
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public ObjectLayout addAttribute() {
+        return buildLayout();
+    }
+
+    @Benchmark
+    public int findStorageLocation() {
+        int found = 0;
+        for (int i = 0; i < attributes; i++) {
+            if (layout.findStorageLocation(names[i]) != null) {
+                found++;
+            }
+        }
+
+        return found;
+    }
+
+    @Benchmark
+    public Object findMissingStorageLocation() {
+        return layout.findStorageLocation("missing");
+    }
+
+}
@@ -340,6 +340,14 @@ public class BuiltinFunctionTests {
         assertPrints("[1, 2, 3, 4]\n", script);
     }
 
+    @Test
+    public void sortedKey() {
+        String source = "print(sorted(['bb', 'a', 'ccc'], key=len))\n" + //
+                        "print(sorted((2.5, 1, 3), reverse=True))\n" + //
+                        "print(sorted([(2, 'x'), (1, 'y'), (1, 'x')]))\n";
+        assertPrints("['a', 'bb', 'ccc']\n[3, 2.5, 1]\n[(1, 'x'), (1, 'y'), (2, 'x')]\n", source);
+    }
+
     @Test
     public void printTest() {
         String source = "a = 1;print('a=',a)";
@@ -28,7 +28,13 @@ import java.nio.file.*;
 
 import org.junit.*;
 
+import edu.uci.python.builtins.*;
+import edu.uci.python.parser.*;
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.standardtype.*;
+
 import static edu.uci.python.test.PythonTests.*;
+import static org.junit.Assert.*;
 
 public class ImportTests {
 
@@ -53,4 +59,146 @@ public class ImportTests {
         assertPrintContains("bisect.py\n", source);
     }
 
+    @Test
+    public void repeatedImportUsesResolvedPath() {
+        String source = "def f():\n" + //
+                        "    import bisect\n" + //
+                        "    return bisect\n" + //
+                        "mods = [f() for i in range(3)]\n" + //
+                        "print(mods[0] is mods[2], mods[1].bisect([1, 2], 1))\n";
+        assertPrints("True 1\n", source);
+    }
+
+    @Test
+    public void prefetchImports() {
+        boolean prefetch = PythonOptions.PrefetchImports;
+
+        try {
+            PythonOptions.PrefetchImports = true;
+            Path script = Paths.get("import-test.py");
+            assertPrints("imported foo()\n" + "local foo()\n" + "local variable\n" + "imported variable\n", script);
+
+            String source = "import bisect\n" + //
+                            "from bisect import insort\n" + //
+                            "a = [1, 2, 4]\n" + //
+                            "insort(a, 3)\n" + //
+                            "print(bisect.bisect(a, 3), a)\n";
+            assertPrints("3 [1, 2, 3, 4]\n", source);
+        } finally {
+            PythonOptions.PrefetchImports = prefetch;
+        }
+    }
+
+    @Test
+    public void prefetchThreadsStopWithContext() throws InterruptedException {
+        boolean prefetch = PythonOptions.PrefetchImports;
+
+        try {
+            PythonOptions.PrefetchImports = true;
+            String source = "import bisect\n" + //
+                            "print(bisect.bisect([1, 3], 2))\n";
+            assertPrints("1\n", source);
+        } finally {
+            PythonOptions.PrefetchImports = prefetch;
+        }
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (countPrefetchThreads() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(0, countPrefetchThreads());
+    }
+
+    private static int countPrefetchThreads() {
+        int count = 0;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.isAlive() && thread.getName().startsWith("zippy-import-prefetch-")) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    @Test
+    public void builtinModuleCreatedOnLookup() {
+        final int[] created = new int[1];
+        PythonDefaultBuiltinsLookup lookup = new PythonDefaultBuiltinsLookup();
+        lookup.addModuleFactory(new PythonBuiltinModuleFactory() {
+
+            @Override
+            public String getModuleName() {
+                return "custom";
+            }
+
+            @Override
+            public PythonBuiltins[] createBuiltins() {
+                created[0]++;
+                return new PythonBuiltins[0];
+            }
+
+        });
+
+        // the context constructor populates the builtins
+        new PythonContext(null, new PythonOptions(), lookup, new PythonParserImpl());
+        assertTrue(lookup.hasModule("custom"));
+        assertFalse(lookup.hasModule("missing"));
+        assertEquals(0, created[0]);
+
+        PythonModule custom = lookup.lookupModule("custom");
+        assertNotNull(custom);
+        assertEquals(1, created[0]);
+        assertSame(custom, lookup.lookupModule("custom"));
+        assertEquals(1, created[0]);
+
+        String source = "import math, time\n" + //
+                        "print(math.sqrt(16.0), time is not math)\n";
+        assertPrints("4.0 True\n", source);
+    }
+
+    @Test
+    public void lazyJythonInitialization() {
+        boolean lazy = PythonOptions.LazyJythonInitialization;
+
+        try {
+            PythonOptions.LazyJythonInitialization = true;
+            // Jython cannot be torn down again, so this only shows laziness if no earlier test
+            // initialized it
+            boolean initialized = JythonRuntime.isInitialized();
+            assertPrints("3\n", "print(1 + 2)\n");
+            assertEquals(initialized, JythonRuntime.isInitialized());
+
+            String source = "import re\n" + //
+                            "print(re.match('a+', 'aab').group(0))\n";
+            assertPrints("aa\n", source);
+            assertTrue(JythonRuntime.isInitialized());
+        } finally {
+            PythonOptions.LazyJythonInitialization = lazy;
+        }
+    }
+
+    @Test
+    public void lazyJythonInitializationExcept() {
+        boolean lazy = PythonOptions.LazyJythonInitialization;
+
+        try {
+            PythonOptions.LazyJythonInitialization = true;
+            String source = "try:\n" + //
+                            "    {}['x']\n" + //
+                            "except KeyError:\n" + //
+                            "    print('caught')\n" + //
+                            "try:\n" + //
+                            "    [][1]\n" + //
+                            "except KeyError:\n" + //
+                            "    print('wrong')\n" + //
+                            "except IndexError:\n" + //
+                            "    print('index')\n";
+            assertPrints("caught\nindex\n", source);
+            assertTrue(JythonRuntime.isInitialized());
+        } finally {
+            PythonOptions.LazyJythonInitialization = lazy;
+        }
+    }
+
 }
@@ -53,4 +53,60 @@ public class DictTests {
         assertPrints("{3: 4}\n", source);
     }
 
+    @Test
+    public void insertionOrder() {
+        String source = "dd = {3:1, 1:2}\n" + //
+                        "dd['a'] = 3\n" + //
+                        "dd[2.5] = 4\n" + //
+                        "del dd[1]\n" + //
+                        "dd[1] = 5\n" + //
+                        "print(dd)\n";
+
+        assertPrints("{3: 1, a: 3, 2.5: 4, 1: 5}\n", source);
+    }
+
+    @Test
+    public void numericKeys() {
+        String source = "dd = {}\n" + //
+                        "for i in range(1000):\n" + //
+                        "    dd[i] = i\n" + //
+                        "print(len(dd), dd[1.0], dd[999], 500 in dd)\n";
+
+        assertPrints("1000 1 999 True\n", source);
+    }
+
+    @Test
+    public void largeIntegralFloatKeys() {
+        String source = "big = {10 ** 20: 'big', 2 ** 63: 'edge'}\n" + //
+                        "print(big[1e20], big[9223372036854775808.0], 10 ** 20 + 1 in {1e20: 0})\n";
+
+        assertPrints("big edge False\n", source);
+    }
+
+    @Test
+    public void insertAfterPopItem() {
+        String source = "d = {}\n" + //
+                        "for i in range(100):\n" + //
+                        "    d[i] = i\n" + //
+                        "    d.popitem()\n" + //
+                        "d[100] = 0\n" + //
+                        "print(len(d), d[100])\n";
+
+        assertPrints("1 0\n", source);
+    }
+
+    @Test
+    public void subscriptUpdate() {
+        String source = "counts = {}\n" + //
+                        "for w in ['a', 'b', 'a', 'c', 'a']:\n" + //
+                        "    counts[w] = counts.get(w, 0) + 1\n" + //
+                        "for k in range(3):\n" + //
+                        "    counts['b'] += k\n" + //
+                        "ll = [1, 2]\n" + //
+                        "ll[1] += 5\n" + //
+                        "print(counts['a'], counts['b'], counts['c'], ll)\n";
+
+        assertPrints("3 4 1 [1, 7]\n", source);
+    }
+
 }
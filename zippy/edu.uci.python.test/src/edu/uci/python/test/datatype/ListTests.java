@@ -184,6 +184,28 @@ public class ListTests {
         assertError("IndexError: list assignment index out of range\n", source);
     }
 
+    @Test
+    public void sortKeyReverse() {
+        String source = "lst = [3, 1, 2]\n" + //
+                        "lst.sort(reverse=True)\n" + //
+                        "print(lst)\n" + //
+                        "pairs = [(1, 'b'), (0, 'a'), (1, 'a'), (0, 'b')]\n" + //
+                        "pairs.sort(key=lambda p: p[0], reverse=True)\n" + //
+                        "print(pairs)\n";
+        assertPrints("[3, 2, 1]\n[(1, 'b'), (1, 'a'), (0, 'a'), (0, 'b')]\n", source);
+    }
+
+    @Test
+    public void augmentedSubscriptAssign() {
+        String source = "ll = [0, 0, 0]\n" + //
+                        "for i in range(9):\n" + //
+                        "    ll[i % 3] += 1\n" + //
+                        "ll[-1] += 10\n" + //
+                        "ll[0] *= 2.5\n" + //
+                        "print(ll)\n";
+        assertPrints("[7.5, 3, 13]\n", source);
+    }
+
     // Disabled for now.
     public void moreSlice() {
         Path script = Paths.get("slice-test.py");
@@ -53,4 +53,20 @@ public class SetTests {
                         "print(s)";
         assertPrints("{1, 2, 3}\n{1, 2, 3, 4}\n", source);
     }
+
+    @Test
+    public void setGeneralize() {
+        String source = "s = {1, 2}\n" + //
+                        "s.add(3.5)\n" + //
+                        "s.add(2.0)\n" + //
+                        "print(len(s), 2 in s, 3.5 in s, 4 in s)";
+        assertPrints("3 True True False\n", source);
+    }
+
+    @Test
+    public void setMinMaxMixedNumbers() {
+        String source = "s = {1, 2.5}\n" + //
+                        "print(min(s), max(s))";
+        assertPrints("1 2.5\n", source);
+    }
 }
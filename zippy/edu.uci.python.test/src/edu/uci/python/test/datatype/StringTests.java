@@ -81,4 +81,37 @@ public class StringTests {
         assertPrints("('0', '1', '2', '3', '4', '5', '6', '7', '8', '9')\n", source);
     }
 
+    @Test
+    public void concatInLoop() {
+        String source = "s = ''\n" + //
+                        "for i in range(100):\n" + //
+                        "    s += 'abc'\n" + //
+                        "t = s + 'x'\n" + //
+                        "print(len(s), s[0:6], s[-1], t[-1], s == 'abc' * 100)\n";
+        assertPrints("300 abcabc c x True\n", source);
+    }
+
+    @Test
+    public void concatEqualsInContainers() {
+        String source = "a = 'a' * 64\n" + //
+                        "b = 'b' * 64\n" + //
+                        "c = a + b\n" + //
+                        "lit = ''.join([a, b])\n" + //
+                        "print([c] == [lit], [lit] == [c], (c,) == (lit,), (lit,) == (c,))\n" + //
+                        "print((1, lit).index(c), c in [1, lit], lit in [1, c])\n" + //
+                        "d = {lit: 1}\n" + //
+                        "d[c] += 1\n" + //
+                        "print(d[c], d[lit], len(d))\n";
+        assertPrints("True True True True\n1 True True\n2 2 1\n", source);
+    }
+
+    @Test
+    public void sliceAndSplitPlainString() {
+        String source = "s = 'GET /index.html 200'\n" + //
+                        "p = s[4:15]\n" + //
+                        "print(p, p[1:6], len(p), p == '/index.html')\n" + //
+                        "print(s.split(), 'a,b,,c,'.split(','))\n";
+        assertPrints("/index.html index 11 True\n['GET', '/index.html', '200'] ['a', 'b', '', 'c', '']\n", source);
+    }
+
 }
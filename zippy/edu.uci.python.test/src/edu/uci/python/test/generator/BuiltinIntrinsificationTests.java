@@ -61,4 +61,17 @@ public class BuiltinIntrinsificationTests {
         assertPrints("9\n", script);
     }
 
+    @Test
+    public void listCompInsideLoop() {
+        assertTrue(PythonOptions.IntrinsifyBuiltinCalls);
+        String source = "def f():\n" + //
+                        "    out = []\n" + //
+                        "    for x in range(3):\n" + //
+                        "        ll = list(i * x for i in range(4))\n" + //
+                        "        out.append(ll[-1])\n" + //
+                        "    return out\n" + //
+                        "print(f())\n";
+        assertPrints("[0, 3, 6]\n", source);
+    }
+
 }
@@ -24,6 +24,7 @@
  */
 package edu.uci.python.test.generator;
 
+import static edu.uci.python.test.PythonTests.assertPrintsAndAST;
 import static edu.uci.python.test.PythonTests.getParseResult;
 import static org.junit.Assert.assertTrue;
 
@@ -53,6 +54,30 @@ public class GeneratorExpressionTranslationTests {
         assertTrue(genexp == 0);
     }
 
+    @Test
+    public void generatorExpressionInLazilyTranslatedFunction() {
+        boolean lazy = PythonOptions.LazyFunctionTranslation;
+        PythonOptions.OptimizeGeneratorExpressions = true;
+
+        try {
+            PythonOptions.LazyFunctionTranslation = true;
+            String source = "def foo():\n" + //
+                            "    n = 5\n" + //
+                            "    total = 0\n" + //
+                            "    for i in (x for x in range(n)):\n" + //
+                            "        total += i\n" + //
+                            "    return total\n" + //
+                            "print(foo())\n";
+
+            PythonParseResult parsed = assertPrintsAndAST("10\n", source);
+            RootNode root = parsed.getFunctionRoot("foo");
+            int genexp = NodeUtil.findAllNodeInstances(root, GeneratorExpressionNode.class).size();
+            assertTrue(genexp == 0);
+        } finally {
+            PythonOptions.LazyFunctionTranslation = lazy;
+        }
+    }
+
     @Test
     public void generatorExpressionAsArgumentToConstructor() {
         PythonOptions.OptimizeGeneratorExpressions = true;
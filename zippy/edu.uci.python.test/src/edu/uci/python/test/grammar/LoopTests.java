@@ -139,4 +139,20 @@ public class LoopTests {
         assertPrints("1\n3\n5\n7\n9\n", source);
     }
 
+    @Test
+    public void nestedLoopsKeepIterators() {
+        String source = "def f():\n" + //
+                        "    out = []\n" + //
+                        "    for x in [1, 2]:\n" + //
+                        "        for y in range(2):\n" + //
+                        "            n = 0\n" + //
+                        "            while n < 2:\n" + //
+                        "                n += 1\n" + //
+                        "            out.append(x * 10 + y + n)\n" + //
+                        "    return out\n" + //
+                        "print(f())\n";
+
+        assertPrints("[12, 13, 22, 23]\n", source);
+    }
+
 }
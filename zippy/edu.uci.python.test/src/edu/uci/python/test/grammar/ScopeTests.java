@@ -28,6 +28,8 @@ import static edu.uci.python.test.PythonTests.*;
 
 import org.junit.*;
 
+import edu.uci.python.runtime.*;
+
 public class ScopeTests {
 
     @Test
@@ -43,4 +45,36 @@ public class ScopeTests {
 
         assertPrints("42\n", source);
     }
+
+    @Test
+    public void lazyFunctionTranslation() {
+        boolean lazy = PythonOptions.LazyFunctionTranslation;
+
+        try {
+            PythonOptions.LazyFunctionTranslation = true;
+            String source = "def outer(a):\n" + //
+                            "    def inner(b):\n" + //
+                            "        return a + b\n" + //
+                            "    return inner\n" + //
+                            "class Foo:\n" + //
+                            "    bar = 2\n" + //
+                            "    def __init__(self, x):\n" + //
+                            "        self.x = x\n" + //
+                            "    def scaled(self):\n" + //
+                            "        return [self.x * i for i in range(3)]\n" + //
+                            "def gen(n):\n" + //
+                            "    for i in range(n):\n" + //
+                            "        yield i\n" + //
+                            "def unused():\n" + //
+                            "    return undefined_name\n" + //
+                            "print(outer(40)(2))\n" + //
+                            "print(Foo(3).scaled())\n" + //
+                            "print(list(gen(3)))\n";
+
+            assertPrints("42\n[0, 3, 6]\n[0, 1, 2]\n", source);
+        } finally {
+            PythonOptions.LazyFunctionTranslation = lazy;
+        }
+    }
+
 }
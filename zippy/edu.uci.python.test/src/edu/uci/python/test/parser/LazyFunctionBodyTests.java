@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.test.parser;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+
+import org.junit.*;
+
+import com.oracle.truffle.api.*;
+import com.oracle.truffle.api.frame.*;
+import com.oracle.truffle.api.nodes.*;
+
+import edu.uci.python.*;
+import edu.uci.python.nodes.*;
+import edu.uci.python.nodes.function.*;
+import edu.uci.python.nodes.literal.*;
+
+public class LazyFunctionBodyTests {
+
+    private static final class StubRootNode extends RootNode {
+
+        @Child private PNode body;
+
+        StubRootNode(PNode body) {
+            super(PythonLanguage.INSTANCE, null);
+            this.body = body;
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            return body.execute(frame);
+        }
+
+    }
+
+    @Test
+    public void completeEveryCopy() {
+        final List<RootNode> completed = new ArrayList<>();
+        LazyFunctionBodyNode stub = new LazyFunctionBodyNode(new LazyFunctionBodyNode.BodyTranslator() {
+
+            private int translations;
+
+            public PNode translate() {
+                return new IntegerLiteralNode(++translations);
+            }
+
+            public void complete(RootNode root) {
+                completed.add(root);
+            }
+
+        });
+
+        RootNode first = new StubRootNode(NodeUtil.cloneNode(stub));
+        RootNode second = new StubRootNode(NodeUtil.cloneNode(stub));
+        assertEquals(1, Truffle.getRuntime().createCallTarget(first).call());
+        assertEquals(1, Truffle.getRuntime().createCallTarget(second).call());
+        assertEquals(1, Truffle.getRuntime().createCallTarget(first).call());
+
+        assertEquals(Arrays.asList(first, second), completed);
+    }
+
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.test.parser;
+
+import static edu.uci.python.test.PythonTests.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.*;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.notification.Failure;
+import org.python.antlr.ParserFacade;
+import org.python.antlr.PythonTree;
+import org.python.antlr.Visitor;
+import org.python.antlr.ast.*;
+import org.python.antlr.base.*;
+import org.python.core.*;
+
+import edu.uci.python.parser.*;
+import edu.uci.python.runtime.*;
+import edu.uci.python.test.grammar.*;
+
+public class NativeParserTests {
+
+    @Test
+    public void runProgram() {
+        boolean enabled = PythonOptions.NativeParser;
+
+        try {
+            PythonOptions.NativeParser = true;
+            String source = "class Point(object):\n" + //
+                            "    def __init__(self, x, y=0):\n" + //
+                            "        self.x, self.y = x, y\n" + //
+                            "    def coordinates(self):\n" + //
+                            "        return (self.x, self.y)\n" + //
+                            "def gen(n):\n" + //
+                            "    for i in range(n):\n" + //
+                            "        if i % 2 == 0 and not i > 4: yield i\n" + //
+                            "        elif i == 3:\n" + //
+                            "            continue\n" + //
+                            "total = 0\n" + //
+                            "for v in gen(10):\n" + //
+                            "    total += v ** 2\n" + //
+                            "try:\n" + //
+                            "    {'a': 1}['b']\n" + //
+                            "except KeyError as e:\n" + //
+                            "    total -= 1\n" + //
+                            "finally:\n" + //
+                            "    total *= 2\n" + //
+                            "squares = [x * x for x in range(5) if x != 2]\n" + //
+                            "print(Point(total, -3).coordinates(), squares[1:-1], (lambda a, *b: len(b))(1, 2, 3))\n";
+
+            assertPrints("(38, -3) [1, 9] 2\n", source);
+        } finally {
+            PythonOptions.NativeParser = enabled;
+        }
+    }
+
+    @Test
+    public void sourcePositions() {
+        String source = "x = 1\nif x:\n    y = foo(x,\n            2)\n";
+        Module module = (Module) new SourceParser(source, "<test>", true).parseModule();
+        assertEquals(2, module.getInternalBody().size());
+
+        If ifStatement = (If) module.getInternalBody().get(1);
+        Assign assign = (Assign) ifStatement.getInternalBody().get(0);
+        assertEquals(3, assign.getLine());
+        assertEquals(4, assign.getCharPositionInLine());
+        String value = source.substring(assign.getInternalValue().getCharStartIndex(), assign.getInternalValue().getCharStopIndex());
+        assertEquals("foo(x,\n            2)", value);
+    }
+
+    @Test
+    public void syntaxError() {
+        try {
+            new SourceParser("def f(:\n    pass\n", "<test>", true).parseModule();
+            fail();
+        } catch (PySyntaxError e) {
+            // expected
+        }
+
+        mod expression = new SourceParser("a[1:2, ...] if b else -1", "<eval>", false).parseExpressionOrModule();
+        assertTrue(expression instanceof Expression);
+    }
+
+    @Test
+    public void grammarTestsUnderNativeParser() {
+        boolean enabled = PythonOptions.NativeParser;
+        Result result;
+
+        try {
+            PythonOptions.NativeParser = true;
+            result = new JUnitCore().run(ArgumentsTests.class, AugAssignmentTests.class, BinaryArithTests.class, BinaryBitwiseTests.class, BinaryBooleanTests.class,
+                            BinaryComparisonTests.class, CallTests.class, ClassTests.class, EvalTests.class, ForTests.class, GlobalVarTests.class, IfTests.class,
+                            LambdaTests.class, LocalFrameTests.class, LoopTests.class, MultiAssignTests.class, ScopeTests.class, TryTests.class, UnaryOpTests.class,
+                            WhileTests.class, WithTests.class);
+        } finally {
+            PythonOptions.NativeParser = enabled;
+        }
+
+        StringBuilder failures = new StringBuilder();
+        for (Failure failure : result.getFailures()) {
+            failures.append(failure.getTestHeader()).append(": ").append(failure.getMessage()).append('\n');
+        }
+
+        assertTrue(failures.toString(), result.wasSuccessful());
+        assertTrue(result.getRunCount() > 0);
+    }
+
+    @Test
+    public void sourcePositionsMatchAntlr() throws Exception {
+        assertSameSourcePositions("<test>", "def f(a, b=2, *c, **d):\n" + //
+                        "    return\n" + //
+                        "@decorators.trace\n" + //
+                        "def g(x):\n" + //
+                        "    return x.y.z, +x, ~x, -x\n" + //
+                        "try:\n" + //
+                        "    f(1, key=g(2), *[3])\n" + //
+                        "except (KeyError, IndexError) as e:\n" + //
+                        "    pass\n" + //
+                        "except:\n" + //
+                        "    raise\n" + //
+                        "total = sum(i for i in range(3)) + sum((i for i in range(3)))\n" + //
+                        "words = [b'a', u'b', r'c', br'd', ur'e']\n");
+
+        Path tests = Paths.get(ZippyEnvVars.zippyHome(), "zippy", "edu.uci.python.test", "src", "tests");
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(tests, "*.py")) {
+            for (Path file : files) {
+                assertSameSourcePositions(file.toString(), new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Test
+    public void invalidStringPrefix() {
+        try {
+            new SourceParser("x = uu''\n", "<test>", true).parseModule();
+            fail();
+        } catch (PySyntaxError e) {
+            // expected
+        }
+    }
+
+    /**
+     * Parses the source with both front ends and checks that every statement and expression covers
+     * the same characters. The translator derives the Truffle source sections from these spans.
+     */
+    private static void assertSameSourcePositions(String filename, String source) throws Exception {
+        CompilerFlags flags = CompilerFlags.getCompilerFlags();
+        flags.setFlag(CodeFlag.CO_FUTURE_ABSOLUTE_IMPORT);
+        flags.setFlag(CodeFlag.CO_FUTURE_DIVISION);
+        flags.setFlag(CodeFlag.CO_FUTURE_PRINT_FUNCTION);
+        flags.setFlag(CodeFlag.CO_FUTURE_UNICODE_LITERALS);
+        flags.setFlag(CodeFlag.CO_FUTURE_WITH_STATEMENT);
+        mod expected = ParserFacade.parse(new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8)), CompileMode.exec, filename, flags);
+        mod actual = new SourceParser(source, filename, true).parseModule();
+
+        List<PythonTree> expectedNodes = collectNodes(expected);
+        List<PythonTree> actualNodes = collectNodes(actual);
+        assertEquals(filename, expectedNodes.size(), actualNodes.size());
+
+        for (int i = 0; i < expectedNodes.size(); i++) {
+            PythonTree e = expectedNodes.get(i);
+            PythonTree a = actualNodes.get(i);
+            String where = filename + ":" + e.getLine() + ":" + e.getCharPositionInLine() + " " + e.getClass().getSimpleName();
+            assertEquals(where, e.getClass(), a.getClass());
+            assertEquals(where, e.getCharStartIndex(), a.getCharStartIndex());
+            assertEquals(where, e.getCharStopIndex(), a.getCharStopIndex());
+        }
+    }
+
+    private static List<PythonTree> collectNodes(mod module) throws Exception {
+        final List<PythonTree> nodes = new ArrayList<>();
+
+        new Visitor() {
+            @Override
+            protected Object unhandled_node(PythonTree node) throws Exception {
+                if (node instanceof stmt || node instanceof expr) {
+                    nodes.add(node);
+                }
+
+                return null;
+            }
+        }.traverse(module);
+
+        return nodes;
+    }
+
+}
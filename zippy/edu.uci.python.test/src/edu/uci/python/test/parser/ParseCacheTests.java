@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.test.parser;
+
+import static edu.uci.python.test.PythonTests.*;
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.nio.file.*;
+
+import org.junit.*;
+
+import edu.uci.python.parser.*;
+import edu.uci.python.runtime.*;
+
+public class ParseCacheTests {
+
+    @Test
+    public void reuseCachedModule() throws IOException {
+        boolean enabled = PythonOptions.ParseCache;
+        boolean nativeParser = PythonOptions.NativeParser;
+        String directory = PythonOptions.ParseCacheDirectory;
+        File cacheDirectory = Files.createTempDirectory("zippy-parse-cache").toFile();
+
+        try {
+            PythonOptions.ParseCache = true;
+            PythonOptions.ParseCacheDirectory = cacheDirectory.getPath();
+            String source = "def foo(a, b):\n" + //
+                            "    return [x * a for x in range(b)]\n" + //
+                            "print(foo(2, 3))\n";
+
+            assertPrints("[0, 2, 4]\n", source);
+            assertEquals(1, cacheDirectory.listFiles().length);
+            assertNotNull(ParseCache.getDefault().lookup(null, source));
+
+            long hits = ParseCache.getDefault().getHits();
+            assertPrints("[0, 2, 4]\n", source);
+            assertEquals(hits + 1, ParseCache.getDefault().getHits());
+
+            assertNull(ParseCache.getDefault().lookup(null, source + "print(42)\n"));
+
+            // The native parser does not reuse entries of the Jython parser
+            PythonOptions.NativeParser = true;
+            assertPrints("[0, 2, 4]\n", source);
+            assertEquals(hits + 1, ParseCache.getDefault().getHits());
+            assertEquals(2, cacheDirectory.listFiles().length);
+        } finally {
+            PythonOptions.ParseCache = enabled;
+            PythonOptions.ParseCacheDirectory = directory;
+            PythonOptions.NativeParser = nativeParser;
+
+            for (File entry : cacheDirectory.listFiles()) {
+                entry.delete();
+            }
+            cacheDirectory.delete();
+        }
+    }
+
+}
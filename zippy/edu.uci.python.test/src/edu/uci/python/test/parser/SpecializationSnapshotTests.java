@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.test.parser;
+
+import static edu.uci.python.test.PythonTests.*;
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+
+import org.junit.*;
+
+import edu.uci.python.runtime.*;
+
+public class SpecializationSnapshotTests {
+
+    @Test
+    public void recordAndReuseListStorage() throws IOException {
+        String snapshot = PythonOptions.SpecializationSnapshot;
+        File file = File.createTempFile("zippy-snapshot", ".txt");
+        file.delete();
+
+        try {
+            PythonOptions.SpecializationSnapshot = file.getPath();
+            String source = "def make(n):\n" + //
+                            "    return [n, n + 1]\n" + //
+                            "total = 0\n" + //
+                            "for i in range(10):\n" + //
+                            "    total += sum(make(i))\n" + //
+                            "print(total, make(1.5))\n";
+
+            assertPrints("100 [1.5, 2.5]\n", source);
+            String recorded = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            assertTrue(recorded.contains("ObjectListLiteralNode"));
+
+            // The literal starts out with the recorded storage and still handles other elements
+            assertPrints("100 [1.5, 2.5]\n", source);
+        } finally {
+            PythonOptions.SpecializationSnapshot = snapshot;
+            file.delete();
+        }
+    }
+
+}
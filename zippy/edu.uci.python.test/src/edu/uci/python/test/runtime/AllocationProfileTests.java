@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.test.runtime;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+
+import org.junit.*;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.object.*;
+import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.test.*;
+
+public class AllocationProfileTests {
+
+    @Test
+    public void bytesPerSite() {
+        PythonObjectAllocationInstrumentor instrumentor = PythonObjectAllocationInstrumentor.getInstance();
+        boolean enabled = PythonOptions.ProfileAllocations;
+        PythonOptions.ProfileAllocations = true;
+        try {
+            instrumentor.resetAllocationSites();
+            String source = "def pairs(n):\n" + //
+                            "    result = []\n" + //
+                            "    for i in range(n):\n" + //
+                            "        pair = (i, i)\n" + //
+                            "        result.append(pair)\n" + //
+                            "    return result\n" + //
+                            "print(len(pairs(100)))\n";
+            PythonTests.assertPrints("100\n", source);
+        } finally {
+            PythonOptions.ProfileAllocations = enabled;
+        }
+
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+        instrumentor.printAllocationSites(new PrintStream(report), 10);
+        String[] lines = report.toString().split("\n");
+
+        long pairBytes = PythonObjectAllocationInstrumentor.estimateSize(new PTuple(new Object[]{0, 0}));
+        int tuples = findRow(lines, ":4 in pairs  tuple");
+        assertEquals(100, column(lines[tuples], 0));
+        assertEquals(100 * pairBytes, column(lines[tuples], 1));
+
+        int list = findRow(lines, ":2 in pairs  list ");
+        assertEquals(1, column(lines[list], 0));
+        assertTrue("sites are ranked by bytes", tuples < list);
+    }
+
+    private static int findRow(String[] lines, String site) {
+        for (int i = 0; i < lines.length; i++) {
+            if (lines[i].contains(site)) {
+                return i;
+            }
+        }
+
+        fail("no allocation site " + site);
+        return -1;
+    }
+
+    private static long column(String row, int index) {
+        return Long.parseLong(row.trim().split("\\s+")[index]);
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.test.runtime;
+
+import static org.junit.Assert.*;
+
+import org.junit.*;
+
+import edu.uci.python.runtime.datatype.storage.*;
+
+public class DictStorageTests {
+
+    @Test
+    public void intKeyGetAndSet() {
+        IntKeyDictStorage store = new IntKeyDictStorage();
+
+        for (int i = 0; i < 1000; i++) {
+            store.setItemInt(i * 31, i);
+        }
+
+        assertEquals(1000, store.length());
+        assertEquals(10, store.getItemInt(310));
+        assertEquals(10, store.getItem(310L));
+        assertEquals(10, store.getItem(310.0));
+        assertNull(store.getItemInt(311));
+    }
+
+    @Test
+    public void intKeyDelete() {
+        IntKeyDictStorage store = new IntKeyDictStorage();
+
+        for (int i = 0; i < 100; i++) {
+            store.setItemInt(i, i);
+        }
+
+        for (int i = 0; i < 100; i += 2) {
+            assertEquals(i, store.pop(i));
+        }
+
+        for (int i = 100; i < 200; i++) {
+            store.setItemInt(i, i);
+        }
+
+        assertEquals(150, store.length());
+        assertNull(store.getItemInt(42));
+        assertEquals(43, store.getItemInt(43));
+        assertNull(store.getKeyAt(0));
+        assertEquals(1, store.getKeyAt(1));
+    }
+
+    @Test
+    public void insertAfterPopItem() {
+        IntKeyDictStorage store = new IntKeyDictStorage();
+
+        for (int i = 0; i < 1000; i++) {
+            store.setItemInt(i, i);
+            assertNotNull(store.popItem());
+        }
+
+        store.setItemInt(1000, 0);
+        assertEquals(1, store.length());
+        assertEquals(0, store.getItemInt(1000));
+        assertNull(store.getItemInt(999));
+    }
+
+    @Test
+    public void stringKeyGeneralize() throws DictStoreException {
+        StringKeyDictStorage store = new StringKeyDictStorage();
+        store.setItemString("b", 1);
+        store.setItemString("a", 2);
+
+        DictStorage generalized = store.generalizeFor(3);
+        assertTrue(generalized instanceof ObjectDictStorage);
+        generalized.setItem(3, 3);
+
+        assertEquals(3, generalized.length());
+        assertEquals("b", generalized.getKeyAt(0));
+        assertEquals(2, generalized.getItem("a"));
+        assertEquals(3, generalized.getItem(3));
+    }
+
+    @Test
+    public void factoryPicksStorage() {
+        assertTrue(DictStorageFactory.createStorage(new Object[]{1, 2}) instanceof IntKeyDictStorage);
+        assertTrue(DictStorageFactory.createStorage(new Object[]{"a", "b"}) instanceof StringKeyDictStorage);
+        assertTrue(DictStorageFactory.createStorage(new Object[]{"a", 2}) instanceof ObjectDictStorage);
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.test.runtime;
+
+import static org.junit.Assert.*;
+
+import java.lang.management.*;
+import java.util.*;
+
+import javax.management.*;
+
+import org.junit.*;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.test.*;
+
+public class PythonMetricsTests {
+
+    @Test
+    public void countsPerContext() {
+        boolean enabled = PythonOptions.Metrics;
+        PythonOptions.Metrics = true;
+        try {
+            String source = "ints = [1, 2]\n" + //
+                            "ints.append('three')\n" + //
+                            "floats = [1.5]\n" + //
+                            "floats.append('x')\n" + //
+                            "floats.append('y')\n" + //
+                            "print(len(ints) + len(floats))\n";
+            PythonTests.assertPrints("6\n", source);
+        } finally {
+            PythonOptions.Metrics = enabled;
+        }
+
+        PythonMetrics metrics = PythonContext.getCurrent().getMetrics();
+        Map<String, Long> generalizations = metrics.getStorageGeneralizations();
+        assertEquals(Long.valueOf(1), generalizations.get("IntSequenceStorage->ObjectSequenceStorage"));
+        // the second append finds object storage already
+        assertEquals(Long.valueOf(1), generalizations.get("DoubleSequenceStorage->ObjectSequenceStorage"));
+        assertNull("disposed context is still registered", metrics.getObjectName());
+    }
+
+    @Test
+    public void registerMXBean() throws JMException {
+        PythonMetrics metrics = new PythonMetrics();
+        metrics.register();
+        try {
+            ObjectName name = metrics.getObjectName();
+            assertNotNull(name);
+            metrics.increment(PythonMetrics.Counter.IMPORTS);
+            metrics.increment(PythonMetrics.Counter.JYTHON_FALLBACK_IMPORTS);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            assertEquals(1L, server.getAttribute(name, "Imports"));
+            assertEquals(1L, server.getAttribute(name, "JythonFallbackImports"));
+            assertEquals(0L, server.getAttribute(name, "JythonFallbackCalls"));
+            server.invoke(name, "reset", null, null);
+            assertEquals(0L, metrics.get(PythonMetrics.Counter.IMPORTS));
+        } finally {
+            metrics.unregister();
+        }
+
+        assertNull(metrics.getObjectName());
+    }
+
+}
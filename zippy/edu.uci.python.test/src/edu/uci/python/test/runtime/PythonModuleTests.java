@@ -28,9 +28,15 @@ import static org.junit.Assert.*;
 
 import org.junit.*;
 
+import com.oracle.truffle.api.*;
+import com.oracle.truffle.api.nodes.*;
+import com.oracle.truffle.api.source.*;
+
+import edu.uci.python.*;
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.builtin.*;
 import edu.uci.python.runtime.function.*;
+import edu.uci.python.runtime.sequence.*;
 import edu.uci.python.runtime.standardtype.*;
 import edu.uci.python.test.*;
 
@@ -74,4 +80,42 @@ public class PythonModuleTests {
         assertEquals(42, returned);
     }
 
+    @Test
+    public void separateContexts() {
+        final PythonContext first = PythonTests.getContext();
+        final PythonContext second = PythonTests.getContext();
+        PythonBuiltinClass firstList = first.getBuiltinType(PList.class);
+        PythonBuiltinClass secondList = second.getBuiltinType(PList.class);
+        assertNotSame(firstList, secondList);
+
+        PList list = new PList();
+        PythonContext outer = first.enter();
+        assertSame(firstList, list.__class__());
+        second.enter();
+        assertSame(secondList, list.__class__());
+        second.leave(outer);
+
+        first.getBuiltins().setAttribute("shared", 42);
+        assertFalse(Integer.valueOf(42).equals(second.getBuiltins().getAttribute("shared")));
+    }
+
+    @Test
+    public void moduleEntersItsContext() {
+        final PythonContext first = PythonTests.getContext();
+        final PythonContext second = PythonTests.getContext();
+        PythonContext outer = second.enter();
+
+        try {
+            Source source = Source.newBuilder("x = [1]\n").name("first").mimeType(PythonLanguage.MIME_TYPE).build();
+            PythonModule module = first.createMainModule(null);
+            RootNode root = first.getParser().parse(first, module, source).getModuleRoot();
+            Truffle.getRuntime().createCallTarget(root).call(PArguments.empty());
+
+            assertTrue(module.getAttribute("x") instanceof PList);
+            assertSame(second, PythonContext.getCurrent());
+        } finally {
+            second.leave(outer);
+        }
+    }
+
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.test.runtime;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.util.*;
+
+import org.junit.*;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.profiler.*;
+import edu.uci.python.test.*;
+
+public class RewriteTraceTests {
+
+    @Test
+    public void sitesRankedByEvents() {
+        RewriteTracer tracer = RewriteTracer.getInstance();
+        boolean enabled = PythonOptions.TraceRewrites;
+        PythonOptions.TraceRewrites = true;
+        try {
+            tracer.reset();
+            String source = "def grow(values):\n" + //
+                            "    values.append('x')\n" + //
+                            "for i in range(3):\n" + //
+                            "    grow([i, i])\n" + //
+                            "more = [1.5]\n" + //
+                            "more.append('y')\n" + //
+                            "print(len(more))\n";
+            PythonTests.assertPrints("2\n", source);
+        } finally {
+            PythonOptions.TraceRewrites = enabled;
+        }
+
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+        tracer.printReport(new PrintStream(report), 20);
+        List<String> rows = Arrays.asList(report.toString().split("\n"));
+
+        int grow = siteRow(rows, ":2 in grow");
+        int module = siteRow(rows, ":6 in ");
+        assertEquals(3, storageGeneralizations(rows.get(grow)));
+        assertEquals(1, storageGeneralizations(rows.get(module)));
+        assertTrue("the site with more events ranks first", grow < module);
+    }
+
+    private static int siteRow(List<String> rows, String location) {
+        for (int i = 2; i < rows.size(); i += 2) {
+            if (rows.get(i).contains(location)) {
+                return i;
+            }
+        }
+
+        fail("no site " + location + " in " + rows);
+        return -1;
+    }
+
+    private static long storageGeneralizations(String row) {
+        return Long.parseLong(row.trim().split("\\s+")[1]);
+    }
+
+}
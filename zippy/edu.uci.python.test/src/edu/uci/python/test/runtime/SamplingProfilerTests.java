@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.test.runtime;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+
+import org.junit.*;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.profiler.*;
+import edu.uci.python.test.*;
+
+public class SamplingProfilerTests {
+
+    @Test
+    public void samplesPerFrame() {
+        SamplingProfiler profiler = SamplingProfiler.getInstance();
+        boolean enabled = PythonOptions.ProfileSampling;
+        PythonOptions.ProfileSampling = true;
+        try {
+            profiler.reset();
+            String source = "def hot(n):\n" + //
+                            "    total = 0\n" + //
+                            "    for i in range(n):\n" + //
+                            "        total += i % 7\n" + //
+                            "    return total\n" + //
+                            "for _ in range(20):\n" + //
+                            "    hot(100000)\n" + //
+                            "print('done')\n";
+            PythonTests.assertPrints("done\n", source);
+        } finally {
+            PythonOptions.ProfileSampling = enabled;
+        }
+
+        synchronized (profiler) {
+            long samples = profiler.getSampleCount();
+            assertTrue(samples > 0);
+
+            SampleNode tree = profiler.getCallTree();
+            assertEquals(samples, tree.getTotalSamples());
+            assertEquals(samples, selfSamples(tree));
+            assertEquals(1, tree.getChildren().size());
+
+            SampleNode module = tree.getChildren().iterator().next();
+            assertEquals(samples, module.getTotalSamples());
+            assertEquals(1, module.getChildren().size());
+
+            // hot calls no other Python function, so every sample that reached it stopped there
+            SampleNode hot = module.getChildren().iterator().next();
+            assertEquals("hot", hot.getName());
+            assertEquals(hot.getTotalSamples(), hot.getSelfSamples());
+            assertEquals(samples, module.getSelfSamples() + hot.getSelfSamples());
+
+            ByteArrayOutputStream collapsed = new ByteArrayOutputStream();
+            profiler.writeCollapsedStacks(new PrintStream(collapsed));
+            long collapsedSamples = 0;
+            for (String line : collapsed.toString().split("\n")) {
+                collapsedSamples += Long.parseLong(line.substring(line.lastIndexOf(' ') + 1).trim());
+            }
+
+            assertEquals(samples, collapsedSamples);
+
+            ByteArrayOutputStream json = new ByteArrayOutputStream();
+            profiler.writeJson(new PrintStream(json));
+            assertTrue(json.toString().contains("\"samples\":" + samples + ","));
+        }
+    }
+
+    private static long selfSamples(SampleNode node) {
+        long self = node.getSelfSamples();
+        for (SampleNode child : node.getChildren()) {
+            self += selfSamples(child);
+        }
+
+        return self;
+    }
+
+}
@@ -28,6 +28,7 @@ import static org.junit.Assert.*;
 
 import org.junit.*;
 
+import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.sequence.storage.*;
 
 public class SequenceStorageTests {
@@ -213,4 +214,37 @@ public class SequenceStorageTests {
         assertEquals(12, store.length());
     }
 
+    @Test
+    public void parallelSort() {
+        int threshold = PythonOptions.ParallelSortThreshold;
+        PythonOptions.ParallelSortThreshold = 4;
+
+        try {
+            IntSequenceStorage ints = new IntSequenceStorage(new int[]{5, 3, 6, 1, 4, 2});
+            SortUtil.sort(ints, true);
+
+            for (int i = 0; i < 6; i++) {
+                assertEquals(6 - i, ints.getItemNormalized(i));
+            }
+
+            ObjectSequenceStorage strings = new ObjectSequenceStorage(new Object[]{"pear", "fig", "apple", "kiwi"});
+            SortUtil.sort(strings, false);
+            assertArrayEquals(new Object[]{"apple", "fig", "kiwi", "pear"}, strings.getCopyOfInternalArray());
+
+            ObjectSequenceStorage keyed = new ObjectSequenceStorage(new Object[]{"a", "b", "c", "d", "e"});
+            SortUtil.sortByKeys(keyed, new Object[]{1, 0, 1, -1, 0}, true);
+            assertArrayEquals(new Object[]{"a", "c", "b", "e", "d"}, keyed.getCopyOfInternalArray());
+        } finally {
+            PythonOptions.ParallelSortThreshold = threshold;
+        }
+    }
+
+    @Test
+    public void sortNegativeZero() {
+        DoubleSequenceStorage doubles = new DoubleSequenceStorage(new double[]{0.0, -0.0, -1.0});
+        SortUtil.sort(doubles, false);
+        assertEquals(-1.0, doubles.getItemNormalized(0));
+        assertEquals(Double.doubleToRawLongBits(0.0), Double.doubleToRawLongBits((double) doubles.getItemNormalized(1)));
+    }
+
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.test.runtime;
+
+import static org.junit.Assert.*;
+
+import org.junit.*;
+
+import edu.uci.python.runtime.sequence.storage.*;
+
+public class SetStorageTests {
+
+    @Test
+    public void intAddAndContains() {
+        IntSetStorage store = new IntSetStorage();
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(store.addInt(i * 7));
+        }
+
+        assertFalse(store.addInt(14));
+        assertEquals(1000, store.length());
+        assertTrue(store.containsInt(6993));
+        assertTrue(store.contains(21L));
+        assertTrue(store.contains(28.0));
+        assertFalse(store.containsInt(5));
+    }
+
+    @Test
+    public void intRemove() {
+        IntSetStorage store = new IntSetStorage();
+
+        for (int i = 0; i < 100; i++) {
+            store.addInt(i);
+        }
+
+        for (int i = 0; i < 100; i += 2) {
+            assertTrue(store.removeInt(i));
+        }
+
+        assertEquals(50, store.length());
+        assertFalse(store.containsInt(42));
+        assertTrue(store.containsInt(43));
+        assertTrue(store.addInt(42));
+    }
+
+    @Test
+    public void intGeneralizeToLong() {
+        IntSetStorage store = new IntSetStorage();
+        store.addInt(1);
+        store.addInt(2);
+
+        SetStorage generalized = store.generalizeFor(1L << 40);
+        assertTrue(generalized instanceof LongSetStorage);
+        assertTrue(generalized.contains(2));
+        assertEquals(2, generalized.length());
+    }
+
+    @Test
+    public void intGeneralizeToObject() throws SequenceStoreException {
+        IntSetStorage store = new IntSetStorage();
+        store.addInt(1);
+
+        SetStorage generalized = store.generalizeFor("a");
+        assertTrue(generalized instanceof ObjectSetStorage);
+        assertTrue(generalized.add("a"));
+        assertFalse(generalized.add(1.0));
+        assertTrue(generalized.contains(1));
+        assertEquals(2, generalized.length());
+    }
+
+    @Test
+    public void smallIntsIterateInOrder() {
+        IntSetStorage store = new IntSetStorage();
+        store.addInt(3);
+        store.addInt(1);
+        store.addInt(2);
+
+        assertArrayEquals(new Object[]{1, 2, 3}, store.getItems());
+    }
+
+}
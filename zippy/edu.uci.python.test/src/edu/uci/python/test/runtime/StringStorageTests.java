@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.test.runtime;
+
+import static org.junit.Assert.*;
+
+import org.junit.*;
+
+import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.sequence.storage.*;
+import edu.uci.python.test.*;
+
+public class StringStorageTests {
+
+    @Test
+    public void latin1Substring() {
+        StringStorage store = StringStorage.create("hello world");
+        assertTrue(store instanceof Latin1StringStorage);
+
+        StringStorage world = store.substring(6, 11);
+        assertEquals(5, world.length());
+        assertEquals('w', world.charAt(0));
+        assertEquals("world", world.toString());
+        assertEquals("orl", world.substring(1, 4).toString());
+    }
+
+    @Test
+    public void utf16Fallback() {
+        StringStorage store = StringStorage.create("caf\u00e9 \u4e16\u754c");
+        assertTrue(store instanceof UTF16StringStorage);
+        assertEquals("\u4e16\u754c", store.substring(5, 7).toString());
+        assertEquals("cf \u754c", store.getSlice(0, 2, 4).toString());
+    }
+
+    @Test
+    public void compactionWorthy() {
+        StringStorage store = StringStorage.create("0123456789abcdef");
+        assertFalse(store.substring(0, 8).isCompactionWorthy());
+        assertTrue(store.substring(0, 2).isCompactionWorthy());
+    }
+
+    @Test
+    public void pstringViews() {
+        PythonTests.getContext();
+        PString line = new PString("GET /index.html 200");
+        PString path = (PString) line.getSlice(4, 15, 1, 11);
+
+        assertEquals("/index.html", path.getValue());
+        assertSame(PString.charToString('/'), path.getItem(0));
+        assertEquals(new PString("/index.html"), path);
+        assertEquals("html", path.substring(7, 11).toString());
+    }
+
+    @Test
+    public void builderAppend() {
+        BuilderStringStorage ab = BuilderStringStorage.concat("a", "b");
+        BuilderStringStorage abc = ab.append("c");
+        BuilderStringStorage abd = ab.append("d");
+
+        assertEquals("ab", ab.toString());
+        assertEquals("abc", abc.toString());
+        assertEquals("abd", abd.toString());
+        assertEquals("abcd", abc.append("d").toString());
+    }
+
+    @Test
+    public void stringView() {
+        String line = "GET /index.html 200";
+        StringStorage path = new StringViewStorage(line).substring(4, 15);
+
+        assertEquals("/index.html", path.toString());
+        assertEquals("html", path.substring(7, 11).toString());
+        assertEquals("/ne.t", path.getSlice(0, 2, 5).toString());
+        assertTrue(new PString(line).getStringStorage() instanceof StringViewStorage);
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.test.runtime;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.junit.*;
+
+import com.oracle.truffle.api.source.*;
+
+import edu.uci.python.*;
+import edu.uci.python.shell.*;
+import edu.uci.python.shell.ZipPyWorkerPool.JobResult;
+
+public class WorkerPoolTests {
+
+    private static Source source(String code) {
+        return Source.newBuilder(code).name("(test)").mimeType(PythonLanguage.MIME_TYPE).build();
+    }
+
+    @Test
+    public void concurrentJobs() throws Exception {
+        try (ZipPyWorkerPool pool = new ZipPyWorkerPool(2)) {
+            List<Future<JobResult>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(source("x = " + i + "\nprint(x * x)\n")));
+            }
+
+            for (int i = 0; i < 8; i++) {
+                JobResult result = results.get(i).get(30, TimeUnit.SECONDS);
+                assertEquals(0, result.getExitStatus());
+                assertEquals(i * i + "\n", result.getOutput().replaceAll("\r\n", "\n"));
+            }
+        }
+    }
+
+    @Test
+    public void failingJob() throws Exception {
+        try (ZipPyWorkerPool pool = new ZipPyWorkerPool(1)) {
+            JobResult failed = pool.submit(source("leaked = 1\nraise ValueError('bad input')\n")).get(30, TimeUnit.SECONDS);
+            assertEquals(1, failed.getExitStatus());
+            assertTrue(failed.getErrorOutput().contains("bad input"));
+
+            JobResult next = pool.submit(source("print(leaked)\n")).get(30, TimeUnit.SECONDS);
+            assertEquals("a fresh __main__ must not see names of earlier jobs", 1, next.getExitStatus());
+        }
+    }
+
+    @Test
+    public void argvStdinAndExitStatus() throws Exception {
+        try (ZipPyWorkerPool pool = new ZipPyWorkerPool(1)) {
+            String echo = "import sys\nprint(sys.argv[1], sys.stdin.readline().strip())\n";
+            Future<JobResult> exiting = pool.submit(source(echo + "sys.exit(3)\n"), new String[]{"job.py", "first"}, "one\ntwo\n".getBytes());
+            Future<JobResult> next = pool.submit(source(echo), new String[]{"job.py", "second"}, "other\n".getBytes());
+
+            JobResult first = exiting.get(30, TimeUnit.SECONDS);
+            assertEquals(3, first.getExitStatus());
+            assertEquals("first one\n", first.getOutput().replaceAll("\r\n", "\n"));
+
+            JobResult second = next.get(30, TimeUnit.SECONDS);
+            assertEquals(0, second.getExitStatus());
+            assertEquals("second other\n", second.getOutput().replaceAll("\r\n", "\n"));
+        }
+    }
+
+}
@@ -37,10 +37,15 @@ import edu.uci.python.builtins.PythonDefaultBuiltinsLookup;
 import edu.uci.python.nodes.ModuleNode;
 import edu.uci.python.nodes.PNode;
 import edu.uci.python.parser.PythonParserImpl;
+import edu.uci.python.parser.SpecializationSnapshot;
+import edu.uci.python.runtime.JythonRuntime;
 import edu.uci.python.runtime.PythonContext;
 import edu.uci.python.runtime.PythonOptions;
 import edu.uci.python.runtime.PythonParseResult;
+import edu.uci.python.runtime.StartupTimer;
 import edu.uci.python.runtime.object.PythonObjectAllocationInstrumentor;
+import edu.uci.python.runtime.profiler.RewriteTracer;
+import edu.uci.python.runtime.profiler.SamplingProfiler;
 import edu.uci.python.runtime.standardtype.PythonModule;
 
 @TruffleLanguage.Registration(name = PythonLanguage.LANGUAGE_ID, version = "3.3", mimeType = PythonLanguage.MIME_TYPE, interactive = false)
@@ -62,17 +67,29 @@ public final class PythonLanguage extends TruffleLanguage<PythonContext> {
 
     @Override
     protected PythonContext createContext(Env env) {
+        long start = System.nanoTime();
         PythonOptions opts = new PythonOptions();
         opts.setStandardOut(env.out());
         opts.setStandardErr(env.err());
-        return new PythonContext(env, opts, new PythonDefaultBuiltinsLookup(), new PythonParserImpl());
+        PythonContext context = new PythonContext(env, opts, new PythonDefaultBuiltinsLookup(), new PythonParserImpl());
+        StartupTimer.record("context creation", System.nanoTime() - start);
+        return context;
     }
 
     @Override
     protected CallTarget parse(ParsingRequest request) throws Exception {
         PythonContext context = this.getContextReference().get();
-        PythonModule module = context.createMainModule(request.getSource().getPath());
-        parseResult = context.getParser().parse(context, module, request.getSource());
+        PythonContext previous = context.enter();
+        long start = System.nanoTime();
+
+        try {
+            PythonModule module = context.createMainModule(request.getSource().getPath());
+            parseResult = context.getParser().parse(context, module, request.getSource());
+        } finally {
+            context.leave(previous);
+        }
+
+        StartupTimer.record("parse and translation", System.nanoTime() - start);
 
         if (PythonOptions.PrintAST) {
             System.out.println("============= " + "Before Specialization" + " ============= ");
@@ -89,6 +106,8 @@ public final class PythonLanguage extends TruffleLanguage<PythonContext> {
 
     @Override
     protected void disposeContext(PythonContext context) {
+        context.dispose();
+
         if (parseResult == null)
             return;
 
@@ -101,12 +120,42 @@ public final class PythonLanguage extends TruffleLanguage<PythonContext> {
             parseResult.visualizeToNetwork();
         }
 
+        if (PythonOptions.TraceImports) {
+            context.getImportManager().printImportStatistics();
+        }
+
+        SpecializationSnapshot snapshot = SpecializationSnapshot.getDefault();
+        if (snapshot != null) {
+            snapshot.save();
+        }
+
+        if (JythonRuntime.isInitialized()) {
+            Py.flushLine();
+        }
+
+    }
+
+    /**
+     * Prints the reports of the profilers and tracers that collect for the whole JVM. Embedders call
+     * this once after disposing their last engine, since a context disposal does not know whether
+     * other contexts are still running.
+     */
+    public static void printRuntimeReports() {
         if (PythonOptions.InstrumentObjectStorageAllocation) {
             PythonObjectAllocationInstrumentor.getInstance().printAllocations();
         }
 
-        Py.flushLine();
+        if (PythonOptions.ProfileAllocations) {
+            PythonObjectAllocationInstrumentor.getInstance().printAllocationSites(System.out, PythonOptions.ProfileAllocationsTopSites);
+        }
 
+        if (PythonOptions.ProfileSampling) {
+            SamplingProfiler.getInstance().report();
+        }
+
+        if (PythonOptions.TraceRewrites) {
+            RewriteTracer.getInstance().printReport(System.out, PythonOptions.TraceRewritesTopSites);
+        }
     }
 
     @Override
@@ -27,8 +27,6 @@ package edu.uci.python.builtins;
 import java.math.BigInteger;
 import java.util.List;
 
-import org.python.core.Py;
-
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
@@ -52,6 +50,7 @@ import edu.uci.python.runtime.datatype.PFrozenSet;
 import edu.uci.python.runtime.datatype.PIterable;
 import edu.uci.python.runtime.datatype.PNone;
 import edu.uci.python.runtime.datatype.PRange;
+import edu.uci.python.runtime.exception.PythonErrors;
 import edu.uci.python.runtime.exception.StopIterationException;
 import edu.uci.python.runtime.function.PArguments;
 import edu.uci.python.runtime.function.PythonCallable;
@@ -156,14 +155,14 @@ public final class BuiltinConstructors extends PythonBuiltins {
         public PComplex complexFromObjectObject(Object real, Object imaginary) {
             if (real instanceof String) {
                 if (!(imaginary instanceof PNone)) {
-                    throw Py.TypeError("complex() can't take second arg if first is a string");
+                    throw PythonErrors.TypeError("complex() can't take second arg if first is a string");
                 }
 
                 String realPart = (String) real;
                 return JavaTypeConversions.convertStringToComplex(realPart);
             }
 
-            throw Py.TypeError("can't convert real " + real + " imag " + imaginary);
+            throw PythonErrors.TypeError("can't convert real " + real + " imag " + imaginary);
         }
     }
 
@@ -182,7 +181,7 @@ public final class BuiltinConstructors extends PythonBuiltins {
 
         @Specialization(guards = {"oneArgument(args)", "firstArgIsDict(args)"})
         public PDict dictFromDict(PTuple args) {
-            return new PDict(((PDict) args.getItem(0)).getMap());
+            return new PDict((PDict) args.getItem(0));
         }
 
         @Specialization(guards = {"oneArgument(args)", "firstArgIsIterable(args)"})
@@ -263,7 +262,7 @@ public final class BuiltinConstructors extends PythonBuiltins {
                 return 0.0;
             }
 
-            throw Py.TypeError("can't convert " + arg.getClass().getSimpleName() + " to float ");
+            throw PythonErrors.TypeError("can't convert " + arg.getClass().getSimpleName() + " to float ");
         }
     }
 
@@ -596,14 +595,14 @@ public final class BuiltinConstructors extends PythonBuiltins {
                 }
             }
 
-            throw Py.TypeError("range does not support " + start + ", " + stop + ", " + step);
+            throw PythonErrors.TypeError("range does not support " + start + ", " + stop + ", " + step);
         }
 
         @TruffleBoundary
         @Specialization(guards = "!isNumber(stop)")
         public PSequence rangeError(Object start, Object stop, Object step) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.TypeError("range does not support " + start + ", " + stop + ", " + step);
+            throw PythonErrors.TypeError("range does not support " + start + ", " + stop + ", " + step);
         }
 
         public static boolean isNumber(Object value) {
@@ -659,7 +658,7 @@ public final class BuiltinConstructors extends PythonBuiltins {
         @Specialization
         public PSet set(VirtualFrame frame, Object arg) {
             if (!(arg instanceof Iterable<?>)) {
-                throw Py.TypeError("'" + PythonTypesUtil.getPythonTypeName(arg) + "' object is not iterable");
+                throw PythonErrors.TypeError("'" + PythonTypesUtil.getPythonTypeName(arg) + "' object is not iterable");
             } else {
                 throw new RuntimeException("set does not support iterable object " + arg);
             }
@@ -30,6 +30,7 @@ import java.util.*;
 
 import org.python.core.*;
 
+import edu.uci.python.builtins.type.*;
 import edu.uci.python.nodes.*;
 import edu.uci.python.nodes.call.*;
 import edu.uci.python.nodes.expression.*;
@@ -102,13 +103,13 @@ public final class BuiltinFunctions extends PythonBuiltins {
                 PMethod method = new PMethod(object, (PFunction) absAttribute);
                 return method.call(null, null);
             } else {
-                throw Py.TypeError("bad operand type for abs(): '" + object + "'");
+                throw PythonErrors.TypeError("bad operand type for abs(): '" + object + "'");
             }
         }
 
         @Specialization
         public double absObject(Object arg) {
-            throw Py.TypeError("bad operand type for abs(): '" + PythonTypesUtil.getPythonTypeName(arg) + "'");
+            throw PythonErrors.TypeError("bad operand type for abs(): '" + PythonTypesUtil.getPythonTypeName(arg) + "'");
         }
     }
 
@@ -232,7 +233,7 @@ public final class BuiltinFunctions extends PythonBuiltins {
             if (arg >= 0 && arg < 1114111) {
                 return Character.toString((char) arg);
             } else {
-                throw Py.ValueError("chr() arg not in range(0x110000)");
+                throw PythonErrors.ValueError("chr() arg not in range(0x110000)");
             }
         }
 
@@ -240,7 +241,7 @@ public final class BuiltinFunctions extends PythonBuiltins {
         @Specialization
         public char charFromObject(BigInteger arg) {
             if (arg.longValue() > Integer.MAX_VALUE) {
-                throw Py.OverflowError("integer is greater than maximum");
+                throw PythonErrors.OverflowError("integer is greater than maximum");
             } else {
                 throw new RuntimeException("chr does not support BigInteger " + arg);
             }
@@ -250,17 +251,17 @@ public final class BuiltinFunctions extends PythonBuiltins {
         @TruffleBoundary
         @Specialization
         public Object charFromObject(double arg) {
-            throw Py.TypeError("integer argument expected, got float");
+            throw PythonErrors.TypeError("integer argument expected, got float");
         }
 
         @TruffleBoundary
         @Specialization
         public char charFromObject(Object arg) {
             if (arg instanceof Double) {
-                throw Py.TypeError("integer argument expected, got float");
+                throw PythonErrors.TypeError("integer argument expected, got float");
             }
 
-            throw Py.TypeError("an integer is required");
+            throw PythonErrors.TypeError("an integer is required");
         }
     }
 
@@ -528,13 +529,13 @@ public final class BuiltinFunctions extends PythonBuiltins {
 
         @Specialization(guards = "is2ndNotTuple(val,cls)")
         public boolean isinstance(@SuppressWarnings("unused") int val, Object cls) {
-            return PInt.__class__ == cls;
+            return getContext().getBuiltinType(PInt.class) == cls;
         }
 
         @Specialization
         public boolean isinstance(@SuppressWarnings("unused") int val, PTuple classTuple) {
             for (int i = 0; i < classTuple.len(); i++) {
-                if (PInt.__class__ == classTuple.getItem(i)) {
+                if (getContext().getBuiltinType(PInt.class) == classTuple.getItem(i)) {
                     return true;
                 }
             }
@@ -545,7 +546,7 @@ public final class BuiltinFunctions extends PythonBuiltins {
         @Specialization
         public boolean isinstance(@SuppressWarnings("unused") String val, PTuple classTuple) {
             for (int i = 0; i < classTuple.len(); i++) {
-                if (PString.__class__ == classTuple.getItem(i)) {
+                if (getContext().getBuiltinType(PString.class) == classTuple.getItem(i)) {
                     return true;
                 }
             }
@@ -654,6 +655,11 @@ public final class BuiltinFunctions extends PythonBuiltins {
 
         @CompilationFinal @Child protected CallDispatchSpecialNode dispatch;
 
+        @Specialization
+        public int len(PString arg) {
+            return arg.len();
+        }
+
         @Specialization
         public int len(String arg) {
             return arg.length();
@@ -723,7 +729,7 @@ public final class BuiltinFunctions extends PythonBuiltins {
 
         @Fallback
         public int len(Object arg) {
-            throw Py.TypeError("object of type '" + PythonTypesUtil.getPythonTypeName(arg) + "' has no len()");
+            throw PythonErrors.TypeError("object of type '" + PythonTypesUtil.getPythonTypeName(arg) + "' has no len()");
         }
     }
 
@@ -1170,6 +1176,46 @@ public final class BuiltinFunctions extends PythonBuiltins {
         }
     }
 
+    // sorted(iterable, key=None, reverse=False)
+    @Builtin(name = "sorted", hasFixedNumOfArguments = true, fixedNumOfArguments = 1, takesKeywordArguments = true, takesVariableKeywords = true, keywordNames = {"key", "reverse"})
+    @GenerateNodeFactory
+    public abstract static class SortedNode extends PythonBuiltinNode {
+
+        @Child protected ListBuiltins.SortListNode sortNode = new ListBuiltins.SortListNode();
+
+        @Specialization
+        public PList sortedList(VirtualFrame frame, PList list, Object[] keywords) {
+            return sort(frame, new PList(list.getStorage().copy()), keywords);
+        }
+
+        @Specialization
+        public PList sortedString(VirtualFrame frame, String arg, Object[] keywords) {
+            return sort(frame, new PList(new PString(arg).__iter__()), keywords);
+        }
+
+        @Specialization
+        public PList sortedIterator(VirtualFrame frame, PIterator iterator, Object[] keywords) {
+            return sort(frame, new PList(iterator), keywords);
+        }
+
+        @Specialization
+        public PList sortedIterable(VirtualFrame frame, PIterable iterable, Object[] keywords) {
+            return sort(frame, new PList(iterable.__iter__()), keywords);
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PList sortedObject(Object arg, Object[] keywords) {
+            CompilerDirectives.transferToInterpreter();
+            throw PythonErrors.TypeError("'" + PythonTypesUtil.getPythonTypeName(arg) + "' object is not iterable");
+        }
+
+        private PList sort(VirtualFrame frame, PList list, Object[] keywords) {
+            sortNode.execute(frame, list, keywords);
+            return list;
+        }
+    }
+
     // sum(iterable[, start])
     @Builtin(name = "sum", minNumOfArguments = 1, takesKeywordArguments = true, maxNumOfArguments = 2, keywordNames = {"start"})
     @GenerateNodeFactory
@@ -1269,43 +1315,43 @@ public final class BuiltinFunctions extends PythonBuiltins {
         @Specialization
         @SuppressWarnings("unused")
         public Object type(int value) {
-            return PInt.__class__;
+            return getContext().getBuiltinType(PInt.class);
         }
 
         @Specialization
         @SuppressWarnings("unused")
         public Object type(double value) {
-            return PFloat.__class__;
+            return getContext().getBuiltinType(PFloat.class);
         }
 
         @Specialization
         @SuppressWarnings("unused")
         public Object type(String value) {
-            return PString.__class__;
+            return getContext().getBuiltinType(PString.class);
         }
 
         @Specialization
         @SuppressWarnings("unused")
         public Object type(PList value) {
-            return PList.__class__;
+            return getContext().getBuiltinType(PList.class);
         }
 
         @Specialization
         @SuppressWarnings("unused")
         public Object type(PTuple value) {
-            return PTuple.__class__;
+            return getContext().getBuiltinType(PTuple.class);
         }
 
         @Specialization
         @SuppressWarnings("unused")
         public Object type(PSet value) {
-            return PSet.__class__;
+            return getContext().getBuiltinType(PSet.class);
         }
 
         @Specialization
         @SuppressWarnings("unused")
         public Object type(PDict value) {
-            return PDict.__class__;
+            return getContext().getBuiltinType(PDict.class);
         }
 
         @Fallback
@@ -1333,7 +1379,7 @@ public final class BuiltinFunctions extends PythonBuiltins {
 
     @TruffleBoundary
     private static void typeError(String message) {
-        throw Py.TypeError(message);
+        throw PythonErrors.TypeError(message);
     }
 
 }
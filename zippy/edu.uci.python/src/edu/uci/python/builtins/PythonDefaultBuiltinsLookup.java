@@ -26,6 +26,7 @@ package edu.uci.python.builtins;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.ServiceLoader;
 
 import edu.uci.python.builtins.module.ArrayModuleBuiltins;
 import edu.uci.python.builtins.module.FunctoolsModuleBuiltins;
@@ -63,24 +64,59 @@ import edu.uci.python.runtime.standardtype.PythonModule;
 public final class PythonDefaultBuiltinsLookup implements PythonBuiltinsLookup {
 
     private final Map<String, PythonModule> builtinModules;
+    private final Map<String, PythonBuiltinModuleFactory> moduleFactories;
     private final Map<Class<? extends PythonBuiltinObject>, PythonBuiltinClass> builtinTypes;
+    private PythonContext context;
 
     public PythonDefaultBuiltinsLookup() {
         builtinModules = new HashMap<>();
+        moduleFactories = new HashMap<>();
         builtinTypes = new HashMap<>();
     }
 
-    public PythonModule populateBuiltins(PythonContext context) {
+    public PythonModule populateBuiltins(PythonContext pythonContext) {
+        this.context = pythonContext;
         PythonModule builtinsModule = createModule("builtins", context, new BuiltinFunctions(), new BuiltinConstructors(), new InteropNodes());
         builtinsModule.setAttribute("object", context.getObjectClass());
         addModule("builtins", builtinsModule);
 
-        addModule("functools", createModule("functools", context, new FunctoolsModuleBuiltins()));
-        addModule("array", createModule("array", context, new ArrayModuleBuiltins()));
-        addModule("time", createModule("time", context, new TimeModuleBuiltins()));
-        addModule("math", createModule("math", context, new MathModuleBuiltins()));
-        addModule("random", createModule("random", context, new RandomModuleBuiltins()));
-        addModule("functools", createModule("functools", context, new FunctoolsModuleBuiltins()));
+        // The remaining modules are created on their first lookup.
+        addModuleFactory(new DefaultModuleFactory("functools") {
+            @Override
+            public PythonBuiltins[] createBuiltins() {
+                return new PythonBuiltins[]{new FunctoolsModuleBuiltins()};
+            }
+        });
+        addModuleFactory(new DefaultModuleFactory("array") {
+            @Override
+            public PythonBuiltins[] createBuiltins() {
+                return new PythonBuiltins[]{new ArrayModuleBuiltins()};
+            }
+        });
+        addModuleFactory(new DefaultModuleFactory("time") {
+            @Override
+            public PythonBuiltins[] createBuiltins() {
+                return new PythonBuiltins[]{new TimeModuleBuiltins()};
+            }
+        });
+        addModuleFactory(new DefaultModuleFactory("math") {
+            @Override
+            public PythonBuiltins[] createBuiltins() {
+                return new PythonBuiltins[]{new MathModuleBuiltins()};
+            }
+        });
+        addModuleFactory(new DefaultModuleFactory("random") {
+            @Override
+            public PythonBuiltins[] createBuiltins() {
+                return new PythonBuiltins[]{new RandomModuleBuiltins()};
+            }
+        });
+
+        for (PythonBuiltinModuleFactory factory : ServiceLoader.load(PythonBuiltinModuleFactory.class)) {
+            if (!hasModule(factory.getModuleName())) {
+                addModuleFactory(factory);
+            }
+        }
 
         // Only populate builtins, no need to add it to the builtinTypes lookup.
         createType("object", context, builtinsModule, new ObjectBuiltins());
@@ -98,10 +134,29 @@ public final class PythonDefaultBuiltinsLookup implements PythonBuiltinsLookup {
         return builtinsModule;
     }
 
-    public void addModule(String name, PythonModule module) {
+    public synchronized void addModule(String name, PythonModule module) {
         builtinModules.put(name, module);
     }
 
+    public synchronized void addModuleFactory(PythonBuiltinModuleFactory factory) {
+        moduleFactories.put(factory.getModuleName(), factory);
+    }
+
+    private abstract static class DefaultModuleFactory implements PythonBuiltinModuleFactory {
+
+        private final String name;
+
+        DefaultModuleFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getModuleName() {
+            return name;
+        }
+
+    }
+
     private void addType(Class<? extends PythonBuiltinObject> clazz, PythonBuiltinClass type) {
         builtinTypes.put(clazz, type);
     }
@@ -173,11 +228,24 @@ public final class PythonDefaultBuiltinsLookup implements PythonBuiltinsLookup {
         }
     }
 
-    public PythonModule lookupModule(String name) {
+    public synchronized PythonModule lookupModule(String name) {
         PythonModule module = builtinModules.get(name);
+
+        if (module == null) {
+            PythonBuiltinModuleFactory factory = moduleFactories.remove(name);
+            if (factory != null) {
+                module = createModule(name, context, factory.createBuiltins());
+                builtinModules.put(name, module);
+            }
+        }
+
         return module;
     }
 
+    public synchronized boolean hasModule(String name) {
+        return builtinModules.containsKey(name) || moduleFactories.containsKey(name);
+    }
+
     public PythonBuiltinClass lookupType(Class<? extends PythonBuiltinObject> clazz) {
         PythonBuiltinClass type = builtinTypes.get(clazz);
         return type;
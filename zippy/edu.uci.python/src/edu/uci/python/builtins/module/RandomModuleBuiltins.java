@@ -28,13 +28,12 @@ import java.io.*;
 import java.math.*;
 import java.util.*;
 
-import org.python.core.*;
-
 import com.oracle.truffle.api.dsl.*;
 
 import edu.uci.python.builtins.*;
 import edu.uci.python.nodes.function.*;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.sequence.*;
 
 /**
@@ -120,16 +119,16 @@ public class RandomModuleBuiltins extends PythonBuiltins {
                     if (arr[i] instanceof Integer) {
                         b[i] = ((Integer) arr[i]).byteValue();
                     } else {
-                        throw Py.TypeError("state vector of unexpected type: " + arr[i].getClass());
+                        throw PythonErrors.TypeError("state vector of unexpected type: " + arr[i].getClass());
                     }
                 }
                 ByteArrayInputStream bin = new ByteArrayInputStream(b);
                 ObjectInputStream oin = new ObjectInputStream(bin);
                 javaRandom = (java.util.Random) oin.readObject();
             } catch (IOException e) {
-                throw Py.SystemError("state vector invalid: " + e.getMessage());
+                throw PythonErrors.SystemError("state vector invalid: " + e.getMessage());
             } catch (ClassNotFoundException e) {
-                throw Py.SystemError("state vector invalid: " + e.getMessage());
+                throw PythonErrors.SystemError("state vector invalid: " + e.getMessage());
             }
             return PNone.NONE;
         }
@@ -185,7 +184,7 @@ public class RandomModuleBuiltins extends PythonBuiltins {
                 PTuple ret = new PTuple(retarr);
                 return ret;
             } catch (IOException e) {
-                throw Py.SystemError("creation of state vector failed: " + e.getMessage());
+                throw PythonErrors.SystemError("creation of state vector failed: " + e.getMessage());
             }
         }
     }
@@ -34,6 +34,8 @@ import edu.uci.python.builtins.PythonBuiltins;
 import edu.uci.python.nodes.function.PythonBuiltinNode;
 import edu.uci.python.runtime.datatype.PDict;
 import edu.uci.python.runtime.datatype.PDictView;
+import edu.uci.python.runtime.datatype.storage.IntKeyDictStorage;
+import edu.uci.python.runtime.exception.PythonErrors;
 import edu.uci.python.runtime.sequence.PList;
 import edu.uci.python.runtime.sequence.PTuple;
 import edu.uci.python.runtime.sequence.storage.IntSequenceStorage;
@@ -57,10 +59,12 @@ public final class DictBuiltins extends PythonBuiltins {
 
         @Specialization
         public Object setDefault(PDict dict, Object arg0, Object arg1) {
-            if (dict.getMap().containsKey(arg0)) {
-                return dict.getMap().get(arg0);
+            final Object value = dict.getItem(arg0);
+
+            if (value != null) {
+                return value;
             } else {
-                dict.getMap().put(arg0, arg1);
+                dict.setItem(arg0, arg1);
                 return arg1;
             }
         }
@@ -73,13 +77,8 @@ public final class DictBuiltins extends PythonBuiltins {
 
         @Specialization
         public Object pop(PDict dict, Object arg0, Object arg1) {
-            Object retVal = dict.getMap().get(arg0);
-            if (retVal != null) {
-                dict.getMap().remove(arg0);
-                return retVal;
-            } else {
-                return arg1;
-            }
+            Object retVal = dict.pop(arg0);
+            return retVal != null ? retVal : arg1;
         }
     }
 
@@ -90,11 +89,13 @@ public final class DictBuiltins extends PythonBuiltins {
 
         @Specialization
         public Object popItem(PDict dict) {
-            Object key = dict.__iter__().__next__();
-            dict.delItem(key);
-            Object nextKey = dict.__iter__().__next__();
-            Object nextValue = dict.getItem(nextKey);
-            return new PTuple(new Object[]{nextKey, nextValue});
+            PTuple item = dict.popItem();
+
+            if (item == null) {
+                throw PythonErrors.KeyError("popitem(): dictionary is empty");
+            }
+
+            return item;
         }
     }
 
@@ -103,12 +104,15 @@ public final class DictBuiltins extends PythonBuiltins {
     @GenerateNodeFactory
     public abstract static class KeysNode extends PythonBuiltinNode {
 
-        @Specialization(rewriteOn = ClassCastException.class)
+        @Specialization(guards = "isIntKeyDictStorage(self)")
         public PList keysPDictInt(PDict self) {
+            IntKeyDictStorage keys = (IntKeyDictStorage) self.getStorage();
             IntSequenceStorage store = new IntSequenceStorage();
 
-            for (Object key : self.keys()) {
-                store.appendInt((int) key);
+            for (int i = 0; i < keys.getUsed(); i++) {
+                if (keys.getValueAt(i) != null) {
+                    store.appendInt(keys.getIntKeyAt(i));
+                }
             }
 
             return new PList(store);
@@ -138,7 +142,7 @@ public final class DictBuiltins extends PythonBuiltins {
 
         @Specialization
         public Object get(PDict dict, Object key, Object defaultValue) {
-            final Object value = dict.getMap().get(key);
+            final Object value = dict.getItem(key);
             return value != null ? value : defaultValue;
         }
     }
@@ -150,7 +154,7 @@ public final class DictBuiltins extends PythonBuiltins {
 
         @Specialization
         public PDict copy(PDict dict) {
-            return new PDict(dict.getMap());
+            return new PDict(dict);
         }
     }
 
@@ -161,7 +165,7 @@ public final class DictBuiltins extends PythonBuiltins {
 
         @Specialization
         public PDict copy(PDict dict) {
-            dict.getMap().clear();
+            dict.clear();
             return dict;
         }
     }
@@ -26,12 +26,21 @@ package edu.uci.python.builtins.type;
 
 import java.util.*;
 
+import com.oracle.truffle.api.*;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.*;
+import com.oracle.truffle.api.frame.*;
+import com.oracle.truffle.api.nodes.*;
 
 import edu.uci.python.builtins.*;
+import edu.uci.python.nodes.call.*;
 import edu.uci.python.nodes.function.*;
+import edu.uci.python.nodes.truffle.*;
+import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.datatype.*;
 import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.function.*;
+import edu.uci.python.runtime.misc.*;
 import edu.uci.python.runtime.sequence.*;
 import edu.uci.python.runtime.sequence.storage.*;
 
@@ -234,15 +243,83 @@ public class ListBuiltins extends PythonBuiltins {
         }
     }
 
-    // list.sort()
-    @Builtin(name = "sort", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    // list.sort(key=None, reverse=False)
+    @Builtin(name = "sort", fixedNumOfArguments = 1, hasFixedNumOfArguments = true, takesKeywordArguments = true, takesVariableKeywords = true, keywordNames = {"key", "reverse"})
     @GenerateNodeFactory
     public abstract static class ListSortNode extends PythonBuiltinNode {
 
+        @Child protected SortListNode sortNode = new SortListNode();
+
         @Specialization
-        public PList sort(PList list) {
-            list.sort();
-            return list;
+        public Object sort(VirtualFrame frame, PList list, Object[] keywords) {
+            sortNode.execute(frame, list, keywords);
+            return PNone.NONE;
+        }
+    }
+
+    /**
+     * Sorts a list in place for {@code list.sort} and {@code sorted}. The key function is called
+     * once per element through a {@link CachedCallNode}, before any comparison is made.
+     */
+    public static final class SortListNode extends Node {
+
+        @Child protected CachedCallNode keyCall;
+
+        public void execute(VirtualFrame frame, PList list, Object[] keywords) {
+            Object key = PNone.NONE;
+            Object reverse = false;
+
+            if (keywords != null) {
+                for (int i = 0; i < keywords.length; i++) {
+                    PKeyword keyword = (PKeyword) keywords[i];
+                    if (keyword.getName().equals("key")) {
+                        key = keyword.getValue();
+                    } else if (keyword.getName().equals("reverse")) {
+                        reverse = keyword.getValue();
+                    } else {
+                        CompilerDirectives.transferToInterpreter();
+                        throw PythonErrors.TypeError("'" + keyword.getName() + "' is an invalid keyword argument for this function");
+                    }
+                }
+            }
+
+            boolean isReverse = reverse instanceof Boolean ? (boolean) reverse : isTrue(reverse);
+            SequenceStorage store = list.getStorage();
+
+            if (key == PNone.NONE) {
+                SortUtil.sort(store, isReverse);
+                return;
+            }
+
+            if (!(key instanceof PythonCallable)) {
+                CompilerDirectives.transferToInterpreter();
+                throw PythonErrors.TypeError("'" + PythonTypesUtil.getPythonTypeName(key) + "' object is not callable");
+            }
+
+            if (keyCall == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                keyCall = insert(CachedCallNode.create());
+            }
+
+            PythonCallable keyFunction = (PythonCallable) key;
+            int length = store.length();
+            Object[] keys = new Object[length];
+
+            for (int i = 0; i < length; i++) {
+                keys[i] = keyCall.executeCall(frame, keyFunction, PArguments.createWithUserArguments(store.getItemNormalized(i)));
+            }
+
+            if (list.getStorage() != store || store.length() != length) {
+                CompilerDirectives.transferToInterpreter();
+                throw PythonErrors.ValueError("list modified during sort");
+            }
+
+            SortUtil.sortByKeys(store, keys, isReverse);
+        }
+
+        @TruffleBoundary
+        private static boolean isTrue(Object value) {
+            return JavaTypeConversions.toBoolean(value);
         }
     }
 
@@ -32,6 +32,7 @@ import edu.uci.python.builtins.*;
 import edu.uci.python.nodes.function.*;
 import edu.uci.python.runtime.datatype.*;
 import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.sequence.storage.*;
 
 /**
  * @author zwei
@@ -59,6 +60,18 @@ public final class SetBuiltins extends PythonBuiltins {
     @GenerateNodeFactory
     public abstract static class AddNode extends PythonBuiltinNode {
 
+        @Specialization(guards = "isIntSetStorage(self)")
+        public Object addInt(PSet self, int o) {
+            ((IntSetStorage) self.getStorage()).addInt(o);
+            return PNone.NONE;
+        }
+
+        @Specialization(guards = "isLongSetStorage(self)")
+        public Object addLong(PSet self, long o) {
+            ((LongSetStorage) self.getStorage()).addLong(o);
+            return PNone.NONE;
+        }
+
         @Specialization
         public Object add(PSet self, Object o) {
             self.add(o);
@@ -25,7 +25,6 @@
 package edu.uci.python.builtins.type;
 
 import java.util.*;
-import java.util.regex.Pattern;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.*;
@@ -34,6 +33,7 @@ import edu.uci.python.builtins.*;
 import edu.uci.python.nodes.function.*;
 import edu.uci.python.runtime.array.*;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.sequence.*;
 import edu.uci.python.runtime.sequence.storage.*;
 
@@ -145,7 +145,7 @@ public final class StringBuiltins extends PythonBuiltins {
             }
 
             StringBuilder sb = new StringBuilder();
-            Object[] joinString = arg.getSet().toArray();
+            Object[] joinString = arg.getStorage().getItems();
             for (int i = 0; i < joinString.length - 1; i++) {
                 sb.append(joinString[i]);
                 sb.append(string);
@@ -230,30 +230,55 @@ public final class StringBuiltins extends PythonBuiltins {
     @GenerateNodeFactory
     public abstract static class SplitNode extends PythonBuiltinNode {
 
+        /**
+         * The parts are views of the characters of the split string.
+         */
         @SuppressWarnings("unused")
         @Specialization
-        public PList doSplit(String self, PNone sep, PNone maxsplit) {
+        public PList doSplit(PString self, PNone sep, PNone maxsplit) {
             return splitfields(self, -1);
         }
 
+        @Specialization
+        public PList doSplit(PString self, @SuppressWarnings("unused") PNone sep, int maxsplit) {
+            return splitfields(self, maxsplit);
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PList doSplit(String self, PNone sep, PNone maxsplit) {
+            return splitfields(new PString(self), -1);
+        }
+
         @SuppressWarnings("unused")
         @TruffleBoundary
         @Specialization
         public PList doSplit(String self, String sep, PNone maxsplit) {
+            if (sep.isEmpty()) {
+                throw PythonErrors.ValueError("empty separator");
+            }
+
+            PString string = new PString(self);
             PList list = new PList();
-            String[] strs = self.split(Pattern.quote(sep));
-            for (String s : strs)
-                list.append(s);
+            int start = 0;
+            int index;
+
+            while ((index = self.indexOf(sep, start)) >= 0) {
+                list.append(string.substring(start, index));
+                start = index + sep.length();
+            }
+
+            list.append(string.substring(start, self.length()));
             return list;
         }
 
         @Specialization
         public PList doSplit(String self, @SuppressWarnings("unused") PNone sep, int maxsplit) {
-            return splitfields(self, maxsplit);
+            return splitfields(new PString(self), maxsplit);
         }
 
         // See {@link PyString}
-        private static PList splitfields(String s, int maxsplit) {
+        private static PList splitfields(CharSequence s, int maxsplit) {
             /*
              * Result built here is a list of split parts, exactly as required for s.split(None,
              * maxsplit). If there are to be n splits, there will be n+1 elements in L.
@@ -301,7 +326,7 @@ public final class StringBuiltins extends PythonBuiltins {
                 }
 
                 // Make a piece from start up to index
-                list.append(s.substring(start, index));
+                list.append(s.subSequence(start, index));
                 splits++;
 
                 // Start next segment search at that point
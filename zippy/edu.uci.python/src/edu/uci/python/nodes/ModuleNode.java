@@ -24,25 +24,65 @@
  */
 package edu.uci.python.nodes;
 
+import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.frame.*;
 import com.oracle.truffle.api.nodes.*;
 
 import edu.uci.python.*;
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.profiler.*;
 
-public class ModuleNode extends RootNode {
+public class ModuleNode extends RootNode implements ReplaceObserver {
 
+    private final PythonContext context;
     private final String name;
     @Child protected PNode body;
 
-    public ModuleNode(String name, PNode body, FrameDescriptor descriptor) {
+    public ModuleNode(PythonContext context, String name, PNode body, FrameDescriptor descriptor) {
         super(PythonLanguage.INSTANCE, descriptor);
+        this.context = context;
         this.name = name;
         this.body = body;
     }
 
+    /**
+     * Runs the module body with its context entered, and restores the caller's context after.
+     */
     @Override
     public Object execute(VirtualFrame frame) {
-        return body.execute(frame);
+        PythonContext previous = context.enter();
+
+        try {
+            if (ShadowStack.isTracking()) {
+                ShadowStack stack = ShadowStack.enter(this);
+                try {
+                    return body.execute(frame);
+                } finally {
+                    stack.exit();
+                }
+            }
+
+            return body.execute(frame);
+        } finally {
+            context.leave(previous);
+        }
+    }
+
+    public boolean nodeReplaced(Node oldNode, Node newNode, CharSequence reason) {
+        if (PythonOptions.TraceRewrites) {
+            RewriteTracer.getInstance().nodeReplaced(oldNode, newNode, reason);
+        }
+
+        CallTarget callTarget = getCallTarget();
+        return callTarget instanceof ReplaceObserver && ((ReplaceObserver) callTarget).nodeReplaced(oldNode, newNode, reason);
+    }
+
+    public PythonContext getContext() {
+        return context;
+    }
+
+    public String getName() {
+        return name;
     }
 
     public PNode getBody() {
@@ -3,6 +3,7 @@ package edu.uci.python.nodes;
 import com.oracle.truffle.api.frame.*;
 
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.datatype.storage.*;
 import edu.uci.python.runtime.function.*;
 import edu.uci.python.runtime.iterator.*;
 import edu.uci.python.runtime.object.*;
@@ -90,6 +91,30 @@ public abstract class PGuards {
         return first.getStorage() instanceof ObjectSequenceStorage && second.getStorage() instanceof ObjectSequenceStorage;
     }
 
+    public static boolean isIntSetStorage(PBaseSet set) {
+        return set.getStorage() instanceof IntSetStorage;
+    }
+
+    public static boolean is2ndIntSetStorage(@SuppressWarnings("unused") Object first, PBaseSet set) {
+        return set.getStorage() instanceof IntSetStorage;
+    }
+
+    public static boolean isLongSetStorage(PBaseSet set) {
+        return set.getStorage() instanceof LongSetStorage;
+    }
+
+    public static boolean is2ndLongSetStorage(@SuppressWarnings("unused") Object first, PBaseSet set) {
+        return set.getStorage() instanceof LongSetStorage;
+    }
+
+    public static boolean isIntKeyDictStorage(PDict dict) {
+        return dict.getStorage() instanceof IntKeyDictStorage;
+    }
+
+    public static boolean isStringKeyDictStorage(PDict dict) {
+        return dict.getStorage() instanceof StringKeyDictStorage;
+    }
+
     public static boolean isObjectStorageIterator(PSequenceIterator iterator) {
         PSequence sequence = iterator.getSeqence();
 
@@ -33,6 +33,8 @@ import com.oracle.truffle.api.nodes.NodeUtil;
 import com.oracle.truffle.api.nodes.NodeVisitor;
 import com.oracle.truffle.api.nodes.RootNode;
 
+import edu.uci.python.nodes.function.FunctionRootNode;
+import edu.uci.python.runtime.PythonContext;
 import edu.uci.python.runtime.object.ObjectLayoutUtil;
 
 @SuppressWarnings("deprecation")
@@ -56,6 +58,21 @@ public class PNodeUtil {
         throw new IllegalStateException();
     }
 
+    /**
+     * The context the root of {@code node} was created for, or null if it is not a module or
+     * function root.
+     */
+    public static PythonContext getContext(Node node) {
+        RootNode root = node.getRootNode();
+        if (root instanceof FunctionRootNode) {
+            return ((FunctionRootNode) root).getContext();
+        } else if (root instanceof ModuleNode) {
+            return ((ModuleNode) root).getContext();
+        }
+
+        return null;
+    }
+
     public static List<PNode> getListOfSubExpressionsInOrder(PNode root) {
         List<PNode> expressions = new ArrayList<>();
 
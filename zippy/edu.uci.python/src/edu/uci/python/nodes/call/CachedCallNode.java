@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.nodes.call;
+
+import com.oracle.truffle.api.*;
+import com.oracle.truffle.api.frame.*;
+import com.oracle.truffle.api.nodes.*;
+
+import edu.uci.python.runtime.function.*;
+
+/**
+ * Calls a callable that is only known at run time, like the key function of a sort, with already
+ * packed arguments. A single Python function or builtin is cached and called through a direct call
+ * node. Any other callee, or a second one, makes the node generic.
+ */
+public abstract class CachedCallNode extends Node {
+
+    public abstract Object executeCall(VirtualFrame frame, PythonCallable callee, Object[] arguments);
+
+    public static CachedCallNode create() {
+        return new UninitializedCallNode();
+    }
+
+    public static final class UninitializedCallNode extends CachedCallNode {
+
+        @Override
+        public Object executeCall(VirtualFrame frame, PythonCallable callee, Object[] arguments) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+
+            if (callee instanceof PFunction || callee instanceof PBuiltinFunction) {
+                return replace(new MonomorphicCallNode(callee)).executeCall(frame, callee, arguments);
+            }
+
+            return replace(new GenericCallNode()).executeCall(frame, callee, arguments);
+        }
+    }
+
+    public static final class MonomorphicCallNode extends CachedCallNode {
+
+        private final PythonCallable cachedCallee;
+        @Child protected InvokeNode invoke;
+
+        public MonomorphicCallNode(PythonCallable callee) {
+            this.cachedCallee = callee;
+            this.invoke = InvokeNode.create(callee, false);
+        }
+
+        @Override
+        public Object executeCall(VirtualFrame frame, PythonCallable callee, Object[] arguments) {
+            if (callee == cachedCallee) {
+                return invoke.invoke(frame, callee, arguments, PKeyword.EMPTY_KEYWORDS);
+            }
+
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            return replace(new GenericCallNode()).executeCall(frame, callee, arguments);
+        }
+    }
+
+    public static final class GenericCallNode extends CachedCallNode {
+
+        @Override
+        public Object executeCall(VirtualFrame frame, PythonCallable callee, Object[] arguments) {
+            return callee.call(arguments);
+        }
+    }
+
+}
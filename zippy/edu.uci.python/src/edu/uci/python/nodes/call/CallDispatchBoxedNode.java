@@ -280,6 +280,10 @@ public abstract class CallDispatchBoxedNode extends CallDispatchNode {
 
             CallDispatchBoxedNode specialized;
 
+            if (PythonOptions.Metrics) {
+                PythonMetrics.countDispatchMiss(PNodeUtil.getContext(this), getDispatchDepth() >= PythonOptions.CallSiteInlineCacheMaxDepth);
+            }
+
             if (getDispatchDepth() < PythonOptions.CallSiteInlineCacheMaxDepth) {
                 PythonCallable callee;
 
@@ -28,6 +28,7 @@ import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.frame.*;
 import com.oracle.truffle.api.nodes.*;
 
+import edu.uci.python.nodes.*;
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.function.*;
 import edu.uci.python.runtime.standardtype.*;
@@ -175,6 +176,10 @@ public abstract class CallDispatchNoneNode extends CallDispatchNode {
 
             CallDispatchNoneNode specialized;
 
+            if (PythonOptions.Metrics) {
+                PythonMetrics.countDispatchMiss(PNodeUtil.getContext(this), getDispatchDepth() >= PythonOptions.CallSiteInlineCacheMaxDepth);
+            }
+
             if (getDispatchDepth() < PythonOptions.CallSiteInlineCacheMaxDepth) {
                 specialized = replace(CallDispatchNoneNode.create(callee, keywords));
             } else {
@@ -28,6 +28,7 @@ import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.frame.*;
 import com.oracle.truffle.api.nodes.*;
 
+import edu.uci.python.nodes.*;
 import edu.uci.python.nodes.control.*;
 import edu.uci.python.nodes.object.*;
 import edu.uci.python.nodes.truffle.*;
@@ -219,6 +220,10 @@ public abstract class CallDispatchSpecialNode extends CallDispatchNode {
 
             CallDispatchSpecialNode specialized;
 
+            if (PythonOptions.Metrics) {
+                PythonMetrics.countDispatchMiss(PNodeUtil.getContext(this), getDispatchDepth() >= PythonOptions.CallSiteInlineCacheMaxDepth);
+            }
+
             if (getDispatchDepth() >= PythonOptions.CallSiteInlineCacheMaxDepth) {
                 specialized = getTop().replace(new GenericDispatchSpecialNode(calleeName));
             }
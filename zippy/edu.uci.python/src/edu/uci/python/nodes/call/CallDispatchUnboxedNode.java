@@ -133,6 +133,10 @@ public abstract class CallDispatchUnboxedNode extends CallDispatchNode {
 
             CallDispatchUnboxedNode specialized;
 
+            if (PythonOptions.Metrics) {
+                PythonMetrics.countDispatchMiss(PNodeUtil.getContext(this), getDispatchDepth() >= PythonOptions.CallSiteInlineCacheMaxDepth);
+            }
+
             if (getDispatchDepth() < PythonOptions.CallSiteInlineCacheMaxDepth) {
                 PythonCallable callee;
                 try {
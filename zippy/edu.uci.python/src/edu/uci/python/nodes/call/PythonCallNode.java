@@ -34,7 +34,6 @@ import static edu.uci.python.nodes.truffle.PythonTypesUtil.getPythonTypeName;
 import static edu.uci.python.nodes.truffle.PythonTypesUtil.jythonCall;
 import static edu.uci.python.nodes.truffle.PythonTypesUtil.unboxPyObject;
 
-import org.python.core.Py;
 import org.python.core.PyObject;
 
 import com.oracle.truffle.api.Assumption;
@@ -71,9 +70,12 @@ import edu.uci.python.nodes.optimize.BuiltinIntrinsifier;
 import edu.uci.python.nodes.optimize.IntrinsifiableBuiltin;
 import edu.uci.python.nodes.truffle.PythonTypes;
 import edu.uci.python.nodes.truffle.PythonTypesGen;
+import edu.uci.python.runtime.JythonRuntime;
 import edu.uci.python.runtime.PythonContext;
+import edu.uci.python.runtime.PythonMetrics;
 import edu.uci.python.runtime.PythonOptions;
 import edu.uci.python.runtime.datatype.PNone;
+import edu.uci.python.runtime.exception.PythonErrors;
 import edu.uci.python.runtime.function.PArguments;
 import edu.uci.python.runtime.function.PKeyword;
 import edu.uci.python.runtime.function.PythonCallable;
@@ -187,7 +189,7 @@ public abstract class PythonCallNode extends PNode {
          * Failed to resolve a valid callable.
          */
         if (callable == null) {
-            throw Py.TypeError("'" + getPythonTypeName(callee) + "' object is not callable");
+            throw PythonErrors.TypeError("'" + getPythonTypeName(callee) + "' object is not callable");
         }
 
         /**
@@ -656,6 +658,7 @@ public abstract class PythonCallNode extends PNode {
 
         public JythonCallNode(PythonContext context, String calleeName, PNode primary, PNode callee, ArgumentsNode arguments, ArgumentsNode keywords) {
             super(context, calleeName, primary, callee, arguments, keywords, false);
+            JythonRuntime.ensureInitialized();
         }
 
         @Override
@@ -677,6 +680,10 @@ public abstract class PythonCallNode extends PNode {
         }
 
         private Object executeCall(VirtualFrame frame, PyObject callee) {
+            if (PythonOptions.Metrics) {
+                PythonMetrics.count(context, PythonMetrics.Counter.JYTHON_FALLBACK_CALLS);
+            }
+
             final Object[] starargs = argumentsNode.executeStarargs(frame);
             Object[] arguments = argumentsNode.executeArgumentsForJython(frame, starargs);
             return unboxPyObject(jythonCall(callee, arguments));
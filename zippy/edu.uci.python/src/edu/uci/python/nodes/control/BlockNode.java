@@ -34,6 +34,7 @@ import edu.uci.python.nodes.*;
 import edu.uci.python.nodes.generator.*;
 import edu.uci.python.nodes.statement.*;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.profiler.*;
 
 public class BlockNode extends StatementNode {
 
@@ -91,6 +92,10 @@ public class BlockNode extends StatementNode {
         Object result = PNone.NONE;
 
         for (int i = 0; i < statements.length; i++) {
+            if (ShadowStack.isTracking()) {
+                ShadowStack.at(statements[i]);
+            }
+
             result = statements[i].execute(frame);
         }
 
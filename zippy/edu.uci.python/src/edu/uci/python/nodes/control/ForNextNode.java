@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.nodes.control;
+
+import com.oracle.truffle.api.dsl.*;
+import com.oracle.truffle.api.frame.*;
+import com.oracle.truffle.api.nodes.*;
+
+import edu.uci.python.nodes.*;
+import edu.uci.python.nodes.frame.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.iterator.*;
+
+/**
+ * Advances the iterator of a for loop and writes the next element to the loop target. Throws
+ * {@link StopIterationException} when the iterator is exhausted.
+ */
+@ImportStatic(PGuards.class)
+@GenerateNodeFactory
+public abstract class ForNextNode extends Node {
+
+    @Child protected PNode target;
+
+    public ForNextNode(PNode target) {
+        this.target = target;
+        assert target instanceof WriteNode;
+    }
+
+    public PNode getTarget() {
+        return target;
+    }
+
+    public abstract void executeNext(VirtualFrame frame, Object iterator);
+
+    @Specialization
+    public void doPRange(VirtualFrame frame, PRangeIterator iterator) {
+        ((WriteNode) target).executeWrite(frame, iterator.__nextInt__());
+    }
+
+    @Specialization
+    public void doIntegerSequence(VirtualFrame frame, PIntegerSequenceIterator iterator) {
+        ((WriteNode) target).executeWrite(frame, iterator.__nextInt__());
+    }
+
+    @Specialization
+    public void doInteger(VirtualFrame frame, PIntegerIterator iterator) {
+        ((WriteNode) target).executeWrite(frame, iterator.__nextInt__());
+    }
+
+    @Specialization
+    public void doLongSequence(VirtualFrame frame, PLongSequenceIterator iterator) {
+        ((WriteNode) target).executeWrite(frame, iterator.__nextLong__());
+    }
+
+    @Specialization
+    public void doLong(VirtualFrame frame, PLongIterator iterator) {
+        ((WriteNode) target).executeWrite(frame, iterator.__nextLong__());
+    }
+
+    @Specialization
+    public void doDouble(VirtualFrame frame, PDoubleIterator iterator) {
+        ((WriteNode) target).executeWrite(frame, iterator.__nextDouble__());
+    }
+
+    @Specialization(guards = "isObjectStorageIterator(iterator)")
+    public void doObjectStorage(VirtualFrame frame, PSequenceIterator iterator) {
+        ((WriteNode) target).executeWrite(frame, iterator.nextInObjectStorage());
+    }
+
+    @Specialization
+    public void doGenerator(VirtualFrame frame, PGenerator generator) {
+        ((WriteNode) target).executeWrite(frame, generator.__next__());
+    }
+
+    @Specialization
+    public void doIterator(VirtualFrame frame, PIterator iterator) {
+        ((WriteNode) target).executeWrite(frame, iterator.__next__());
+    }
+
+}
@@ -24,57 +24,62 @@
  */
 package edu.uci.python.nodes.control;
 
-import com.oracle.truffle.api.CompilerAsserts;
-import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.FrameUtil;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.nodes.RepeatingNode;
 
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.PNode;
 import edu.uci.python.nodes.frame.WriteNode;
 import edu.uci.python.nodes.generator.ComprehensionNode.ListComprehensionNode;
 import edu.uci.python.nodes.generator.ListAppendNode;
-import edu.uci.python.runtime.PythonOptions;
-import edu.uci.python.runtime.datatype.PGenerator;
 import edu.uci.python.runtime.datatype.PNone;
 import edu.uci.python.runtime.exception.StopIterationException;
-import edu.uci.python.runtime.iterator.PDoubleIterator;
-import edu.uci.python.runtime.iterator.PIntegerIterator;
-import edu.uci.python.runtime.iterator.PIntegerSequenceIterator;
-import edu.uci.python.runtime.iterator.PIterator;
-import edu.uci.python.runtime.iterator.PLongIterator;
-import edu.uci.python.runtime.iterator.PLongSequenceIterator;
 import edu.uci.python.runtime.iterator.PRangeIterator;
-import edu.uci.python.runtime.iterator.PSequenceIterator;
 import edu.uci.python.runtime.sequence.PList;
-import edu.uci.python.runtime.sequence.PSequence;
 import edu.uci.python.runtime.sequence.storage.BasicSequenceStorage;
-import edu.uci.python.runtime.sequence.storage.IntSequenceStorage;
-import edu.uci.python.runtime.sequence.storage.LongSequenceStorage;
-import edu.uci.python.runtime.sequence.storage.ObjectSequenceStorage;
 
+/**
+ * The loop itself is a Truffle {@link com.oracle.truffle.api.nodes.LoopNode}, which makes it a
+ * candidate for on-stack replacement. The iterator is kept in a frame slot between iterations.
+ */
 @NodeInfo(shortName = "for")
 @NodeChild(value = "iterator", type = GetIteratorNode.class)
 @GenerateNodeFactory
 public abstract class ForNode extends LoopNode {
 
-    @Child protected PNode target;
+    @Child protected com.oracle.truffle.api.nodes.LoopNode loopNode;
+
+    private final FrameSlot iteratorSlot;
 
-    public ForNode(PNode body, PNode target) {
-        super(body);
-        this.target = target;
+    public ForNode(PNode body, PNode target, FrameSlot iteratorSlot) {
+        this.loopNode = Truffle.getRuntime().createLoopNode(new ForRepeatingNode(ForNextNodeFactory.create(target), body, iteratorSlot));
+        this.iteratorSlot = iteratorSlot;
         assert target instanceof WriteNode;
     }
 
     protected ForNode(ForNode prev) {
-        this(prev.body, prev.target);
+        this(prev.getBody(), prev.getTarget(), prev.iteratorSlot);
+    }
+
+    protected final ForRepeatingNode getRepeatingNode() {
+        return (ForRepeatingNode) loopNode.getRepeatingNode();
+    }
+
+    @Override
+    public PNode getBody() {
+        return getRepeatingNode().body;
     }
 
     public PNode getTarget() {
-        return target;
+        return getRepeatingNode().next.getTarget();
     }
 
     public abstract PNode getIterator();
@@ -84,28 +89,26 @@ public abstract class ForNode extends LoopNode {
         final int start = range.getStart();
         final int stop = range.getStop();
         final int step = range.getStep();
-        int i = start;
-        if (i < stop) {
+
+        if (start < stop) {
             // execute once to specialize the storage
-            ((WriteNode) target).executeWrite(frame, i);
-            body.executeVoid(frame);
-            i += step;
+            ((WriteNode) getTarget()).executeWrite(frame, range.__nextInt__());
+            getBody().executeVoid(frame);
 
-            if (i < stop) {
+            if (start + step < stop) {
                 PList list = comprehensionHelper(frame);
                 if (list != null)
-                    ((BasicSequenceStorage) list.getStorage()).increaseCapacity((stop - i) / step + list.len());
+                    ((BasicSequenceStorage) list.getStorage()).increaseCapacity((stop - start - step) / step + list.len());
 
-                for (; i < stop; i += step) {
-                    ((WriteNode) target).executeWrite(frame, i);
-                    body.executeVoid(frame);
-                }
+                executeLoop(frame, range);
             }
         }
+
         return PNone.NONE;
     }
 
     private PList comprehensionHelper(VirtualFrame frame) {
+        PNode body = getBody();
         if ((this.getParent() instanceof ListComprehensionNode)) {
             if (body instanceof ListAppendNode) {
                 Object o = ((ListAppendNode) body).getLeftNode().execute(frame);
@@ -120,193 +123,50 @@ public abstract class ForNode extends LoopNode {
     }
 
     @Specialization
-    public Object doIntegerSequenceIterator(VirtualFrame frame, PIntegerSequenceIterator iterator) {
-        @SuppressWarnings("unused")
-        int count = 0;
-        IntSequenceStorage store = iterator.getSequenceStorage();
-
-        for (int index = 0; index < store.length(); index++) {
-            ((WriteNode) target).executeWrite(frame, store.getIntItemNormalized(index));
-            body.executeVoid(frame);
-
-            if (CompilerDirectives.inInterpreter()) {
-                count++;
-            }
-        }
-
+    public Object doIterator(VirtualFrame frame, Object iterator) {
+        executeLoop(frame, iterator);
         return PNone.NONE;
     }
 
-    @Specialization
-    public Object doIntegerIterator(VirtualFrame frame, PIntegerIterator iterator) {
-        @SuppressWarnings("unused")
-        int count = 0;
+    private void executeLoop(VirtualFrame frame, Object iterator) {
+        frame.setObject(iteratorSlot, iterator);
 
         try {
-            while (true) {
-                ((WriteNode) target).executeWrite(frame, iterator.__nextInt__());
-                body.executeVoid(frame);
-
-                if (CompilerDirectives.inInterpreter()) {
-                    count++;
-                }
-            }
-        } catch (StopIterationException e) {
-
+            loopNode.executeLoop(frame);
+        } finally {
+            frame.setObject(iteratorSlot, PNone.NONE);
         }
-
-        return PNone.NONE;
     }
 
-    @Specialization
-    public Object doLongSequenceIterator(VirtualFrame frame, PLongSequenceIterator iterator) {
-        @SuppressWarnings("unused")
-        int count = 0;
-        LongSequenceStorage store = iterator.getSequenceStorage();
-
-        for (int index = 0; index < store.length(); index++) {
-            ((WriteNode) target).executeWrite(frame, store.getLongItemNormalized(index));
-            body.executeVoid(frame);
-
-            if (CompilerDirectives.inInterpreter()) {
-                count++;
-            }
-        }
-
-        return PNone.NONE;
+    @Override
+    public <R> R accept(VisitorIF<R> visitor) throws Exception {
+        return visitor.visitForNode(this);
     }
 
-    @Specialization
-    public Object doLongIterator(VirtualFrame frame, PLongIterator iterator) {
-        @SuppressWarnings("unused")
-        int count = 0;
+    public static final class ForRepeatingNode extends Node implements RepeatingNode {
 
-        try {
-            while (true) {
-                ((WriteNode) target).executeWrite(frame, iterator.__nextLong__());
-                body.executeVoid(frame);
+        @Child protected ForNextNode next;
+        @Child protected PNode body;
 
-                if (CompilerDirectives.inInterpreter()) {
-                    count++;
-                }
-            }
-        } catch (StopIterationException e) {
+        private final FrameSlot iteratorSlot;
 
+        public ForRepeatingNode(ForNextNode next, PNode body, FrameSlot iteratorSlot) {
+            this.next = next;
+            this.body = body;
+            this.iteratorSlot = iteratorSlot;
         }
 
-        return PNone.NONE;
-    }
-
-    @Specialization
-    public Object doDoubleIterator(VirtualFrame frame, PDoubleIterator iterator) {
-        @SuppressWarnings("unused")
-        int count = 0;
-
-        try {
-            while (true) {
-                ((WriteNode) target).executeWrite(frame, iterator.__nextDouble__());
-                body.executeVoid(frame);
-
-                if (CompilerDirectives.inInterpreter()) {
-                    count++;
-                }
+        @Override
+        public boolean executeRepeating(VirtualFrame frame) {
+            try {
+                next.executeNext(frame, FrameUtil.getObjectSafe(frame, iteratorSlot));
+            } catch (StopIterationException e) {
+                return false;
             }
-        } catch (StopIterationException e) {
-
-        }
 
-        return PNone.NONE;
-    }
-
-    @Specialization(guards = "isObjectStorageIterator(iterator)")
-    public Object doObjectStorageIterator(VirtualFrame frame, PSequenceIterator iterator) {
-        @SuppressWarnings("unused")
-        int count = 0;
-        PList list = (PList) iterator.getSeqence();
-        ObjectSequenceStorage store = (ObjectSequenceStorage) list.getStorage();
-
-        for (int index = 0; index < store.length(); index++) {
-            ((WriteNode) target).executeWrite(frame, store.getItemNormalized(index));
-            body.executeVoid(frame);
-
-            if (CompilerDirectives.inInterpreter()) {
-                count++;
-            }
-        }
-        return PNone.NONE;
-    }
-
-    @Specialization
-    public Object doIterator(VirtualFrame frame, PSequenceIterator iterator) {
-        @SuppressWarnings("unused")
-        int count = 0;
-        PSequence sequence = iterator.getSeqence();
-
-        for (int index = 0; index < sequence.len(); index++) {
-            ((WriteNode) target).executeWrite(frame, sequence.getItem(index));
             body.executeVoid(frame);
-
-            if (CompilerDirectives.inInterpreter()) {
-                count++;
-            }
-        }
-        return PNone.NONE;
-    }
-
-    @Specialization
-    public Object doGenerator(VirtualFrame frame, PGenerator generator) {
-        int count = 0;
-
-        try {
-            while (true) {
-                ((WriteNode) target).executeWrite(frame, generator.__next__());
-                body.executeVoid(frame);
-
-                if (CompilerDirectives.inInterpreter()) {
-                    count++;
-                }
-            }
-        } catch (StopIterationException e) {
-
-        }
-
-        if (CompilerDirectives.inInterpreter()) {
-            if (count > 0 && PythonOptions.InlineGeneratorCalls) {
-                CompilerAsserts.neverPartOfCompilation();
-                /**
-                 * TODO zwei: This is probably a better place to peel generators than the
-                 * complicated logic we currently have in FunctionRootNode now.
-                 */
-            }
-        }
-
-        return PNone.NONE;
-    }
-
-    @Specialization
-    public Object doIterator(VirtualFrame frame, PIterator iterator) {
-        @SuppressWarnings("unused")
-        int count = 0;
-
-        try {
-            while (true) {
-                ((WriteNode) target).executeWrite(frame, iterator.__next__());
-                body.executeVoid(frame);
-
-                if (CompilerDirectives.inInterpreter()) {
-                    count++;
-                }
-            }
-        } catch (StopIterationException e) {
-
+            return true;
         }
-
-        return PNone.NONE;
-    }
-
-    @Override
-    public <R> R accept(VisitorIF<R> visitor) throws Exception {
-        return visitor.visitForNode(this);
     }
 
 }
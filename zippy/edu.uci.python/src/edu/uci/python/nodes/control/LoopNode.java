@@ -27,20 +27,13 @@ package edu.uci.python.nodes.control;
 import edu.uci.python.nodes.PNode;
 import edu.uci.python.nodes.statement.StatementNode;
 
+/**
+ * Python loop statements. The loops run inside a Truffle
+ * {@link com.oracle.truffle.api.nodes.LoopNode}, which owns the body and reports the iteration
+ * counts to the enclosing root node.
+ */
 public abstract class LoopNode extends StatementNode {
 
-    @Child protected PNode body;
-
-    public LoopNode(PNode body) {
-        this.body = body;
-    }
-
-    public PNode getBody() {
-        return body;
-    }
-
-    protected int reportLoopCount(int count) {
-        return count;
-    }
+    public abstract PNode getBody();
 
 }
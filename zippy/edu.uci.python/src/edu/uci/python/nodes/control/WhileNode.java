@@ -33,38 +33,39 @@ import edu.uci.python.nodes.*;
 import edu.uci.python.nodes.expression.*;
 import edu.uci.python.runtime.datatype.*;
 
+/**
+ * The loop itself is a Truffle {@link com.oracle.truffle.api.nodes.LoopNode}, which makes it a
+ * candidate for on-stack replacement.
+ */
 @NodeInfo(shortName = "while")
 public class WhileNode extends LoopNode {
 
-    @Child protected CastToBooleanNode condition;
+    @Child protected com.oracle.truffle.api.nodes.LoopNode loopNode;
 
     public WhileNode(CastToBooleanNode condition, PNode body) {
-        super(body);
-        this.condition = condition;
+        this(new WhileRepeatingNode(condition, body));
     }
 
-    public CastToBooleanNode getCondition() {
-        return condition;
+    protected WhileNode(WhileRepeatingNode repeatingNode) {
+        this.loopNode = Truffle.getRuntime().createLoopNode(repeatingNode);
     }
 
-    @Override
-    public Object execute(VirtualFrame frame) {
-        int count = 0;
+    protected final WhileRepeatingNode getRepeatingNode() {
+        return (WhileRepeatingNode) loopNode.getRepeatingNode();
+    }
 
-        try {
-            while (condition.executeBoolean(frame)) {
-                body.execute(frame);
+    public CastToBooleanNode getCondition() {
+        return getRepeatingNode().condition;
+    }
 
-                if (CompilerDirectives.inInterpreter()) {
-                    count++;
-                }
-            }
-        } finally {
-            if (CompilerDirectives.inInterpreter()) {
-                reportLoopCount(count);
-            }
-        }
+    @Override
+    public PNode getBody() {
+        return getRepeatingNode().body;
+    }
 
+    @Override
+    public Object execute(VirtualFrame frame) {
+        loopNode.executeLoop(frame);
         return PNone.NONE;
     }
 
@@ -73,4 +74,25 @@ public class WhileNode extends LoopNode {
         return visitor.visitWhileNode(this);
     }
 
+    public static class WhileRepeatingNode extends Node implements RepeatingNode {
+
+        @Child protected CastToBooleanNode condition;
+        @Child protected PNode body;
+
+        public WhileRepeatingNode(CastToBooleanNode condition, PNode body) {
+            this.condition = condition;
+            this.body = body;
+        }
+
+        @Override
+        public boolean executeRepeating(VirtualFrame frame) {
+            if (condition.executeBoolean(frame)) {
+                body.executeVoid(frame);
+                return true;
+            }
+
+            return false;
+        }
+    }
+
 }
@@ -37,8 +37,10 @@ import com.oracle.truffle.api.frame.*;
 import com.oracle.truffle.api.nodes.*;
 
 import edu.uci.python.ast.VisitorIF;
+import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.array.*;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.misc.*;
 import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.sequence.*;
@@ -134,7 +136,21 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
         }
 
         @Specialization
-        String doString(String left, String right) {
+        PString doPStringString(PString left, String right) {
+            return left.concat(right);
+        }
+
+        @Specialization
+        PString doPString(PString left, PString right) {
+            return left.concat(right);
+        }
+
+        @Specialization
+        Object doString(String left, String right) {
+            if (PythonOptions.LazyStringConcatenation && left.length() + right.length() >= PString.MIN_LAZY_CONCAT_LENGTH) {
+                return new PString(BuilderStringStorage.concat(left, right));
+            }
+
             return left + right;
         }
 
@@ -184,7 +200,7 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
         // TODO: type info for operands in type error message.
         @Fallback
         Object doGeneric(Object left, Object right) {
-            throw Py.TypeError("unsupported operand type(s) for +: " + left + " + " + right);
+            throw PythonErrors.TypeError("unsupported operand type(s) for +: " + left + " + " + right);
         }
     }
 
@@ -373,7 +389,7 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
         // TODO: better type error message.
         @Fallback
         Object doGeneric(Object left, Object right) {
-            throw Py.TypeError("can't multiply " + left + left.getClass() + " by " + right);
+            throw PythonErrors.TypeError("can't multiply " + left + left.getClass() + " by " + right);
         }
     }
 
@@ -469,7 +485,7 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
 
         @Fallback
         Object doGeneric(Object left, Object right) {
-            throw Py.TypeError("Unsupported operand type for /: " + left + " and " + right);
+            throw PythonErrors.TypeError("Unsupported operand type for /: " + left + " and " + right);
         }
     }
 
@@ -514,7 +530,7 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
 
         @Fallback
         Object doGeneric(Object left, Object right) {
-            throw Py.TypeError("Unsupported operand type for //: " + left + " and " + right);
+            throw PythonErrors.TypeError("Unsupported operand type for //: " + left + " and " + right);
         }
     }
 
@@ -584,7 +600,7 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
 
         @Fallback
         Object doGeneric(Object left, Object right) {
-            throw Py.TypeError("Unsupported operand type for %: " + left + " and " + right);
+            throw PythonErrors.TypeError("Unsupported operand type for %: " + left + " and " + right);
         }
     }
 
@@ -493,6 +493,11 @@ public abstract class BinaryComparisonNode extends BinaryOpNode {
             return right.contains(left);
         }
 
+        @Specialization(guards = "is2ndIntSetStorage(left,right)")
+        public boolean doIntSet(int left, PBaseSet right) {
+            return ((IntSetStorage) right.getStorage()).containsInt(left);
+        }
+
         @Specialization
         public boolean doBaseSet(Object left, PBaseSet right) {
             return right.contains(left);
@@ -523,6 +528,11 @@ public abstract class BinaryComparisonNode extends BinaryOpNode {
     @GenerateNodeFactory
     public abstract static class NotInNode extends BinaryComparisonNode {
 
+        @Specialization(guards = "is2ndIntSetStorage(left,right)")
+        public boolean doIntSet(int left, PBaseSet right) {
+            return !((IntSetStorage) right.getStorage()).containsInt(left);
+        }
+
         @Specialization
         public boolean doBaseSet(Object left, PBaseSet right) {
             return !right.contains(left);
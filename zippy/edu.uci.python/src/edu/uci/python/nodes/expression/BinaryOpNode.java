@@ -40,6 +40,12 @@ public abstract class BinaryOpNode extends PNode {
 
     public abstract PNode getRightNode();
 
+    /**
+     * Applies the operation to operands that were already evaluated. The operand nodes are not
+     * executed.
+     */
+    public abstract Object executeWith(VirtualFrame frame, Object left, Object right);
+
     /**
      * Special method dispatch.
      */
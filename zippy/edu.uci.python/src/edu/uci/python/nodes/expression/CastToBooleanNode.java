@@ -26,14 +26,13 @@ package edu.uci.python.nodes.expression;
 
 import java.math.BigInteger;
 
-import org.python.core.*;
-
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.*;
 import com.oracle.truffle.api.frame.VirtualFrame;
 
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.function.*;
 import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.sequence.*;
@@ -94,7 +93,7 @@ public abstract class CastToBooleanNode extends UnaryOpNode {
                 if (value instanceof Boolean) {
                     return (Boolean) value;
                 } else {
-                    throw Py.TypeError("__bool__ should return bool, returned " + object);
+                    throw PythonErrors.TypeError("__bool__ should return bool, returned " + object);
                 }
             } else {
                 return true;
@@ -29,6 +29,11 @@ public class OrNode extends BinaryOpNode {
         return left;
     }
 
+    @Override
+    public Object executeWith(VirtualFrame frame, Object left, Object right) {
+        return !booleanCast.executeBoolean(frame, left) ? right : left;
+    }
+
     @Override
     public PNode getLeftNode() {
         return leftNode;
@@ -38,6 +38,7 @@ import edu.uci.python.nodes.object.*;
 import edu.uci.python.nodes.truffle.*;
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.standardtype.*;
 
 @NodeInfo(shortName = "read_global")
@@ -215,10 +216,11 @@ public abstract class ReadGlobalNode extends PNode implements ReadNode, HasPrima
 
         @TruffleBoundary
         protected Object slowPathLookup() {
+            JythonRuntime.ensureInitialized();
             Object value = PySystemState.getDefaultBuiltins().__finditem__(attributeId);
 
             if (value == null) {
-                throw Py.NameError("name \'" + attributeId + "\' is not defined");
+                throw PythonErrors.NameError("name \'" + attributeId + "\' is not defined");
             }
 
             return value;
@@ -24,8 +24,6 @@
  */
 package edu.uci.python.nodes.frame;
 
-import org.python.core.*;
-
 import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.frame.*;
 import com.oracle.truffle.api.nodes.*;
@@ -33,6 +31,7 @@ import com.oracle.truffle.api.nodes.*;
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.*;
 import edu.uci.python.nodes.truffle.*;
+import edu.uci.python.runtime.exception.*;
 
 public abstract class ReadVariableNode extends FrameSlotNode implements ReadNode {
 
@@ -74,7 +73,7 @@ public abstract class ReadVariableNode extends FrameSlotNode implements ReadNode
 
         try {
             if (accessingFrame.isObject(frameSlot) && accessingFrame.getObject(frameSlot) == null && !frameSlot.getIdentifier().equals("<return_val>")) {
-                throw Py.UnboundLocalError("local variable '" + frameSlot.getIdentifier() + "' referenced before assignment");
+                throw PythonErrors.UnboundLocalError("local variable '" + frameSlot.getIdentifier() + "' referenced before assignment");
             }
         } catch (FrameSlotTypeException e) {
             throw new IllegalStateException();
@@ -28,6 +28,7 @@ import java.io.PrintStream;
 import java.util.HashSet;
 import java.util.Set;
 
+import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.RootCallTarget;
@@ -38,6 +39,7 @@ import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.nodes.NodeCost;
 import com.oracle.truffle.api.nodes.NodeUtil;
 import com.oracle.truffle.api.nodes.NodeUtil.NodeCountFilter;
+import com.oracle.truffle.api.nodes.ReplaceObserver;
 import com.oracle.truffle.api.nodes.RootNode;
 import com.oracle.truffle.api.source.SourceSection;
 
@@ -67,16 +69,19 @@ import edu.uci.python.nodes.optimize.PeeledGeneratorLoopNode.PeeledGeneratorLoop
 import edu.uci.python.nodes.optimize.PeeledGeneratorLoopNode.PeeledGeneratorLoopSpecialNode;
 import edu.uci.python.nodes.subscript.SubscriptLoadIndexNode;
 import edu.uci.python.runtime.PythonContext;
+import edu.uci.python.runtime.PythonMetrics;
 import edu.uci.python.runtime.PythonOptions;
 import edu.uci.python.runtime.datatype.PGenerator;
 import edu.uci.python.runtime.function.PGeneratorFunction;
+import edu.uci.python.runtime.profiler.RewriteTracer;
+import edu.uci.python.runtime.profiler.ShadowStack;
 
 /**
  * RootNode of a Python Function body. It is invoked by a CallTarget.
  *
  * @author zwei
  */
-public final class FunctionRootNode extends RootNode {
+public final class FunctionRootNode extends RootNode implements ReplaceObserver {
 
     private final PythonContext context;
     private final String functionName;
@@ -148,9 +153,31 @@ public final class FunctionRootNode extends RootNode {
             }
         }
 
+        if (ShadowStack.isTracking()) {
+            ShadowStack stack = ShadowStack.enter(this);
+            try {
+                return body.execute(frame);
+            } finally {
+                stack.exit();
+            }
+        }
+
         return body.execute(frame);
     }
 
+    /**
+     * Traces rewrites below this root, then lets the call target invalidate its compiled code as it
+     * would without this observer.
+     */
+    public boolean nodeReplaced(Node oldNode, Node newNode, CharSequence reason) {
+        if (PythonOptions.TraceRewrites) {
+            RewriteTracer.getInstance().nodeReplaced(oldNode, newNode, reason);
+        }
+
+        CallTarget callTarget = getCallTarget();
+        return callTarget instanceof ReplaceObserver && ((ReplaceObserver) callTarget).nodeReplaced(oldNode, newNode, reason);
+    }
+
     private boolean optimizeHelper() {
         CompilerAsserts.neverPartOfCompilation();
 
@@ -340,6 +367,10 @@ public final class FunctionRootNode extends RootNode {
 
         optimizedGeneratorDispatches.add(dispatch);
 
+        if (PythonOptions.Metrics) {
+            context.getMetrics().increment(PythonMetrics.Counter.GENERATOR_INLININGS);
+        }
+
         if (PythonOptions.TraceGeneratorInlining)
             System.out.println("[ZipPy] peeled generator " + genfun.getCallTarget() + " in " + getRootNode());
         return true;
@@ -391,6 +422,10 @@ public final class FunctionRootNode extends RootNode {
             genexp.setEnclosingFrameGenerator(false);
         }
 
+        if (PythonOptions.Metrics) {
+            context.getMetrics().increment(PythonMetrics.Counter.GENERATOR_INLININGS);
+        }
+
         if (PythonOptions.TraceGeneratorInlining)
             System.out.println("[ZipPy] peeled generator not aligned " + generator.getCallTarget() + " in " + getRootNode());
         return true;
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.nodes.function;
+
+import com.oracle.truffle.api.*;
+import com.oracle.truffle.api.frame.*;
+import com.oracle.truffle.api.nodes.*;
+
+import edu.uci.python.nodes.*;
+
+/**
+ * Stands in for the body of a function that has not been translated yet. On the first call the
+ * body is translated and this node replaces itself with it.
+ * <p>
+ * {@link FunctionRootNode} keeps clones of its body, so all clones of a stub share one
+ * {@link LazyBody}. The body is translated once and every stub receives its own copy of the
+ * uninitialized result. Whenever a stub has installed its copy, the translator completes the
+ * translation on that stub's root, with the passes the parser runs on eagerly translated roots.
+ */
+public final class LazyFunctionBodyNode extends PNode {
+
+    public interface BodyTranslator {
+
+        PNode translate();
+
+        /**
+         * Called once for the root of every stub that installed a copy of the body.
+         */
+        void complete(RootNode root);
+
+    }
+
+    private final LazyBody lazyBody;
+    private PNode replacement;
+
+    public LazyFunctionBodyNode(BodyTranslator translator) {
+        this.lazyBody = new LazyBody(translator);
+    }
+
+    public boolean isTranslated() {
+        return lazyBody.isTranslated();
+    }
+
+    @Override
+    public Object execute(VirtualFrame frame) {
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        return materialize().execute(frame);
+    }
+
+    private synchronized PNode materialize() {
+        if (replacement == null) {
+            replacement = replace(lazyBody.getBody());
+            lazyBody.complete(replacement.getRootNode());
+        }
+
+        return replacement;
+    }
+
+    private static final class LazyBody {
+
+        private final BodyTranslator translator;
+        private PNode uninitializedBody;
+
+        LazyBody(BodyTranslator translator) {
+            this.translator = translator;
+        }
+
+        synchronized boolean isTranslated() {
+            return uninitializedBody != null;
+        }
+
+        synchronized PNode getBody() {
+            if (uninitializedBody == null) {
+                uninitializedBody = translator.translate();
+            }
+
+            return NodeUtil.cloneNode(uninitializedBody);
+        }
+
+        synchronized void complete(RootNode root) {
+            translator.complete(root);
+        }
+
+    }
+
+}
@@ -38,6 +38,7 @@ import edu.uci.python.nodes.literal.*;
 import edu.uci.python.runtime.datatype.*;
 import edu.uci.python.runtime.function.*;
 import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.sequence.storage.*;
 
 @GenerateNodeFactory
 public abstract class ComprehensionNode extends PNode {
@@ -118,34 +119,65 @@ public abstract class ComprehensionNode extends PNode {
 
         @Override
         public Object execute(VirtualFrame frame) {
-            final TreeSet<Object> set = new TreeSet<>();
+            final PSet set = new PSet();
             ((WriteNode) write).executeWrite(frame, set);
             comprehension.execute(frame);
-            return new PSet(set);
+            return set;
         }
     }
 
+    /**
+     * Adds to the set being built by a {@link SetComprehensionNode}, specialized on the set's
+     * storage kind to avoid boxing primitive elements.
+     */
     @NodeChild(value = "rightNode", type = PNode.class)
     @GenerateNodeFactory
-    public abstract static class TreeSetAddNode extends FrameSlotNode {
+    public abstract static class SetAddNode extends FrameSlotNode {
 
-        public TreeSetAddNode(FrameSlot frameSlot) {
+        public SetAddNode(FrameSlot frameSlot) {
             super(frameSlot);
         }
 
-        protected TreeSetAddNode(TreeSetAddNode node) {
+        protected SetAddNode(SetAddNode node) {
             this(node.frameSlot);
         }
 
+        @Specialization
+        public int doInteger(VirtualFrame frame, int right) {
+            final PSet set = getSet(frame);
+            final SetStorage store = set.getStorage();
+
+            if (store instanceof IntSetStorage) {
+                ((IntSetStorage) store).addInt(right);
+            } else {
+                set.add(right);
+            }
+
+            return right;
+        }
+
+        @Specialization
+        public long doLong(VirtualFrame frame, long right) {
+            final PSet set = getSet(frame);
+            final SetStorage store = set.getStorage();
+
+            if (store instanceof LongSetStorage) {
+                ((LongSetStorage) store).addLong(right);
+            } else {
+                set.add(right);
+            }
+
+            return right;
+        }
+
         @Specialization
         public Object doObject(VirtualFrame frame, Object right) {
             getSet(frame).add(right);
             return right;
         }
 
-        @SuppressWarnings("unchecked")
-        private TreeSet<Object> getSet(Frame frame) {
-            return (TreeSet<Object>) getObject(frame);
+        private PSet getSet(Frame frame) {
+            return (PSet) getObject(frame);
         }
     }
 
@@ -158,10 +190,10 @@ public abstract class ComprehensionNode extends PNode {
 
         @Override
         public Object execute(VirtualFrame frame) {
-            final Map<Object, Object> map = new TreeMap<>();
-            ((WriteNode) write).executeWrite(frame, map);
+            final PDict dict = new PDict();
+            ((WriteNode) write).executeWrite(frame, dict);
             comprehension.execute(frame);
-            return new PDict(map);
+            return dict;
         }
     }
 
@@ -179,13 +211,12 @@ public abstract class ComprehensionNode extends PNode {
 
         @Specialization
         public Object doObject(VirtualFrame frame, Object key, Object value) {
-            getMap(frame).put(key, value);
+            getDict(frame).setItem(key, value);
             return value;
         }
 
-        @SuppressWarnings("unchecked")
-        private TreeMap<Object, Object> getMap(Frame frame) {
-            return (TreeMap<Object, Object>) getObject(frame);
+        private PDict getDict(Frame frame) {
+            return (PDict) getObject(frame);
         }
     }
 
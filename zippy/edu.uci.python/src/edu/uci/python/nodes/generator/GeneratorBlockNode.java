@@ -32,6 +32,7 @@ import com.oracle.truffle.api.nodes.*;
 import edu.uci.python.nodes.*;
 import edu.uci.python.nodes.control.*;
 import edu.uci.python.runtime.function.*;
+import edu.uci.python.runtime.profiler.*;
 
 public final class GeneratorBlockNode extends BlockNode implements GeneratorControlNode {
 
@@ -72,6 +73,10 @@ public final class GeneratorBlockNode extends BlockNode implements GeneratorCont
                 continue;
             }
 
+            if (ShadowStack.isTracking()) {
+                ShadowStack.at(statements[i]);
+            }
+
             result = statements[i].execute(frame);
             setIndex(frame, indexSlot, currentIndex + 1);
         }
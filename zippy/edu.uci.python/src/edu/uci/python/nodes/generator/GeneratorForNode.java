@@ -37,298 +37,110 @@ import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.function.*;
 import edu.uci.python.runtime.iterator.*;
 
-public abstract class GeneratorForNode extends LoopNode implements GeneratorControlNode {
+/**
+ * The iterator lives in the generator's control data, so that the loop can be resumed after a
+ * yield in its body. Resuming re-enters the loop at the body, before advancing the iterator.
+ */
+public final class GeneratorForNode extends LoopNode implements GeneratorControlNode {
 
-    @Child protected WriteGeneratorFrameVariableNode target;
     @Child protected GetIteratorNode getIterator;
+    @Child protected com.oracle.truffle.api.nodes.LoopNode loopNode;
 
     private final int iteratorSlot;
-    private int count;
 
     public GeneratorForNode(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot) {
-        super(body);
-        this.target = target;
         this.getIterator = getIterator;
+        this.loopNode = Truffle.getRuntime().createLoopNode(new GeneratorForRepeatingNode(ForNextNodeFactory.create(target), body, iteratorSlot));
         this.iteratorSlot = iteratorSlot;
     }
 
     public static GeneratorForNode create(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot) {
-        return new UninitializedGeneratorForNode(target, getIterator, body, iteratorSlot);
+        return new GeneratorForNode(target, getIterator, body, iteratorSlot);
     }
 
-    public final int getIteratorSlot() {
+    public int getIteratorSlot() {
         return iteratorSlot;
     }
 
-    protected final PIterator getIterator(VirtualFrame frame) {
-        return PArguments.getControlData(frame).getIteratorAt(iteratorSlot);
+    private GeneratorForRepeatingNode getRepeatingNode() {
+        return (GeneratorForRepeatingNode) loopNode.getRepeatingNode();
     }
 
-    protected final void setIterator(VirtualFrame frame, PIterator value) {
-        PArguments.getControlData(frame).setIteratorAt(iteratorSlot, value);
+    @Override
+    public PNode getBody() {
+        return getRepeatingNode().body;
     }
 
-    protected final Object doReturn(VirtualFrame frame) {
-        if (CompilerDirectives.inInterpreter()) {
-            reportLoopCount(count);
-            count = 0;
-        }
+    public WriteGeneratorFrameVariableNode getTarget() {
+        return (WriteGeneratorFrameVariableNode) getRepeatingNode().next.getTarget();
+    }
 
-        setIterator(frame, null);
-        return PNone.NONE;
+    public GetIteratorNode getGetIterator() {
+        return getIterator;
     }
 
-    protected final void incrementCounter() {
-        if (CompilerDirectives.inInterpreter()) {
-            count++;
-        }
+    private static PIterator getIterator(VirtualFrame frame, int slot) {
+        return PArguments.getControlData(frame).getIteratorAt(slot);
     }
 
     @Override
     public Object execute(VirtualFrame frame) {
-
-        try {
-            executeIterator(frame);
-        } catch (StopIterationException e) {
-            return doReturn(frame);
-        }
-
-        try {
-            while (true) {
-                body.executeVoid(frame);
-                target.executeWith(frame, getIterator(frame).__next__());
-                incrementCounter();
-            }
-        } catch (StopIterationException e) {
-
-        }
-
-        return doReturn(frame);
-    }
-
-    protected abstract void executeIterator(VirtualFrame frame) throws StopIterationException;
-
-    @NodeInfo(cost = NodeCost.MONOMORPHIC)
-    public static final class RangeGeneratorForNode extends GeneratorForNode {
-
-        public RangeGeneratorForNode(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot) {
-            super(target, getIterator, body, iteratorSlot);
-        }
-
-        protected PRangeIterator getPRangeIterator(VirtualFrame frame) {
-            return (PRangeIterator) getIterator(frame);
-        }
-
-        @Override
-        protected void executeIterator(VirtualFrame frame) throws StopIterationException {
-            PRangeIterator iterator = (PRangeIterator) getIterator(frame);
-            if (iterator != null) {
-                return;
-            }
-
+        if (getIterator(frame, iteratorSlot) == null) {
+            PIterator iterator;
             try {
-                setIterator(frame, getIterator.executePRangeIterator(frame));
+                iterator = getIterator.executePIterator(frame);
             } catch (UnexpectedResultException e) {
                 throw new RuntimeException();
             }
 
-            target.executeWith(frame, getPRangeIterator(frame).__nextInt__());
-            incrementCounter();
-        }
+            PArguments.getControlData(frame).setIteratorAt(iteratorSlot, iterator);
 
-        @Override
-        public Object execute(VirtualFrame frame) {
-            try {
-                executeIterator(frame);
-            } catch (StopIterationException e) {
+            if (!getRepeatingNode().executeNext(frame)) {
                 return doReturn(frame);
             }
-
-            try {
-                while (true) {
-                    body.executeVoid(frame);
-                    target.executeWith(frame, getPRangeIterator(frame).__nextInt__());
-                    incrementCounter();
-                }
-            } catch (StopIterationException e) {
-
-            }
-
-            return doReturn(frame);
         }
-    }
-
-    @NodeInfo(cost = NodeCost.MONOMORPHIC)
-    public static final class SequenceGeneratorForNode extends GeneratorForNode {
-
-        public SequenceGeneratorForNode(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot) {
-            super(target, getIterator, body, iteratorSlot);
-        }
-
-        protected PSequenceIterator getPSequenceIterator(VirtualFrame frame) {
-            return (PSequenceIterator) getIterator(frame);
-        }
-
-        @Override
-        protected void executeIterator(VirtualFrame frame) throws StopIterationException {
-            if (getIterator(frame) != null) {
-                return;
-            }
-
-            try {
-                setIterator(frame, getIterator.executePSequenceIterator(frame));
-            } catch (UnexpectedResultException e) {
-                throw new RuntimeException();
-            }
-
-            target.executeWith(frame, getPSequenceIterator(frame).__next__());
-            incrementCounter();
-        }
-
-        @Override
-        public Object execute(VirtualFrame frame) {
-            try {
-                executeIterator(frame);
-            } catch (StopIterationException e) {
-                return doReturn(frame);
-            }
-
-            try {
-                while (true) {
-                    body.executeVoid(frame);
-                    target.executeWith(frame, getPSequenceIterator(frame).__next__());
-                    incrementCounter();
-                }
-            } catch (StopIterationException e) {
-
-            }
 
-            return doReturn(frame);
-        }
+        loopNode.executeLoop(frame);
+        return doReturn(frame);
     }
 
-    @NodeInfo(cost = NodeCost.MONOMORPHIC)
-    public static final class GeneratorGeneratorForNode extends GeneratorForNode {
+    private Object doReturn(VirtualFrame frame) {
+        PArguments.getControlData(frame).setIteratorAt(iteratorSlot, null);
+        return PNone.NONE;
+    }
 
-        public GeneratorGeneratorForNode(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot) {
-            super(target, getIterator, body, iteratorSlot);
-        }
+    @Override
+    public <R> R accept(VisitorIF<R> visitor) throws Exception {
+        return visitor.visitGeneratorForNode(this);
+    }
 
-        protected PGenerator getPGenerator(VirtualFrame frame) {
-            return (PGenerator) getIterator(frame);
-        }
+    public static final class GeneratorForRepeatingNode extends Node implements RepeatingNode {
 
-        @Override
-        protected void executeIterator(VirtualFrame frame) throws StopIterationException {
-            if (getIterator(frame) != null) {
-                return;
-            }
+        @Child protected ForNextNode next;
+        @Child protected PNode body;
 
-            try {
-                setIterator(frame, getIterator.executePGenerator(frame));
-            } catch (UnexpectedResultException e) {
-                throw new RuntimeException();
-            }
+        private final int iteratorSlot;
 
-            target.executeWith(frame, getPGenerator(frame).__next__());
-            incrementCounter();
+        public GeneratorForRepeatingNode(ForNextNode next, PNode body, int iteratorSlot) {
+            this.next = next;
+            this.body = body;
+            this.iteratorSlot = iteratorSlot;
         }
 
-        @Override
-        public Object execute(VirtualFrame frame) {
+        protected boolean executeNext(VirtualFrame frame) {
             try {
-                executeIterator(frame);
+                next.executeNext(frame, getIterator(frame, iteratorSlot));
+                return true;
             } catch (StopIterationException e) {
-                return doReturn(frame);
-            }
-
-            try {
-                while (true) {
-                    body.executeVoid(frame);
-                    target.executeWith(frame, getPGenerator(frame).__next__());
-                    incrementCounter();
-                }
-            } catch (StopIterationException e) {
-
-            }
-
-            return doReturn(frame);
-        }
-    }
-
-    @NodeInfo(cost = NodeCost.POLYMORPHIC)
-    public static final class GenericGeneratorForNode extends GeneratorForNode {
-
-        public GenericGeneratorForNode(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot) {
-            super(target, getIterator, body, iteratorSlot);
-        }
-
-        @Override
-        protected void executeIterator(VirtualFrame frame) throws StopIterationException {
-            if (getIterator(frame) != null) {
-                return;
-            }
-
-            try {
-                setIterator(frame, getIterator.executePIterator(frame));
-            } catch (UnexpectedResultException e) {
-                throw new RuntimeException();
+                return false;
             }
-
-            target.executeWith(frame, getIterator(frame).__next__());
-            incrementCounter();
-        }
-    }
-
-    @NodeInfo(cost = NodeCost.UNINITIALIZED)
-    public static final class UninitializedGeneratorForNode extends GeneratorForNode {
-
-        public UninitializedGeneratorForNode(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot) {
-            super(target, getIterator, body, iteratorSlot);
         }
 
         @Override
-        protected void executeIterator(VirtualFrame frame) throws StopIterationException {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-
-            if (getIterator(frame) != null) {
-                return;
-            }
-
-            PIterator iterator;
-            try {
-                iterator = getIterator.executePIterator(frame);
-            } catch (UnexpectedResultException e) {
-                throw new RuntimeException();
-            }
-
-            if (iterator instanceof PRangeIterator) {
-                replace(new RangeGeneratorForNode(target, getIterator, body, this.getIteratorSlot()));
-            } else if (iterator instanceof PSequenceIterator) {
-                replace(new SequenceGeneratorForNode(target, getIterator, body, this.getIteratorSlot()));
-            } else if (iterator instanceof PGenerator) {
-                replace(new GeneratorGeneratorForNode(target, getIterator, body, this.getIteratorSlot()));
-            } else {
-                replace(new GenericGeneratorForNode(target, getIterator, body, this.getIteratorSlot()));
-            }
-
-            setIterator(frame, iterator);
-            target.executeWith(frame, getIterator(frame).__next__());
-            incrementCounter();
+        public boolean executeRepeating(VirtualFrame frame) {
+            body.executeVoid(frame);
+            return executeNext(frame);
         }
     }
 
-    public WriteGeneratorFrameVariableNode getTarget() {
-        return target;
-    }
-
-    public GetIteratorNode getGetIterator() {
-        return getIterator;
-    }
-
-    @Override
-    public <R> R accept(VisitorIF<R> visitor) throws Exception {
-        return visitor.visitGeneratorForNode(this);
-    }
-
 }
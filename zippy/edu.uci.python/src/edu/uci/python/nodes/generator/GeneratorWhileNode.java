@@ -24,7 +24,6 @@
  */
 package edu.uci.python.nodes.generator;
 
-import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.frame.VirtualFrame;
 
 import edu.uci.python.ast.VisitorIF;
@@ -41,51 +40,30 @@ import edu.uci.python.runtime.function.PArguments;
 public final class GeneratorWhileNode extends WhileNode implements GeneratorControlNode {
 
     private final int flagSlot;
-    private int count;
 
     public GeneratorWhileNode(CastToBooleanNode condition, PNode body, int flagSlot) {
-        super(condition, body);
+        super(new GeneratorWhileRepeatingNode(condition, body, flagSlot));
         this.flagSlot = flagSlot;
     }
 
-    private boolean isActive(VirtualFrame frame) {
+    private static boolean isActive(VirtualFrame frame, int flagSlot) {
         return PArguments.getControlData(frame).getActive(flagSlot);
     }
 
-    private void setActive(VirtualFrame frame, boolean flag) {
+    private static void setActive(VirtualFrame frame, int flagSlot, boolean flag) {
         PArguments.getControlData(frame).setActive(flagSlot, flag);
     }
 
-    private void incrementCounter() {
-        if (CompilerDirectives.inInterpreter()) {
-            count++;
-        }
-    }
-
-    private Object doReturn(VirtualFrame frame) {
-        if (CompilerDirectives.inInterpreter()) {
-            reportLoopCount(count);
-            count = 0;
-        }
-
-        assert !isActive(frame);
-        return PNone.NONE;
-    }
-
     @Override
     public Object execute(VirtualFrame frame) {
         try {
-            while (isActive(frame) || condition.executeBoolean(frame)) {
-                setActive(frame, true);
-                body.executeVoid(frame);
-                setActive(frame, false);
-                incrementCounter();
-            }
+            loopNode.executeLoop(frame);
         } catch (BreakException ex) {
-            setActive(frame, false);
+            setActive(frame, flagSlot, false);
         }
 
-        return doReturn(frame);
+        assert !isActive(frame, flagSlot);
+        return PNone.NONE;
     }
 
     @Override
@@ -93,4 +71,30 @@ public final class GeneratorWhileNode extends WhileNode implements GeneratorCont
         return visitor.visitGeneratorWhileNode(this);
     }
 
+    /**
+     * The active flag is set while the body runs, so that resuming after a yield in the body skips
+     * the condition.
+     */
+    public static final class GeneratorWhileRepeatingNode extends WhileRepeatingNode {
+
+        private final int flagSlot;
+
+        public GeneratorWhileRepeatingNode(CastToBooleanNode condition, PNode body, int flagSlot) {
+            super(condition, body);
+            this.flagSlot = flagSlot;
+        }
+
+        @Override
+        public boolean executeRepeating(VirtualFrame frame) {
+            if (isActive(frame, flagSlot) || condition.executeBoolean(frame)) {
+                setActive(frame, flagSlot, true);
+                body.executeVoid(frame);
+                setActive(frame, flagSlot, false);
+                return true;
+            }
+
+            return false;
+        }
+    }
+
 }
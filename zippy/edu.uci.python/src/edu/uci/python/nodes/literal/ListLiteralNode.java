@@ -42,6 +42,41 @@ public abstract class ListLiteralNode extends LiteralNode {
         this.values = values;
     }
 
+    public final PNode[] getValues() {
+        return values;
+    }
+
+    /**
+     * Whether this node has settled on the storage of the lists it creates.
+     */
+    public final boolean isSpecialized() {
+        return !(this instanceof UninitializedListLiteralNode || this instanceof ProfilingEmptyListLiteralNode);
+    }
+
+    /**
+     * Creates the specialized literal node named {@code nodeName}, as recorded from an earlier
+     * run, or returns null if there is no such node. The node still falls back to object storage
+     * if an element does not fit.
+     */
+    public static ListLiteralNode createSpecialized(String nodeName, PNode[] values) {
+        switch (nodeName) {
+            case "IntListLiteralNode":
+                return new IntListLiteralNode(values);
+            case "LongListLiteralNode":
+                return new LongListLiteralNode(values);
+            case "DoubleListLiteralNode":
+                return new DoubleListLiteralNode(values);
+            case "ListListLiteralNode":
+                return new ListListLiteralNode(values);
+            case "TupleListLiteralNode":
+                return new TupleListLiteralNode(values);
+            case "ObjectListLiteralNode":
+                return new ObjectListLiteralNode(values);
+            default:
+                return null;
+        }
+    }
+
     @ExplodeLoop
     protected PList doGeneric(VirtualFrame frame, Object[] evaluated) {
         transferToInterpreterAndInvalidate();
@@ -56,7 +91,7 @@ public abstract class ListLiteralNode extends LiteralNode {
         }
 
         replace(new ObjectListLiteralNode(values));
-        return new PList(SequenceStorageFactory.createStorage(evaluated));
+        return new PList(SequenceStorageFactory.createStorage(elements));
     }
 
     public static class UninitializedListLiteralNode extends ListLiteralNode {
@@ -156,13 +191,14 @@ public abstract class ListLiteralNode extends LiteralNode {
                 try {
                     elements[i] = values[i].executeInt(frame);
                 } catch (UnexpectedResultException e) {
-                    final Object[] evaluated = new Object[i];
+                    final Object[] evaluated = new Object[i + 1];
 
                     for (int j = 0; j < i; j++) {
                         evaluated[j] = elements[j];
                     }
 
-                    doGeneric(frame, evaluated);
+                    evaluated[i] = e.getResult();
+                    return doGeneric(frame, evaluated);
                 }
             }
 
@@ -185,13 +221,14 @@ public abstract class ListLiteralNode extends LiteralNode {
                 try {
                     elements[i] = values[i].executeLong(frame);
                 } catch (UnexpectedResultException e) {
-                    final Object[] evaluated = new Object[i];
+                    final Object[] evaluated = new Object[i + 1];
 
                     for (int j = 0; j < i; j++) {
                         evaluated[j] = elements[j];
                     }
 
-                    doGeneric(frame, evaluated);
+                    evaluated[i] = e.getResult();
+                    return doGeneric(frame, evaluated);
                 }
             }
 
@@ -214,13 +251,14 @@ public abstract class ListLiteralNode extends LiteralNode {
                 try {
                     elements[i] = values[i].executeDouble(frame);
                 } catch (UnexpectedResultException e) {
-                    final Object[] evaluated = new Object[i];
+                    final Object[] evaluated = new Object[i + 1];
 
                     for (int j = 0; j < i; j++) {
                         evaluated[j] = elements[j];
                     }
 
-                    doGeneric(frame, evaluated);
+                    evaluated[i] = e.getResult();
+                    return doGeneric(frame, evaluated);
                 }
             }
 
@@ -250,13 +288,14 @@ public abstract class ListLiteralNode extends LiteralNode {
                     else
                         throw new UnexpectedResultException(o);
                 } catch (UnexpectedResultException e) {
-                    final Object[] evaluated = new Object[i];
+                    final Object[] evaluated = new Object[i + 1];
 
                     for (int j = 0; j < i; j++) {
                         evaluated[j] = elements[j];
                     }
 
-                    doGeneric(frame, evaluated);
+                    evaluated[i] = e.getResult();
+                    return doGeneric(frame, evaluated);
                 }
             }
 
@@ -281,18 +320,19 @@ public abstract class ListLiteralNode extends LiteralNode {
             for (int i = 0; i < values.length; i++) {
                 try {
                     Object o = values[i].execute(frame);
-                    if (o instanceof PList)
+                    if (o instanceof PTuple)
                         elements[i] = (PTuple) o;
                     else
                         throw new UnexpectedResultException(o);
                 } catch (UnexpectedResultException e) {
-                    final Object[] evaluated = new Object[i];
+                    final Object[] evaluated = new Object[i + 1];
 
                     for (int j = 0; j < i; j++) {
                         evaluated[j] = elements[j];
                     }
 
-                    doGeneric(frame, evaluated);
+                    evaluated[i] = e.getResult();
+                    return doGeneric(frame, evaluated);
                 }
             }
 
@@ -24,14 +24,14 @@
  */
 package edu.uci.python.nodes.object;
 
-import org.python.core.*;
-
 import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.frame.*;
 import com.oracle.truffle.api.nodes.*;
 
+import edu.uci.python.nodes.*;
 import edu.uci.python.nodes.truffle.*;
 import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.standardtype.*;
 
@@ -72,7 +72,7 @@ public abstract class DispatchBoxedNode extends Node {
         PythonObject storage = primary.getValidStorageFullLookup(attributeId);
 
         if (storage == null) {
-            throw Py.AttributeError(primary + " object has no attribute " + attributeId);
+            throw PythonErrors.AttributeError(primary + " object has no attribute " + attributeId);
         }
 
         return replace(LinkedDispatchBoxedNode.create(attributeId, primary, storage, primary.isOwnAttribute(attributeId), next));
@@ -116,6 +116,10 @@ public abstract class DispatchBoxedNode extends Node {
 
             DispatchBoxedNode specialized;
 
+            if (PythonOptions.Metrics) {
+                PythonMetrics.countDispatchMiss(PNodeUtil.getContext(this), depth >= PythonOptions.AttributeAccessInlineCacheMaxDepth);
+            }
+
             if (depth < PythonOptions.AttributeAccessInlineCacheMaxDepth) {
                 specialized = rewrite(primary, this);
             } else {
@@ -24,14 +24,14 @@
  */
 package edu.uci.python.nodes.object;
 
-import org.python.core.*;
-
 import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.frame.*;
 import com.oracle.truffle.api.nodes.*;
 
+import edu.uci.python.nodes.*;
 import edu.uci.python.nodes.truffle.*;
 import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.standardtype.*;
 
@@ -71,7 +71,7 @@ public abstract class DispatchUnboxedNode extends Node {
         } while (current != null);
 
         if (current == null) {
-            throw Py.AttributeError(primaryObj + " object has no attribute " + attributeId);
+            throw PythonErrors.AttributeError(primaryObj + " object has no attribute " + attributeId);
         }
 
         LinkedDispatchUnboxedNode newNode = new LinkedDispatchUnboxedNode(attributeId, primaryObj, current, next);
@@ -99,6 +99,10 @@ public abstract class DispatchUnboxedNode extends Node {
                 depth++;
             }
 
+            if (PythonOptions.Metrics) {
+                PythonMetrics.countDispatchMiss(PNodeUtil.getContext(this), depth >= PythonOptions.AttributeAccessInlineCacheMaxDepth);
+            }
+
             if (depth < PythonOptions.AttributeAccessInlineCacheMaxDepth) {
                 specialized = rewrite(primaryObj, this);
             } else {
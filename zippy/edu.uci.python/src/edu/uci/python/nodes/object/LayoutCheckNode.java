@@ -24,11 +24,10 @@
  */
 package edu.uci.python.nodes.object;
 
-import org.python.core.*;
-
 import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.nodes.*;
 
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.standardtype.*;
 
@@ -79,7 +78,7 @@ public abstract class LayoutCheckNode extends Node {
         } while (current != null);
 
         if (current == null) {
-            throw Py.AttributeError(primary + " object has no attribute " + attributeId);
+            throw PythonErrors.AttributeError(primary + " object has no attribute " + attributeId);
         }
 
         if (depth == 0) {
@@ -28,6 +28,7 @@ import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.frame.*;
 import com.oracle.truffle.api.nodes.*;
 
+import edu.uci.python.nodes.*;
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.object.location.*;
@@ -103,6 +104,10 @@ public abstract class SetDispatchNode extends Node {
                 }
             }
 
+            if (PythonOptions.Metrics) {
+                PythonMetrics.countDispatchMiss(PNodeUtil.getContext(this), depth >= PythonOptions.AttributeAccessInlineCacheMaxDepth);
+            }
+
             if (depth < PythonOptions.AttributeAccessInlineCacheMaxDepth) {
                 primary.setAttribute(attributeId, value);
                 StorageLocation location = primary.getOwnValidLocation(attributeId);
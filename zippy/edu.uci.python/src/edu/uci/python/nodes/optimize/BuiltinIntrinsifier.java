@@ -35,6 +35,8 @@ import edu.uci.python.nodes.ModuleNode;
 import edu.uci.python.nodes.PNode;
 import edu.uci.python.nodes.call.PythonCallNode;
 import edu.uci.python.nodes.control.ForNode;
+import edu.uci.python.nodes.control.ForNodeFactory;
+import edu.uci.python.nodes.control.GetIteratorNode;
 import edu.uci.python.nodes.control.ReturnTargetNode;
 import edu.uci.python.nodes.frame.ReadLevelVariableNode;
 import edu.uci.python.nodes.frame.ReadLocalVariableNode;
@@ -44,6 +46,7 @@ import edu.uci.python.nodes.function.FunctionRootNode;
 import edu.uci.python.nodes.function.GeneratorExpressionNode;
 import edu.uci.python.nodes.generator.GeneratorReturnTargetNode;
 import edu.uci.python.nodes.generator.YieldNode;
+import edu.uci.python.parser.TranslationEnvironment;
 import edu.uci.python.runtime.PythonOptions;
 
 public class BuiltinIntrinsifier {
@@ -132,6 +135,7 @@ public class BuiltinIntrinsifier {
         }
 
         redirectLevelRead(genexpBody);
+        genexpBody = redirectLoopIterators(enclosingFrame, genexpBody);
 
         FrameSlot listCompSlot = enclosingFrame.addFrameSlot("<" + target.getName() + "_comp_val" + genexp.hashCode() + ">");
         YieldNode yield = NodeUtil.findFirstNodeInstance(genexpBody, YieldNode.class);
@@ -145,6 +149,26 @@ public class BuiltinIntrinsifier {
             System.out.println("[ZipPy] builtin intrinsifier: transform " + genexp + " with call to '" + target.getName() + "' to " + target.getName() + " comprehension");
     }
 
+    /**
+     * Loop iterators are kept in temporary frame slots, which must not clash with the slots of
+     * loops in the enclosing frame.
+     */
+    private static PNode redirectLoopIterators(FrameDescriptor enclosingFrame, PNode root) {
+        PNode newRoot = root;
+
+        for (ForNode loop : NodeUtil.findAllNodeInstances(root, ForNode.class)) {
+            FrameSlot iteratorSlot = TranslationEnvironment.makeTempLocalVariable(enclosingFrame);
+            ForNode newLoop = ForNodeFactory.create(loop.getBody(), loop.getTarget(), iteratorSlot, (GetIteratorNode) loop.getIterator());
+            loop.replace(newLoop);
+
+            if (loop == root) {
+                newRoot = newLoop;
+            }
+        }
+
+        return newRoot;
+    }
+
     private static void redirectLocalRead(FrameSlot orig, FrameSlot target, PNode root) {
         for (ReadLocalVariableNode read : NodeUtil.findAllNodeInstances(root, ReadLocalVariableNode.class)) {
             if (read.getSlot().equals(orig)) {
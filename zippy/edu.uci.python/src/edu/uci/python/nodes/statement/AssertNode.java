@@ -24,8 +24,6 @@
  */
 package edu.uci.python.nodes.statement;
 
-import org.python.core.*;
-
 import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.frame.*;
 
@@ -33,6 +31,7 @@ import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.*;
 import edu.uci.python.nodes.expression.*;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.exception.*;
 
 public class AssertNode extends StatementNode {
 
@@ -49,7 +48,7 @@ public class AssertNode extends StatementNode {
         if (CompilerDirectives.inInterpreter()) {
             if (!condition.executeBoolean(frame)) {
                 String assertionMessage = message == null ? "" : (String) message.execute(frame);
-                throw Py.AssertionError(assertionMessage);
+                throw PythonErrors.AssertionError(assertionMessage);
             }
         }
 
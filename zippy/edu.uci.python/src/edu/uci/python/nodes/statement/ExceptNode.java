@@ -35,6 +35,7 @@ import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.*;
 import edu.uci.python.nodes.frame.*;
 import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.exception.*;
 
 /**
  * @author Gulfem
@@ -62,7 +63,7 @@ public class ExceptNode extends StatementNode {
         if (excep instanceof PyException) {
             e = (PyException) excep;
         } else if (excep instanceof ArithmeticException && excep.getMessage().endsWith("divide by zero")) {
-            e = Py.ZeroDivisionError("divide by zero");
+            e = PythonErrors.ZeroDivisionError("divide by zero");
         } else {
             throw excep;
         }
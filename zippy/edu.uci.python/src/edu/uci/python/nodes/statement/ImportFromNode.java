@@ -33,6 +33,7 @@ import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.*;
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.standardtype.*;
 
 public class ImportFromNode extends PNode {
@@ -86,7 +87,7 @@ public class ImportFromNode extends PNode {
             }
         } catch (PyException pye) {
             if (pye.match(Py.AttributeError)) {
-                throw Py.ImportError(String.format("cannot import name %.230s", importee));
+                throw PythonErrors.ImportError(String.format("cannot import name %.230s", importee));
             } else {
                 throw pye;
             }
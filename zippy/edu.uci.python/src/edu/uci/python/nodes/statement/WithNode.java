@@ -31,6 +31,7 @@ import com.oracle.truffle.api.frame.*;
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.*;
 import edu.uci.python.nodes.frame.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.function.*;
 import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.sequence.*;
@@ -105,7 +106,7 @@ public class WithNode extends StatementNode {
             PythonCallable exitCall = (PythonCallable) pythonObj.getAttribute("__exit__");
 
             if (exception instanceof ArithmeticException && exception.getMessage().endsWith("divide by zero")) {
-                exception = Py.ZeroDivisionError("divide by zero");
+                exception = PythonErrors.ZeroDivisionError("divide by zero");
             }
 
             Object returnValue = null;
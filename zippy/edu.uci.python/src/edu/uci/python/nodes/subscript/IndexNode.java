@@ -26,13 +26,12 @@ package edu.uci.python.nodes.subscript;
 
 import java.math.BigInteger;
 
-import org.python.core.*;
-
 import com.oracle.truffle.api.dsl.*;
 
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.expression.*;
 import edu.uci.python.nodes.truffle.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.object.*;
 
 @GenerateNodeFactory
@@ -51,7 +50,7 @@ public abstract class IndexNode extends UnaryOpNode {
     @SuppressWarnings("unused")
     @Specialization
     public double doDouble(double index) {
-        throw Py.TypeError("list indices must be integers, not float");
+        throw PythonErrors.TypeError("list indices must be integers, not float");
     }
 
     @Specialization
@@ -66,7 +65,7 @@ public abstract class IndexNode extends UnaryOpNode {
 
     @Specialization
     public Object doObject(Object index) {
-        throw Py.TypeError("list indices must be integers, not " + PythonTypesUtil.getPythonTypeName(index));
+        throw PythonErrors.TypeError("list indices must be integers, not " + PythonTypesUtil.getPythonTypeName(index));
     }
 
     @Override
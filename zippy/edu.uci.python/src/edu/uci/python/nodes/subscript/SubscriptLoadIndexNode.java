@@ -36,6 +36,8 @@ import edu.uci.python.nodes.*;
 import edu.uci.python.nodes.truffle.*;
 import edu.uci.python.runtime.array.*;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.datatype.storage.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.sequence.*;
 import edu.uci.python.runtime.sequence.storage.*;
@@ -48,6 +50,17 @@ public abstract class SubscriptLoadIndexNode extends SubscriptLoadNode {
         return SubscriptStoreIndexNodeFactory.create(getPrimary(), getSlice(), rhs);
     }
 
+    @Specialization
+    public String doPString(PString primary, int idx) {
+        int index = idx;
+
+        if (idx < 0) {
+            index += primary.len();
+        }
+
+        return PString.charToString(primary.charAt(index));
+    }
+
     @Specialization
     public String doString(String primary, int idx) {
         int index = idx;
@@ -60,8 +73,7 @@ public abstract class SubscriptLoadIndexNode extends SubscriptLoadNode {
     }
 
     private static String charAtToString(String primary, int index) {
-        char charactor = primary.charAt(index);
-        return new String(new char[]{charactor});
+        return PString.charToString(primary.charAt(index));
     }
 
     @Specialization(guards = {"isIntStorage(primary)", "isIndexPositive(primary,idx)"})
@@ -233,10 +245,39 @@ public abstract class SubscriptLoadIndexNode extends SubscriptLoadNode {
     /**
      * PDict lookup using key.
      */
+    @Specialization(guards = "isIntKeyDictStorage(primary)")
+    public Object doPDictIntKey(PDict primary, int key) {
+        final Object result = ((IntKeyDictStorage) primary.getStorage()).getItemInt(key);
+
+        if (result == null) {
+            CompilerDirectives.transferToInterpreter();
+            throw PythonErrors.KeyError(String.valueOf(key));
+        }
+
+        return result;
+    }
+
+    @Specialization(guards = "isStringKeyDictStorage(primary)")
+    public Object doPDictStringKey(PDict primary, String key) {
+        final Object result = ((StringKeyDictStorage) primary.getStorage()).getItemString(key);
+
+        if (result == null) {
+            CompilerDirectives.transferToInterpreter();
+            throw PythonErrors.KeyError(key);
+        }
+
+        return result;
+    }
+
     @Specialization
     public Object doPDict(PDict primary, Object key) {
         final Object result = primary.getItem(key);
-        assert result != null;
+
+        if (result == null) {
+            CompilerDirectives.transferToInterpreter();
+            throw PythonErrors.KeyError(key.toString());
+        }
+
         return result;
     }
 
@@ -34,6 +34,7 @@ import edu.uci.python.runtime.datatype.*;
 import edu.uci.python.runtime.datatype.PSlice.PStartSlice;
 import edu.uci.python.runtime.datatype.PSlice.PStopSlice;
 import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.sequence.storage.*;
 
 @NodeInfo(shortName = "subscript_load_slice")
 @GenerateNodeFactory
@@ -44,9 +45,14 @@ public abstract class SubscriptLoadSliceNode extends SubscriptLoadNode {
         return SubscriptStoreSliceNodeFactory.create(getPrimary(), getSlice(), rhs);
     }
 
+    @Specialization
+    public Object doPString(PString primary, PSlice slice) {
+        return primary.getSlice(slice);
+    }
+
 // @ExplodeLoop
     @Specialization
-    public String doString(String primary, PSlice slice) {
+    public Object doString(String primary, PSlice slice) {
         final int length = slice.computeActualIndices(primary.length());
         final int start = slice.getStart();
         int stop = slice.getStop();
@@ -56,7 +62,7 @@ public abstract class SubscriptLoadSliceNode extends SubscriptLoadNode {
             stop = start;
         }
         if (step == 1) {
-            return getSubString(primary, start, stop);
+            return new PString(new StringViewStorage(primary, start, stop - start));
         } else {
             char[] newChars = new char[length];
             int j = 0;
@@ -109,12 +115,6 @@ public abstract class SubscriptLoadSliceNode extends SubscriptLoadNode {
         throw new RuntimeException("Unsupported primary Type " + primary.getClass().getSimpleName());
     }
 
-    private static String getSubString(String origin, int start, int stop) {
-        char[] chars = new char[stop - start];
-        origin.getChars(start, stop, chars, 0);
-        return new String(chars);
-    }
-
     @Override
     public <R> R accept(VisitorIF<R> visitor) throws Exception {
         return visitor.visitSubscriptLoadSliceNode(this);
@@ -25,12 +25,14 @@
 package edu.uci.python.nodes.subscript;
 
 import com.oracle.truffle.api.dsl.*;
+import com.oracle.truffle.api.frame.*;
 import com.oracle.truffle.api.nodes.*;
 
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.*;
 import edu.uci.python.runtime.array.*;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.datatype.storage.*;
 import edu.uci.python.runtime.sequence.*;
 import edu.uci.python.runtime.sequence.storage.*;
 
@@ -43,6 +45,12 @@ public abstract class SubscriptStoreIndexNode extends SubscriptStoreNode {
         return SubscriptLoadIndexNodeFactory.create(getPrimary(), getSlice());
     }
 
+    /**
+     * Stores into a receiver and index that were already evaluated. The child nodes are not
+     * executed.
+     */
+    public abstract Object executeStore(VirtualFrame frame, Object primary, Object slice, Object value);
+
     @Specialization(guards = {"isIntStorage(primary)", "isIndexPositive(primary,idx)"})
     public Object doPListInt(PList primary, int idx, int value) {
         final IntSequenceStorage store = (IntSequenceStorage) primary.getStorage();
@@ -108,6 +116,18 @@ public abstract class SubscriptStoreIndexNode extends SubscriptStoreNode {
     /**
      * PDict key & value store.
      */
+    @Specialization(guards = "isIntKeyDictStorage(primary)")
+    public Object doPDictIntKey(PDict primary, int key, Object value) {
+        ((IntKeyDictStorage) primary.getStorage()).setItemInt(key, value);
+        return PNone.NONE;
+    }
+
+    @Specialization(guards = "isStringKeyDictStorage(primary)")
+    public Object doPDictStringKey(PDict primary, String key, Object value) {
+        ((StringKeyDictStorage) primary.getStorage()).setItemString(key, value);
+        return PNone.NONE;
+    }
+
     @Specialization
     public Object doPDict(PDict primary, Object key, Object value) {
         primary.setItem(key, value);
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.nodes.subscript;
+
+import static com.oracle.truffle.api.CompilerDirectives.*;
+
+import com.oracle.truffle.api.dsl.*;
+import com.oracle.truffle.api.frame.*;
+import com.oracle.truffle.api.nodes.*;
+
+import edu.uci.python.nodes.*;
+import edu.uci.python.nodes.expression.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.datatype.storage.*;
+import edu.uci.python.runtime.exception.*;
+
+/**
+ * Fused read-modify-write of a dict entry, emitted for <code>d[k] op= x</code> and
+ * <code>d[k] = d.get(k, default) op x</code>.<br>
+ * On a {@link PDict} the key is probed once and the result goes back into the same dense entry. If
+ * evaluating the right operand changed the layout of the dict, the result is stored by key instead.
+ * <br>
+ * Any other receiver takes the unfused load, binary operation and store, applied to the receiver
+ * and key that were already evaluated. Only the <code>get</code> form evaluates the receiver again,
+ * as part of the call.
+ */
+@NodeInfo(shortName = "subscript_update")
+@NodeChildren({@NodeChild(value = "primary", type = PNode.class), @NodeChild(value = "key", type = PNode.class)})
+@GenerateNodeFactory
+public abstract class SubscriptUpdateNode extends PNode {
+
+    @Child protected PNode defaultNode;
+    @Child protected PNode getCall;
+    @Child protected BinaryOpNode binaryOp;
+    @Child protected PNode rightNode;
+    @Child protected BinaryOpNode loadNode;
+    @Child protected SubscriptStoreIndexNode storeNode;
+
+    /**
+     * @param defaultNode <code>null</code> for augmented assignment, which raises KeyError on a
+     *            missing key.
+     * @param getCall <code>d.get(k, default)</code>, or <code>null</code> for augmented assignment.
+     * @param binaryOp applied to the old value and the right operand through
+     *            {@link BinaryOpNode#executeWith}; its own operand nodes are not executed.
+     */
+    public SubscriptUpdateNode(PNode defaultNode, PNode getCall, BinaryOpNode binaryOp, PNode rightNode) {
+        this.defaultNode = defaultNode;
+        this.getCall = getCall;
+        this.binaryOp = binaryOp;
+        this.rightNode = rightNode;
+        this.loadNode = SubscriptLoadIndexNodeFactory.create(EmptyNode.create(), EmptyNode.create());
+        this.storeNode = SubscriptStoreIndexNodeFactory.create(EmptyNode.create(), EmptyNode.create(), EmptyNode.create());
+        assert (defaultNode == null) == (getCall == null);
+    }
+
+    protected SubscriptUpdateNode(SubscriptUpdateNode prev) {
+        this(prev.defaultNode, prev.getCall, prev.binaryOp, prev.rightNode);
+    }
+
+    public abstract PNode getPrimary();
+
+    public abstract PNode getKey();
+
+    public BinaryOpNode getBinaryOp() {
+        return binaryOp;
+    }
+
+    @Specialization(guards = "isIntKeyDictStorage(dict)")
+    public Object doPDictIntKey(VirtualFrame frame, PDict dict, int key) {
+        final IntKeyDictStorage storage = (IntKeyDictStorage) dict.getStorage();
+        return updateEntry(frame, dict, storage, storage.findEntryInt(key), key);
+    }
+
+    @Specialization(guards = "isStringKeyDictStorage(dict)")
+    public Object doPDictStringKey(VirtualFrame frame, PDict dict, String key) {
+        final StringKeyDictStorage storage = (StringKeyDictStorage) dict.getStorage();
+        return updateEntry(frame, dict, storage, storage.findEntryString(key), key);
+    }
+
+    @Specialization
+    public Object doPDict(VirtualFrame frame, PDict dict, Object key) {
+        final DictStorage storage = dict.getStorage();
+        return updateEntry(frame, dict, storage, storage.findEntry(key), key);
+    }
+
+    @Specialization
+    public Object doGeneric(VirtualFrame frame, Object primary, Object key) {
+        final Object oldValue = getCall == null ? loadNode.executeWith(frame, primary, key) : getCall.execute(frame);
+        final Object result = binaryOp.executeWith(frame, oldValue, rightNode.execute(frame));
+        storeNode.executeStore(frame, primary, key, result);
+        return PNone.NONE;
+    }
+
+    private Object updateEntry(VirtualFrame frame, PDict dict, DictStorage storage, int index, Object key) {
+        final Object oldValue;
+
+        if (index >= 0) {
+            oldValue = storage.getValueAt(index);
+        } else if (defaultNode != null) {
+            oldValue = defaultNode.execute(frame);
+        } else {
+            transferToInterpreter();
+            throw PythonErrors.KeyError(key.toString());
+        }
+
+        final int version = storage.getVersion();
+        final Object result = binaryOp.executeWith(frame, oldValue, rightNode.execute(frame));
+
+        if (index >= 0 && dict.getStorage() == storage && storage.getVersion() == version) {
+            storage.setValueAt(index, result);
+        } else {
+            dict.setItem(key, result);
+        }
+
+        return PNone.NONE;
+    }
+
+}
@@ -58,6 +58,7 @@ import edu.uci.python.runtime.function.PFunction;
 import edu.uci.python.runtime.object.PythonObject;
 import edu.uci.python.runtime.sequence.PList;
 import edu.uci.python.runtime.sequence.PSet;
+import edu.uci.python.runtime.sequence.PString;
 import edu.uci.python.runtime.sequence.PTuple;
 
 public class PythonTypesUtil {
@@ -100,6 +101,8 @@ public class PythonTypesUtil {
             } catch (Exception e) {
                 return Py.newUnicode((String) value);
             }
+        } else if (value instanceof PString) {
+            return adaptToPyObject(((PString) value).getValue());
         } else if (value instanceof PNone) {
             return Py.None;
         } else if (value instanceof PTuple) {
@@ -116,15 +119,19 @@ public class PythonTypesUtil {
             return new PyList(pyObjs);
         } else if (value instanceof PSet) {
             PSet set = (PSet) value;
-            return new PySet(adaptToPyObjects(set.getSet().toArray()));
+            return new PySet(adaptToPyObjects(set.getStorage().getItems()));
         } else if (value instanceof PFrozenSet) {
             PFrozenSet set = (PFrozenSet) value;
-            return new PySet(adaptToPyObjects(set.getSet().toArray()));
+            return new PySet(adaptToPyObjects(set.getStorage().getItems()));
         } else if (value instanceof PDict) {
             PDict dict = (PDict) value;
             ConcurrentHashMap<PyObject, PyObject> map = new ConcurrentHashMap<>();
-            for (Object key : dict.keys()) {
-                map.put(adaptToPyObject(key), adaptToPyObject(dict.getItem(key)));
+            for (int i = 0; i < dict.getUsed(); i++) {
+                Object key = dict.getKeyAt(i);
+
+                if (key != null) {
+                    map.put(adaptToPyObject(key), adaptToPyObject(dict.getValueAt(i)));
+                }
             }
             return new PyDictionary(map);
         } else if (value instanceof PIntArray) {
@@ -218,7 +225,7 @@ public class PythonTypesUtil {
             return "float";
         } else if (object instanceof PComplex) {
             return "complex";
-        } else if (object instanceof String) {
+        } else if (object instanceof String || object instanceof PString) {
             return "str";
         } else if (object instanceof PList) {
             return "list";
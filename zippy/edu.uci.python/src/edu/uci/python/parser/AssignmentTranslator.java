@@ -67,6 +67,23 @@ public class AssignmentTranslator {
             }
         }
 
+        /**
+         * Dict update: d[k] = d.get(k, default) + x.
+         */
+        if (lhs.size() == 1 && isSubscriptUpdateTarget(exprTarget) && isDictGetUpdate((Subscript) exprTarget, rhs)) {
+            BinOp binOp = (BinOp) rhs;
+            Call get = (Call) binOp.getInternalLeft();
+            Subscript target = (Subscript) exprTarget;
+            PNode getCall = (PNode) translator.visit(get);
+            PNode right = (PNode) translator.visit(binOp.getInternalRight());
+            PNode primary = (PNode) translator.visit(target.getInternalValue());
+            PNode key = (PNode) translator.visit(target.getInternalSlice());
+            PNode defaultValue = (PNode) translator.visit(get.getInternalArgs().get(1));
+            PNode binaryOp = translator.assignSourceFromNode(binOp, factory.createBinaryOperation(binOp.getInternalOp(), EmptyNode.create(), EmptyNode.create()));
+            PNode update = factory.createSubscriptUpdate(primary, key, defaultValue, getCall, binaryOp, right);
+            return translator.assignSourceFromNode(node, update);
+        }
+
         /**
          * Single or chained-assignment.
          */
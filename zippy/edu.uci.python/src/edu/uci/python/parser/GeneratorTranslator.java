@@ -107,7 +107,8 @@ public class GeneratorTranslator {
         List<Integer> indexSlots = new ArrayList<>();
         List<Integer> flagSlots = new ArrayList<>();
 
-        while (current instanceof GeneratorBlockNode || current instanceof ContinueTargetNode || current instanceof IfNode) {
+        while (current instanceof GeneratorBlockNode || current instanceof ContinueTargetNode || current instanceof IfNode || current instanceof RepeatingNode ||
+                        current instanceof com.oracle.truffle.api.nodes.LoopNode) {
             if (current instanceof GeneratorBlockNode) {
                 int indexSlot = ((GeneratorBlockNode) current).getIndexSlot();
                 indexSlots.add(indexSlot);
@@ -159,11 +160,15 @@ public class GeneratorTranslator {
 
     private void replaceYield(YieldNode yield) {
         int depth = 0;
-        PNode current = yield;
+        Node current = yield;
 
         while (current.getParent() != root) {
-            current = (PNode) current.getParent();
-            replaceControl(current, yield, depth++);
+            current = current.getParent();
+
+            // skip the Truffle loop nodes between a loop and its body
+            if (current instanceof PNode) {
+                replaceControl((PNode) current, yield, depth++);
+            }
         }
 
         if (needToHandleComplicatedYieldExpression) {
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.parser;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.security.*;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.zip.*;
+
+import org.antlr.runtime.*;
+import org.antlr.runtime.tree.*;
+import org.python.antlr.base.*;
+
+import edu.uci.python.*;
+import edu.uci.python.runtime.*;
+
+/**
+ * On-disk cache of parsed modules. An entry holds the Jython AST produced by {@link ParserFacade}
+ * in serialized, deflated form, and is keyed by the module path (or by the source itself for
+ * anonymous sources) and the parser that produced it. Each entry records the hash of the source
+ * text it was parsed from together with the ZipPy and Jython versions, so an entry is silently
+ * replaced as soon as the source or the implementation changes.
+ * <p>
+ * The translated Truffle AST is not cached since it is bound to the {@link PythonContext} and
+ * module it was created for. Scope and tree translation still run on every load.
+ */
+public final class ParseCache {
+
+    private static final String FORMAT = "zippy-parse-cache-1";
+    private static final String VERSION = FORMAT + ";" + org.python.Version.PY_VERSION + ";" + getZippyBuildStamp();
+    private static final String SUFFIX = ".ast";
+
+    private static ParseCache defaultCache;
+
+    private final File directory;
+    private final AtomicLong hits = new AtomicLong();
+
+    public ParseCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the cache configured by {@link PythonOptions#ParseCacheDirectory}, or null if
+     * {@link PythonOptions#ParseCache} is disabled.
+     */
+    public static synchronized ParseCache getDefault() {
+        if (!PythonOptions.ParseCache) {
+            return null;
+        }
+
+        File directory = new File(PythonOptions.ParseCacheDirectory);
+        if (defaultCache == null || !defaultCache.directory.equals(directory)) {
+            defaultCache = new ParseCache(directory);
+        }
+
+        return defaultCache;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the cached AST of {@code code}, or null if there is no valid entry for it. Entries
+     * too deeply nested to deserialize are dropped, and the caller parses the source again.
+     */
+    public mod lookup(String path, String code) {
+        File entry = getEntryFile(path, code);
+        if (!entry.isFile()) {
+            return null;
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new InflaterInputStream(new FileInputStream(entry))))) {
+            if (!VERSION.equals(in.readUTF()) || !hash(code).equals(in.readUTF())) {
+                return null;
+            }
+
+            mod node = (mod) in.readObject();
+            hits.incrementAndGet();
+            return node;
+        } catch (IOException | ClassNotFoundException | RuntimeException | StackOverflowError e) {
+            entry.delete();
+            return null;
+        }
+    }
+
+    /**
+     * Writes {@code node} as the entry for {@code code}. Failures are ignored; the cache is only an
+     * optimization.
+     */
+    public void store(String path, String code, mod node) {
+        File entry = getEntryFile(path, code);
+        File temp = null;
+
+        try {
+            Files.createDirectories(directory.toPath());
+            temp = File.createTempFile(entry.getName(), ".tmp", directory);
+
+            try (ObjectOutputStream out = new TreeReplacingOutputStream(new BufferedOutputStream(new DeflaterOutputStream(new FileOutputStream(temp))))) {
+                out.writeUTF(VERSION);
+                out.writeUTF(hash(code));
+                out.writeObject(node);
+            }
+
+            Files.move(temp.toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException | StackOverflowError e) {
+            if (temp != null) {
+                temp.delete();
+            }
+        }
+    }
+
+    private File getEntryFile(String path, String code) {
+        String key = path != null ? hash(new File(path).getAbsolutePath()) : hash(code);
+        return new File(directory, key + (PythonOptions.NativeParser ? "-native" : "") + SUFFIX);
+    }
+
+    static String hash(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            byte[] bytes = digest.digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(bytes.length * 2);
+
+            for (byte b : bytes) {
+                sb.append(Character.forDigit((b >> 4) & 0xf, 16));
+                sb.append(Character.forDigit(b & 0xf, 16));
+            }
+
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * ZipPy has no release numbers, so the modification time of the jar or class directory stands
+     * in for its version.
+     */
+    private static String getZippyBuildStamp() {
+        CodeSource codeSource = PythonLanguage.class.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            return "unknown";
+        }
+
+        try {
+            return Long.toString(new File(codeSource.getLocation().toURI()).lastModified());
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+
+    /**
+     * Jython AST nodes keep their position information in an ANTLR {@link CommonTree}, which is not
+     * serializable. Those trees are written as {@link TreeReplacement}s instead.
+     */
+    private static final class TreeReplacingOutputStream extends ObjectOutputStream {
+
+        TreeReplacingOutputStream(OutputStream out) throws IOException {
+            super(out);
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(Object obj) throws IOException {
+            if (obj instanceof CommonTree) {
+                return new TreeReplacement((CommonTree) obj);
+            }
+
+            return obj;
+        }
+
+    }
+
+    private static final class TreeReplacement implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final boolean hasToken;
+        private final int type;
+        private final String text;
+        private final int line;
+        private final int charPositionInLine;
+        private final int channel;
+        private final int tokenIndex;
+        private final int startIndex;
+        private final int stopIndex;
+        private final int tokenStartIndex;
+        private final int tokenStopIndex;
+        private final ArrayList<Object> children;
+
+        TreeReplacement(CommonTree tree) {
+            Token token = tree.getToken();
+            this.hasToken = token != null;
+            this.type = hasToken ? token.getType() : 0;
+            this.text = hasToken ? token.getText() : null;
+            this.line = hasToken ? token.getLine() : 0;
+            this.charPositionInLine = hasToken ? token.getCharPositionInLine() : 0;
+            this.channel = hasToken ? token.getChannel() : 0;
+            this.tokenIndex = hasToken ? token.getTokenIndex() : 0;
+            this.startIndex = token instanceof CommonToken ? ((CommonToken) token).getStartIndex() : 0;
+            this.stopIndex = token instanceof CommonToken ? ((CommonToken) token).getStopIndex() : 0;
+            this.tokenStartIndex = tree.getTokenStartIndex();
+            this.tokenStopIndex = tree.getTokenStopIndex();
+            this.children = new ArrayList<>();
+
+            for (int i = 0; i < tree.getChildCount(); i++) {
+                children.add(tree.getChild(i));
+            }
+        }
+
+        private Object readResolve() {
+            CommonToken token = null;
+
+            if (hasToken) {
+                token = new CommonToken(type, text);
+                token.setLine(line);
+                token.setCharPositionInLine(charPositionInLine);
+                token.setChannel(channel);
+                token.setTokenIndex(tokenIndex);
+                token.setStartIndex(startIndex);
+                token.setStopIndex(stopIndex);
+            }
+
+            CommonTree tree = new CommonTree(token);
+            tree.setTokenStartIndex(tokenStartIndex);
+            tree.setTokenStopIndex(tokenStopIndex);
+
+            for (Object child : children) {
+                tree.addChild((Tree) child);
+            }
+
+            return tree;
+        }
+
+    }
+
+}
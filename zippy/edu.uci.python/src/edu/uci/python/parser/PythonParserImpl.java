@@ -25,7 +25,10 @@
 package edu.uci.python.parser;
 
 import java.io.*;
+import java.util.Collection;
 
+import org.python.antlr.*;
+import org.python.antlr.ast.*;
 import org.python.antlr.base.*;
 import org.python.core.*;
 
@@ -47,9 +50,27 @@ public class PythonParserImpl implements PythonParser {
 
     @Override
     public PythonParseResult parse(PythonContext context, PythonModule module, Source source) {
-        InputStream istream = new ByteArrayInputStream(source.getCharacters().toString().getBytes());
+        String code = source.getCharacters().toString();
         String filename = source.getPath();
-        org.python.antlr.base.mod node = ParserFacade.parse(istream, CompileMode.exec, filename, cookCompilerFlags());
+        ParseCache cache = ParseCache.getDefault();
+        org.python.antlr.base.mod node = cache != null ? cache.lookup(filename, code) : null;
+
+        if (node == null) {
+            if (PythonOptions.NativeParser) {
+                node = new SourceParser(code, filename, true).parseModule();
+            } else {
+                InputStream istream = new ByteArrayInputStream(code.getBytes());
+                node = ParserFacade.parse(istream, CompileMode.exec, filename, cookCompilerFlags());
+            }
+
+            if (cache != null) {
+                cache.store(filename, code, node);
+            }
+        }
+
+        if (PythonOptions.PrefetchImports) {
+            prefetchImports(context, module, node);
+        }
 
         TranslationEnvironment environment = new TranslationEnvironment(context, module);
         ScopeTranslator ptp = new ScopeTranslator(environment);
@@ -57,20 +78,47 @@ public class PythonParserImpl implements PythonParser {
         PythonTreeTranslator ptt = new PythonTreeTranslator(context, node, environment, module, source);
         PythonParseResult result = ptt.getTranslationResult();
 
+        optimizeGeneratorExpressions(result.getFunctionRoots());
+
+        SpecializationSnapshot snapshot = SpecializationSnapshot.getDefault();
+        if (snapshot != null) {
+            snapshot.apply(source, code, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Runs the passes that {@link #parse} runs after translation on the roots a lazily translated
+     * function body completed: the function itself and the functions nested in its body.
+     */
+    static void completeLazyTranslation(Source source, Collection<RootNode> roots) {
+        optimizeGeneratorExpressions(roots);
+
+        SpecializationSnapshot snapshot = SpecializationSnapshot.getDefault();
+        if (snapshot != null) {
+            snapshot.apply(source, source.getCharacters().toString(), roots);
+        }
+    }
+
+    private static void optimizeGeneratorExpressions(Collection<RootNode> roots) {
         if (PythonOptions.OptimizeGeneratorExpressions) {
-            for (RootNode functionRoot : result.getFunctionRoots()) {
+            for (RootNode functionRoot : roots) {
                 if (functionRoot instanceof FunctionRootNode) {
                     new GeneratorExpressionOptimizer((FunctionRootNode) functionRoot).optimize();
                 }
             }
         }
-
-        return result;
     }
 
     @Override
     public PythonParseResult parse(PythonContext context, PythonModule module, String expression) {
-        mod node = ParserFacade.parseExpressionOrModule(new StringReader(expression), "<eval>", CompilerFlags.getCompilerFlags());
+        mod node;
+        if (PythonOptions.NativeParser) {
+            node = new SourceParser(expression, "<eval>", false).parseExpressionOrModule();
+        } else {
+            node = ParserFacade.parseExpressionOrModule(new StringReader(expression), "<eval>", CompilerFlags.getCompilerFlags());
+        }
 
         TranslationEnvironment environment = new TranslationEnvironment(context, module);
         ScopeTranslator ptp = new ScopeTranslator(environment);
@@ -90,6 +138,72 @@ public class PythonParserImpl implements PythonParser {
         return ptt.getTranslationResult();
     }
 
+    /**
+     * Hands the modules imported when {@code node} executes to the import prefetcher. Imports inside
+     * function bodies may never run and are skipped.
+     */
+    private static void prefetchImports(PythonContext context, PythonModule module, mod node) {
+        ImportCollector collector = new ImportCollector(context, module);
+
+        try {
+            collector.visit(node);
+        } catch (Exception e) {
+            // prefetching is only an optimization
+        }
+    }
+
+    private static final class ImportCollector extends Visitor {
+
+        private final PythonContext context;
+        private final PythonModule module;
+
+        ImportCollector(PythonContext context, PythonModule module) {
+            this.context = context;
+            this.module = module;
+        }
+
+        @Override
+        public Object visitImport(Import node) throws Exception {
+            for (alias aliaz : node.getInternalNames()) {
+                // ImportNode resolves plain imports relative to the main module
+                context.getImportManager().prefetchModule(context.getMainModule(), firstResolved(aliaz.getInternalName(), false));
+            }
+
+            return null;
+        }
+
+        @Override
+        public Object visitImportFrom(ImportFrom node) throws Exception {
+            String fromModule = node.getInternalModule();
+
+            if (fromModule != null && !fromModule.isEmpty() && !fromModule.equals("__future__")) {
+                context.getImportManager().prefetchModule(module, firstResolved(fromModule, true));
+            }
+
+            return null;
+        }
+
+        /**
+         * The module an import statement resolves first: ImportNode looks up the last component of
+         * a dotted name, while ImportFromNode walks the components starting from the first one.
+         */
+        private static String firstResolved(String dottedName, boolean fromImport) {
+            String[] components = dottedName.split("\\.");
+            return fromImport ? components[0] : components[components.length - 1];
+        }
+
+        @Override
+        public Object visitFunctionDef(FunctionDef node) throws Exception {
+            return null;
+        }
+
+        @Override
+        public Object visitLambda(Lambda node) throws Exception {
+            return null;
+        }
+
+    }
+
     private static CompilerFlags cookCompilerFlags() {
         CompilerFlags cflags = CompilerFlags.getCompilerFlags();
         cflags.setFlag(CodeFlag.CO_FUTURE_ABSOLUTE_IMPORT);
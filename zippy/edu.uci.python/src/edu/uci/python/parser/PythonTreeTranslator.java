@@ -70,6 +70,9 @@ public class PythonTreeTranslator extends Visitor {
 
     private final Map<String, RootNode> functions = new HashMap<>();
 
+    // functions translated while translating a lazy function body, see createLazyFunctionBody
+    private List<RootNode> lazilyTranslatedFunctions;
+
     public PythonTreeTranslator(PythonContext context, mod root, TranslationEnvironment environment, PythonModule module, Source source) {
         this.context = context;
         this.source = source;
@@ -83,13 +86,21 @@ public class PythonTreeTranslator extends Visitor {
         try {
             moduleNode = (ModuleNode) visit(root);
         } catch (Throwable t) {
-            t.printStackTrace();
-            throw new RuntimeException("Failed in " + this + " with error " + t);
+            throw translationFailed(t);
         }
         this.result = new PythonParseResult(environment.getModule(), moduleNode, context, functions);
     }
 
+    private RuntimeException translationFailed(Throwable t) {
+        t.printStackTrace();
+        return new RuntimeException("Failed in " + this + " with error " + t);
+    }
+
     public void addParsedFunction(String name, RootNode function) {
+        if (lazilyTranslatedFunctions != null) {
+            lazilyTranslatedFunctions.add(function);
+        }
+
         if (functions.containsKey(name)) {
             functions.put(name + function.hashCode(), function);
         } else {
@@ -107,7 +118,7 @@ public class PythonTreeTranslator extends Visitor {
         List<PNode> body = visitStatements(node.getInternalBody());
         FrameDescriptor fd = environment.getCurrentFrame();
         environment.endScope(node);
-        RootNode newNode = factory.createModule(module.getModuleName(), body, fd);
+        RootNode newNode = factory.createModule(context, module.getModuleName(), body, fd);
         return newNode;
     }
 
@@ -138,7 +149,7 @@ public class PythonTreeTranslator extends Visitor {
         PNode body = (PNode) visit(node.getInternalBody());
         FrameDescriptor fd = environment.getCurrentFrame();
         environment.endScope(node);
-        return new ModuleNode("<expression>", body, fd);
+        return new ModuleNode(context, "<expression>", body, fd);
     }
 
     @Override
@@ -194,11 +205,12 @@ public class PythonTreeTranslator extends Visitor {
         /**
          * Function body
          */
-        List<PNode> statements = visitStatements(node.getInternalBody());
-        PNode body = factory.createBlock(statements);
-        body = factory.createBlock(argumentLoads, body);
-        body = new ReturnTargetNode(body, factory.createReadLocal(environment.getReturnSlot()));
-        assignSourceFromNode(node, body);
+        PNode body;
+        if (PythonOptions.LazyFunctionTranslation && canTranslateBodyLazily(node)) {
+            body = assignSourceFromNode(node, createLazyFunctionBody(node, argumentLoads));
+        } else {
+            body = translateFunctionBody(node, argumentLoads);
+        }
 
         /**
          * Defaults
@@ -241,6 +253,117 @@ public class PythonTreeTranslator extends Visitor {
         return assignSourceFromNode(nameNode, functionNameWriteNode);
     }
 
+    private PNode translateFunctionBody(FunctionDef node, PNode argumentLoads) throws Exception {
+        List<PNode> statements = visitStatements(node.getInternalBody());
+        PNode body = factory.createBlock(statements);
+        body = factory.createBlock(argumentLoads, body);
+        body = new ReturnTargetNode(body, factory.createReadLocal(environment.getReturnSlot()));
+        assignSourceFromNode(node, body);
+        return body;
+    }
+
+    /**
+     * A body can be translated after the rest of the module only if translating it cannot change
+     * anything the definition depends on. That rules out generators, and functions that might read
+     * from an enclosing function or class scope, since either outcome is only discovered while
+     * translating the body. Unit test runs translate eagerly, so that a body that fails to translate
+     * is caught by {@link #visitFunctionDef} like any other.
+     */
+    private boolean canTranslateBodyLazily(FunctionDef node) throws Exception {
+        if (PythonOptions.CatchZippyExceptionForUnitTesting) {
+            return false;
+        }
+
+        int scopeLevel = environment.getScopeLevel();
+        ScopeInfo.ScopeKind enclosingKind = environment.getEnclosingScopeKind();
+
+        if (!(scopeLevel == 2 && enclosingKind == ScopeInfo.ScopeKind.Module) && !(scopeLevel == 3 && enclosingKind == ScopeInfo.ScopeKind.Class)) {
+            return false;
+        }
+
+        LazyTranslationCheck check = new LazyTranslationCheck();
+        for (stmt statement : node.getInternalBody()) {
+            check.visit(statement);
+        }
+
+        if (check.hasYield) {
+            return false;
+        }
+
+        if (enclosingKind == ScopeInfo.ScopeKind.Class) {
+            FrameDescriptor classFrame = environment.getEnclosingFrame();
+            for (String name : check.names) {
+                if (classFrame.findFrameSlot(name) != null) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private PNode createLazyFunctionBody(final FunctionDef node, final PNode argumentLoads) {
+        final int scopeLevel = environment.getScopeLevel();
+        // Allocate the return slot up front so the first frame already has room for it.
+        environment.getReturnSlot();
+
+        return new LazyFunctionBodyNode(new LazyFunctionBodyNode.BodyTranslator() {
+
+            private List<RootNode> nestedFunctions;
+
+            @Override
+            public PNode translate() {
+                synchronized (PythonTreeTranslator.this) {
+                    lazilyTranslatedFunctions = new ArrayList<>();
+                    try {
+                        environment.resumeScope(node, scopeLevel);
+                        PNode body = translateFunctionBody(node, argumentLoads);
+                        environment.endScope(node);
+                        nestedFunctions = lazilyTranslatedFunctions;
+                        return body;
+                    } catch (Throwable t) {
+                        throw translationFailed(t);
+                    } finally {
+                        lazilyTranslatedFunctions = null;
+                    }
+                }
+            }
+
+            @Override
+            public void complete(RootNode root) {
+                List<RootNode> roots = new ArrayList<>();
+                if (nestedFunctions != null) {
+                    // nested functions are shared by all copies of the body and completed once
+                    roots.addAll(nestedFunctions);
+                    nestedFunctions = null;
+                }
+
+                roots.add(root);
+                PythonParserImpl.completeLazyTranslation(source, roots);
+            }
+
+        });
+    }
+
+    private static final class LazyTranslationCheck extends Visitor {
+
+        private final Set<String> names = new HashSet<>();
+        private boolean hasYield;
+
+        @Override
+        public Object visitName(Name node) throws Exception {
+            names.add(node.getInternalId());
+            return super.visitName(node);
+        }
+
+        @Override
+        public Object visitYield(Yield node) throws Exception {
+            hasYield = true;
+            return super.visitYield(node);
+        }
+
+    }
+
     @Override
     public Object visitLambda(Lambda node) throws Exception {
         /**
@@ -656,6 +779,17 @@ public class PythonTreeTranslator extends Visitor {
     public Object visitAugAssign(AugAssign node) throws Exception {
         PNode target = (PNode) visit(node.getInternalTarget());
         PNode value = (PNode) visit(node.getInternalValue());
+
+        /**
+         * Probe once, update in place dict update. See {@link SubscriptUpdateNode}.
+         */
+        if (isSubscriptUpdateTarget(node.getInternalTarget())) {
+            PNode binaryOp = factory.createBinaryOperation(node.getInternalOp(), EmptyNode.create(), EmptyNode.create());
+            assignSourceToAugAssignNode(binaryOp, target, value);
+            SubscriptLoadNode load = (SubscriptLoadNode) target;
+            return assignSourceFromNode(node, factory.createSubscriptUpdate(load.getPrimary(), load.getSlice(), null, null, binaryOp, value));
+        }
+
         PNode binaryOp = factory.createBinaryOperation(node.getInternalOp(), target, value);
         assignSourceToAugAssignNode(binaryOp, target, value);
         PNode read = factory.duplicate(target, PNode.class);
@@ -878,7 +1012,8 @@ public class PythonTreeTranslator extends Visitor {
     private LoopNode createForInScope(PNode target, PNode iterator, PNode body) {
         GetIteratorNode getIterator = factory.createGetIterator(iterator);
         getIterator.assignSourceSection(iterator.getSourceSection());
-        return ForNodeFactory.create(body, target, getIterator);
+        FrameSlot iteratorSlot = TranslationEnvironment.makeTempLocalVariable(environment.getCurrentFrame());
+        return ForNodeFactory.create(body, target, iteratorSlot, getIterator);
     }
 
     @Override
@@ -0,0 +1,1566 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.parser;
+
+import java.math.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.antlr.runtime.*;
+import org.python.antlr.*;
+import org.python.antlr.ast.*;
+import org.python.antlr.base.*;
+import org.python.core.*;
+
+import edu.uci.python.parser.SourceTokenizer.Kind;
+import edu.uci.python.parser.SourceTokenizer.Lexeme;
+
+/**
+ * Recursive-descent parser that builds the Jython AST straight from the source characters,
+ * bypassing Jython's ANTLR lexer and parser. It accepts the same language the ANTLR front end does
+ * with the future flags ZipPy compiles with (print function, unicode literals, division,
+ * absolute imports and the with statement), and builds the same trees, so
+ * {@link ScopeTranslator} and {@link PythonTreeTranslator} work on either.
+ *
+ * Every node carries a token spanning its characters in the source, which the translators turn
+ * into source sections.
+ */
+public final class SourceParser {
+
+    private static final java.util.Set<String> KEYWORDS = new HashSet<>(Arrays.asList("and", "as", "assert", "break", "class", "continue", "def", "del", "elif", "else", "except", "exec", "finally",
+                    "for", "from", "global", "if", "import", "in", "is", "lambda", "not", "or", "pass", "raise", "return", "try", "while", "with", "yield"));
+
+    private final CharSequence source;
+    private final String filename;
+    private final boolean unicodeLiterals;
+    private final List<Lexeme> lexemes;
+
+    private int index;
+    private int lastEnd;
+
+    public SourceParser(CharSequence source, String filename, boolean unicodeLiterals) {
+        this.source = source;
+        this.filename = filename;
+        this.unicodeLiterals = unicodeLiterals;
+        this.lexemes = new SourceTokenizer(source, filename).tokenize();
+    }
+
+    public mod parseModule() {
+        List<stmt> body = new ArrayList<>();
+
+        while (peek().kind != Kind.EOF) {
+            if (!accept(Kind.NEWLINE)) {
+                body.addAll(statement());
+            }
+        }
+
+        return new Module(span(0, 1, 0), body);
+    }
+
+    public mod parseExpression() {
+        while (accept(Kind.NEWLINE)) {
+            // skip
+        }
+
+        Lexeme first = peek();
+        expr body = testlist();
+
+        while (accept(Kind.NEWLINE)) {
+            // skip
+        }
+
+        expect(Kind.EOF, "");
+        return new Expression(tok(first), body);
+    }
+
+    /**
+     * Parses {@code source} as an expression if it is one, and as a module otherwise, like
+     * {@link ParserFacade#parseExpressionOrModule}.
+     */
+    public mod parseExpressionOrModule() {
+        try {
+            return parseExpression();
+        } catch (PySyntaxError e) {
+            index = 0;
+            lastEnd = 0;
+            return parseModule();
+        }
+    }
+
+    // Statements
+
+    private List<stmt> statement() {
+        Lexeme first = peek();
+
+        if (first.kind == Kind.NAME) {
+            switch (first.text) {
+                case "if":
+                    next();
+                    return single(ifStatement(first));
+                case "while":
+                    return single(whileStatement());
+                case "for":
+                    return single(forStatement());
+                case "try":
+                    return single(tryStatement());
+                case "with":
+                    return single(withStatement());
+                case "def":
+                    return single(functionDef(first, new ArrayList<expr>()));
+                case "class":
+                    return single(classDef(first, new ArrayList<expr>()));
+            }
+        } else if (first.is(Kind.OP, "@")) {
+            return single(decorated());
+        }
+
+        return simpleStatement();
+    }
+
+    private static List<stmt> single(stmt statement) {
+        List<stmt> statements = new ArrayList<>(1);
+        statements.add(statement);
+        return statements;
+    }
+
+    private List<stmt> simpleStatement() {
+        List<stmt> statements = new ArrayList<>();
+        statements.add(smallStatement());
+
+        while (acceptOp(";")) {
+            if (peek().kind == Kind.NEWLINE) {
+                break;
+            }
+            statements.add(smallStatement());
+        }
+
+        expect(Kind.NEWLINE, "\n");
+        return statements;
+    }
+
+    private stmt smallStatement() {
+        Lexeme first = peek();
+
+        if (first.kind == Kind.NAME) {
+            switch (first.text) {
+                case "pass":
+                    next();
+                    return new Pass(tok(first));
+                case "break":
+                    next();
+                    return new Break(tok(first));
+                case "continue":
+                    next();
+                    return new Continue(tok(first));
+                case "return": {
+                    next();
+                    expr value = atEndOfStatement() ? null : testlist();
+                    return new Return(tok(first), value);
+                }
+                case "raise":
+                    return raiseStatement();
+                case "global":
+                    return globalStatement();
+                case "del":
+                    return deleteStatement();
+                case "import":
+                    return importStatement();
+                case "from":
+                    return importFromStatement();
+                case "assert":
+                    return assertStatement();
+                case "exec":
+                    return execStatement();
+            }
+        }
+
+        return expressionStatement();
+    }
+
+    private stmt expressionStatement() {
+        Lexeme first = peek();
+        expr target = testlistOrYield();
+        operatorType op = augmentedOperator(peek());
+
+        if (op != null) {
+            next();
+            if (!(target instanceof Name || target instanceof Attribute || target instanceof Subscript)) {
+                throw error("illegal expression for augmented assignment", first);
+            }
+
+            expr value = testlistOrYield();
+            return new AugAssign(tok(first), withContext(target, expr_contextType.Store), op, value);
+        }
+
+        if (atOp("=")) {
+            List<expr> targets = new ArrayList<>();
+            expr value = target;
+
+            while (acceptOp("=")) {
+                targets.add(withContext(value, expr_contextType.Store));
+                value = testlistOrYield();
+            }
+
+            return new Assign(tok(first), targets, value);
+        }
+
+        return new Expr(tok(first), target);
+    }
+
+    private stmt raiseStatement() {
+        Lexeme first = next();
+        expr type = null;
+        expr inst = null;
+        expr tback = null;
+
+        if (!atEndOfStatement()) {
+            type = test();
+            if (acceptOp(",")) {
+                inst = test();
+                if (acceptOp(",")) {
+                    tback = test();
+                }
+            }
+        }
+
+        return new Raise(tok(first), type, inst, tback);
+    }
+
+    private stmt globalStatement() {
+        Lexeme first = next();
+        List<String> names = new ArrayList<>();
+
+        do {
+            names.add(identifier().text);
+        } while (acceptOp(","));
+
+        return new Global(tok(first), names);
+    }
+
+    private stmt deleteStatement() {
+        Lexeme first = next();
+        List<expr> targets = new ArrayList<>();
+
+        do {
+            targets.add(withContext(expression(), expr_contextType.Del));
+        } while (acceptOp(",") && !atEndOfStatement());
+
+        return new Delete(tok(first), targets);
+    }
+
+    private stmt importStatement() {
+        Lexeme first = next();
+        List<alias> names = new ArrayList<>();
+
+        do {
+            Lexeme start = peek();
+            String name = dottedName();
+            String asname = acceptName("as") ? identifier().text : null;
+            names.add(new alias(tok(start), name, asname));
+        } while (acceptOp(","));
+
+        return new Import(tok(first), names);
+    }
+
+    private stmt importFromStatement() {
+        Lexeme first = next();
+        int level = 0;
+
+        while (atOp(".") || atOp("...")) {
+            level += next().text.length();
+        }
+
+        String module = level > 0 && atName("import") ? "" : dottedName();
+        expectName("import");
+        List<alias> names = new ArrayList<>();
+
+        if (atOp("*")) {
+            Lexeme star = next();
+            names.add(new alias(tok(star), "*", null));
+        } else {
+            boolean parenthesized = acceptOp("(");
+
+            do {
+                if (parenthesized && atOp(")")) {
+                    break;
+                }
+
+                Lexeme start = peek();
+                String name = identifier().text;
+                String asname = acceptName("as") ? identifier().text : null;
+                names.add(new alias(tok(start), name, asname));
+            } while (acceptOp(","));
+
+            if (parenthesized) {
+                expectOp(")");
+            }
+        }
+
+        return new ImportFrom(tok(first), module, names, level);
+    }
+
+    private stmt assertStatement() {
+        Lexeme first = next();
+        expr test = test();
+        expr msg = acceptOp(",") ? test() : null;
+        return new Assert(tok(first), test, msg);
+    }
+
+    private stmt execStatement() {
+        Lexeme first = next();
+        expr body = expression();
+        expr globals = null;
+        expr locals = null;
+
+        if (acceptName("in")) {
+            globals = test();
+            if (acceptOp(",")) {
+                locals = test();
+            }
+        }
+
+        return new Exec(tok(first), body, globals, locals);
+    }
+
+    private stmt ifStatement(Lexeme first) {
+        expr test = test();
+        expectOp(":");
+        List<stmt> body = suite();
+        List<stmt> orelse = new ArrayList<>();
+
+        if (atName("elif")) {
+            Lexeme elif = next();
+            orelse.add(ifStatement(elif));
+        } else if (acceptName("else")) {
+            expectOp(":");
+            orelse = suite();
+        }
+
+        return new If(tok(first), test, body, orelse);
+    }
+
+    private stmt whileStatement() {
+        Lexeme first = next();
+        expr test = test();
+        expectOp(":");
+        List<stmt> body = suite();
+        List<stmt> orelse = elseSuite();
+        return new While(tok(first), test, body, orelse);
+    }
+
+    private stmt forStatement() {
+        Lexeme first = next();
+        expr target = withContext(exprlist(), expr_contextType.Store);
+        expectName("in");
+        expr iter = testlist();
+        expectOp(":");
+        List<stmt> body = suite();
+        List<stmt> orelse = elseSuite();
+        return new For(tok(first), target, iter, body, orelse);
+    }
+
+    private List<stmt> elseSuite() {
+        if (acceptName("else")) {
+            expectOp(":");
+            return suite();
+        }
+
+        return new ArrayList<>();
+    }
+
+    private stmt tryStatement() {
+        Lexeme first = next();
+        expectOp(":");
+        List<stmt> body = suite();
+        List<excepthandler> handlers = new ArrayList<>();
+
+        while (atName("except")) {
+            Lexeme except = next();
+            expr type = null;
+            expr name = null;
+
+            if (!atOp(":")) {
+                type = test();
+                if (acceptName("as") || acceptOp(",")) {
+                    name = withContext(test(), expr_contextType.Store);
+                }
+            }
+
+            expectOp(":");
+            List<stmt> handlerBody = suite();
+            handlers.add(new ExceptHandler(tok(except), type, name, handlerBody));
+        }
+
+        List<stmt> tryBody = body;
+        if (!handlers.isEmpty()) {
+            List<stmt> orelse = elseSuite();
+            tryBody = single(new TryExcept(tok(first), body, handlers, orelse));
+        }
+
+        if (acceptName("finally")) {
+            expectOp(":");
+            List<stmt> finalbody = suite();
+            return new TryFinally(tok(first), tryBody, finalbody);
+        }
+
+        if (handlers.isEmpty()) {
+            throw error("invalid syntax", peek());
+        }
+
+        return tryBody.get(0);
+    }
+
+    private stmt withStatement() {
+        Lexeme first = next();
+        List<expr> contexts = new ArrayList<>();
+        List<expr> vars = new ArrayList<>();
+
+        do {
+            contexts.add(test());
+            vars.add(acceptName("as") ? withContext(expression(), expr_contextType.Store) : null);
+        } while (acceptOp(","));
+
+        expectOp(":");
+        List<stmt> body = suite();
+
+        for (int i = contexts.size() - 1; i > 0; i--) {
+            body = single(new With(tok(first), contexts.get(i), vars.get(i), body));
+        }
+
+        return new With(tok(first), contexts.get(0), vars.get(0), body);
+    }
+
+    private stmt decorated() {
+        Lexeme first = peek();
+        List<expr> decorators = new ArrayList<>();
+
+        while (acceptOp("@")) {
+            Lexeme start = peek();
+            expr decorator = name(identifier(), expr_contextType.Load);
+
+            while (acceptOp(".")) {
+                Name attribute = name(identifier(), expr_contextType.Load);
+                decorator = new Attribute(tok(start), decorator, attribute, expr_contextType.Load);
+            }
+
+            if (acceptOp("(")) {
+                decorator = callTrailer(start, decorator);
+            }
+
+            decorators.add(decorator);
+            expect(Kind.NEWLINE, "\n");
+        }
+
+        if (atName("def")) {
+            return functionDef(first, decorators);
+        } else if (atName("class")) {
+            return classDef(first, decorators);
+        }
+
+        throw error("invalid syntax", peek());
+    }
+
+    private stmt functionDef(Lexeme first, List<expr> decorators) {
+        expectName("def");
+        Name name = name(identifier(), expr_contextType.Load);
+        Lexeme open = expectOp("(");
+        arguments args = parameters(open, ")");
+        expectOp(")");
+        expectOp(":");
+        List<stmt> body = suite();
+        return new FunctionDef(tok(first), name, args, body, decorators);
+    }
+
+    private stmt classDef(Lexeme first, List<expr> decorators) {
+        expectName("class");
+        Name name = name(identifier(), expr_contextType.Load);
+        List<expr> bases = new ArrayList<>();
+
+        if (acceptOp("(")) {
+            while (!atOp(")")) {
+                bases.add(test());
+                if (!acceptOp(",")) {
+                    break;
+                }
+            }
+            expectOp(")");
+        }
+
+        expectOp(":");
+        List<stmt> body = suite();
+        return new ClassDef(tok(first), name, bases, body, decorators);
+    }
+
+    private arguments parameters(Lexeme first, String closing) {
+        List<expr> args = new ArrayList<>();
+        List<expr> defaults = new ArrayList<>();
+        String vararg = null;
+        String kwarg = null;
+
+        while (!atOp(closing)) {
+            if (acceptOp("*")) {
+                vararg = identifier().text;
+            } else if (acceptOp("**")) {
+                kwarg = identifier().text;
+            } else {
+                if (vararg != null || kwarg != null) {
+                    throw error("invalid syntax", peek());
+                }
+
+                args.add(name(identifier(), expr_contextType.Param));
+                if (acceptOp("=")) {
+                    defaults.add(test());
+                } else if (!defaults.isEmpty()) {
+                    throw error("non-default argument follows default argument", peek());
+                }
+            }
+
+            if (!acceptOp(",")) {
+                break;
+            }
+        }
+
+        return new arguments(tok(first), args, vararg, kwarg, defaults);
+    }
+
+    private List<stmt> suite() {
+        if (!accept(Kind.NEWLINE)) {
+            return simpleStatement();
+        }
+
+        expect(Kind.INDENT, "");
+        List<stmt> body = new ArrayList<>();
+
+        while (!accept(Kind.DEDENT)) {
+            body.addAll(statement());
+        }
+
+        return body;
+    }
+
+    // Expressions
+
+    private expr testlistOrYield() {
+        return atName("yield") ? yieldExpression() : testlist();
+    }
+
+    private expr yieldExpression() {
+        Lexeme first = expectName("yield");
+        expr value = atEndOfStatement() || atOp(")") || atOp("=") ? null : testlist();
+        return new Yield(tok(first), value);
+    }
+
+    private expr testlist() {
+        Lexeme first = peek();
+        expr e = test();
+
+        if (!atOp(",")) {
+            return e;
+        }
+
+        List<expr> elts = new ArrayList<>();
+        elts.add(e);
+
+        while (acceptOp(",") && startsExpression()) {
+            elts.add(test());
+        }
+
+        return new Tuple(tok(first), elts, expr_contextType.Load);
+    }
+
+    private expr exprlist() {
+        Lexeme first = peek();
+        expr e = expression();
+
+        if (!atOp(",")) {
+            return e;
+        }
+
+        List<expr> elts = new ArrayList<>();
+        elts.add(e);
+
+        while (acceptOp(",") && startsExpression() && !atName("in")) {
+            elts.add(expression());
+        }
+
+        return new Tuple(tok(first), elts, expr_contextType.Load);
+    }
+
+    private expr test() {
+        if (atName("lambda")) {
+            return lambda(false);
+        }
+
+        Lexeme first = peek();
+        expr body = orTest();
+
+        if (atName("if")) {
+            next();
+            expr test = orTest();
+            expectName("else");
+            expr orelse = test();
+            return new IfExp(tok(first), test, body, orelse);
+        }
+
+        return body;
+    }
+
+    private expr oldTest() {
+        return atName("lambda") ? lambda(true) : orTest();
+    }
+
+    private expr lambda(boolean old) {
+        Lexeme first = next();
+        arguments args = parameters(first, ":");
+        expectOp(":");
+        expr body = old ? oldTest() : test();
+        return new Lambda(tok(first), args, body);
+    }
+
+    private expr orTest() {
+        Lexeme first = peek();
+        expr e = andTest();
+
+        if (!atName("or")) {
+            return e;
+        }
+
+        List<expr> values = new ArrayList<>();
+        values.add(e);
+
+        while (acceptName("or")) {
+            values.add(andTest());
+        }
+
+        return new BoolOp(tok(first), boolopType.Or, values);
+    }
+
+    private expr andTest() {
+        Lexeme first = peek();
+        expr e = notTest();
+
+        if (!atName("and")) {
+            return e;
+        }
+
+        List<expr> values = new ArrayList<>();
+        values.add(e);
+
+        while (acceptName("and")) {
+            values.add(notTest());
+        }
+
+        return new BoolOp(tok(first), boolopType.And, values);
+    }
+
+    private expr notTest() {
+        if (atName("not")) {
+            Lexeme first = next();
+            expr operand = notTest();
+            return new UnaryOp(tok(first), unaryopType.Not, operand);
+        }
+
+        return comparison();
+    }
+
+    private expr comparison() {
+        Lexeme first = peek();
+        expr left = expression();
+        List<cmpopType> ops = new ArrayList<>();
+        List<expr> comparators = new ArrayList<>();
+
+        for (cmpopType op = comparisonOperator(); op != null; op = comparisonOperator()) {
+            ops.add(op);
+            comparators.add(expression());
+        }
+
+        return ops.isEmpty() ? left : new Compare(tok(first), left, ops, comparators);
+    }
+
+    private cmpopType comparisonOperator() {
+        Lexeme l = peek();
+
+        if (l.kind == Kind.OP) {
+            switch (l.text) {
+                case "<":
+                    next();
+                    return cmpopType.Lt;
+                case ">":
+                    next();
+                    return cmpopType.Gt;
+                case "==":
+                    next();
+                    return cmpopType.Eq;
+                case ">=":
+                    next();
+                    return cmpopType.GtE;
+                case "<=":
+                    next();
+                    return cmpopType.LtE;
+                case "!=":
+                case "<>":
+                    next();
+                    return cmpopType.NotEq;
+            }
+        } else if (l.kind == Kind.NAME) {
+            if (l.text.equals("in")) {
+                next();
+                return cmpopType.In;
+            } else if (l.text.equals("is")) {
+                next();
+                return acceptName("not") ? cmpopType.IsNot : cmpopType.Is;
+            } else if (l.text.equals("not") && peek(1).is(Kind.NAME, "in")) {
+                next();
+                next();
+                return cmpopType.NotIn;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * The {@code expr} rule of the grammar: binary operators binding tighter than comparisons.
+     */
+    private expr expression() {
+        return binary(0);
+    }
+
+    private static final String[][] BINARY_LEVELS = {{"|"}, {"^"}, {"&"}, {"<<", ">>"}, {"+", "-"}, {"*", "/", "%", "//"}};
+
+    private expr binary(int level) {
+        if (level == BINARY_LEVELS.length) {
+            return factor();
+        }
+
+        Lexeme first = peek();
+        expr left = binary(level + 1);
+
+        while (peek().kind == Kind.OP && Arrays.asList(BINARY_LEVELS[level]).contains(peek().text)) {
+            operatorType op = binaryOperator(next().text);
+            expr right = binary(level + 1);
+            left = new BinOp(tok(first), left, op, right);
+        }
+
+        return left;
+    }
+
+    private static operatorType binaryOperator(String op) {
+        switch (op) {
+            case "|":
+                return operatorType.BitOr;
+            case "^":
+                return operatorType.BitXor;
+            case "&":
+                return operatorType.BitAnd;
+            case "<<":
+                return operatorType.LShift;
+            case ">>":
+                return operatorType.RShift;
+            case "+":
+                return operatorType.Add;
+            case "-":
+                return operatorType.Sub;
+            case "*":
+                return operatorType.Mult;
+            case "/":
+                return operatorType.Div;
+            case "%":
+                return operatorType.Mod;
+            case "//":
+                return operatorType.FloorDiv;
+            case "**":
+                return operatorType.Pow;
+            default:
+                return null;
+        }
+    }
+
+    private static operatorType augmentedOperator(Lexeme l) {
+        if (l.kind != Kind.OP || l.text.length() < 2 || !l.text.endsWith("=") || l.text.equals("==") || l.text.equals("<=") || l.text.equals(">=") || l.text.equals("!=")) {
+            return null;
+        }
+
+        return binaryOperator(l.text.substring(0, l.text.length() - 1));
+    }
+
+    private expr factor() {
+        Lexeme first = peek();
+
+        if (first.kind == Kind.OP) {
+            switch (first.text) {
+                case "+": {
+                    next();
+                    expr operand = factor();
+                    return new UnaryOp(tok(first), unaryopType.UAdd, operand);
+                }
+                case "-":
+                    next();
+                    return negate(first, factor());
+                case "~": {
+                    next();
+                    expr operand = factor();
+                    return new UnaryOp(tok(first), unaryopType.Invert, operand);
+                }
+            }
+        }
+
+        return power();
+    }
+
+    /**
+     * Folds the negation of a numeric literal into the literal, as the ANTLR front end does.
+     */
+    private expr negate(Lexeme minus, expr operand) {
+        if (operand instanceof Num) {
+            Object n = ((Num) operand).getInternalN();
+            PyObject negated = null;
+
+            if (n instanceof PyInteger && ((PyInteger) n).getValue() >= 0) {
+                negated = new PyInteger(-((PyInteger) n).getValue());
+            } else if (n instanceof PyLong && ((PyLong) n).getValue().signum() > 0) {
+                negated = new PyLong(((PyLong) n).getValue().negate());
+            } else if (n instanceof PyFloat && ((PyFloat) n).getValue() >= 0) {
+                negated = new PyFloat(-((PyFloat) n).getValue());
+            } else if (n instanceof PyComplex && ((PyComplex) n).imag >= 0) {
+                negated = new PyComplex(0, -((PyComplex) n).imag);
+            }
+
+            if (negated != null) {
+                return new Num(tok(minus), negated);
+            }
+        }
+
+        return new UnaryOp(tok(minus), unaryopType.USub, operand);
+    }
+
+    private expr power() {
+        Lexeme first = peek();
+        expr e = atom();
+
+        while (true) {
+            if (acceptOp("(")) {
+                e = callTrailer(first, e);
+            } else if (acceptOp("[")) {
+                slice slice = subscriptList();
+                expectOp("]");
+                e = new Subscript(tok(first), e, slice, expr_contextType.Load);
+            } else if (acceptOp(".")) {
+                Name attribute = name(identifier(), expr_contextType.Load);
+                e = new Attribute(tok(first), e, attribute, expr_contextType.Load);
+            } else {
+                break;
+            }
+        }
+
+        if (acceptOp("**")) {
+            expr right = factor();
+            e = new BinOp(tok(first), e, operatorType.Pow, right);
+        }
+
+        return e;
+    }
+
+    private expr callTrailer(Lexeme first, expr func) {
+        List<expr> args = new ArrayList<>();
+        List<keyword> keywords = new ArrayList<>();
+        expr starargs = null;
+        expr kwargs = null;
+
+        while (!atOp(")")) {
+            if (acceptOp("*")) {
+                starargs = test();
+            } else if (acceptOp("**")) {
+                kwargs = test();
+            } else {
+                Lexeme start = peek();
+                expr arg = test();
+
+                if (atOp("=")) {
+                    if (!(arg instanceof Name)) {
+                        throw error("keyword can't be an expression", start);
+                    }
+
+                    next();
+                    expr value = test();
+                    keywords.add(new keyword(tok(start), ((Name) arg).getInternalId(), value));
+                } else if (atName("for")) {
+                    List<comprehension> generators = comprehensions(false);
+                    args.add(new GeneratorExp(tok(start), arg, generators));
+                } else {
+                    if (!keywords.isEmpty() || starargs != null || kwargs != null) {
+                        throw error("non-keyword arg after keyword arg", start);
+                    }
+                    args.add(arg);
+                }
+            }
+
+            if (!acceptOp(",")) {
+                break;
+            }
+        }
+
+        expectOp(")");
+        return new Call(tok(first), func, args, keywords, starargs, kwargs);
+    }
+
+    private slice subscriptList() {
+        Lexeme first = peek();
+        slice s = subscript();
+
+        if (!atOp(",")) {
+            return s;
+        }
+
+        List<slice> dims = new ArrayList<>();
+        dims.add(s);
+
+        while (acceptOp(",") && !atOp("]")) {
+            dims.add(subscript());
+        }
+
+        List<expr> values = new ArrayList<>();
+        for (slice dim : dims) {
+            if (!(dim instanceof Index)) {
+                return new ExtSlice(tok(first), dims);
+            }
+            values.add(((Index) dim).getInternalValue());
+        }
+
+        return new Index(tok(first), new Tuple(tok(first), values, expr_contextType.Load));
+    }
+
+    private slice subscript() {
+        Lexeme first = peek();
+
+        if (acceptOp("...")) {
+            return new Ellipsis(tok(first));
+        }
+
+        expr lower = null;
+        expr upper = null;
+        expr step = null;
+
+        if (!atOp(":")) {
+            lower = test();
+            if (!atOp(":")) {
+                return new Index(tok(first), lower);
+            }
+        }
+
+        expectOp(":");
+        if (!atOp("]") && !atOp(",") && !atOp(":")) {
+            upper = test();
+        }
+
+        if (atOp(":")) {
+            Lexeme colon = next();
+            if (!atOp("]") && !atOp(",")) {
+                step = test();
+            } else {
+                step = new Name(tok(colon), "None", expr_contextType.Load);
+            }
+        }
+
+        return new Slice(tok(first), lower, upper, step);
+    }
+
+    private expr atom() {
+        Lexeme first = peek();
+
+        switch (first.kind) {
+            case NAME:
+                return name(identifier(), expr_contextType.Load);
+            case NUMBER:
+                next();
+                return new Num(tok(first), parseNumber(first));
+            case STRING:
+                return string();
+            case OP:
+                switch (first.text) {
+                    case "(":
+                        return parenthesized();
+                    case "[":
+                        return listDisplay();
+                    case "{":
+                        return dictOrSetDisplay();
+                }
+                break;
+        }
+
+        throw error("invalid syntax", first);
+    }
+
+    private expr parenthesized() {
+        Lexeme first = next();
+
+        if (acceptOp(")")) {
+            return new Tuple(tok(first), new ArrayList<expr>(), expr_contextType.Load);
+        }
+
+        if (atName("yield")) {
+            expr yield = yieldExpression();
+            expectOp(")");
+            return yield;
+        }
+
+        expr e = test();
+
+        if (atName("for")) {
+            List<comprehension> generators = comprehensions(false);
+            expectOp(")");
+            return new GeneratorExp(tok(first), e, generators);
+        }
+
+        if (!atOp(",")) {
+            expectOp(")");
+            return e;
+        }
+
+        List<expr> elts = new ArrayList<>();
+        elts.add(e);
+
+        while (acceptOp(",") && !atOp(")")) {
+            elts.add(test());
+        }
+
+        expectOp(")");
+        return new Tuple(tok(first), elts, expr_contextType.Load);
+    }
+
+    private expr listDisplay() {
+        Lexeme first = next();
+        List<expr> elts = new ArrayList<>();
+
+        if (!atOp("]")) {
+            expr e = test();
+
+            if (atName("for")) {
+                List<comprehension> generators = comprehensions(true);
+                expectOp("]");
+                return new ListComp(tok(first), e, generators);
+            }
+
+            elts.add(e);
+            while (acceptOp(",") && !atOp("]")) {
+                elts.add(test());
+            }
+        }
+
+        expectOp("]");
+        return new org.python.antlr.ast.List(tok(first), elts, expr_contextType.Load);
+    }
+
+    private expr dictOrSetDisplay() {
+        Lexeme first = next();
+        List<expr> keys = new ArrayList<>();
+        List<expr> values = new ArrayList<>();
+
+        if (acceptOp("}")) {
+            return new Dict(tok(first), keys, values);
+        }
+
+        expr e = test();
+
+        if (acceptOp(":")) {
+            expr value = test();
+
+            if (atName("for")) {
+                List<comprehension> generators = comprehensions(false);
+                expectOp("}");
+                return new DictComp(tok(first), e, value, generators);
+            }
+
+            keys.add(e);
+            values.add(value);
+
+            while (acceptOp(",") && !atOp("}")) {
+                keys.add(test());
+                expectOp(":");
+                values.add(test());
+            }
+
+            expectOp("}");
+            return new Dict(tok(first), keys, values);
+        }
+
+        if (atName("for")) {
+            List<comprehension> generators = comprehensions(false);
+            expectOp("}");
+            return new SetComp(tok(first), e, generators);
+        }
+
+        List<expr> elts = new ArrayList<>();
+        elts.add(e);
+
+        while (acceptOp(",") && !atOp("}")) {
+            elts.add(test());
+        }
+
+        expectOp("}");
+        return new org.python.antlr.ast.Set(tok(first), elts);
+    }
+
+    /**
+     * Parses the {@code for} and {@code if} clauses of a comprehension. In a list comprehension
+     * the iterable may be an unparenthesized tuple.
+     */
+    private List<comprehension> comprehensions(boolean listComprehension) {
+        List<comprehension> generators = new ArrayList<>();
+
+        while (atName("for")) {
+            Lexeme first = next();
+            expr target = withContext(exprlist(), expr_contextType.Store);
+            expectName("in");
+            expr iter = listComprehension ? oldTestlist() : orTest();
+            List<expr> ifs = new ArrayList<>();
+
+            while (acceptName("if")) {
+                ifs.add(oldTest());
+            }
+
+            generators.add(new comprehension(tok(first), target, iter, ifs));
+        }
+
+        return generators;
+    }
+
+    private expr oldTestlist() {
+        Lexeme first = peek();
+        expr e = oldTest();
+
+        if (!atOp(",")) {
+            return e;
+        }
+
+        List<expr> elts = new ArrayList<>();
+        elts.add(e);
+
+        while (acceptOp(",") && startsExpression()) {
+            elts.add(oldTest());
+        }
+
+        return new Tuple(tok(first), elts, expr_contextType.Load);
+    }
+
+    /**
+     * Rebuilds an expression parsed as a load as an assignment or deletion target.
+     */
+    private expr withContext(expr e, expr_contextType ctx) {
+        if (e instanceof Name) {
+            Name name = (Name) e;
+            if (ctx != expr_contextType.Load && name.getInternalId().equals("None")) {
+                throw error("cannot assign to None", e);
+            }
+            return new Name(e.getToken(), name.getInternalId(), ctx);
+        } else if (e instanceof Attribute) {
+            Attribute attribute = (Attribute) e;
+            return new Attribute(e.getToken(), attribute.getInternalValue(), attribute.getInternalAttrName(), ctx);
+        } else if (e instanceof Subscript) {
+            Subscript subscript = (Subscript) e;
+            return new Subscript(e.getToken(), subscript.getInternalValue(), subscript.getInternalSlice(), ctx);
+        } else if (e instanceof Tuple) {
+            return new Tuple(e.getToken(), withContext(((Tuple) e).getInternalElts(), ctx), ctx);
+        } else if (e instanceof org.python.antlr.ast.List) {
+            return new org.python.antlr.ast.List(e.getToken(), withContext(((org.python.antlr.ast.List) e).getInternalElts(), ctx), ctx);
+        }
+
+        throw error(ctx == expr_contextType.Del ? "can't delete expression" : "can't assign to expression", e);
+    }
+
+    private List<expr> withContext(List<expr> elts, expr_contextType ctx) {
+        List<expr> targets = new ArrayList<>(elts.size());
+
+        for (expr elt : elts) {
+            targets.add(withContext(elt, ctx));
+        }
+
+        return targets;
+    }
+
+    // Literals
+
+    private Name name(Lexeme l, expr_contextType ctx) {
+        CommonToken token = new CommonToken(Token.INVALID_TOKEN_TYPE, l.text);
+        token.setLine(l.line);
+        token.setCharPositionInLine(l.column);
+        token.setStartIndex(l.start);
+        token.setStopIndex(l.end - 1);
+        return new Name(token, l.text, ctx);
+    }
+
+    private PyObject parseNumber(Lexeme l) {
+        String text = l.text;
+        char last = text.charAt(text.length() - 1);
+
+        try {
+            if (last == 'j' || last == 'J') {
+                return new PyComplex(0, Double.parseDouble(text.substring(0, text.length() - 1)));
+            }
+
+            boolean isLong = last == 'l' || last == 'L';
+            if (isLong) {
+                text = text.substring(0, text.length() - 1);
+            }
+
+            BigInteger value;
+            String lower = text.toLowerCase();
+
+            if (lower.startsWith("0x")) {
+                value = new BigInteger(text.substring(2), 16);
+            } else if (lower.startsWith("0o")) {
+                value = new BigInteger(text.substring(2), 8);
+            } else if (lower.startsWith("0b")) {
+                value = new BigInteger(text.substring(2), 2);
+            } else if (lower.indexOf('.') >= 0 || lower.indexOf('e') >= 0) {
+                if (isLong) {
+                    throw error("invalid syntax", l);
+                }
+                return new PyFloat(Double.parseDouble(text));
+            } else if (text.length() > 1 && text.charAt(0) == '0') {
+                value = new BigInteger(text, 8);
+            } else {
+                value = new BigInteger(text);
+            }
+
+            if (!isLong && value.bitLength() < 32) {
+                return new PyInteger(value.intValue());
+            }
+
+            return new PyLong(value);
+        } catch (NumberFormatException e) {
+            throw error("invalid syntax", l);
+        }
+    }
+
+    private expr string() {
+        Lexeme first = peek();
+        StringBuilder sb = new StringBuilder();
+        boolean unicode = false;
+        boolean bytes = false;
+
+        while (peek().kind == Kind.STRING) {
+            Lexeme l = next();
+            String text = l.text;
+            int quote = 0;
+            boolean raw = false;
+
+            while (text.charAt(quote) != '\'' && text.charAt(quote) != '"') {
+                char prefix = Character.toLowerCase(text.charAt(quote++));
+                raw |= prefix == 'r';
+                unicode |= prefix == 'u';
+                bytes |= prefix == 'b';
+            }
+
+            int delimiter = text.startsWith("\"\"\"", quote) || text.startsWith("'''", quote) ? 3 : 1;
+            String body = text.substring(quote + delimiter, text.length() - delimiter);
+            sb.append(raw ? normalizeNewlines(body) : decodeEscapes(body, l, unicode || (unicodeLiterals && !bytes)));
+        }
+
+        boolean isUnicode = unicode || (unicodeLiterals && !bytes);
+        PyString s = isUnicode ? new PyUnicode(sb.toString()) : new PyString(sb.toString());
+        return new Str(tok(first), s);
+    }
+
+    private static String normalizeNewlines(String s) {
+        return s.indexOf('\r') < 0 ? s : s.replace("\r\n", "\n").replace('\r', '\n');
+    }
+
+    private String decodeEscapes(String s, Lexeme l, boolean unicode) {
+        if (s.indexOf('\\') < 0) {
+            return normalizeNewlines(s);
+        }
+
+        StringBuilder sb = new StringBuilder(s.length());
+        int i = 0;
+
+        while (i < s.length()) {
+            char c = s.charAt(i++);
+
+            if (c == '\r') {
+                if (i < s.length() && s.charAt(i) == '\n') {
+                    i++;
+                }
+                sb.append('\n');
+                continue;
+            }
+
+            if (c != '\\' || i >= s.length()) {
+                sb.append(c);
+                continue;
+            }
+
+            c = s.charAt(i++);
+            switch (c) {
+                case '\n':
+                    break;
+                case '\r':
+                    if (i < s.length() && s.charAt(i) == '\n') {
+                        i++;
+                    }
+                    break;
+                case '\\':
+                case '\'':
+                case '"':
+                    sb.append(c);
+                    break;
+                case 'a':
+                    sb.append('\u0007');
+                    break;
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'v':
+                    sb.append('\u000b');
+                    break;
+                case 'x':
+                    sb.appendCodePoint(hexEscape(s, i, 2, l));
+                    i += 2;
+                    break;
+                case 'u':
+                case 'U':
+                    if (!unicode) {
+                        sb.append('\\').append(c);
+                        break;
+                    }
+
+                    int digits = c == 'u' ? 4 : 8;
+                    sb.appendCodePoint(hexEscape(s, i, digits, l));
+                    i += digits;
+                    break;
+                default:
+                    if (c >= '0' && c <= '7') {
+                        int value = c - '0';
+                        for (int n = 0; n < 2 && i < s.length() && s.charAt(i) >= '0' && s.charAt(i) <= '7'; n++) {
+                            value = value * 8 + (s.charAt(i++) - '0');
+                        }
+                        sb.append((char) value);
+                    } else {
+                        sb.append('\\').append(c);
+                    }
+            }
+        }
+
+        return sb.toString();
+    }
+
+    private int hexEscape(String s, int start, int digits, Lexeme l) {
+        if (start + digits > s.length()) {
+            throw error("truncated \\xXX escape", l);
+        }
+
+        try {
+            return Integer.parseInt(s.substring(start, start + digits), 16);
+        } catch (NumberFormatException e) {
+            throw error("invalid \\x escape", l);
+        }
+    }
+
+    // Lexeme handling
+
+    private Lexeme peek() {
+        return lexemes.get(index);
+    }
+
+    private Lexeme peek(int ahead) {
+        return lexemes.get(Math.min(index + ahead, lexemes.size() - 1));
+    }
+
+    private Lexeme next() {
+        Lexeme l = lexemes.get(index);
+
+        if (l.kind != Kind.EOF) {
+            index++;
+        }
+
+        if (l.kind != Kind.NEWLINE && l.kind != Kind.INDENT && l.kind != Kind.DEDENT) {
+            lastEnd = l.end;
+        }
+
+        return l;
+    }
+
+    private boolean accept(Kind kind) {
+        if (peek().kind == kind) {
+            next();
+            return true;
+        }
+
+        return false;
+    }
+
+    private Lexeme expect(Kind kind, String text) {
+        Lexeme l = peek();
+
+        if (l.kind != kind || (kind != Kind.INDENT && kind != Kind.DEDENT && kind != Kind.EOF && kind != Kind.NEWLINE && !l.text.equals(text))) {
+            if (kind == Kind.INDENT) {
+                throw error("expected an indented block", l);
+            }
+
+            throw error(l.kind == Kind.INDENT ? "unexpected indent" : "invalid syntax", l);
+        }
+
+        return next();
+    }
+
+    private boolean atOp(String op) {
+        return peek().is(Kind.OP, op);
+    }
+
+    private boolean acceptOp(String op) {
+        if (atOp(op)) {
+            next();
+            return true;
+        }
+
+        return false;
+    }
+
+    private Lexeme expectOp(String op) {
+        return expect(Kind.OP, op);
+    }
+
+    private boolean atName(String name) {
+        return peek().is(Kind.NAME, name);
+    }
+
+    private boolean acceptName(String name) {
+        if (atName(name)) {
+            next();
+            return true;
+        }
+
+        return false;
+    }
+
+    private Lexeme expectName(String name) {
+        return expect(Kind.NAME, name);
+    }
+
+    private Lexeme identifier() {
+        Lexeme l = peek();
+
+        if (l.kind != Kind.NAME || KEYWORDS.contains(l.text)) {
+            throw error("invalid syntax", l);
+        }
+
+        return next();
+    }
+
+    private String dottedName() {
+        StringBuilder sb = new StringBuilder(identifier().text);
+
+        while (acceptOp(".")) {
+            sb.append('.').append(identifier().text);
+        }
+
+        return sb.toString();
+    }
+
+    private boolean atEndOfStatement() {
+        Lexeme l = peek();
+        return l.kind == Kind.NEWLINE || l.kind == Kind.EOF || l.is(Kind.OP, ";");
+    }
+
+    /**
+     * Whether the next lexeme can begin an expression, used to tell a trailing comma apart.
+     */
+    private boolean startsExpression() {
+        Lexeme l = peek();
+
+        switch (l.kind) {
+            case NAME:
+                return !KEYWORDS.contains(l.text) || l.text.equals("not") || l.text.equals("lambda");
+            case NUMBER:
+            case STRING:
+                return true;
+            case OP:
+                return l.text.equals("(") || l.text.equals("[") || l.text.equals("{") || l.text.equals("-") || l.text.equals("+") || l.text.equals("~");
+            default:
+                return false;
+        }
+    }
+
+    // Positions
+
+    /**
+     * A token spanning from {@code first} to the end of the last consumed lexeme.
+     */
+    private CommonToken tok(Lexeme first) {
+        return span(first.start, first.line, first.column);
+    }
+
+    private CommonToken span(int start, int line, int column) {
+        CommonToken token = new CommonToken(Token.INVALID_TOKEN_TYPE, null);
+        token.setLine(line);
+        token.setCharPositionInLine(column);
+        token.setStartIndex(start);
+        token.setStopIndex(Math.max(start, lastEnd) - 1);
+        return token;
+    }
+
+    private PyException error(String message, Lexeme l) {
+        return syntaxError(message, source, filename, l.start);
+    }
+
+    private PyException error(String message, PythonTree node) {
+        return syntaxError(message, source, filename, node.getCharStartIndex());
+    }
+
+    static PyException syntaxError(String message, CharSequence source, String filename, int offset) {
+        int line = 1;
+        int lineStart = 0;
+
+        for (int i = 0; i < offset && i < source.length(); i++) {
+            if (source.charAt(i) == '\n') {
+                line++;
+                lineStart = i + 1;
+            }
+        }
+
+        int lineEnd = lineStart;
+        while (lineEnd < source.length() && source.charAt(lineEnd) != '\n' && source.charAt(lineEnd) != '\r') {
+            lineEnd++;
+        }
+
+        String text = source.subSequence(lineStart, lineEnd).toString();
+        return new PySyntaxError(message, line, offset - lineStart, text, filename == null ? "<string>" : filename);
+    }
+
+}
@@ -0,0 +1,413 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.parser;
+
+import java.util.*;
+
+/**
+ * Hand-written tokenizer for {@link SourceParser}. It turns the characters of a module into
+ * {@link Lexeme}s, resolving indentation into INDENT and DEDENT lexemes and dropping newlines
+ * inside brackets, comments and blank lines the way the Python tokenizer does.
+ */
+public final class SourceTokenizer {
+
+    public enum Kind {
+        NAME,
+        NUMBER,
+        STRING,
+        OP,
+        NEWLINE,
+        INDENT,
+        DEDENT,
+        EOF
+    }
+
+    public static final class Lexeme {
+
+        final Kind kind;
+        final String text;
+        final int start;
+        final int end;
+        final int line;
+        final int column;
+
+        Lexeme(Kind kind, String text, int start, int end, int line, int column) {
+            this.kind = kind;
+            this.text = text;
+            this.start = start;
+            this.end = end;
+            this.line = line;
+            this.column = column;
+        }
+
+        boolean is(Kind k, String t) {
+            return kind == k && text.equals(t);
+        }
+
+        @Override
+        public String toString() {
+            return kind + "(" + text + ")@" + line + ":" + column;
+        }
+
+    }
+
+    private static final String[] OPERATORS = {"**=", "//=", ">>=", "<<=", "...", "!=", "<>", "==", "<=", ">=", "**", "//", "<<", ">>", "+=", "-=", "*=", "/=", "%=", "&=", "|=", "^=", "->", "+",
+                    "-", "*", "/", "%", "&", "|", "^", "~", "<", ">", "(", ")", "[", "]", "{", "}", ",", ":", ".", ";", "@", "=", "`"};
+
+    private final CharSequence source;
+    private final String filename;
+    private final int length;
+    private final List<Lexeme> lexemes = new ArrayList<>();
+    private final Deque<Integer> indents = new ArrayDeque<>();
+
+    private int pos;
+    private int line = 1;
+    private int lineStart;
+    private int parenDepth;
+    private boolean atLineStart = true;
+
+    public SourceTokenizer(CharSequence source, String filename) {
+        this.source = source;
+        this.filename = filename;
+        this.length = source.length();
+        this.indents.push(0);
+    }
+
+    public List<Lexeme> tokenize() {
+        while (pos < length) {
+            if (atLineStart && parenDepth == 0) {
+                if (!readIndentation()) {
+                    continue;
+                }
+            }
+
+            char c = source.charAt(pos);
+
+            if (c == ' ' || c == '\t' || c == '\f') {
+                pos++;
+            } else if (c == '#') {
+                skipComment();
+            } else if (c == '\\' && isNewline(pos + 1)) {
+                pos++;
+                skipNewline();
+            } else if (c == '\r' || c == '\n') {
+                if (parenDepth == 0) {
+                    add(Kind.NEWLINE, "\n", pos, pos + 1);
+                    atLineStart = true;
+                }
+                skipNewline();
+            } else if (isIdentifierStart(c)) {
+                readNameOrString();
+            } else if (Character.isDigit(c) || (c == '.' && pos + 1 < length && Character.isDigit(source.charAt(pos + 1)))) {
+                readNumber();
+            } else if (c == '\'' || c == '"') {
+                readString(pos);
+            } else {
+                readOperator();
+            }
+        }
+
+        if (!lexemes.isEmpty() && lexemes.get(lexemes.size() - 1).kind != Kind.NEWLINE) {
+            add(Kind.NEWLINE, "\n", length, length);
+        }
+
+        while (indents.peek() > 0) {
+            indents.pop();
+            add(Kind.DEDENT, "", length, length);
+        }
+
+        add(Kind.EOF, "", length, length);
+        return lexemes;
+    }
+
+    /**
+     * Measures the indentation of a new logical line and emits INDENT or DEDENT lexemes. Returns
+     * false if the line is blank or only holds a comment, which the caller skips.
+     */
+    private boolean readIndentation() {
+        int column = 0;
+        int p = pos;
+
+        while (p < length) {
+            char c = source.charAt(p);
+            if (c == ' ') {
+                column++;
+            } else if (c == '\t') {
+                column = (column / 8 + 1) * 8;
+            } else if (c == '\f') {
+                column = 0;
+            } else {
+                break;
+            }
+            p++;
+        }
+
+        pos = p;
+        if (p >= length) {
+            return false;
+        }
+
+        char c = source.charAt(p);
+        if (c == '#') {
+            skipComment();
+            return false;
+        }
+
+        if (c == '\r' || c == '\n') {
+            skipNewline();
+            return false;
+        }
+
+        if (c == '\\' && isNewline(p + 1)) {
+            // a continuation line keeps the indentation of the line it continues
+            return true;
+        }
+
+        atLineStart = false;
+
+        if (column > indents.peek()) {
+            indents.push(column);
+            add(Kind.INDENT, "", pos, pos);
+        } else {
+            while (column < indents.peek()) {
+                indents.pop();
+                add(Kind.DEDENT, "", pos, pos);
+            }
+
+            if (column != indents.peek()) {
+                throw error("unindent does not match any outer indentation level", pos);
+            }
+        }
+
+        return true;
+    }
+
+    private void readNameOrString() {
+        int start = pos;
+        int p = pos;
+
+        if (isStringPrefix(source.charAt(p))) {
+            p++;
+            char c = source.charAt(start);
+            if (p < length && (c == 'u' || c == 'U' || c == 'b' || c == 'B') && (source.charAt(p) == 'r' || source.charAt(p) == 'R')) {
+                p++;
+            }
+        }
+
+        if (p < length && p > start && (source.charAt(p) == '\'' || source.charAt(p) == '"')) {
+            readString(start);
+            return;
+        }
+
+        p = start + 1;
+        while (p < length && isIdentifierPart(source.charAt(p))) {
+            p++;
+        }
+
+        add(Kind.NAME, source.subSequence(start, p).toString(), start, p);
+        pos = p;
+    }
+
+    private void readNumber() {
+        int start = pos;
+        int p = pos;
+        char c = source.charAt(p);
+
+        if (c == '0' && p + 1 < length && "xXoObB".indexOf(source.charAt(p + 1)) >= 0) {
+            p += 2;
+            while (p < length && Character.isLetterOrDigit(source.charAt(p))) {
+                p++;
+            }
+        } else {
+            while (p < length && Character.isDigit(source.charAt(p))) {
+                p++;
+            }
+
+            if (p < length && source.charAt(p) == '.') {
+                p++;
+                while (p < length && Character.isDigit(source.charAt(p))) {
+                    p++;
+                }
+            }
+
+            if (p < length && (source.charAt(p) == 'e' || source.charAt(p) == 'E')) {
+                int q = p + 1;
+                if (q < length && (source.charAt(q) == '+' || source.charAt(q) == '-')) {
+                    q++;
+                }
+
+                if (q < length && Character.isDigit(source.charAt(q))) {
+                    p = q;
+                    while (p < length && Character.isDigit(source.charAt(p))) {
+                        p++;
+                    }
+                }
+            }
+
+            if (p < length && "jJlL".indexOf(source.charAt(p)) >= 0) {
+                p++;
+            }
+        }
+
+        add(Kind.NUMBER, source.subSequence(start, p).toString(), start, p);
+        pos = p;
+    }
+
+    /**
+     * Reads a string literal, including its prefix, starting at {@code start}. The lexeme text is
+     * the literal as written; {@link SourceParser} decodes it.
+     */
+    private void readString(int start) {
+        int p = start;
+        while (source.charAt(p) != '\'' && source.charAt(p) != '"') {
+            p++;
+        }
+
+        char quote = source.charAt(p);
+        boolean triple = p + 2 < length && source.charAt(p + 1) == quote && source.charAt(p + 2) == quote;
+        p += triple ? 3 : 1;
+
+        while (true) {
+            if (p >= length) {
+                throw error(triple ? "EOF while scanning triple-quoted string literal" : "EOL while scanning string literal", start);
+            }
+
+            char c = source.charAt(p);
+            if (c == '\\') {
+                if (p + 1 < length && source.charAt(p + 1) == '\r' && p + 2 < length && source.charAt(p + 2) == '\n') {
+                    p++;
+                }
+                p += 2;
+                continue;
+            }
+
+            if (c == '\n' || c == '\r') {
+                if (!triple) {
+                    throw error("EOL while scanning string literal", start);
+                }
+            }
+
+            if (c == quote) {
+                if (!triple) {
+                    p++;
+                    break;
+                } else if (p + 2 < length && source.charAt(p + 1) == quote && source.charAt(p + 2) == quote) {
+                    p += 3;
+                    break;
+                }
+            }
+
+            p++;
+        }
+
+        add(Kind.STRING, source.subSequence(start, p).toString(), start, p);
+        countNewlines(start, p);
+        pos = p;
+    }
+
+    private void readOperator() {
+        for (String op : OPERATORS) {
+            if (matches(op)) {
+                if (op.equals("(") || op.equals("[") || op.equals("{")) {
+                    parenDepth++;
+                } else if ((op.equals(")") || op.equals("]") || op.equals("}")) && parenDepth > 0) {
+                    parenDepth--;
+                }
+
+                add(Kind.OP, op, pos, pos + op.length());
+                pos += op.length();
+                return;
+            }
+        }
+
+        throw error("invalid character '" + source.charAt(pos) + "'", pos);
+    }
+
+    private boolean matches(String op) {
+        if (pos + op.length() > length) {
+            return false;
+        }
+
+        for (int i = 0; i < op.length(); i++) {
+            if (source.charAt(pos + i) != op.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void skipComment() {
+        while (pos < length && source.charAt(pos) != '\n' && source.charAt(pos) != '\r') {
+            pos++;
+        }
+    }
+
+    private boolean isNewline(int p) {
+        return p < length && (source.charAt(p) == '\n' || source.charAt(p) == '\r');
+    }
+
+    private void skipNewline() {
+        if (source.charAt(pos) == '\r' && pos + 1 < length && source.charAt(pos + 1) == '\n') {
+            pos++;
+        }
+
+        pos++;
+        line++;
+        lineStart = pos;
+    }
+
+    private void countNewlines(int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = source.charAt(i);
+            if (c == '\n' || (c == '\r' && (i + 1 >= end || source.charAt(i + 1) != '\n'))) {
+                line++;
+                lineStart = i + 1;
+            }
+        }
+    }
+
+    private void add(Kind kind, String text, int start, int end) {
+        int column = start - lineStart;
+        lexemes.add(new Lexeme(kind, text, start, end, line, column < 0 ? 0 : column));
+    }
+
+    private static boolean isStringPrefix(char c) {
+        return c == 'r' || c == 'R' || c == 'u' || c == 'U' || c == 'b' || c == 'B';
+    }
+
+    private static boolean isIdentifierStart(char c) {
+        return c == '_' || Character.isLetter(c);
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return c == '_' || Character.isLetterOrDigit(c);
+    }
+
+    private RuntimeException error(String message, int offset) {
+        return SourceParser.syntaxError(message, source, filename, offset);
+    }
+
+}
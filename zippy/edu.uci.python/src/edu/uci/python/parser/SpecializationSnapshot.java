@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.parser;
+
+import java.io.*;
+import java.lang.ref.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+
+import com.oracle.truffle.api.nodes.*;
+import com.oracle.truffle.api.source.*;
+
+import edu.uci.python.nodes.literal.*;
+import edu.uci.python.nodes.literal.ListLiteralNode.UninitializedListLiteralNode;
+import edu.uci.python.runtime.*;
+
+/**
+ * Type feedback persisted across runs of the same scripts. When the context is disposed, the
+ * snapshot records, per source section of every module parsed in the run, the storage that list
+ * literals settled on. When the same source is parsed again, its list literals are created already
+ * specialized.
+ * <p>
+ * Entries are keyed by the hash of the source text, so feedback for an edited file is ignored.
+ * Pre-specialized nodes are the regular specialized nodes and rewrite themselves as usual when an
+ * assumption does not hold.
+ */
+public final class SpecializationSnapshot {
+
+    private static final String HEADER = "# zippy-specialization-snapshot-1";
+    private static final String LIST = "list";
+
+    private static SpecializationSnapshot defaultSnapshot;
+
+    private final File file;
+    private final Map<String, Map<String, String>> sources = new LinkedHashMap<>();
+    private final Map<String, List<WeakReference<RootNode>>> parsed = new LinkedHashMap<>();
+
+    public SpecializationSnapshot(File file) {
+        this.file = file;
+        load();
+    }
+
+    /**
+     * Returns the snapshot stored at {@link PythonOptions#SpecializationSnapshot}, or null if no
+     * snapshot file is configured.
+     */
+    public static synchronized SpecializationSnapshot getDefault() {
+        if (PythonOptions.SpecializationSnapshot == null) {
+            return null;
+        }
+
+        File file = new File(PythonOptions.SpecializationSnapshot);
+        if (defaultSnapshot == null || !defaultSnapshot.file.equals(file)) {
+            defaultSnapshot = new SpecializationSnapshot(file);
+        }
+
+        return defaultSnapshot;
+    }
+
+    /**
+     * Pre-specializes the freshly translated {@code result} with the feedback recorded for
+     * {@code code}, and remembers its roots so that their feedback is recorded by {@link #save}.
+     */
+    public void apply(Source source, String code, PythonParseResult result) {
+        List<RootNode> roots = new ArrayList<>(result.getFunctionRoots());
+        roots.add(result.getModuleRoot());
+        apply(source, code, roots);
+    }
+
+    /**
+     * Pre-specializes and remembers roots translated after their module, such as lazily
+     * translated function bodies. Roots are held weakly; the feedback of a root collected before
+     * {@link #save} is lost.
+     */
+    public synchronized void apply(Source source, String code, Collection<RootNode> roots) {
+        String key = getSourceKey(source, code);
+        applyTo(sources.get(key), roots);
+
+        List<WeakReference<RootNode>> remembered = parsed.get(key);
+        if (remembered == null) {
+            remembered = new ArrayList<>();
+            parsed.put(key, remembered);
+        }
+
+        for (RootNode root : roots) {
+            remembered.add(new WeakReference<>(root));
+        }
+    }
+
+    private static void applyTo(Map<String, String> recorded, Collection<RootNode> roots) {
+        if (recorded != null) {
+            for (RootNode root : roots) {
+                for (UninitializedListLiteralNode node : NodeUtil.findAllNodeInstances(root, UninitializedListLiteralNode.class)) {
+                    if (node.getSourceSection() == null) {
+                        continue;
+                    }
+
+                    String nodeName = recorded.get(getEntryKey(LIST, node.getSourceSection()));
+                    ListLiteralNode specialized = nodeName == null ? null : ListLiteralNode.createSpecialized(nodeName, node.getValues());
+
+                    if (specialized != null) {
+                        node.replace(specialized);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Records the feedback of the modules parsed since the snapshot was loaded and writes the
+     * snapshot file. Failures are ignored; the snapshot is only an optimization.
+     */
+    public synchronized void save() {
+        for (Map.Entry<String, List<WeakReference<RootNode>>> entry : parsed.entrySet()) {
+            Map<String, String> recorded = sources.get(entry.getKey());
+
+            if (recorded == null) {
+                recorded = new TreeMap<>();
+                sources.put(entry.getKey(), recorded);
+            }
+
+            for (WeakReference<RootNode> reference : entry.getValue()) {
+                RootNode root = reference.get();
+                if (root != null) {
+                    record(root, recorded);
+                }
+            }
+        }
+
+        parsed.clear();
+        write();
+    }
+
+    private static void record(RootNode root, Map<String, String> recorded) {
+        for (ListLiteralNode node : NodeUtil.findAllNodeInstances(root, ListLiteralNode.class)) {
+            if (node.isSpecialized() && node.getSourceSection() != null) {
+                recorded.put(getEntryKey(LIST, node.getSourceSection()), node.getClass().getSimpleName());
+            }
+        }
+    }
+
+    private static String getSourceKey(Source source, String code) {
+        String name = source.getPath() != null ? new File(source.getPath()).getAbsolutePath() : source.getName();
+        return ParseCache.hash(code) + " " + name;
+    }
+
+    private static String getEntryKey(String kind, SourceSection section) {
+        return kind + " " + section.getCharIndex() + " " + section.getCharLength();
+    }
+
+    /**
+     * The file lists each source as a {@code source <hash> <name>} line followed by its entries,
+     * one {@code <kind> <char index> <char length> <value>} per line.
+     */
+    private void load() {
+        if (!file.isFile()) {
+            return;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            if (!HEADER.equals(reader.readLine())) {
+                return;
+            }
+
+            Map<String, String> recorded = null;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("source ")) {
+                    recorded = new TreeMap<>();
+                    sources.put(line.substring("source ".length()), recorded);
+                } else if (recorded != null && line.startsWith(LIST + " ")) {
+                    int valueStart = line.lastIndexOf(' ');
+                    if (valueStart > 0) {
+                        recorded.put(line.substring(0, valueStart), line.substring(valueStart + 1));
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            sources.clear();
+        }
+    }
+
+    private void write() {
+        File temp = null;
+
+        try {
+            File directory = file.getAbsoluteFile().getParentFile();
+            Files.createDirectories(directory.toPath());
+            temp = File.createTempFile(file.getName(), ".tmp", directory);
+
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(temp.toPath(), StandardCharsets.UTF_8))) {
+                out.println(HEADER);
+
+                for (Map.Entry<String, Map<String, String>> source : sources.entrySet()) {
+                    out.println("source " + source.getKey());
+
+                    for (Map.Entry<String, String> entry : source.getValue().entrySet()) {
+                        out.println(entry.getKey() + " " + entry.getValue());
+                    }
+                }
+            }
+
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            if (temp != null) {
+                temp.delete();
+            }
+        }
+    }
+
+}
@@ -88,6 +88,21 @@ public class TranslationEnvironment {
         currentScope = currentScope.getParent();
     }
 
+    /**
+     * Re-enters the scope of an already translated function, so that its body can be translated
+     * after the rest of the module.
+     */
+    public void resumeScope(PythonTree scopeEntity, int level) {
+        ScopeInfo info = scopeInfos.get(scopeEntity);
+        assert info != null;
+        scopeLevel = level;
+        currentScope = info;
+    }
+
+    public int getScopeLevel() {
+        return scopeLevel;
+    }
+
     public boolean atModuleLevel() {
         assert scopeLevel > 0;
         return scopeLevel == 1;
@@ -108,6 +123,10 @@ public class TranslationEnvironment {
         return currentScope.getScopeKind();
     }
 
+    public ScopeInfo.ScopeKind getEnclosingScopeKind() {
+        return currentScope.getParent().getScopeKind();
+    }
+
     public void setToGeneratorScope() {
         currentScope.setAsGenerator();
     }
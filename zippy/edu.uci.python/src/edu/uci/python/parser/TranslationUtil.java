@@ -81,6 +81,79 @@ public class TranslationUtil {
         throw notCovered();
     }
 
+    /**
+     * Names and constants can be evaluated more than once without changing the program.
+     */
+    public static boolean isSideEffectFree(expr node) {
+        if (node instanceof Name) {
+            return isLoad((Name) node);
+        }
+
+        return node instanceof Num || node instanceof Str;
+    }
+
+    public static boolean isSameSideEffectFree(expr left, expr right) {
+        if (left instanceof Name && right instanceof Name) {
+            return ((Name) left).getInternalId().equals(((Name) right).getInternalId());
+        } else if (left instanceof Num && right instanceof Num) {
+            return ((Num) left).getInternalN().equals(((Num) right).getInternalN());
+        } else if (left instanceof Str && right instanceof Str) {
+            return ((Str) left).getInternalS().equals(((Str) right).getInternalS());
+        }
+
+        return false;
+    }
+
+    /**
+     * <code>d[k]</code> with side effect free receiver and key.
+     */
+    public static boolean isSubscriptUpdateTarget(expr target) {
+        if (!(target instanceof Subscript)) {
+            return false;
+        }
+
+        Subscript subscript = (Subscript) target;
+        slice slice = subscript.getInternalSlice();
+        return slice instanceof Index && isSideEffectFree(subscript.getInternalValue()) && isSideEffectFree(((Index) slice).getInternalValue());
+    }
+
+    /**
+     * Matches the right hand side of <code>d[k] = d.get(k, default) op x</code>, where
+     * <code>d[k]</code> is the target.
+     */
+    public static boolean isDictGetUpdate(Subscript target, expr rhs) {
+        if (!(rhs instanceof BinOp) || !(((BinOp) rhs).getInternalLeft() instanceof Call)) {
+            return false;
+        }
+
+        Call call = (Call) ((BinOp) rhs).getInternalLeft();
+
+        if (!(call.getInternalFunc() instanceof Attribute) || call.getInternalArgs().size() != 2 || !call.getInternalKeywords().isEmpty() || call.getInternalStarargs() != null ||
+                        call.getInternalKwargs() != null) {
+            return false;
+        }
+
+        Attribute get = (Attribute) call.getInternalFunc();
+        expr key = ((Index) target.getInternalSlice()).getInternalValue();
+        return get.getInternalAttr().equals("get") && isSameSideEffectFree(get.getInternalValue(), target.getInternalValue()) && isSameSideEffectFree(call.getInternalArgs().get(0), key) &&
+                        isSimpleDefault(call.getInternalArgs().get(1));
+    }
+
+    /**
+     * The default of the fused <code>get</code> is translated twice, so it must not open a scope.
+     */
+    private static boolean isSimpleDefault(expr node) {
+        if (node instanceof org.python.antlr.ast.List) {
+            return ((org.python.antlr.ast.List) node).getInternalElts().isEmpty();
+        } else if (node instanceof Tuple) {
+            return ((Tuple) node).getInternalElts().isEmpty();
+        } else if (node instanceof Dict) {
+            return ((Dict) node).getInternalKeys().isEmpty();
+        }
+
+        return isSideEffectFree(node);
+    }
+
     public static String getScopeId(PythonTree scopeEntity, ScopeInfo.ScopeKind kind) {
         String scopeId = "unknown scope";
 
@@ -26,10 +26,10 @@ package edu.uci.python.runtime;
 
 import java.math.BigInteger;
 
-import org.python.core.Py;
-
 import com.oracle.truffle.api.*;
 
+import edu.uci.python.runtime.exception.*;
+
 public class ArithmeticUtil {
 
     public static int leftShiftExact(int left, int right) {
@@ -68,7 +68,7 @@ public class ArithmeticUtil {
         if (shiftCount >= Integer.SIZE) {
             throw new ArithmeticException("integer overflow");
         } else if (shiftCount < 0) {
-            throw Py.ValueError("negative shift count");
+            throw PythonErrors.ValueError("negative shift count");
         }
     }
 
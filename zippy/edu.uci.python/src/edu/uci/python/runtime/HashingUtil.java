@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.runtime.function.*;
+import edu.uci.python.runtime.object.*;
+import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.standardtype.*;
+
+/**
+ * Hashing and key equality with Python semantics, shared by the hash based dict and set storages.
+ * Numerically equal ints, longs, big integers, floats and bools hash and compare equal, as they do
+ * in CPython. Instances of user defined classes dispatch to {@code __hash__} and {@code __eq__}
+ * when the class defines them and fall back to identity otherwise.
+ */
+public class HashingUtil {
+
+    public static int hash(int value) {
+        return value;
+    }
+
+    public static int hash(long value) {
+        if (value == (int) value) {
+            return (int) value;
+        }
+
+        return (int) (value ^ (value >>> 32));
+    }
+
+    public static int hash(double value) {
+        if (value >= -0x1p63 && value < 0x1p63 && value == (long) value) {
+            return hash((long) value);
+        } else if (isIntegral(value)) {
+            return hash(toBigInteger(value));
+        }
+
+        return Double.hashCode(value);
+    }
+
+    private static boolean isIntegral(double value) {
+        return !Double.isInfinite(value) && Math.rint(value) == value;
+    }
+
+    public static int hash(String value) {
+        return value.hashCode();
+    }
+
+    public static int hash(Object key) {
+        if (key instanceof Integer) {
+            return hash((int) key);
+        } else if (key instanceof String) {
+            return hash((String) key);
+        } else if (key instanceof Long) {
+            return hash((long) key);
+        } else if (key instanceof Double) {
+            return hash((double) key);
+        } else if (key instanceof Boolean) {
+            return (boolean) key ? 1 : 0;
+        } else if (key instanceof BigInteger) {
+            return hash((BigInteger) key);
+        } else if (key instanceof PString) {
+            return hash(((PString) key).getValue());
+        } else if (key instanceof PTuple) {
+            return hash((PTuple) key);
+        } else if (key instanceof PythonObject) {
+            return hash((PythonObject) key);
+        }
+
+        return key.hashCode();
+    }
+
+    private static int hash(BigInteger value) {
+        if (value.bitLength() < Long.SIZE) {
+            return hash(value.longValue());
+        }
+
+        return value.hashCode();
+    }
+
+    private static int hash(PTuple tuple) {
+        int result = 0x345678;
+
+        for (Object item : tuple.getArray()) {
+            result = 31 * result + hash(item);
+        }
+
+        return result;
+    }
+
+    @TruffleBoundary
+    private static int hash(PythonObject object) {
+        final PythonCallable hashMethod = lookUpSpecialMethod(object, "__hash__");
+
+        if (hashMethod == null) {
+            return System.identityHashCode(object);
+        }
+
+        final Object result = hashMethod.call(PArguments.createWithUserArguments(object));
+
+        if (result instanceof Integer) {
+            return (int) result;
+        } else if (result instanceof Long) {
+            return hash((long) result);
+        } else if (result instanceof BigInteger) {
+            return hash((BigInteger) result);
+        }
+
+        throw new IllegalStateException("__hash__ method should return an integer");
+    }
+
+    public static boolean equals(Object left, Object right) {
+        if (left == right) {
+            return true;
+        }
+
+        if (left instanceof String && right instanceof String) {
+            return left.equals(right);
+        } else if (left instanceof Integer && right instanceof Integer) {
+            return (int) left == (int) right;
+        } else if (isNumber(left) && isNumber(right)) {
+            return numberEquals(left, right);
+        } else if (left instanceof PString || right instanceof PString) {
+            return stringValue(left) != null && stringValue(left).equals(stringValue(right));
+        } else if (left instanceof PTuple && right instanceof PTuple) {
+            return tupleEquals((PTuple) left, (PTuple) right);
+        } else if (left instanceof PythonObject) {
+            return objectEquals((PythonObject) left, right);
+        }
+
+        return left.equals(right);
+    }
+
+    static boolean isNumber(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Double || value instanceof Boolean || value instanceof BigInteger;
+    }
+
+    private static boolean numberEquals(Object left, Object right) {
+        if (left instanceof Double && right instanceof Double) {
+            return (double) left == (double) right;
+        } else if (left instanceof Double) {
+            return doubleEquals((double) left, right);
+        } else if (right instanceof Double) {
+            return doubleEquals((double) right, left);
+        }
+
+        return toBigInteger(left).equals(toBigInteger(right));
+    }
+
+    /**
+     * Compares a float with an integer exactly, without rounding the integer to a float, so that
+     * keys that compare equal also hash equal.
+     */
+    private static boolean doubleEquals(double value, Object integer) {
+        if (integer instanceof Integer || integer instanceof Boolean) {
+            return value == toDouble(integer);
+        }
+
+        return isIntegral(value) && toBigInteger(value).equals(toBigInteger(integer));
+    }
+
+    static double toDouble(Object value) {
+        if (value instanceof Boolean) {
+            return (boolean) value ? 1 : 0;
+        }
+
+        return ((Number) value).doubleValue();
+    }
+
+    @TruffleBoundary
+    static BigInteger toBigInteger(Object value) {
+        if (value instanceof BigInteger) {
+            return (BigInteger) value;
+        } else if (value instanceof Boolean) {
+            return (boolean) value ? BigInteger.ONE : BigInteger.ZERO;
+        }
+
+        return BigInteger.valueOf(((Number) value).longValue());
+    }
+
+    @TruffleBoundary
+    private static BigInteger toBigInteger(double value) {
+        return new BigDecimal(value).toBigInteger();
+    }
+
+    static String stringValue(Object value) {
+        if (value instanceof String) {
+            return (String) value;
+        } else if (value instanceof PString) {
+            return ((PString) value).getValue();
+        }
+
+        return null;
+    }
+
+    private static boolean tupleEquals(PTuple left, PTuple right) {
+        final Object[] leftArray = left.getArray();
+        final Object[] rightArray = right.getArray();
+
+        if (leftArray.length != rightArray.length) {
+            return false;
+        }
+
+        for (int i = 0; i < leftArray.length; i++) {
+            if (!equals(leftArray[i], rightArray[i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @TruffleBoundary
+    private static boolean objectEquals(PythonObject left, Object right) {
+        final PythonCallable eqMethod = lookUpSpecialMethod(left, "__eq__");
+
+        if (eqMethod == null) {
+            return false;
+        }
+
+        final Object result = eqMethod.call(PArguments.createWithUserArguments(left, right));
+        return result instanceof Boolean && (boolean) result;
+    }
+
+    static PythonCallable lookUpSpecialMethod(PythonObject object, String methodName) {
+        if (object instanceof PythonClass || object instanceof PythonModule) {
+            return null;
+        }
+
+        return object.getPythonClass().lookUpMethod(methodName);
+    }
+
+}
@@ -27,6 +27,7 @@ package edu.uci.python.runtime;
 import java.io.*;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 import org.python.core.*;
 
@@ -53,6 +54,17 @@ public class ImportManager {
 
     private final Map<String, PythonModule> importedModules;
 
+    // Path resolution caches, see findInDirectory
+    private final Map<String, DirectoryListing> directoryListings;
+    private final Map<String, Resolution> resolutions;
+    private final Map<String, File> importerDirectories;
+    private List<String> jythonPathSnapshot;
+    private ImportStatistics statistics;
+
+    // Modules parsed ahead of time by the prefetch pool, keyed by path
+    private final ConcurrentMap<String, Future<PythonParseResult>> prefetchedModules;
+    private ExecutorService prefetchPool;
+
     // Unsupported Imports:
     private final Map<String, Boolean> unsupportedImports;
     private final Map<String, Map<String, PyObject>> jythonImports;
@@ -69,8 +81,12 @@ public class ImportManager {
 
     public ImportManager(PythonContext context) {
         this.context = context;
-        this.paths = new ArrayList<>();
-        this.importedModules = new HashMap<>();
+        this.paths = new CopyOnWriteArrayList<>();
+        this.importedModules = new ConcurrentHashMap<>();
+        this.prefetchedModules = new ConcurrentHashMap<>();
+        this.directoryListings = new HashMap<>();
+        this.resolutions = new HashMap<>();
+        this.importerDirectories = new HashMap<>();
         this.unsupportedImports = new HashMap<>();
         this.jythonImports = new HashMap<>();
         this.paths.add(getPythonLibraryPath());
@@ -91,6 +107,11 @@ public class ImportManager {
         CompilerDirectives.transferToInterpreterAndInvalidate();
         CompilerAsserts.neverPartOfCompilation();
         String moduleName = getModuleName(module);
+        long resolveStart = PythonOptions.TraceImports ? System.nanoTime() : 0;
+        if (PythonOptions.Metrics) {
+            context.getMetrics().increment(PythonMetrics.Counter.IMPORTS);
+        }
+
         /**
          * Look up built-in modules supported by ZipPy
          */
@@ -111,7 +132,7 @@ public class ImportManager {
             /**
              * Try to find user module.
              */
-            path = relativeto.getModulePath() == null ? null : getPathFromImporterPath(moduleName, relativeto.getModulePath());
+            path = relativeto.getModulePath() == null ? null : findInImporterDirectory(moduleName, relativeto.getModulePath());
             Map<String, PyObject> jythonModule = null;
             if (jythonImports.containsKey(moduleName)) {
                 if (jythonImports.get(moduleName).containsKey(path))
@@ -121,6 +142,7 @@ public class ImportManager {
             }
 
             if (path != null) {
+                traceResolution(moduleName, resolveStart);
                 return importAndCache(path, moduleName);
             }
 
@@ -128,15 +150,14 @@ public class ImportManager {
              * Try to find from system paths.
              */
             updateSystemPathFromJython();
-            for (String directoryPath : paths) {
-                path = getPathFromLibrary(directoryPath, moduleName);
+            path = findInLibraryPaths(moduleName);
 
-                if (jythonModule != null && jythonModule.containsKey(path))
-                    return jythonModule.get(path);
+            if (jythonModule != null && jythonModule.containsKey(path))
+                return jythonModule.get(path);
 
-                if (path != null) {
-                    return importAndCache(path, moduleName);
-                }
+            if (path != null) {
+                traceResolution(moduleName, resolveStart);
+                return importAndCache(path, moduleName);
             }
         } catch (Exception e) {
             if (path != null) {
@@ -146,7 +167,7 @@ public class ImportManager {
                 }
                 try {
                     String dirPath = new File(path).getCanonicalFile().getParent();
-                    Py.getSystemState().path.append(new PyString(dirPath));
+                    JythonRuntime.ensureInitialized().path.append(new PyString(dirPath));
                 } catch (Exception e1) {
                 }
             }
@@ -156,11 +177,134 @@ public class ImportManager {
         /**
          * Eventually fall back to Jython, and might return null.
          */
+        traceResolution(moduleName, resolveStart);
         return importFromJython(path, moduleName);
     }
 
+    /**
+     * Starts parsing the module that {@code importModule(relativeto, module)} would load on the
+     * prefetch pool, so that it is ready by the time the import executes. Only user and library
+     * source files are prefetched; modules served by ZipPy or Jython are left alone.
+     */
+    public void prefetchModule(PythonModule relativeto, String module) {
+        if (!PythonOptions.PrefetchImports) {
+            return;
+        }
+
+        final String moduleName = getModuleName(module);
+        if (unsupportedImports.containsKey(moduleName) || context.getPythonBuiltinsLookup().hasModule(moduleName)) {
+            return;
+        }
+
+        String resolved = relativeto == null || relativeto.getModulePath() == null ? null : findInImporterDirectory(moduleName, relativeto.getModulePath());
+        if (resolved == null) {
+            resolved = findInLibraryPaths(moduleName);
+        }
+
+        if (resolved == null || importedModules.containsKey(resolved) || prefetchedModules.containsKey(resolved)) {
+            return;
+        }
+
+        final String path = resolved;
+        FutureTask<PythonParseResult> task = new FutureTask<>(new Callable<PythonParseResult>() {
+
+            @Override
+            public PythonParseResult call() {
+                PythonContext previous = context.enter();
+
+                try {
+                    return parseModuleSource(path, moduleName);
+                } finally {
+                    context.leave(previous);
+                }
+            }
+
+        });
+
+        if (prefetchedModules.putIfAbsent(path, task) == null) {
+            if (PythonOptions.TraceImports) {
+                // CheckStyle: stop system..print check
+                System.out.println("[ZipPy] prefetching module " + path);
+                // CheckStyle: resume system..print check
+            }
+
+            try {
+                getPrefetchPool().execute(task);
+            } catch (RejectedExecutionException e) {
+                prefetchedModules.remove(path, task);
+            }
+        }
+    }
+
+    private synchronized ExecutorService getPrefetchPool() {
+        if (prefetchPool == null) {
+            prefetchPool = Executors.newFixedThreadPool(Math.max(1, PythonOptions.ImportPrefetchThreads), new ThreadFactory() {
+
+                private int count;
+
+                @Override
+                public synchronized Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "zippy-import-prefetch-" + count++);
+                    thread.setDaemon(true);
+                    return thread;
+                }
+
+            });
+        }
+
+        return prefetchPool;
+    }
+
+    /**
+     * Stops the prefetch threads and drops parses nobody took. Called when the context is disposed.
+     */
+    public synchronized void shutdownPrefetching() {
+        // a shut down pool stays in place and rejects prefetches from parses still running
+        getPrefetchPool().shutdownNow();
+        prefetchedModules.clear();
+    }
+
+    /**
+     * Returns the prefetched parse of {@code path}, waiting for it if necessary, or null if it was
+     * not prefetched or failed to parse. A failed parse is simply repeated by the caller so that
+     * the error surfaces from the import statement. The entry is removed, so the parse is only
+     * reachable from the module it becomes.
+     */
+    private PythonParseResult takePrefetchedModule(String path, String moduleName) {
+        Future<PythonParseResult> prefetched = prefetchedModules.remove(path);
+        if (prefetched == null) {
+            return null;
+        }
+
+        try {
+            PythonParseResult parsedModule = prefetched.get();
+            if (parsedModule != null && parsedModule.getModule().getModuleName().equals(moduleName)) {
+                return parsedModule;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | CancellationException e) {
+            // parse again below
+        }
+
+        return null;
+    }
+
     private void updateSystemPathFromJython() {
-        PyList jythonSystemPaths = Py.getSystemState().path;
+        // Until Jython is initialized, sys.path would only hold the working directories
+        List<?> jythonSystemPaths = JythonRuntime.isInitialized() ? Py.getSystemState().path : JythonRuntime.getWorkingPaths();
+        List<String> snapshot = new ArrayList<>(jythonSystemPaths.size());
+
+        for (Object path : jythonSystemPaths) {
+            snapshot.add(String.valueOf(path));
+        }
+
+        // sys.path rarely changes between imports, skip probing its entries again
+        if (snapshot.equals(jythonPathSnapshot)) {
+            return;
+        }
+
+        jythonPathSnapshot = snapshot;
 
         for (Object path : jythonSystemPaths) {
             if (!(path instanceof String)) {
@@ -183,12 +327,16 @@ public class ImportManager {
     }
 
     private PyObject importFromJython(String path, String moduleName) {
+        if (PythonOptions.Metrics) {
+            context.getMetrics().increment(PythonMetrics.Counter.JYTHON_FALLBACK_IMPORTS);
+        }
 
         if (PythonOptions.TraceImports) {
             // CheckStyle: stop system..print check
             System.out.println("[ZipPy] importing from jython runtime " + moduleName);
             // CheckStyle: resume system..print check
         }
+        JythonRuntime.ensureInitialized();
         PyObject module = __builtin__.__import__(moduleName);
         if (path != null) {
             if (!jythonImports.containsKey(moduleName))
@@ -209,77 +357,253 @@ public class ImportManager {
         return name;
     }
 
-    private static String getPathFromImporterPath(String moduleName, String basePath) {
-        String importingModulePath = basePath;
-        String filename = moduleName + ".py";
-        String path = null;
+    private synchronized ImportStatistics getStatistics() {
+        if (statistics == null) {
+            statistics = new ImportStatistics();
+        }
 
-        try {
-            path = new File(importingModulePath).getCanonicalFile().getParent();
-        } catch (IOException ioe) {
-            path = new File(importingModulePath).getAbsoluteFile().getParent();
+        return statistics;
+    }
+
+    private void traceResolution(String moduleName, long start) {
+        if (PythonOptions.TraceImports) {
+            getStatistics().add(moduleName, ImportStatistics.RESOLVE, System.nanoTime() - start);
         }
+    }
 
-        if (path == null) {
-            return null;
+    private void traceResolutionCache(boolean hit) {
+        if (PythonOptions.TraceImports) {
+            getStatistics().countResolution(hit);
         }
+    }
+
+    /**
+     * Prints the time spent resolving, parsing and executing each imported module when
+     * {@link PythonOptions#TraceImports} is enabled.
+     */
+    public void printImportStatistics() {
+        if (PythonOptions.TraceImports) {
+            getStatistics().print();
+        }
+    }
 
-        String importedModulePath = path + File.separatorChar + filename;
-        File importingFile = new File(importedModulePath);
+    /**
+     * Resolves {@code moduleName} next to the importing module, a module file taking precedence
+     * over a package.
+     */
+    private synchronized String findInImporterDirectory(String moduleName, String importerPath) {
+        File directory = importerDirectories.get(importerPath);
 
-        if (importingFile.exists()) {
-            return importedModulePath;
+        if (directory == null) {
+            try {
+                directory = new File(importerPath).getCanonicalFile().getParentFile();
+            } catch (IOException ioe) {
+                directory = new File(importerPath).getAbsoluteFile().getParentFile();
+            }
+
+            if (directory == null) {
+                return null;
+            }
+
+            importerDirectories.put(importerPath, directory);
         }
 
-        importedModulePath = path + File.separatorChar + moduleName;
-        File importingDirectory = new File(importedModulePath);
-        importingFile = new File(importingDirectory, "__init__.py");
-        if (importingDirectory.isDirectory()) {
-            if (importingFile.exists())
-                return importingFile.toString();
+        String key = directory.getPath() + File.pathSeparatorChar + moduleName;
+        Resolution resolution = resolutions.get(key);
+
+        if (resolution == null || !resolution.isValid(0)) {
+            List<DirectoryListing> probed = new ArrayList<>();
+            resolution = new Resolution(findInDirectory(directory, moduleName, false, probed), probed, 0);
+            resolutions.put(key, resolution);
+            traceResolutionCache(false);
+        } else {
+            traceResolutionCache(true);
         }
 
-        return null;
+        return resolution.path;
     }
 
-    private static String getPathFromLibrary(String directoryPath, String moduleName) {
+    /**
+     * Resolves {@code moduleName} against the library paths in order, a package taking precedence
+     * over a module file. Misses are remembered as well, until a directory that was searched
+     * changes or a library path is added.
+     */
+    private synchronized String findInLibraryPaths(String moduleName) {
         if (moduleName.equals("unittest")) {
             String casePath = getPythonLibraryPath() + File.separatorChar + "unittest" + File.separatorChar + "__init__zippy.py";
             return casePath;
         }
 
-        String sourceName = "__init__.py";
+        Resolution resolution = resolutions.get(moduleName);
 
-        // First check for packages
-        File dir = new File(directoryPath, moduleName);
-        File sourceFile = new File(dir, sourceName);
+        if (resolution == null || !resolution.isValid(paths.size())) {
+            List<DirectoryListing> probed = new ArrayList<>();
+            String path = null;
 
-        boolean isPackage = false;
-        try {
-            isPackage = dir.isDirectory() && sourceFile.isFile();
-        } catch (SecurityException e) {
-            // ok
-        }
-
-        if (!isPackage) {
-            sourceName = moduleName + ".py";
-            sourceFile = new File(directoryPath, sourceName);
-            if (sourceFile.isFile()) {
-                String path = sourceFile.getPath();
-                return path;
+            for (int i = 0; path == null && i < paths.size(); i++) {
+                path = findInDirectory(new File(paths.get(i)), moduleName, true, probed);
             }
+
+            resolution = new Resolution(path, probed, paths.size());
+            resolutions.put(moduleName, resolution);
+            traceResolutionCache(false);
         } else {
-            sourceFile = new File(dir, sourceName);
+            traceResolutionCache(true);
+        }
+
+        return resolution.path;
+    }
 
-            if (sourceFile.isFile()) {
-                String path = sourceFile.getPath();
-                return path;
+    private String findInDirectory(File directory, String moduleName, boolean packageFirst, List<DirectoryListing> probed) {
+        DirectoryListing listing = getDirectoryListing(directory);
+        probed.add(listing);
+
+        if (!packageFirst && listing.contains(moduleName + ".py")) {
+            return new File(directory, moduleName + ".py").getPath();
+        }
+
+        if (listing.contains(moduleName)) {
+            DirectoryListing packageListing = getDirectoryListing(new File(directory, moduleName));
+            probed.add(packageListing);
+
+            if (packageListing.contains("__init__.py")) {
+                return new File(packageListing.directory, "__init__.py").getPath();
             }
         }
 
+        if (packageFirst && listing.contains(moduleName + ".py")) {
+            return new File(directory, moduleName + ".py").getPath();
+        }
+
         return null;
     }
 
+    private DirectoryListing getDirectoryListing(File directory) {
+        String key = directory.getPath();
+        DirectoryListing listing = directoryListings.get(key);
+
+        if (listing == null || listing.lastModified != directory.lastModified()) {
+            listing = new DirectoryListing(directory);
+            directoryListings.put(key, listing);
+        }
+
+        return listing;
+    }
+
+    /**
+     * Snapshot of the file names in a directory. A directory's modification time changes whenever
+     * an entry is added, removed or renamed, so a snapshot stays valid while it is unchanged.
+     */
+    private static final class DirectoryListing {
+
+        private final File directory;
+        private final long lastModified;
+        private final Set<String> names;
+
+        DirectoryListing(File directory) {
+            this.directory = directory;
+            this.lastModified = directory.lastModified();
+            String[] list = null;
+
+            try {
+                list = directory.list();
+            } catch (SecurityException e) {
+                // ok
+            }
+
+            this.names = list == null ? Collections.<String> emptySet() : new HashSet<>(Arrays.asList(list));
+        }
+
+        boolean contains(String name) {
+            return names.contains(name);
+        }
+
+        boolean isCurrent() {
+            return lastModified == directory.lastModified();
+        }
+
+    }
+
+    private static final class ImportStatistics {
+
+        static final int RESOLVE = 0;
+        static final int PARSE = 1;
+        static final int EXECUTE = 2;
+
+        private final Map<String, long[]> times = new LinkedHashMap<>();
+        private int resolutionHits;
+        private int resolutionMisses;
+
+        synchronized void add(String moduleName, int phase, long nanos) {
+            long[] moduleTimes = times.get(moduleName);
+
+            if (moduleTimes == null) {
+                moduleTimes = new long[3];
+                times.put(moduleName, moduleTimes);
+            }
+
+            moduleTimes[phase] += nanos;
+        }
+
+        synchronized void countResolution(boolean hit) {
+            if (hit) {
+                resolutionHits++;
+            } else {
+                resolutionMisses++;
+            }
+        }
+
+        synchronized void print() {
+            long[] total = new long[3];
+            // CheckStyle: stop system..print check
+            System.out.println("[ZipPy] import summary in ms (execute includes nested imports)");
+            System.out.println(String.format("%-30s %10s %10s %10s", "module", "resolve", "parse", "execute"));
+
+            for (Map.Entry<String, long[]> entry : times.entrySet()) {
+                long[] moduleTimes = entry.getValue();
+                System.out.println(String.format("%-30s %10.3f %10.3f %10.3f", entry.getKey(), moduleTimes[RESOLVE] / 1e6, moduleTimes[PARSE] / 1e6, moduleTimes[EXECUTE] / 1e6));
+
+                for (int i = 0; i < total.length; i++) {
+                    total[i] += moduleTimes[i];
+                }
+            }
+
+            System.out.println(String.format("%-30s %10.3f %10.3f %10s", "total", total[RESOLVE] / 1e6, total[PARSE] / 1e6, ""));
+            System.out.println("[ZipPy] path resolution cache: " + resolutionHits + " hits, " + resolutionMisses + " misses");
+            // CheckStyle: resume system..print check
+        }
+
+    }
+
+    private static final class Resolution {
+
+        private final String path;
+        private final DirectoryListing[] probed;
+        private final int numOfSearchPaths;
+
+        Resolution(String path, List<DirectoryListing> probed, int numOfSearchPaths) {
+            this.path = path;
+            this.probed = probed.toArray(new DirectoryListing[probed.size()]);
+            this.numOfSearchPaths = numOfSearchPaths;
+        }
+
+        boolean isValid(int currentNumOfSearchPaths) {
+            // Paths are only ever appended, so a hit cannot be shadowed by a new path
+            if (path == null && currentNumOfSearchPaths != numOfSearchPaths) {
+                return false;
+            }
+
+            for (DirectoryListing listing : probed) {
+                if (!listing.isCurrent()) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+    }
+
     @TruffleBoundary
     private Object importAndCache(String path, String moduleName) {
         PythonModule importedModule = importedModules.get(path);
@@ -294,11 +618,22 @@ public class ImportManager {
     }
 
     private PythonModule tryImporting(String path, String moduleName) {
+        long parseStart = PythonOptions.TraceImports ? System.nanoTime() : 0;
         PythonParseResult parsedModule = parseModule(path, moduleName);
 
+        if (PythonOptions.TraceImports) {
+            getStatistics().add(moduleName, ImportStatistics.PARSE, System.nanoTime() - parseStart);
+        }
+
         if (parsedModule != null) {
+            long executeStart = PythonOptions.TraceImports ? System.nanoTime() : 0;
             CallTarget callTarget = Truffle.getRuntime().createCallTarget(parsedModule.getModuleRoot());
             callTarget.call(PArguments.empty());
+
+            if (PythonOptions.TraceImports) {
+                getStatistics().add(moduleName, ImportStatistics.EXECUTE, System.nanoTime() - executeStart);
+            }
+
             return parsedModule.getModule();
         }
 
@@ -309,19 +644,11 @@ public class ImportManager {
         File file = new File(path);
 
         if (file.exists()) {
-            PythonModule importedModule = new PythonModule(context, moduleName, path);
-            Builder<IOException, RuntimeException, RuntimeException> builder = null;
-            Source source = null;
-
-            try {
-                builder = Source.newBuilder(new File(path));
-                builder.mimeType(PythonLanguage.MIME_TYPE);
-                source = builder.build();
-            } catch (IOException e) {
-                throw new IllegalStateException();
+            PythonParseResult parsedModule = takePrefetchedModule(path, moduleName);
+            if (parsedModule == null) {
+                parsedModule = parseModuleSource(path, moduleName);
             }
 
-            PythonParseResult parsedModule = context.getParser().parse(context, importedModule, source);
             if (parsedModule != null) {
 
                 if (PythonOptions.TraceImports) {
@@ -342,4 +669,20 @@ public class ImportManager {
         return null;
     }
 
+    private PythonParseResult parseModuleSource(String path, String moduleName) {
+        PythonModule importedModule = new PythonModule(context, moduleName, path);
+        Builder<IOException, RuntimeException, RuntimeException> builder = null;
+        Source source = null;
+
+        try {
+            builder = Source.newBuilder(new File(path));
+            builder.mimeType(PythonLanguage.MIME_TYPE);
+            source = builder.build();
+        } catch (IOException e) {
+            throw new IllegalStateException();
+        }
+
+        return context.getParser().parse(context, importedModule, source);
+    }
+
 }
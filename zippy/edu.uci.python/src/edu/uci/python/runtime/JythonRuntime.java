@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime;
+
+import java.lang.reflect.*;
+import java.util.*;
+
+import org.python.core.*;
+
+/**
+ * Owns the initialization of Jython's {@link PySystemState}, which ZipPy needs for modules it
+ * imports from Jython and for builtins it does not implement itself.
+ *
+ * The shell either initializes it up front, or, with {@link PythonOptions#LazyJythonInitialization},
+ * only records the arguments and working directory so that the first fallback to Jython pays for
+ * the initialization instead of every script. Jython's builtin exception types ({@code Py.KeyError}
+ * and friends) are part of that state and are null before it, so errors raised from Java go through
+ * {@link edu.uci.python.runtime.exception.PythonErrors}, which initializes Jython first.
+ */
+public final class JythonRuntime {
+
+    private static String[] pendingArgs = new String[0];
+    private static String pendingWorkingDir;
+
+    private JythonRuntime() {
+    }
+
+    /**
+     * Records what {@link #ensureInitialized()} sets up later. If Jython is already initialized, by
+     * an earlier script or by an embedder, the arguments and working directory apply right away.
+     */
+    public static synchronized void configure(String[] args, String workingDir) {
+        pendingArgs = args;
+        pendingWorkingDir = workingDir;
+
+        if (isInitialized()) {
+            PySystemState systemState = Py.getSystemState();
+            systemState.argv = toArgv(args);
+
+            if (workingDir != null && !systemState.path.__contains__(new PyString(workingDir))) {
+                systemState.path.insert(0, new PyString(workingDir));
+            }
+        }
+    }
+
+    /**
+     * Whether Jython's system state exists, no matter who created it. Jython sets its builtin
+     * exception types while initializing.
+     */
+    public static boolean isInitialized() {
+        return Py.TypeError != null;
+    }
+
+    public static PySystemState ensureInitialized() {
+        if (!isInitialized()) {
+            synchronized (JythonRuntime.class) {
+                if (!isInitialized()) {
+                    initialize(pendingArgs, pendingWorkingDir);
+                }
+            }
+        }
+
+        return Py.getSystemState();
+    }
+
+    /**
+     * Creates Jython's system state for {@code args}, with the current and the given working
+     * directory in front of {@code sys.path}.
+     */
+    public static synchronized PySystemState initialize(String[] args, String workingDir) {
+        long start = System.nanoTime();
+        PySystemState systemState = createPySystemState(args);
+        setVersionInfo();
+
+        String workingPath = System.getProperty("user.dir");
+        systemState.path.insert(0, new PyString(workingPath));
+        systemState.setCurrentWorkingDir(workingPath);
+        Py.getSystemState().path.insert(0, new PyString(workingPath));
+        Py.getSystemState().setCurrentWorkingDir(workingPath);
+        if (workingDir != null) {
+            workingPath = workingDir;
+            PyString path = new PyString(workingPath);
+            systemState.path.insert(0, path);
+            systemState.setCurrentWorkingDir(workingPath);
+            Py.getSystemState().path.insert(0, path);
+            Py.getSystemState().setCurrentWorkingDir(workingPath);
+        }
+
+        StartupTimer.record("jython initialization", System.nanoTime() - start);
+        return systemState;
+    }
+
+    /**
+     * The directories {@link #initialize} puts in front of {@code sys.path}, in search order.
+     */
+    public static synchronized List<String> getWorkingPaths() {
+        List<String> workingPaths = new ArrayList<>(2);
+
+        if (pendingWorkingDir != null) {
+            workingPaths.add(pendingWorkingDir);
+        }
+
+        workingPaths.add(System.getProperty("user.dir"));
+        return workingPaths;
+    }
+
+    /**
+     * Converts command line arguments into a {@code sys.argv} list.
+     */
+    public static PyList toArgv(String[] args) {
+        PyList argv = new PyList();
+        if (args != null) {
+            for (String arg : args) {
+                argv.append(Py.newStringOrUnicode(arg));
+            }
+        }
+        return argv;
+    }
+
+    private static PySystemState createPySystemState(String[] args) {
+        String[] argsFiltered = args;
+
+        // Setup the basic python system state from these options
+        PySystemState systemState = null;
+        if (argsFiltered.length > 0) {
+            Py.setSystemState(new PySystemState()).argv = toArgv(argsFiltered);
+            Py.getSystemState().argv = toArgv(argsFiltered);
+            systemState = Py.getSystemState();
+        } else {
+            PySystemState.initialize(PySystemState.getBaseProperties(), PySystemState.getBaseProperties(), argsFiltered);
+            systemState = Py.getSystemState();
+        }
+
+        return systemState;
+    }
+
+    private static void setVersionInfo() {
+        try {
+            // Modify verion info in Jython runtime
+            Field field = PySystemState.class.getField("version_info");
+            field.setAccessible(true);
+
+            Field modifiersField = Field.class.getDeclaredField("modifiers");
+            modifiersField.setAccessible(true);
+            modifiersField.setInt(field, field.getModifiers() & ~Modifier.FINAL);
+
+            field.set(null, new PyTuple(Py.newInteger(3), Py.newInteger(5), Py.newInteger(0), Py.newString("zippy"), Py.newInteger(0)));
+            modifiersField.setInt(field, field.getModifiers() & Modifier.FINAL);
+        } catch (Exception e) {
+            // pass through
+        }
+    }
+
+}
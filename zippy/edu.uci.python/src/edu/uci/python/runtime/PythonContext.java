@@ -31,6 +31,7 @@ import java.lang.invoke.MethodType;
 import java.math.BigInteger;
 
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.nodes.UnexpectedResultException;
 
@@ -40,6 +41,7 @@ import edu.uci.python.runtime.datatype.PFloat;
 import edu.uci.python.runtime.datatype.PInt;
 import edu.uci.python.runtime.object.FixedPythonObjectStorage;
 import edu.uci.python.runtime.object.PythonObject;
+import edu.uci.python.runtime.profiler.ShadowStack;
 import edu.uci.python.runtime.sequence.PString;
 import edu.uci.python.runtime.standardtype.PythonBuiltinObject;
 import edu.uci.python.runtime.standardtype.PythonClass;
@@ -60,10 +62,18 @@ public class PythonContext {
     private final PythonParser parser;
     private final PythonFunctionRegistry functionRegistry;
     private final ImportManager importManager;
+    private final PythonMetrics metrics = new PythonMetrics();
 
     private final TruffleLanguage.Env env;
 
-    private static PythonContext currentContext;
+    /**
+     * The context entered by each thread. Several contexts can live in one JVM, each with its own
+     * builtin types and modules; values that are not bound to a context, such as lists and ints,
+     * find their builtin type through the context of the thread using them. A module runs with its
+     * context entered, so contexts used alternately on one thread each see their own types.
+     */
+    private static final ThreadLocal<PythonContext> currentContext = new ThreadLocal<>();
+    private static volatile PythonContext lastCreatedContext;
 
     private RuntimeException currentException;
 
@@ -84,10 +94,21 @@ public class PythonContext {
         this.parser = parser;
         this.importManager = new ImportManager(this);
 
+        if (PythonOptions.Metrics) {
+            metrics.register();
+        }
+
+        ShadowStack.updateTracking();
+
         // The order matters.
-        currentContext = this;
+        lastCreatedContext = this;
+        PythonContext previous = enter();
 
-        this.builtinsModule = this.lookup.populateBuiltins(this);
+        try {
+            this.builtinsModule = this.lookup.populateBuiltins(this);
+        } finally {
+            leave(previous);
+        }
     }
 
     public PythonModule createMainModule(String path) {
@@ -112,12 +133,56 @@ public class PythonContext {
         return options;
     }
 
+    public PythonMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Releases what the context holds outside of the heap: the import prefetch threads and the
+     * metrics MBean.
+     */
+    public void dispose() {
+        importManager.shutdownPrefetching();
+        metrics.unregister();
+    }
+
     public PythonBuiltinsLookup getPythonBuiltinsLookup() {
         return lookup;
     }
 
+    /**
+     * Makes this the context of the current thread, see {@link #getCurrent()}.
+     *
+     * @return the context to restore with {@link #leave(PythonContext)}
+     */
+    @TruffleBoundary
+    public PythonContext enter() {
+        PythonContext previous = currentContext.get();
+        currentContext.set(this);
+        return previous;
+    }
+
+    @TruffleBoundary
+    public void leave(PythonContext previous) {
+        currentContext.set(previous);
+    }
+
+    /**
+     * The context the current thread has entered, or the most recently created context if it is
+     * not inside any, as is the case for threads Jython starts.
+     */
+    public static PythonContext getCurrent() {
+        PythonContext context = currentContext.get();
+        return context != null ? context : lastCreatedContext;
+    }
+
+    public PythonBuiltinClass getBuiltinType(Class<? extends PythonBuiltinObject> javaClass) {
+        return lookup.lookupType(javaClass);
+    }
+
+    @TruffleBoundary
     public static PythonBuiltinClass getBuiltinTypeFor(Class<? extends PythonBuiltinObject> javaClass) {
-        return currentContext.lookup.lookupType(javaClass);
+        return getCurrent().getBuiltinType(javaClass);
     }
 
     public OutputStream getStandardOut() {
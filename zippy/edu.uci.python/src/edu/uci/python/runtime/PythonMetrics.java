@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime;
+
+import java.lang.management.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import javax.management.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Runtime counters of one {@link PythonContext}, registered as an MXBean named
+ * {@code edu.uci.python:type=PythonContext,id=<n>} while the context lives, so that services
+ * embedding ZipPy can watch them continuously.
+ *
+ * Counting is off unless {@link PythonOptions#Metrics} is set, and the places that count check the
+ * flag first. The counters are {@link LongAdder}s, which stripe their cells across contending
+ * threads, and all of them count slow paths: rewrites, generalizations, imports and fallbacks.
+ */
+public final class PythonMetrics implements PythonMetricsMXBean {
+
+    public enum Counter {
+        LAYOUT_TRANSITIONS,
+        STORAGE_CLASS_GENERATIONS,
+        INLINE_CACHE_MISSES,
+        GENERIC_DISPATCHES,
+        IMPORTS,
+        JYTHON_FALLBACK_CALLS,
+        JYTHON_FALLBACK_IMPORTS,
+        GENERATOR_INLININGS
+    }
+
+    private static final AtomicInteger contextIds = new AtomicInteger();
+
+    private final LongAdder[] counters = new LongAdder[Counter.values().length];
+    private final ConcurrentMap<String, LongAdder> storageGeneralizations = new ConcurrentHashMap<>();
+    private ObjectName objectName;
+
+    public PythonMetrics() {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+    }
+
+    public void increment(Counter counter) {
+        counters[counter.ordinal()].increment();
+    }
+
+    public long get(Counter counter) {
+        return counters[counter.ordinal()].sum();
+    }
+
+    /**
+     * Counts for {@code context}, which callers resolve from their node or object and may be null
+     * outside of a module or function.
+     */
+    @TruffleBoundary
+    public static void count(PythonContext context, Counter counter) {
+        if (context != null) {
+            context.getMetrics().increment(counter);
+        }
+    }
+
+    @TruffleBoundary
+    public static void countStorageGeneralization(PythonContext context, Object storage, String generalizedTo) {
+        if (context != null) {
+            String key = storage.getClass().getSimpleName() + "->" + generalizedTo;
+            ConcurrentMap<String, LongAdder> generalizations = context.getMetrics().storageGeneralizations;
+            LongAdder adder = generalizations.get(key);
+            if (adder == null) {
+                LongAdder added = new LongAdder();
+                adder = generalizations.putIfAbsent(key, added);
+                adder = adder == null ? added : adder;
+            }
+
+            adder.increment();
+        }
+    }
+
+    /**
+     * Counts a miss of a dispatch node's inline cache, which also went generic if the cache was
+     * full.
+     */
+    @TruffleBoundary
+    public static void countDispatchMiss(PythonContext context, boolean generic) {
+        count(context, Counter.INLINE_CACHE_MISSES);
+        if (generic) {
+            count(context, Counter.GENERIC_DISPATCHES);
+        }
+    }
+
+    public Map<String, Long> getStorageGeneralizations() {
+        Map<String, Long> result = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : storageGeneralizations.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().sum());
+        }
+
+        return result;
+    }
+
+    public long getLayoutTransitions() {
+        return get(Counter.LAYOUT_TRANSITIONS);
+    }
+
+    public long getStorageClassGenerations() {
+        return get(Counter.STORAGE_CLASS_GENERATIONS);
+    }
+
+    public long getInlineCacheMisses() {
+        return get(Counter.INLINE_CACHE_MISSES);
+    }
+
+    public long getGenericDispatches() {
+        return get(Counter.GENERIC_DISPATCHES);
+    }
+
+    public long getImports() {
+        return get(Counter.IMPORTS);
+    }
+
+    public long getJythonFallbackCalls() {
+        return get(Counter.JYTHON_FALLBACK_CALLS);
+    }
+
+    public long getJythonFallbackImports() {
+        return get(Counter.JYTHON_FALLBACK_IMPORTS);
+    }
+
+    public long getGeneratorInlinings() {
+        return get(Counter.GENERATOR_INLININGS);
+    }
+
+    public void reset() {
+        for (LongAdder counter : counters) {
+            counter.reset();
+        }
+
+        storageGeneralizations.clear();
+    }
+
+    public synchronized void register() {
+        if (objectName != null) {
+            return;
+        }
+
+        try {
+            ObjectName name = new ObjectName("edu.uci.python:type=PythonContext,id=" + contextIds.incrementAndGet());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            objectName = name;
+        } catch (JMException e) {
+            System.err.println("[ZipPy] could not register metrics: " + e.getMessage());
+        }
+    }
+
+    public synchronized void unregister() {
+        if (objectName == null) {
+            return;
+        }
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            // already gone
+        }
+
+        objectName = null;
+    }
+
+    public synchronized ObjectName getObjectName() {
+        return objectName;
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime;
+
+import java.util.*;
+
+/**
+ * The counters of one {@link PythonContext}, published through JMX with
+ * {@link PythonOptions#Metrics}, see {@link PythonMetrics}.
+ */
+public interface PythonMetricsMXBean {
+
+    /**
+     * Sequence, set and dict storage generalizations, keyed by {@code from->to} storage class.
+     */
+    Map<String, Long> getStorageGeneralizations();
+
+    long getLayoutTransitions();
+
+    long getStorageClassGenerations();
+
+    long getInlineCacheMisses();
+
+    long getGenericDispatches();
+
+    long getImports();
+
+    /**
+     * Calls of Jython objects through {@code JythonCallNode}.
+     */
+    long getJythonFallbackCalls();
+
+    /**
+     * Modules imported from the Jython runtime because ZipPy could not find them.
+     */
+    long getJythonFallbackImports();
+
+    long getGeneratorInlinings();
+
+    void reset();
+
+}
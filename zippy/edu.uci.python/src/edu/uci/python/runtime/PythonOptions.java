@@ -24,6 +24,7 @@
  */
 package edu.uci.python.runtime;
 
+import java.io.File;
 import java.io.OutputStream;
 import java.io.PrintStream;
 
@@ -47,21 +48,78 @@ public class PythonOptions {
 
     public static boolean TraceImports = Boolean.getBoolean(propPkgName + ".TraceImports"); // false
 
+    // Print how long Jython initialization, context creation, parsing and the whole run take
+    public static boolean TraceStartup = Boolean.getBoolean(propPkgName + ".TraceStartup"); // false
+
+    // Initialize Jython on the first fallback import, Jython call or error raised from Java instead of at startup
+    public static boolean LazyJythonInitialization = Boolean.getBoolean(propPkgName + ".LazyJythonInitialization"); // false
+
     public static boolean TraceSequenceStorageGeneralization = Boolean.getBoolean(propPkgName + ".TraceSequenceStorageGeneralization"); // false
 
+    public static boolean TraceDictStorageGeneralization = Boolean.getBoolean(propPkgName + ".TraceDictStorageGeneralization"); // false
+
     public static boolean TraceObjectLayoutCreation = Boolean.getBoolean(propPkgName + ".TraceObjectLayoutCreation"); // false
 
+    // Record node rewrites, storage generalizations and layout invalidations per site and rank the sites at exit
+    public static boolean TraceRewrites = Boolean.getBoolean(propPkgName + ".TraceRewrites"); // false
+
+    public static int TraceRewritesTopSites = Integer.getInteger(propPkgName + ".TraceRewritesTopSites", 30);
+
+    // Sample Python stacks while running and print self and total time per function and line at exit
+    public static boolean ProfileSampling = Boolean.getBoolean(propPkgName + ".ProfileSampling"); // false
+
+    public static int ProfileSamplingInterval = Integer.getInteger(propPkgName + ".ProfileSamplingInterval", 1); // ms
+
+    // Write the sampled stacks in the collapsed format of flame graph tools to this file
+    public static String ProfileSamplingCollapsedStacks = System.getProperty(propPkgName + ".ProfileSamplingCollapsedStacks"); // null
+
+    // Print the sampled call tree with inclusive and exclusive time per function
+    public static boolean ProfileSamplingCallTree = Boolean.getBoolean(propPkgName + ".ProfileSamplingCallTree"); // false
+
+    // Write the sampled call tree as JSON to this file
+    public static String ProfileSamplingJson = System.getProperty(propPkgName + ".ProfileSamplingJson"); // null
+
+    // Count storage generalizations, layout transitions, dispatch misses, imports and generator inlinings per context and publish them as JMX MBeans
+    public static boolean Metrics = Boolean.getBoolean(propPkgName + ".Metrics"); // false
+
     // Object storage allocation
     public static boolean InstrumentObjectStorageAllocation = Boolean.getBoolean(propPkgName + ".InstrumentObjectStorageAllocation"); // false
 
+    // Attribute list, tuple, dict, object and iterator allocations to statements and print the top sites at exit
+    public static boolean ProfileAllocations = Boolean.getBoolean(propPkgName + ".ProfileAllocations"); // false
+
+    public static int ProfileAllocationsTopSites = Integer.getInteger(propPkgName + ".ProfileAllocationsTopSites", 20);
+
     // Translation flags
     public static boolean UsePrintFunction = Boolean.getBoolean(propPkgName + ".UsePrintFunction"); // false
 
+    public static boolean LazyFunctionTranslation = Boolean.getBoolean(propPkgName + ".LazyFunctionTranslation"); // false
+
+    // Parse with SourceParser instead of Jython's ANTLR parser
+    public static boolean NativeParser = Boolean.getBoolean(propPkgName + ".NativeParser"); // false
+
+    public static boolean ParseCache = Boolean.getBoolean(propPkgName + ".ParseCache"); // false
+
+    public static String ParseCacheDirectory = System.getProperty(propPkgName + ".ParseCacheDirectory", System.getProperty("user.home") + File.separator + ".zippy" + File.separator + "parse-cache");
+
+    // Record type feedback to this file at exit and pre-specialize from it when parsing the same sources
+    public static String SpecializationSnapshot = System.getProperty(propPkgName + ".SpecializationSnapshot"); // null
+
+    // Parse imported modules on a background pool as soon as the importing module is parsed
+    public static boolean PrefetchImports = Boolean.getBoolean(propPkgName + ".PrefetchImports"); // false
+
+    public static int ImportPrefetchThreads = Integer.getInteger(propPkgName + ".ImportPrefetchThreads", Runtime.getRuntime().availableProcessors());
+
     // Runtime flags
     public static boolean UnboxSequenceStorage = !Boolean.getBoolean(propPkgName + ".disableUnboxSequenceStorage"); // true
 
     public static boolean UnboxSequenceIteration = !Boolean.getBoolean(propPkgName + ".disableUnboxSequenceIteration"); // true
 
+    public static boolean LazyStringConcatenation = !Boolean.getBoolean(propPkgName + ".disableLazyStringConcatenation"); // true
+
+    // Lists with at least this many elements are sorted with a fork-join parallel sort
+    public static int ParallelSortThreshold = Integer.getInteger(propPkgName + ".ParallelSortThreshold", 1 << 16);
+
     public static boolean IntrinsifyBuiltinCalls = !Boolean.getBoolean(propPkgName + ".disableIntrinsifyBuiltinCalls"); // true
 
     public static final int AttributeAccessInlineCacheMaxDepth = 20;
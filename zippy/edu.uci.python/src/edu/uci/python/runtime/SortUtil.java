@@ -0,0 +1,436 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime;
+
+import static edu.uci.python.runtime.HashingUtil.*;
+
+import java.util.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.function.*;
+import edu.uci.python.runtime.misc.*;
+import edu.uci.python.runtime.object.*;
+import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.sequence.storage.*;
+
+/**
+ * Stable sorting with Python semantics. Like CPython, elements are only ever compared with
+ * {@code <}, and a reverse sort keeps equal elements in their original order.<br>
+ * A sort with a key function sorts a permutation of indices over the precomputed keys. Keys that
+ * are all ints, or all ints and floats, are copied into a primitive array first, so that the
+ * comparisons do not go through boxed values.<br>
+ * Sequences longer than {@link PythonOptions#ParallelSortThreshold} are sorted with a fork-join
+ * parallel sort, as long as the comparisons cannot call back into Python.
+ */
+public class SortUtil {
+
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private interface IndexOrder {
+
+        boolean lessThan(int left, int right);
+
+    }
+
+    @TruffleBoundary
+    public static void sort(SequenceStorage store, boolean reverse) {
+        if (store instanceof IntSequenceStorage || store instanceof LongSequenceStorage || (store instanceof DoubleSequenceStorage && !hasUnorderedDoubles((DoubleSequenceStorage) store))) {
+            // equal primitives are indistinguishable, so stability does not matter
+            store.sort();
+
+            if (reverse) {
+                store.reverse();
+            }
+
+            return;
+        }
+
+        final Object[] values = store.getCopyOfInternalArray();
+
+        if (values.length >= PythonOptions.ParallelSortThreshold) {
+            final Comparator<Object> order = getBuiltinOrder(values);
+
+            if (order != null) {
+                Arrays.parallelSort(values, reverse ? Collections.reverseOrder(order) : order);
+                setItems(store, values);
+                return;
+            }
+        }
+
+        sortPermutation(store, reverse, new IndexOrder() {
+            @Override
+            public boolean lessThan(int left, int right) {
+                return SortUtil.lessThan(values[left], values[right]);
+            }
+        });
+    }
+
+    /**
+     * @param keys the key of each element, in storage order.
+     */
+    @TruffleBoundary
+    public static void sortByKeys(SequenceStorage store, final Object[] keys, boolean reverse) {
+        assert keys.length == store.length();
+        boolean allInts = true;
+        boolean allNumbers = true;
+
+        for (Object key : keys) {
+            if (!(key instanceof Integer)) {
+                allInts = false;
+
+                if (!(key instanceof Double)) {
+                    allNumbers = false;
+                    break;
+                }
+            }
+        }
+
+        if (allInts && keys.length >= PythonOptions.ParallelSortThreshold) {
+            parallelSortByIntKeys(store, keys, reverse);
+        } else if (allInts) {
+            final int[] intKeys = new int[keys.length];
+
+            for (int i = 0; i < keys.length; i++) {
+                intKeys[i] = (int) keys[i];
+            }
+
+            sortPermutation(store, reverse, new IndexOrder() {
+                @Override
+                public boolean lessThan(int left, int right) {
+                    return intKeys[left] < intKeys[right];
+                }
+            });
+        } else if (allNumbers) {
+            final double[] doubleKeys = new double[keys.length];
+
+            for (int i = 0; i < keys.length; i++) {
+                doubleKeys[i] = ((Number) keys[i]).doubleValue();
+            }
+
+            sortPermutation(store, reverse, new IndexOrder() {
+                @Override
+                public boolean lessThan(int left, int right) {
+                    return doubleKeys[left] < doubleKeys[right];
+                }
+            });
+        } else {
+            sortPermutation(store, reverse, new IndexOrder() {
+                @Override
+                public boolean lessThan(int left, int right) {
+                    return SortUtil.lessThan(keys[left], keys[right]);
+                }
+            });
+        }
+    }
+
+    /**
+     * Packs each int key with its index into a long, so that a parallel sort of plain longs orders
+     * by key and keeps equal keys in their original order.
+     */
+    private static void parallelSortByIntKeys(SequenceStorage store, Object[] keys, boolean reverse) {
+        final int length = keys.length;
+        final long[] packed = new long[length];
+
+        for (int i = 0; i < length; i++) {
+            final int index = reverse ? length - 1 - i : i;
+            packed[i] = ((long) (int) keys[i] << 32) | index;
+        }
+
+        Arrays.parallelSort(packed);
+        final int[] permutation = new int[length];
+
+        for (int i = 0; i < length; i++) {
+            final int index = (int) packed[reverse ? length - 1 - i : i];
+            permutation[i] = reverse ? length - 1 - index : index;
+        }
+
+        permute(store, permutation);
+    }
+
+    /**
+     * {@link Arrays#sort(double[])} orders NaN and -0.0 differently from Python's {@code <}.
+     */
+    private static boolean hasUnorderedDoubles(DoubleSequenceStorage store) {
+        final double[] values = store.getInternalDoubleArray();
+
+        for (int i = 0; i < store.length(); i++) {
+            if (Double.isNaN(values[i]) || Double.doubleToRawLongBits(values[i]) == Long.MIN_VALUE) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static final Comparator<Object> STRING_ORDER = new Comparator<Object>() {
+        @Override
+        public int compare(Object left, Object right) {
+            return stringValue(left).compareTo(stringValue(right));
+        }
+    };
+
+    private static final Comparator<Object> BUILTIN_ORDER = new Comparator<Object>() {
+        @Override
+        public int compare(Object left, Object right) {
+            if (lessThan(left, right)) {
+                return -1;
+            }
+
+            return lessThan(right, left) ? 1 : 0;
+        }
+    };
+
+    /**
+     * Returns a comparator when comparing the elements cannot call back into Python or fail, which
+     * makes it safe to sort them on several threads. That holds for strings, and for tuples of
+     * numbers and strings that agree on the kind of element at each position.
+     */
+    private static Comparator<Object> getBuiltinOrder(Object[] values) {
+        boolean allStrings = true;
+
+        for (Object value : values) {
+            if (stringValue(value) == null) {
+                allStrings = false;
+                break;
+            }
+        }
+
+        if (allStrings) {
+            return STRING_ORDER;
+        }
+
+        Boolean[] stringAt = new Boolean[0];
+
+        for (Object value : values) {
+            if (!(value instanceof PTuple)) {
+                return null;
+            }
+
+            final Object[] items = ((PTuple) value).getArray();
+
+            if (items.length > stringAt.length) {
+                stringAt = Arrays.copyOf(stringAt, items.length);
+            }
+
+            for (int i = 0; i < items.length; i++) {
+                final boolean isString = stringValue(items[i]) != null;
+
+                if (!isString && !(isNumber(items[i]) && !(items[i] instanceof Double && Double.isNaN((double) items[i])))) {
+                    return null;
+                } else if (stringAt[i] == null) {
+                    stringAt[i] = isString;
+                } else if (stringAt[i] != isString) {
+                    return null;
+                }
+            }
+        }
+
+        return BUILTIN_ORDER;
+    }
+
+    private static void setItems(SequenceStorage store, Object[] values) {
+        try {
+            for (int i = 0; i < values.length; i++) {
+                store.setItemNormalized(i, values[i]);
+            }
+        } catch (SequenceStoreException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Reverse sorting sorts the reversed sequence and reverses the result, which keeps equal
+     * elements in order.
+     */
+    private static void sortPermutation(SequenceStorage store, boolean reverse, IndexOrder order) {
+        final int length = store.length();
+        final int[] permutation = new int[length];
+
+        for (int i = 0; i < length; i++) {
+            permutation[i] = reverse ? length - 1 - i : i;
+        }
+
+        mergeSort(permutation, new int[length], 0, length, order);
+
+        if (reverse) {
+            for (int head = 0, tail = length - 1; head < tail; head++, tail--) {
+                final int temp = permutation[head];
+                permutation[head] = permutation[tail];
+                permutation[tail] = temp;
+            }
+        }
+
+        permute(store, permutation);
+    }
+
+    private static void mergeSort(int[] permutation, int[] buffer, int low, int high, IndexOrder order) {
+        if (high - low <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(permutation, low, high, order);
+            return;
+        }
+
+        final int middle = (low + high) >>> 1;
+        mergeSort(permutation, buffer, low, middle, order);
+        mergeSort(permutation, buffer, middle, high, order);
+
+        if (!order.lessThan(permutation[middle], permutation[middle - 1])) {
+            return;
+        }
+
+        System.arraycopy(permutation, low, buffer, low, high - low);
+        int i = low;
+        int j = middle;
+        int k = low;
+
+        while (i < middle && j < high) {
+            permutation[k++] = order.lessThan(buffer[j], buffer[i]) ? buffer[j++] : buffer[i++];
+        }
+
+        while (i < middle) {
+            permutation[k++] = buffer[i++];
+        }
+
+        while (j < high) {
+            permutation[k++] = buffer[j++];
+        }
+    }
+
+    private static void insertionSort(int[] permutation, int low, int high, IndexOrder order) {
+        for (int i = low + 1; i < high; i++) {
+            final int current = permutation[i];
+            int j = i - 1;
+
+            while (j >= low && order.lessThan(current, permutation[j])) {
+                permutation[j + 1] = permutation[j];
+                j--;
+            }
+
+            permutation[j + 1] = current;
+        }
+    }
+
+    private static void permute(SequenceStorage store, int[] permutation) {
+        final int length = permutation.length;
+
+        if (store instanceof IntSequenceStorage) {
+            final int[] values = ((IntSequenceStorage) store).getInternalIntArray();
+            final int[] sorted = new int[length];
+
+            for (int i = 0; i < length; i++) {
+                sorted[i] = values[permutation[i]];
+            }
+
+            System.arraycopy(sorted, 0, values, 0, length);
+        } else if (store instanceof LongSequenceStorage) {
+            final long[] values = ((LongSequenceStorage) store).getInternalLongArray();
+            final long[] sorted = new long[length];
+
+            for (int i = 0; i < length; i++) {
+                sorted[i] = values[permutation[i]];
+            }
+
+            System.arraycopy(sorted, 0, values, 0, length);
+        } else if (store instanceof DoubleSequenceStorage) {
+            final double[] values = ((DoubleSequenceStorage) store).getInternalDoubleArray();
+            final double[] sorted = new double[length];
+
+            for (int i = 0; i < length; i++) {
+                sorted[i] = values[permutation[i]];
+            }
+
+            System.arraycopy(sorted, 0, values, 0, length);
+        } else {
+            final Object[] values = store.getCopyOfInternalArray();
+            final Object[] sorted = new Object[length];
+
+            for (int i = 0; i < length; i++) {
+                sorted[i] = values[permutation[i]];
+            }
+
+            setItems(store, sorted);
+        }
+    }
+
+    /**
+     * Python's {@code <}.
+     */
+    public static boolean lessThan(Object left, Object right) {
+        if (left instanceof Integer && right instanceof Integer) {
+            return (int) left < (int) right;
+        } else if (isNumber(left) && isNumber(right)) {
+            if (left instanceof Double || right instanceof Double) {
+                return toDouble(left) < toDouble(right);
+            }
+
+            return toBigInteger(left).compareTo(toBigInteger(right)) < 0;
+        } else if (stringValue(left) != null && stringValue(right) != null) {
+            return stringValue(left).compareTo(stringValue(right)) < 0;
+        } else if (left instanceof PTuple && right instanceof PTuple) {
+            return sequenceLessThan(((PTuple) left).getArray(), ((PTuple) right).getArray());
+        } else if (left instanceof PList && right instanceof PList) {
+            return sequenceLessThan(((PList) left).getStorage().getCopyOfInternalArray(), ((PList) right).getStorage().getCopyOfInternalArray());
+        } else if (left instanceof PythonObject || right instanceof PythonObject) {
+            return objectLessThan(left, right);
+        }
+
+        throw PythonErrors.TypeError("unorderable types: " + left + " < " + right);
+    }
+
+    private static boolean sequenceLessThan(Object[] left, Object[] right) {
+        final int length = Math.min(left.length, right.length);
+
+        for (int i = 0; i < length; i++) {
+            if (!HashingUtil.equals(left[i], right[i])) {
+                return lessThan(left[i], right[i]);
+            }
+        }
+
+        return left.length < right.length;
+    }
+
+    @TruffleBoundary
+    private static boolean objectLessThan(Object left, Object right) {
+        if (left instanceof PythonObject) {
+            final PythonCallable ltMethod = lookUpSpecialMethod((PythonObject) left, "__lt__");
+
+            if (ltMethod != null) {
+                return JavaTypeConversions.toBoolean(ltMethod.call(PArguments.createWithUserArguments(left, right)));
+            }
+        }
+
+        if (right instanceof PythonObject) {
+            final PythonCallable gtMethod = lookUpSpecialMethod((PythonObject) right, "__gt__");
+
+            if (gtMethod != null) {
+                return JavaTypeConversions.toBoolean(gtMethod.call(PArguments.createWithUserArguments(right, left)));
+            }
+        }
+
+        throw PythonErrors.TypeError("unorderable types: " + left + " < " + right);
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime;
+
+import java.lang.management.*;
+import java.util.*;
+
+/**
+ * Collects how long each startup phase takes, reported by the shell with
+ * {@link PythonOptions#TraceStartup}.
+ */
+public final class StartupTimer {
+
+    private static final Map<String, Long> phases = new LinkedHashMap<>();
+
+    private StartupTimer() {
+    }
+
+    public static void record(String phase, long nanos) {
+        if (!PythonOptions.TraceStartup) {
+            return;
+        }
+
+        synchronized (phases) {
+            Long previous = phases.get(phase);
+            phases.put(phase, previous == null ? nanos : previous + nanos);
+        }
+    }
+
+    /**
+     * Prints the recorded phases followed by {@code total}, the time of the whole run they are
+     * part of, and clears them for the next run.
+     */
+    public static void print(String total, long totalNanos) {
+        if (!PythonOptions.TraceStartup) {
+            return;
+        }
+
+        synchronized (phases) {
+            long accounted = 0;
+            // CheckStyle: stop system..print check
+            System.out.println("[ZipPy] startup phases in ms (JVM uptime " + ManagementFactory.getRuntimeMXBean().getUptime() + " ms)");
+
+            for (Map.Entry<String, Long> entry : phases.entrySet()) {
+                System.out.println(String.format("%-30s %10.3f", entry.getKey(), entry.getValue() / 1e6));
+                accounted += entry.getValue();
+            }
+
+            System.out.println(String.format("%-30s %10.3f", "other (mostly execution)", Math.max(0, totalNanos - accounted) / 1e6));
+            System.out.println(String.format("%-30s %10.3f", total, totalNanos / 1e6));
+            // CheckStyle: resume system..print check
+            phases.clear();
+        }
+    }
+
+}
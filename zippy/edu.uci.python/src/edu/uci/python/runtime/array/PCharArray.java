@@ -26,11 +26,10 @@ package edu.uci.python.runtime.array;
 
 import java.util.*;
 
-import org.python.core.*;
-
 import com.oracle.truffle.api.*;
 
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.sequence.*;
 
 public final class PCharArray extends PArray {
@@ -80,7 +79,7 @@ public final class PCharArray extends PArray {
             return array[idx];
         } catch (ArrayIndexOutOfBoundsException e) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("array index out of range");
+            throw PythonErrors.IndexError("array index out of range");
         }
     }
 
@@ -95,7 +94,7 @@ public final class PCharArray extends PArray {
             array[idx] = value;
         } catch (ArrayIndexOutOfBoundsException e) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("array assignment index out of range");
+            throw PythonErrors.IndexError("array assignment index out of range");
         }
     }
 
@@ -26,12 +26,11 @@ package edu.uci.python.runtime.array;
 
 import java.util.Arrays;
 
-import org.python.core.Py;
-
 import com.oracle.truffle.api.CompilerDirectives;
 
 import edu.uci.python.runtime.PythonOptions;
 import edu.uci.python.runtime.datatype.PSlice;
+import edu.uci.python.runtime.exception.PythonErrors;
 import edu.uci.python.runtime.iterator.PIntArrayIterator;
 import edu.uci.python.runtime.iterator.PIterator;
 import edu.uci.python.runtime.iterator.PSequenceIterator;
@@ -93,7 +92,7 @@ public final class PIntArray extends PArray {
             return array[idx];
         } catch (ArrayIndexOutOfBoundsException e) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("array index out of range");
+            throw PythonErrors.IndexError("array index out of range");
         }
     }
 
@@ -108,7 +107,7 @@ public final class PIntArray extends PArray {
             array[idx] = value;
         } catch (ArrayIndexOutOfBoundsException e) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("array assignment index out of range");
+            throw PythonErrors.IndexError("array assignment index out of range");
         }
     }
 
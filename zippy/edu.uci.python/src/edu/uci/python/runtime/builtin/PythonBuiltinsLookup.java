@@ -37,8 +37,16 @@ public interface PythonBuiltinsLookup {
 
     PythonModule populateBuiltins(PythonContext context);
 
+    /**
+     * Returns the builtin module {@code name}, creating it on its first lookup.
+     */
     PythonModule lookupModule(String name);
 
+    /**
+     * Whether {@code name} is a builtin module, without creating it.
+     */
+    boolean hasModule(String name);
+
     PythonBuiltinClass lookupType(Class<? extends PythonBuiltinObject> clazz);
 
 }
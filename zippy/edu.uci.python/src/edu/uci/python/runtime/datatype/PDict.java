@@ -24,40 +24,39 @@
  */
 package edu.uci.python.runtime.datatype;
 
-import java.util.*;
-import java.util.Map.Entry;
-
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
-
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.builtin.*;
+import edu.uci.python.runtime.datatype.storage.*;
 import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.iterator.*;
+import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.sequence.*;
 import edu.uci.python.runtime.standardtype.*;
 
 public final class PDict extends PythonBuiltinObject implements PIterable {
 
-    public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PDict.class);
-
-    private final Map<Object, Object> map;
+    private DictStorage storage;
 
     public PDict() {
-        map = new TreeMap<>();
+        storage = EmptyDictStorage.INSTANCE;
+
+        PythonObjectAllocationInstrumentor.allocated(this);
     }
 
-    public PDict(Map<Object, Object> map) {
-        this();
-        addAll(map);
+    public PDict(DictStorage storage) {
+        this.storage = storage;
+
+        PythonObjectAllocationInstrumentor.allocated(this);
     }
 
-    @TruffleBoundary
-    private void addAll(Map<Object, Object> mapToAdd) {
-        this.map.putAll(mapToAdd);
+    public PDict(PDict other) {
+        storage = other.storage.copy();
+
+        PythonObjectAllocationInstrumentor.allocated(this);
     }
 
     public PDict(PIterator iter) {
-        map = new TreeMap<>();
+        this();
 
         try {
             while (true) {
@@ -70,7 +69,7 @@ public final class PDict extends PythonBuiltinObject implements PIterable {
 
     private void unpackKeyValuePair(Object obj) {
         if (obj instanceof PSequence && ((PSequence) obj).len() == 2) {
-            map.put(((PSequence) obj).getItem(0), ((PSequence) obj).getItem(1));
+            setItem(((PSequence) obj).getItem(0), ((PSequence) obj).getItem(1));
         } else {
             throw new RuntimeException("invalid args for dict()");
         }
@@ -78,59 +77,103 @@ public final class PDict extends PythonBuiltinObject implements PIterable {
 
     @Override
     public PythonBuiltinClass __class__() {
-        return __class__;
+        return PythonContext.getBuiltinTypeFor(PDict.class);
     }
 
+    public DictStorage getStorage() {
+        return storage;
+    }
+
+    /**
+     * Returns <code>null</code> if the key is not present.
+     */
     public Object getItem(Object key) {
-        return map.get(key);
+        return storage.getItem(key);
     }
 
     public void setItem(Object key, Object value) {
-        map.put(key, value);
+        try {
+            storage.setItem(key, value);
+        } catch (DictStoreException e) {
+            storage = storage.generalizeFor(key);
+
+            try {
+                storage.setItem(key, value);
+            } catch (DictStoreException e1) {
+                throw new IllegalStateException();
+            }
+        }
     }
 
     public void delItem(Object key) {
-        map.remove(key);
+        storage.pop(key);
     }
 
-    public Collection<Object> items() {
-        return map.values();
+    /**
+     * Removes the key and returns its value, or <code>null</code> if the key is not present.
+     */
+    public Object pop(Object key) {
+        return storage.pop(key);
     }
 
-    public Collection<Object> keys() {
-        return map.keySet();
+    /**
+     * Removes and returns the most recently inserted entry as a key value pair, or
+     * <code>null</code> if the dict is empty.
+     */
+    public PTuple popItem() {
+        return storage.popItem();
     }
 
-    public Map<Object, Object> getMap() {
-        return map;
+    public void clear() {
+        storage = EmptyDictStorage.INSTANCE;
     }
 
     public boolean hasKey(Object key) {
-        return this.map.containsKey(key);
+        return storage.hasKey(key);
+    }
+
+    /**
+     * The dense entry array is iterated from 0 to {@link #getUsed()}; deleted entries read as
+     * <code>null</code> keys.
+     */
+    public int getUsed() {
+        return storage.getUsed();
+    }
+
+    public Object getKeyAt(int index) {
+        return storage.getKeyAt(index);
+    }
+
+    public Object getValueAt(int index) {
+        return storage.getValueAt(index);
     }
 
     public PIterator __iter__() {
-        return new PDictIterator(map.keySet().iterator());
+        return new PDictIterator(this);
     }
 
     public PIterator values() {
-        return new PDictIterator(map.values().iterator());
+        return new PDictIterator.PDictValuesIterator(this);
     }
 
     @Override
     public String toString() {
         StringBuilder buf = new StringBuilder("{");
-        int length = map.size();
-        int i = 0;
+        boolean first = true;
 
-        for (Entry<?, ?> entry : map.entrySet()) {
-            buf.append(entry.getKey() + ": " + entry.getValue());
+        for (int i = 0; i < storage.getUsed(); i++) {
+            final Object key = storage.getKeyAt(i);
 
-            if (i < length - 1) {
+            if (key == null) {
+                continue;
+            }
+
+            if (!first) {
                 buf.append(", ");
             }
 
-            i++;
+            buf.append(key + ": " + storage.getValueAt(i));
+            first = false;
         }
 
         buf.append("}");
@@ -139,7 +182,7 @@ public final class PDict extends PythonBuiltinObject implements PIterable {
 
     @Override
     public int len() {
-        return map.size();
+        return storage.length();
     }
 
     @Override
@@ -149,7 +192,24 @@ public final class PDict extends PythonBuiltinObject implements PIterable {
         }
 
         PDict otherDict = (PDict) other;
-        return map.equals(otherDict.getMap());
+
+        if (len() != otherDict.len()) {
+            return false;
+        }
+
+        for (int i = 0; i < storage.getUsed(); i++) {
+            final Object key = storage.getKeyAt(i);
+
+            if (key != null) {
+                final Object otherValue = otherDict.getItem(key);
+
+                if (otherValue == null || !HashingUtil.equals(storage.getValueAt(i), otherValue)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
     }
 
     @Override
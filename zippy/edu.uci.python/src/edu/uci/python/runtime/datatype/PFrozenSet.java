@@ -26,6 +26,7 @@ package edu.uci.python.runtime.datatype;
 
 import edu.uci.python.runtime.iterator.*;
 import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.sequence.storage.*;
 
 public class PFrozenSet extends PBaseSet {
 
@@ -41,6 +42,10 @@ public class PFrozenSet extends PBaseSet {
         super(pBaseSet);
     }
 
+    public PFrozenSet(SetStorage storage) {
+        super(storage);
+    }
+
     @Override
     public void update(PBaseSet other) {
         throw new UnsupportedOperationException();
@@ -61,6 +66,11 @@ public class PFrozenSet extends PBaseSet {
         return new PFrozenSet(this);
     }
 
+    @Override
+    protected PBaseSet createSet(SetStorage newStorage) {
+        return new PFrozenSet(newStorage);
+    }
+
     @Override
     public String toString() {
         return "frozenset(" + super.toString() + ")";
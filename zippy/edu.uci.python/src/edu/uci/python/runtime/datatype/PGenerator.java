@@ -36,8 +36,6 @@ import edu.uci.python.runtime.standardtype.*;
 
 public final class PGenerator extends PythonBuiltinObject implements PIterator {
 
-    public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PGenerator.class);
-
     protected final String name;
     protected final RootCallTarget callTarget;
     protected final FrameDescriptor frameDescriptor;
@@ -67,7 +65,7 @@ public final class PGenerator extends PythonBuiltinObject implements PIterator {
 
     @Override
     public PythonBuiltinClass __class__() {
-        return __class__;
+        return PythonContext.getBuiltinTypeFor(PGenerator.class);
     }
 
     public FrameDescriptor getFrameDescriptor() {
@@ -28,6 +28,7 @@ import org.python.core.*;
 
 import com.oracle.truffle.api.*;
 
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.iterator.*;
 import edu.uci.python.runtime.sequence.*;
 import edu.uci.python.runtime.sequence.storage.*;
@@ -50,7 +51,7 @@ public final class PRange extends PImmutableSequence {
     public PRange(int low, int hi, int step) {
         if (step == 0) {
             CompilerDirectives.transferToInterpreter();
-            throw Py.ValueError("range() arg 3 must not be zero");
+            throw PythonErrors.ValueError("range() arg 3 must not be zero");
         }
 
         int n;
@@ -77,7 +78,7 @@ public final class PRange extends PImmutableSequence {
             n = (int) ((diff / step) + 1);
             if (n < 0) {
                 CompilerDirectives.transferToInterpreter();
-                throw Py.OverflowError("range() result has too many items");
+                throw PythonErrors.OverflowError("range() result has too many items");
             }
         }
         return n;
@@ -113,7 +114,7 @@ public final class PRange extends PImmutableSequence {
     public Object getItemNormalized(int index) {
         if (index >= length) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("range object index out of range");
+            throw PythonErrors.IndexError("range object index out of range");
         }
 
         return index * step + start;
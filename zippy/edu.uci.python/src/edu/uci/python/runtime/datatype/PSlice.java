@@ -24,12 +24,12 @@
  */
 package edu.uci.python.runtime.datatype;
 
-import org.python.core.*;
-
 import com.oracle.truffle.api.*;
 
 import static edu.uci.python.runtime.sequence.SequenceUtil.*;
 
+import edu.uci.python.runtime.exception.*;
+
 public class PSlice {
 
     protected int start;
@@ -59,7 +59,7 @@ public class PSlice {
 
         if (step == 0) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.ValueError("slice step cannot be zero");
+            throw PythonErrors.ValueError("slice step cannot be zero");
         }
 
         if (start == MISSING_INDEX) {
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype.storage;
+
+import java.util.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.runtime.sequence.*;
+
+/**
+ * Compact, insertion ordered hash table in the style of CPython 3.6.<br>
+ * Values are appended to the dense {@link #values} array in insertion order, and subclasses keep
+ * the keys in a parallel array of their own type. The sparse {@link #indices} table is probed with
+ * the key's hash and maps to the position of the entry in the dense arrays. Deleted entries leave a
+ * <code>null</code> value, which is skipped by iteration and squeezed out on the next resize.
+ * Their index slots stay {@link #DUMMY} and count towards {@link #fill} until then, so that probing
+ * always finds a {@link #FREE} slot.
+ */
+public abstract class BasicDictStorage extends DictStorage {
+
+    protected static final int MINSIZE = 8;
+    protected static final int FREE = -1;
+    protected static final int DUMMY = -2;
+    protected static final int PERTURB_SHIFT = 5;
+
+    protected int[] indices;
+    protected Object[] values;
+
+    // used dense entries, including deleted ones
+    protected int used;
+
+    // live entries
+    protected int size;
+
+    // index slots that are not FREE, including DUMMY ones
+    protected int fill;
+
+    // bumped on every structural change
+    protected int version;
+
+    protected BasicDictStorage(int expectedSize) {
+        final int indexSize = indexSizeFor(expectedSize);
+        indices = new int[indexSize];
+        Arrays.fill(indices, FREE);
+        values = new Object[usableFraction(indexSize)];
+    }
+
+    protected BasicDictStorage(BasicDictStorage other) {
+        indices = Arrays.copyOf(other.indices, other.indices.length);
+        values = Arrays.copyOf(other.values, other.values.length);
+        used = other.used;
+        size = other.size;
+        fill = other.fill;
+    }
+
+    @Override
+    public final int length() {
+        return size;
+    }
+
+    @Override
+    public final int getUsed() {
+        return used;
+    }
+
+    @Override
+    public final Object getValueAt(int index) {
+        return values[index];
+    }
+
+    @Override
+    public final void setValueAt(int index, Object value) {
+        values[index] = value;
+    }
+
+    @Override
+    public final int getVersion() {
+        return version;
+    }
+
+    /**
+     * Hash of the key stored in the given dense entry.
+     */
+    protected abstract int hashAt(int index);
+
+    /**
+     * Moves the key of a dense entry and releases the old position.
+     */
+    protected abstract void moveKey(int from, int to);
+
+    /**
+     * Resizes the key array to match the new dense capacity.
+     */
+    protected abstract void resizeKeys(int capacity);
+
+    @Override
+    public PTuple popItem() {
+        for (int i = used - 1; i >= 0; i--) {
+            if (values[i] != null) {
+                final Object key = getKeyAt(i);
+                final Object value = values[i];
+                pop(key);
+                used = i;
+                return new PTuple(new Object[]{key, value});
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Appends a new entry for a key that is known to be absent and returns its dense index. The
+     * caller stores the key at that index.
+     */
+    protected final int appendEntry(int hash, Object value) {
+        if (used == values.length || fill == values.length) {
+            resize();
+        }
+
+        final int slot = findEmptySlot(hash);
+        if (indices[slot] == FREE) {
+            fill++;
+        }
+
+        indices[slot] = used;
+        values[used] = value;
+        size++;
+        version++;
+        return used++;
+    }
+
+    /**
+     * Marks the entry referred to by the index table slot as deleted and returns its value.
+     */
+    protected final Object removeSlot(int slot) {
+        final int ix = indices[slot];
+        final Object value = values[ix];
+        indices[slot] = DUMMY;
+        values[ix] = null;
+        size--;
+        version++;
+        return value;
+    }
+
+    protected final int findEmptySlot(int hash) {
+        final int mask = indices.length - 1;
+        int perturb = hash;
+        int slot = hash & mask;
+
+        while (indices[slot] >= 0) {
+            perturb >>>= PERTURB_SHIFT;
+            slot = nextSlot(slot, perturb, mask);
+        }
+
+        return slot;
+    }
+
+    protected static int nextSlot(int slot, int perturb, int mask) {
+        return (slot * 5 + perturb + 1) & mask;
+    }
+
+    @TruffleBoundary
+    private void resize() {
+        int live = 0;
+
+        for (int i = 0; i < used; i++) {
+            if (values[i] != null) {
+                if (i != live) {
+                    values[live] = values[i];
+                    values[i] = null;
+                    moveKey(i, live);
+                }
+
+                live++;
+            }
+        }
+
+        used = live;
+        size = live;
+        fill = live;
+
+        final int indexSize = indexSizeFor(size * 2);
+        final int capacity = usableFraction(indexSize);
+        values = Arrays.copyOf(values, capacity);
+        resizeKeys(capacity);
+        indices = new int[indexSize];
+        Arrays.fill(indices, FREE);
+
+        for (int i = 0; i < used; i++) {
+            indices[findEmptySlot(hashAt(i))] = i;
+        }
+    }
+
+    /**
+     * Copies the live entries into a generic storage, keeping insertion order.
+     */
+    protected final DictStorage generalizeToObject() {
+        final ObjectDictStorage generalized = new ObjectDictStorage(size);
+
+        for (int i = 0; i < used; i++) {
+            if (values[i] != null) {
+                generalized.setItem(getKeyAt(i), values[i]);
+            }
+        }
+
+        return generalized;
+    }
+
+    /**
+     * Smallest power of two index table that fits the given number of entries.
+     */
+    protected static int indexSizeFor(int entries) {
+        int indexSize = MINSIZE;
+
+        while (usableFraction(indexSize) <= entries) {
+            indexSize <<= 1;
+        }
+
+        return indexSize;
+    }
+
+    private static int usableFraction(int indexSize) {
+        return (indexSize << 1) / 3;
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype.storage;
+
+import edu.uci.python.runtime.sequence.*;
+
+/**
+ * Insertion ordered storage of a dict. Entries live in a dense array in insertion order and are
+ * iterated from 0 to {@link #getUsed()}; deleted entries read as <code>null</code> keys.<br>
+ * Like {@link edu.uci.python.runtime.sequence.storage.SequenceStorage}, a dict starts out with the
+ * most specific storage for its first key and generalizes on the first key it cannot hold.
+ */
+public abstract class DictStorage {
+
+    public abstract int length();
+
+    public abstract DictStorage copy();
+
+    /**
+     * Returns <code>null</code> if the key is not present.
+     */
+    public abstract Object getItem(Object key);
+
+    public abstract void setItem(Object key, Object value) throws DictStoreException;
+
+    /**
+     * Removes the key and returns its value, or <code>null</code> if the key is not present.
+     */
+    public abstract Object pop(Object key);
+
+    /**
+     * Removes and returns the most recently inserted entry, or <code>null</code> if empty.
+     */
+    public abstract PTuple popItem();
+
+    public boolean hasKey(Object key) {
+        return getItem(key) != null;
+    }
+
+    public abstract int getUsed();
+
+    public abstract Object getKeyAt(int index);
+
+    public abstract Object getValueAt(int index);
+
+    /**
+     * Returns the dense index of the entry for the given key, or -1 if the key is not present. The
+     * index stays valid for {@link #setValueAt(int, Object)} as long as {@link #getVersion()} does
+     * not change.
+     */
+    public abstract int findEntry(Object key);
+
+    public abstract void setValueAt(int index, Object value);
+
+    /**
+     * Changes whenever entries are added, removed or moved. Value updates of existing keys do not
+     * change the version.
+     */
+    public abstract int getVersion();
+
+    public abstract DictStorage generalizeFor(Object key);
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype.storage;
+
+import edu.uci.python.runtime.*;
+
+public class DictStorageFactory {
+
+    /**
+     * Picks the most specific storage for the given keys.
+     */
+    public static DictStorage createStorage(Object[] keys) {
+        if (keys == null || keys.length == 0) {
+            return EmptyDictStorage.INSTANCE;
+        }
+
+        if (!PythonOptions.UnboxSequenceStorage) {
+            return new ObjectDictStorage(keys.length);
+        }
+
+        if (canSpecializeToInt(keys)) {
+            return new IntKeyDictStorage(keys.length);
+        } else if (canSpecializeToString(keys)) {
+            return new StringKeyDictStorage(keys.length);
+        } else {
+            return new ObjectDictStorage(keys.length);
+        }
+    }
+
+    public static DictStorage createStorage(Object firstKey, int expectedSize) {
+        if (!PythonOptions.UnboxSequenceStorage) {
+            return new ObjectDictStorage(expectedSize);
+        }
+
+        if (firstKey instanceof Integer) {
+            return new IntKeyDictStorage(expectedSize);
+        } else if (firstKey instanceof String) {
+            return new StringKeyDictStorage(expectedSize);
+        } else {
+            return new ObjectDictStorage(expectedSize);
+        }
+    }
+
+    public static boolean canSpecializeToInt(Object[] keys) {
+        for (Object key : keys) {
+            if (!(key instanceof Integer)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public static boolean canSpecializeToString(Object[] keys) {
+        for (Object key : keys) {
+            if (!(key instanceof String)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+}
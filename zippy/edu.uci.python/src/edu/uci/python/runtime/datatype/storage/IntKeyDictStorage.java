@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype.storage;
+
+import java.util.*;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.sequence.storage.*;
+
+/**
+ * Storage for dicts whose keys are all ints. Keys are kept in a primitive array and compared
+ * directly, so int keyed lookups and stores do not box the key.
+ */
+public final class IntKeyDictStorage extends BasicDictStorage {
+
+    private int[] keys;
+
+    public IntKeyDictStorage() {
+        this(0);
+    }
+
+    public IntKeyDictStorage(int expectedSize) {
+        super(expectedSize);
+        keys = new int[values.length];
+    }
+
+    private IntKeyDictStorage(IntKeyDictStorage other) {
+        super(other);
+        keys = Arrays.copyOf(other.keys, other.keys.length);
+    }
+
+    @Override
+    public DictStorage copy() {
+        return new IntKeyDictStorage(this);
+    }
+
+    @Override
+    public Object getKeyAt(int index) {
+        return values[index] == null ? null : keys[index];
+    }
+
+    public int getIntKeyAt(int index) {
+        return keys[index];
+    }
+
+    @Override
+    protected int hashAt(int index) {
+        return HashingUtil.hash(keys[index]);
+    }
+
+    @Override
+    protected void moveKey(int from, int to) {
+        keys[to] = keys[from];
+    }
+
+    @Override
+    protected void resizeKeys(int capacity) {
+        keys = Arrays.copyOf(keys, capacity);
+    }
+
+    private int findSlot(int key) {
+        final int hash = HashingUtil.hash(key);
+        final int mask = indices.length - 1;
+        int perturb = hash;
+        int slot = hash & mask;
+
+        while (true) {
+            final int ix = indices[slot];
+
+            if (ix == FREE) {
+                return -1;
+            }
+
+            if (ix >= 0 && keys[ix] == key) {
+                return slot;
+            }
+
+            perturb >>>= PERTURB_SHIFT;
+            slot = nextSlot(slot, perturb, mask);
+        }
+    }
+
+    /**
+     * Python considers ints, equal valued longs, floats and bools the same key.
+     */
+    private static boolean isIntKey(Object key) {
+        if (key instanceof Integer || key instanceof Boolean) {
+            return true;
+        } else if (key instanceof Long) {
+            return (long) key == (int) (long) key;
+        } else if (key instanceof Double) {
+            return (double) key == (int) (double) key;
+        }
+
+        return false;
+    }
+
+    private static int toIntKey(Object key) {
+        if (key instanceof Integer) {
+            return (int) key;
+        } else if (key instanceof Boolean) {
+            return (boolean) key ? 1 : 0;
+        } else if (key instanceof Long) {
+            return (int) (long) key;
+        }
+
+        return (int) (double) key;
+    }
+
+    @Override
+    public Object getItem(Object key) {
+        return isIntKey(key) ? getItemInt(toIntKey(key)) : null;
+    }
+
+    public Object getItemInt(int key) {
+        final int slot = findSlot(key);
+        return slot < 0 ? null : values[indices[slot]];
+    }
+
+    @Override
+    public int findEntry(Object key) {
+        return isIntKey(key) ? findEntryInt(toIntKey(key)) : -1;
+    }
+
+    public int findEntryInt(int key) {
+        final int slot = findSlot(key);
+        return slot < 0 ? -1 : indices[slot];
+    }
+
+    @Override
+    public void setItem(Object key, Object value) throws DictStoreException {
+        if (key instanceof Integer) {
+            setItemInt((int) key, value);
+        } else {
+            throw DictStoreException.INSTANCE;
+        }
+    }
+
+    public void setItemInt(int key, Object value) {
+        final int slot = findSlot(key);
+
+        if (slot >= 0) {
+            values[indices[slot]] = value;
+            return;
+        }
+
+        final int ix = appendEntry(HashingUtil.hash(key), value);
+        keys[ix] = key;
+    }
+
+    @Override
+    public Object pop(Object key) {
+        if (!isIntKey(key)) {
+            return null;
+        }
+
+        final int slot = findSlot(toIntKey(key));
+        return slot < 0 ? null : removeSlot(slot);
+    }
+
+    @Override
+    public DictStorage generalizeFor(Object key) {
+        return SequenceStorage.reportGeneralization(this, generalizeToObject());
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype.storage;
+
+import java.util.*;
+
+import edu.uci.python.runtime.*;
+
+/**
+ * Generic storage for keys of any type, hashed and compared with Python semantics through
+ * {@link HashingUtil}.
+ */
+public final class ObjectDictStorage extends BasicDictStorage {
+
+    private Object[] keys;
+    private int[] hashes;
+
+    public ObjectDictStorage() {
+        this(0);
+    }
+
+    public ObjectDictStorage(int expectedSize) {
+        super(expectedSize);
+        keys = new Object[values.length];
+        hashes = new int[values.length];
+    }
+
+    private ObjectDictStorage(ObjectDictStorage other) {
+        super(other);
+        keys = Arrays.copyOf(other.keys, other.keys.length);
+        hashes = Arrays.copyOf(other.hashes, other.hashes.length);
+    }
+
+    @Override
+    public DictStorage copy() {
+        return new ObjectDictStorage(this);
+    }
+
+    @Override
+    public Object getKeyAt(int index) {
+        return keys[index];
+    }
+
+    @Override
+    protected int hashAt(int index) {
+        return hashes[index];
+    }
+
+    @Override
+    protected void moveKey(int from, int to) {
+        keys[to] = keys[from];
+        hashes[to] = hashes[from];
+        keys[from] = null;
+    }
+
+    @Override
+    protected void resizeKeys(int capacity) {
+        keys = Arrays.copyOf(keys, capacity);
+        hashes = Arrays.copyOf(hashes, capacity);
+    }
+
+    /**
+     * Returns the index table slot that refers to the entry for the given key, or -1.
+     */
+    private int findSlot(Object key, int hash) {
+        final int mask = indices.length - 1;
+        int perturb = hash;
+        int slot = hash & mask;
+
+        while (true) {
+            final int ix = indices[slot];
+
+            if (ix == FREE) {
+                return -1;
+            }
+
+            if (ix >= 0 && hashes[ix] == hash && HashingUtil.equals(keys[ix], key)) {
+                return slot;
+            }
+
+            perturb >>>= PERTURB_SHIFT;
+            slot = nextSlot(slot, perturb, mask);
+        }
+    }
+
+    @Override
+    public Object getItem(Object key) {
+        final int slot = findSlot(key, HashingUtil.hash(key));
+        return slot < 0 ? null : values[indices[slot]];
+    }
+
+    @Override
+    public int findEntry(Object key) {
+        final int slot = findSlot(key, HashingUtil.hash(key));
+        return slot < 0 ? -1 : indices[slot];
+    }
+
+    @Override
+    public boolean hasKey(Object key) {
+        return findSlot(key, HashingUtil.hash(key)) >= 0;
+    }
+
+    @Override
+    public void setItem(Object key, Object value) {
+        final int hash = HashingUtil.hash(key);
+        final int slot = findSlot(key, hash);
+
+        if (slot >= 0) {
+            values[indices[slot]] = value;
+            return;
+        }
+
+        final int ix = appendEntry(hash, value);
+        keys[ix] = key;
+        hashes[ix] = hash;
+    }
+
+    @Override
+    public Object pop(Object key) {
+        final int slot = findSlot(key, HashingUtil.hash(key));
+
+        if (slot < 0) {
+            return null;
+        }
+
+        keys[indices[slot]] = null;
+        return removeSlot(slot);
+    }
+
+    @Override
+    public DictStorage generalizeFor(Object key) {
+        return this;
+    }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype.storage;
+
+import java.util.*;
+
+import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.sequence.storage.*;
+
+/**
+ * Storage for dicts whose keys are all strings. Uses the cached Java {@link String#hashCode()} and
+ * {@link String#equals(Object)} directly instead of dispatching to Python level hashing.
+ */
+public final class StringKeyDictStorage extends BasicDictStorage {
+
+    private String[] keys;
+
+    public StringKeyDictStorage() {
+        this(0);
+    }
+
+    public StringKeyDictStorage(int expectedSize) {
+        super(expectedSize);
+        keys = new String[values.length];
+    }
+
+    private StringKeyDictStorage(StringKeyDictStorage other) {
+        super(other);
+        keys = Arrays.copyOf(other.keys, other.keys.length);
+    }
+
+    @Override
+    public DictStorage copy() {
+        return new StringKeyDictStorage(this);
+    }
+
+    @Override
+    public Object getKeyAt(int index) {
+        return keys[index];
+    }
+
+    @Override
+    protected int hashAt(int index) {
+        return keys[index].hashCode();
+    }
+
+    @Override
+    protected void moveKey(int from, int to) {
+        keys[to] = keys[from];
+        keys[from] = null;
+    }
+
+    @Override
+    protected void resizeKeys(int capacity) {
+        keys = Arrays.copyOf(keys, capacity);
+    }
+
+    private int findSlot(String key) {
+        final int hash = key.hashCode();
+        final int mask = indices.length - 1;
+        int perturb = hash;
+        int slot = hash & mask;
+
+        while (true) {
+            final int ix = indices[slot];
+
+            if (ix == FREE) {
+                return -1;
+            }
+
+            if (ix >= 0 && (keys[ix] == key || keys[ix].equals(key))) {
+                return slot;
+            }
+
+            perturb >>>= PERTURB_SHIFT;
+            slot = nextSlot(slot, perturb, mask);
+        }
+    }
+
+    private static String asString(Object key) {
+        if (key instanceof String) {
+            return (String) key;
+        } else if (key instanceof PString) {
+            return ((PString) key).getValue();
+        }
+
+        return null;
+    }
+
+    @Override
+    public Object getItem(Object key) {
+        final String stringKey = asString(key);
+        return stringKey == null ? null : getItemString(stringKey);
+    }
+
+    public Object getItemString(String key) {
+        final int slot = findSlot(key);
+        return slot < 0 ? null : values[indices[slot]];
+    }
+
+    @Override
+    public int findEntry(Object key) {
+        final String stringKey = asString(key);
+        return stringKey == null ? -1 : findEntryString(stringKey);
+    }
+
+    public int findEntryString(String key) {
+        final int slot = findSlot(key);
+        return slot < 0 ? -1 : indices[slot];
+    }
+
+    @Override
+    public void setItem(Object key, Object value) throws DictStoreException {
+        if (key instanceof String) {
+            setItemString((String) key, value);
+        } else {
+            throw DictStoreException.INSTANCE;
+        }
+    }
+
+    public void setItemString(String key, Object value) {
+        final int slot = findSlot(key);
+
+        if (slot >= 0) {
+            values[indices[slot]] = value;
+            return;
+        }
+
+        final int ix = appendEntry(key.hashCode(), value);
+        keys[ix] = key;
+    }
+
+    @Override
+    public Object pop(Object key) {
+        final String stringKey = asString(key);
+
+        if (stringKey == null) {
+            return null;
+        }
+
+        final int slot = findSlot(stringKey);
+
+        if (slot < 0) {
+            return null;
+        }
+
+        keys[indices[slot]] = null;
+        return removeSlot(slot);
+    }
+
+    @Override
+    public DictStorage generalizeFor(Object key) {
+        return SequenceStorage.reportGeneralization(this, generalizeToObject());
+    }
+
+}
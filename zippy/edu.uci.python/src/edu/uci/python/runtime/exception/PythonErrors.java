@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2013, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met: 
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer. 
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution. 
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.exception;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.*;
+
+import edu.uci.python.runtime.*;
+
+/**
+ * Creates Jython's builtin exceptions for errors raised from Java code. Their types
+ * ({@code Py.TypeError} and friends) only exist once Jython is initialized, so with
+ * {@link PythonOptions#LazyJythonInitialization} the first error raised initializes it. An error
+ * created through {@link Py} directly before that would have no type, and no except clause could
+ * match it.
+ */
+public final class PythonErrors {
+
+    private PythonErrors() {
+    }
+
+    private static void ensureTypes() {
+        if (!JythonRuntime.isInitialized()) {
+            CompilerDirectives.transferToInterpreter();
+            JythonRuntime.ensureInitialized();
+        }
+    }
+
+    public static PyException AssertionError(String message) {
+        ensureTypes();
+        return Py.AssertionError(message);
+    }
+
+    public static PyException AttributeError(String message) {
+        ensureTypes();
+        return Py.AttributeError(message);
+    }
+
+    public static PyException ImportError(String message) {
+        ensureTypes();
+        return Py.ImportError(message);
+    }
+
+    public static PyException IndexError(String message) {
+        ensureTypes();
+        return Py.IndexError(message);
+    }
+
+    public static PyException KeyError(String message) {
+        ensureTypes();
+        return Py.KeyError(message);
+    }
+
+    public static PyException NameError(String message) {
+        ensureTypes();
+        return Py.NameError(message);
+    }
+
+    public static PyException OverflowError(String message) {
+        ensureTypes();
+        return Py.OverflowError(message);
+    }
+
+    public static PyException SystemError(String message) {
+        ensureTypes();
+        return Py.SystemError(message);
+    }
+
+    public static PyException TypeError(String message) {
+        ensureTypes();
+        return Py.TypeError(message);
+    }
+
+    public static PyException UnboundLocalError(String message) {
+        ensureTypes();
+        return Py.UnboundLocalError(message);
+    }
+
+    public static PyException ValueError(String message) {
+        ensureTypes();
+        return Py.ValueError(message);
+    }
+
+    public static PyException ZeroDivisionError(String message) {
+        ensureTypes();
+        return Py.ZeroDivisionError(message);
+    }
+
+}
@@ -30,6 +30,8 @@ import org.python.core.*;
 
 import com.oracle.truffle.api.*;
 
+import edu.uci.python.runtime.exception.*;
+
 public class Arity {
 
     private final String functionName;
@@ -104,7 +106,7 @@ public class Arity {
         if (numOfKeywords == 0) {
             arityCheck(numOfArgs);
         } else if (!takesKeywordArg && numOfKeywords > 0) {
-            throw Py.TypeError(functionName + "() takes no keyword arguments");
+            throw PythonErrors.TypeError(functionName + "() takes no keyword arguments");
         } else {
             for (int i = 0; i < keywords.length; i++) {
                 String keyword = keywords[i];
@@ -131,26 +133,26 @@ public class Arity {
                 } else {
                     argMessage = minNumOfArgs + " arguments";
                 }
-                throw Py.TypeError(String.format("%s() takes %s (%d given)", functionName, argMessage, numOfArgs));
+                throw PythonErrors.TypeError(String.format("%s() takes %s (%d given)", functionName, argMessage, numOfArgs));
             }
         } else if (numOfArgs < minNumOfArgs) {
             /**
              * For ex, iter(object[, sentinel]) takes at least 1 argument.
              */
-            throw Py.TypeError(String.format("%s() expected at least %d arguments (%d) given", functionName, minNumOfArgs, numOfArgs));
+            throw PythonErrors.TypeError(String.format("%s() expected at least %d arguments (%d) given", functionName, minNumOfArgs, numOfArgs));
         } else if (!takesVarArgs && numOfArgs > maxNumOfArgs) {
             /**
              * For ex, complex([real[, imag]]) takes at most 2 arguments.
              */
             argMessage = "at most " + maxNumOfArgs + " arguments";
-            throw Py.TypeError(String.format("%s() takes %s (%d given)", functionName, argMessage, numOfArgs));
+            throw PythonErrors.TypeError(String.format("%s() takes %s (%d given)", functionName, argMessage, numOfArgs));
         }
 
     }
 
     private void checkKeyword(String keyword) {
         if (!takesVarArgs && !parameterIds.contains(keyword)) {
-            throw Py.TypeError(functionName + "()" + " got an unexpected keyword argument " + "'" + keyword + "'");
+            throw PythonErrors.TypeError(functionName + "()" + " got an unexpected keyword argument " + "'" + keyword + "'");
         }
     }
 
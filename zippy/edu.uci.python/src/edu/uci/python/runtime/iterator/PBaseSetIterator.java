@@ -24,22 +24,29 @@
  */
 package edu.uci.python.runtime.iterator;
 
-import java.util.*;
-
 import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.object.*;
+import edu.uci.python.runtime.sequence.storage.*;
 
 public class PBaseSetIterator implements PIterator {
 
-    private final Iterator<?> setIterator;
+    private final SetStorage storage;
+    private int slot;
+
+    public PBaseSetIterator(SetStorage storage) {
+        this.storage = storage;
 
-    public PBaseSetIterator(Iterator<?> iterator) {
-        this.setIterator = iterator;
+        PythonObjectAllocationInstrumentor.allocated(this);
     }
 
     @Override
     public Object __next__() throws StopIterationException {
-        if (setIterator.hasNext()) {
-            return setIterator.next();
+        while (slot < storage.getSlotCount()) {
+            final Object item = storage.getSlotItem(slot++);
+
+            if (item != null) {
+                return item;
+            }
         }
 
         throw StopIterationException.INSTANCE;
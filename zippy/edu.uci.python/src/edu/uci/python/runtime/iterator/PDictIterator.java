@@ -24,25 +24,54 @@
  */
 package edu.uci.python.runtime.iterator;
 
-import java.util.*;
-
+import edu.uci.python.runtime.datatype.*;
 import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.object.*;
 
+/**
+ * Iterates the keys of a {@link PDict} by walking its dense entry array.
+ */
 public class PDictIterator implements PIterator {
 
-    private final Iterator<?> keyIterator;
+    protected final PDict dict;
+    protected int index;
+
+    public PDictIterator(PDict dict) {
+        this.dict = dict;
+
+        PythonObjectAllocationInstrumentor.allocated(this);
+    }
+
+    /**
+     * Advances to the next live entry and returns its position in the dense entry array.
+     */
+    protected final int nextEntry() throws StopIterationException {
+        while (index < dict.getUsed()) {
+            final int current = index++;
+
+            if (dict.getKeyAt(current) != null) {
+                return current;
+            }
+        }
 
-    public PDictIterator(Iterator<?> iterator) {
-        keyIterator = iterator;
+        throw StopIterationException.INSTANCE;
     }
 
     @Override
     public Object __next__() throws StopIterationException {
-        if (keyIterator.hasNext()) {
-            return keyIterator.next();
+        return dict.getKeyAt(nextEntry());
+    }
+
+    public static final class PDictValuesIterator extends PDictIterator {
+
+        public PDictValuesIterator(PDict dict) {
+            super(dict);
         }
 
-        throw StopIterationException.INSTANCE;
+        @Override
+        public Object __next__() throws StopIterationException {
+            return dict.getValueAt(nextEntry());
+        }
     }
 
 }
@@ -26,6 +26,7 @@ package edu.uci.python.runtime.iterator;
 
 import edu.uci.python.runtime.array.*;
 import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.object.*;
 
 public class PDoubleArrayIterator implements PIterator, PDoubleIterator {
 
@@ -34,6 +35,8 @@ public class PDoubleArrayIterator implements PIterator, PDoubleIterator {
 
     public PDoubleArrayIterator(PDoubleArray array) {
         this.array = array;
+
+        PythonObjectAllocationInstrumentor.allocated(this);
     }
 
     @Override
@@ -25,6 +25,7 @@
 package edu.uci.python.runtime.iterator;
 
 import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.sequence.storage.*;
 
 public class PDoubleSequenceIterator implements PIterator, PDoubleIterator {
@@ -34,6 +35,8 @@ public class PDoubleSequenceIterator implements PIterator, PDoubleIterator {
 
     public PDoubleSequenceIterator(DoubleSequenceStorage sequence) {
         this.sequence = sequence;
+
+        PythonObjectAllocationInstrumentor.allocated(this);
     }
 
     public DoubleSequenceStorage getSequenceStorage() {
@@ -25,6 +25,7 @@
 package edu.uci.python.runtime.iterator;
 
 import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.sequence.*;
 
 /**
@@ -38,6 +39,8 @@ public class PEnumerateIterator implements PIterator {
 
     public PEnumerateIterator(PIterator iterator) {
         this.iterator = iterator;
+
+        PythonObjectAllocationInstrumentor.allocated(this);
     }
 
     @Override
@@ -26,6 +26,7 @@ package edu.uci.python.runtime.iterator;
 
 import edu.uci.python.runtime.array.*;
 import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.object.*;
 
 public final class PLongArrayIterator implements PIterator, PLongIterator {
 
@@ -34,6 +35,8 @@ public final class PLongArrayIterator implements PIterator, PLongIterator {
 
     public PLongArrayIterator(PLongArray array) {
         this.array = array;
+
+        PythonObjectAllocationInstrumentor.allocated(this);
     }
 
     @Override
@@ -25,6 +25,7 @@
 package edu.uci.python.runtime.iterator;
 
 import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.sequence.storage.*;
 
 public final class PLongSequenceIterator implements PIterator, PLongIterator {
@@ -34,6 +35,8 @@ public final class PLongSequenceIterator implements PIterator, PLongIterator {
 
     public PLongSequenceIterator(LongSequenceStorage sequence) {
         this.sequence = sequence;
+
+        PythonObjectAllocationInstrumentor.allocated(this);
     }
 
     public LongSequenceStorage getSequenceStorage() {
@@ -26,6 +26,7 @@ package edu.uci.python.runtime.iterator;
 
 import edu.uci.python.runtime.datatype.*;
 import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.object.*;
 
 public final class PRangeIterator implements PIterator, PIntegerIterator {
 
@@ -37,6 +38,8 @@ public final class PRangeIterator implements PIterator, PIntegerIterator {
         this.index = range.getStart();
         this.stop = range.getStop();
         this.step = range.getStep();
+
+        PythonObjectAllocationInstrumentor.allocated(this);
     }
 
     public int getStart() {
@@ -76,12 +79,16 @@ public final class PRangeIterator implements PIterator, PIntegerIterator {
             this.index = range.getStop() - 1;
             this.stop = range.getStart() - 1;
             this.step = range.getStep();
+
+            PythonObjectAllocationInstrumentor.allocated(this);
         }
 
         public PRangeReverseIterator(int index, int stop, int step) {
             this.index = index;
             this.stop = stop;
             this.step = step;
+
+            PythonObjectAllocationInstrumentor.allocated(this);
         }
 
         @Override
@@ -25,7 +25,9 @@
 package edu.uci.python.runtime.iterator;
 
 import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.sequence.storage.*;
 
 public final class PSequenceIterator implements PIterator {
 
@@ -34,6 +36,8 @@ public final class PSequenceIterator implements PIterator {
 
     public PSequenceIterator(PSequence sequence) {
         this.sequence = sequence;
+
+        PythonObjectAllocationInstrumentor.allocated(this);
     }
 
     public PSequence getSeqence() {
@@ -49,4 +53,18 @@ public final class PSequenceIterator implements PIterator {
         throw StopIterationException.INSTANCE;
     }
 
+    /**
+     * Reads the next item straight from the storage of a list with object storage, which the caller
+     * has to check.
+     */
+    public Object nextInObjectStorage() throws StopIterationException {
+        ObjectSequenceStorage store = (ObjectSequenceStorage) ((PList) sequence).getStorage();
+
+        if (index < store.length()) {
+            return store.getItemNormalized(index++);
+        }
+
+        throw StopIterationException.INSTANCE;
+    }
+
 }
@@ -25,6 +25,7 @@
 package edu.uci.python.runtime.iterator;
 
 import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.sequence.*;
 
 public final class PSequenceReverseIterator implements PIterator {
@@ -35,6 +36,8 @@ public final class PSequenceReverseIterator implements PIterator {
     public PSequenceReverseIterator(PSequence sequence) {
         this.sequence = sequence;
         this.index = sequence.len() - 1;
+
+        PythonObjectAllocationInstrumentor.allocated(this);
     }
 
     @Override
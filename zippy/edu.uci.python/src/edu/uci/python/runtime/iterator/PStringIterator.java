@@ -25,6 +25,8 @@
 package edu.uci.python.runtime.iterator;
 
 import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.object.*;
+import edu.uci.python.runtime.sequence.*;
 
 public final class PStringIterator implements PIterator {
 
@@ -33,12 +35,14 @@ public final class PStringIterator implements PIterator {
 
     public PStringIterator(String value) {
         this.value = value;
+
+        PythonObjectAllocationInstrumentor.allocated(this);
     }
 
     @Override
     public Object __next__() throws StopIterationException {
         if (index < value.length()) {
-            return Character.toString(value.charAt(index++));
+            return PString.charToString(value.charAt(index++));
         }
 
         throw StopIterationException.INSTANCE;
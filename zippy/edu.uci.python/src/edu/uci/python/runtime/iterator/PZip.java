@@ -24,10 +24,9 @@
  */
 package edu.uci.python.runtime.iterator;
 
-import org.python.core.*;
-
 import edu.uci.python.runtime.datatype.*;
 import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.sequence.*;
 import edu.uci.python.runtime.standardtype.*;
 
@@ -41,6 +40,8 @@ public final class PZip extends PythonBuiltinObject implements PIterable, PItera
 
     public PZip(PIterator[] iterators) {
         this.iterators = iterators;
+
+        PythonObjectAllocationInstrumentor.allocated(this);
     }
 
     @Override
@@ -64,7 +65,7 @@ public final class PZip extends PythonBuiltinObject implements PIterable, PItera
 
     @Override
     public int len() {
-        throw Py.AttributeError("'zip'" + " object has no attribute " + "'len'");
+        throw PythonErrors.AttributeError("'zip'" + " object has no attribute " + "'len'");
     }
 
     @Override
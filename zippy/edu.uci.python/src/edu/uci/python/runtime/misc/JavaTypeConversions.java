@@ -34,6 +34,8 @@ import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.sequence.*;
 
 public class JavaTypeConversions {
 
@@ -84,6 +86,8 @@ public class JavaTypeConversions {
             return doubleToInt((Double) arg);
         } else if (arg instanceof String) {
             return stringToInt((String) arg, 10);
+        } else if (arg instanceof PString) {
+            return stringToInt(((PString) arg).getValue(), 10);
         } else {
             throw new RuntimeException("invalid value for int()");
         }
@@ -210,7 +214,7 @@ public class JavaTypeConversions {
         for (int i = 0; i < n; i++) {
             char ch = str.charAt(i);
             if (ch == '\u0000') {
-                throw Py.ValueError("empty string for complex()");
+                throw PythonErrors.ValueError("empty string for complex()");
             }
             if (Character.isDigit(ch)) {
                 if (s == null) {
@@ -236,8 +240,8 @@ public class JavaTypeConversions {
             }
             return Double.valueOf(sval).doubleValue();
         } catch (NumberFormatException exc) {
-            // throw Py.ValueError("invalid literal for __float__: " + str);
-            throw Py.ValueError("could not convert string to float: " + str);
+            // throw PythonErrors.ValueError("invalid literal for __float__: " + str);
+            throw PythonErrors.ValueError("could not convert string to float: " + str);
         }
     }
 
@@ -255,7 +259,7 @@ public class JavaTypeConversions {
         }
 
         if (s == n) {
-            throw Py.ValueError("empty string for complex()");
+            throw PythonErrors.ValueError("empty string for complex()");
         }
 
         double z = -1.0;
@@ -320,7 +324,7 @@ public class JavaTypeConversions {
                     int end = endDouble(str, s);
                     z = Double.valueOf(str.substring(s, end)).doubleValue();
                     if (z == Double.POSITIVE_INFINITY) {
-                        throw Py.ValueError(String.format("float() out of range: %.150s", str));
+                        throw PythonErrors.ValueError(String.format("float() out of range: %.150s", str));
                     }
 
                     s = end;
@@ -348,7 +352,7 @@ public class JavaTypeConversions {
         } while (s < n && !swError);
 
         if (swError) {
-            throw Py.ValueError("malformed string for complex() " + str.substring(s));
+            throw PythonErrors.ValueError("malformed string for complex() " + str.substring(s));
         }
 
         return new PComplex(x, y);
@@ -421,7 +425,7 @@ public class JavaTypeConversions {
     // Upper bound is modified to 1114111(0x10FFFF) based on Python 3 semantics
     public static char convertIntToChar(int i) {
         if (i < 0 || i > 0x10FFFF) {
-            throw Py.ValueError("chr() arg not in range(0x110000)");
+            throw PythonErrors.ValueError("chr() arg not in range(0x110000)");
         }
         return (char) i;
     }
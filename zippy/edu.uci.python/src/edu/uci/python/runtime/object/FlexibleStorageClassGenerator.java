@@ -35,6 +35,7 @@ import com.oracle.truffle.api.*;
 
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.object.location.*;
+import edu.uci.python.runtime.profiler.*;
 import edu.uci.python.runtime.standardtype.*;
 import static org.objectweb.asm.Opcodes.*;
 
@@ -68,6 +69,10 @@ public final class FlexibleStorageClassGenerator {
         final MethodHandle ctor = lookupConstructor(storageClass);
         synchronizeObjectLayout(storageClass);
 
+        if (PythonOptions.Metrics) {
+            PythonMetrics.count(pythonClass.getContext(), PythonMetrics.Counter.STORAGE_CLASS_GENERATIONS);
+        }
+
         if (PythonOptions.TraceObjectLayoutCreation) {
             // CheckStyle: stop system..print check
             System.out.println("[ZipPy] generate " + storageClass.toString());
@@ -96,6 +101,14 @@ public final class FlexibleStorageClassGenerator {
 
     private void synchronizeObjectLayout(Class<?> storageClass) {
         ObjectLayout oldLayout = pythonClass.getInstanceObjectLayout();
+        if (PythonOptions.TraceRewrites) {
+            RewriteTracer.getInstance().layoutInvalidated(pythonClass.getName(), "to flexible storage");
+        }
+
+        if (PythonOptions.Metrics) {
+            PythonMetrics.count(pythonClass.getContext(), PythonMetrics.Counter.LAYOUT_TRANSITIONS);
+        }
+
         ObjectLayout newLayout = oldLayout.toFlexibleObjectLayout(storageClass);
         pythonClass.updateInstanceObjectLayout(newLayout);
     }
@@ -27,13 +27,14 @@ package edu.uci.python.runtime.object;
 import java.util.*;
 import java.util.Map.Entry;
 
-import org.python.core.*;
-
 import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 
+import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.object.location.*;
+import edu.uci.python.runtime.profiler.*;
 import edu.uci.python.runtime.standardtype.*;
 
 public abstract class PythonObject implements Comparable<Object> {
@@ -53,6 +54,8 @@ public abstract class PythonObject implements Comparable<Object> {
         objectLayout = pythonClass == null ? ObjectLayout.empty() : pythonClass.getInstanceObjectLayout();
         allocateSpillArray();
         assert verifyLayout();
+
+        PythonObjectAllocationInstrumentor.allocated(this);
     }
 
     public final PythonClass getPythonClass() {
@@ -150,6 +153,10 @@ public abstract class PythonObject implements Comparable<Object> {
              * It doesn't exist, so create a new layout for the class that includes it and update
              * the layout of this object.
              */
+            if (PythonOptions.TraceRewrites || PythonOptions.Metrics) {
+                traceLayoutInvalidation("+" + name);
+            }
+
             updateLayout(objectLayout.addAttribute(name, value.getClass()));
             storageLocation = objectLayout.findStorageLocation(name);
         }
@@ -162,6 +169,10 @@ public abstract class PythonObject implements Comparable<Object> {
              * It might not be able to store the type that we passed, if not generalize the class's
              * layout and update the layout of this object.
              */
+            if (PythonOptions.TraceRewrites || PythonOptions.Metrics) {
+                traceLayoutInvalidation("!" + name);
+            }
+
             updateLayout(objectLayout.generalizedAttribute(name));
             storageLocation = objectLayout.findStorageLocation(name);
 
@@ -182,12 +193,26 @@ public abstract class PythonObject implements Comparable<Object> {
         StorageLocation storageLocation = objectLayout.findStorageLocation(name);
 
         if (storageLocation == null) {
-            throw Py.AttributeError(this + " object has no attribute " + name);
+            throw PythonErrors.AttributeError(this + " object has no attribute " + name);
+        }
+
+        if (PythonOptions.TraceRewrites || PythonOptions.Metrics) {
+            traceLayoutInvalidation("-" + name);
         }
 
         updateLayout(objectLayout.deleteAttribute(name));
     }
 
+    private void traceLayoutInvalidation(String change) {
+        if (PythonOptions.TraceRewrites) {
+            RewriteTracer.getInstance().layoutInvalidated(pythonClass == null ? getClass().getSimpleName() : pythonClass.getName(), change);
+        }
+
+        if (PythonOptions.Metrics) {
+            PythonMetrics.count(pythonClass == null ? null : pythonClass.getContext(), PythonMetrics.Counter.LAYOUT_TRANSITIONS);
+        }
+    }
+
     public void migrateTo(PythonObject to) {
         // Get the current values of instance variables
         final Map<String, Object> instanceVariableMap = getAttributes();
@@ -1,7 +1,30 @@
 package edu.uci.python.runtime.object;
 
+import java.io.*;
+import java.lang.reflect.*;
+import java.util.*;
+
 import org.github.jamm.*;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.*;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.iterator.*;
+import edu.uci.python.runtime.profiler.*;
+import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.sequence.storage.*;
+
+/**
+ * Measures object storage allocations with {@link PythonOptions#InstrumentObjectStorageAllocation},
+ * and with {@link PythonOptions#ProfileAllocations} attributes lists, tuples, dicts, objects and
+ * iterators to the statement that allocates them, see {@link ShadowStack}.
+ *
+ * Sizes of the latter are estimates from the fields of the allocated classes and the length of their
+ * backing arrays at allocation time, assuming compressed references, so they stay cheap enough to
+ * take for every allocation.
+ */
 public class PythonObjectAllocationInstrumentor {
 
     public static long FixedStorageAllocationSize = 0;
@@ -10,16 +33,43 @@ public class PythonObjectAllocationInstrumentor {
     private long fixedObjectStorageSize = 0;
     private long flexibleObjectStorageSize = 0;
 
-    private static PythonObjectAllocationInstrumentor INSTANCE;
+    private static final PythonObjectAllocationInstrumentor INSTANCE = new PythonObjectAllocationInstrumentor();
 
-    public static PythonObjectAllocationInstrumentor getInstance() {
-        if (INSTANCE == null) {
-            INSTANCE = new PythonObjectAllocationInstrumentor();
+    private static final ClassValue<Long> shallowSizes = new ClassValue<Long>() {
+
+        @Override
+        protected Long computeValue(Class<?> type) {
+            long size = 12;
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        size += fieldSize(field.getType());
+                    }
+                }
+            }
+
+            return align(size);
         }
 
+    };
+
+    private final Map<Node, Map<String, long[]>> sites = new IdentityHashMap<>();
+    private final Map<String, long[]> kinds = new HashMap<>();
+    private final Map<String, long[]> unattributed = new HashMap<>();
+
+    public static PythonObjectAllocationInstrumentor getInstance() {
         return INSTANCE;
     }
 
+    /**
+     * Called by the constructors of profiled objects once they are fully initialized.
+     */
+    public static void allocated(Object obj) {
+        if (PythonOptions.ProfileAllocations) {
+            INSTANCE.instrumentAllocation(obj);
+        }
+    }
+
     private PythonObjectAllocationInstrumentor() {
     }
 
@@ -41,6 +91,184 @@ public class PythonObjectAllocationInstrumentor {
         FlexibleStorageAllocationSize += flexibleObjectStorageSize;
     }
 
+    /**
+     * Counts {@code obj} towards its storage kind and the statement the current thread executes.
+     */
+    @TruffleBoundary
+    public void instrumentAllocation(Object obj) {
+        String kind = getStorageKind(obj);
+        long bytes = estimateSize(obj);
+        Node site = ShadowStack.currentSite();
+
+        synchronized (this) {
+            count(kinds, kind, bytes);
+
+            if (site == null) {
+                count(unattributed, kind, bytes);
+            } else {
+                Map<String, long[]> kindsAtSite = sites.get(site);
+                if (kindsAtSite == null) {
+                    kindsAtSite = new HashMap<>();
+                    sites.put(site, kindsAtSite);
+                }
+
+                count(kindsAtSite, kind, bytes);
+            }
+        }
+    }
+
+    private static void count(Map<String, long[]> counts, String kind, long bytes) {
+        long[] count = counts.get(kind);
+        if (count == null) {
+            count = new long[2];
+            counts.put(kind, count);
+        }
+
+        count[0]++;
+        count[1] += bytes;
+    }
+
+    private static String getStorageKind(Object obj) {
+        if (obj instanceof PList) {
+            return "list " + ((PList) obj).getStorage().getClass().getSimpleName();
+        } else if (obj instanceof PTuple) {
+            return "tuple";
+        } else if (obj instanceof PDict) {
+            return "dict " + ((PDict) obj).getStorage().getClass().getSimpleName();
+        } else if (obj instanceof PythonObject) {
+            return "object " + obj.getClass().getSimpleName();
+        } else if (obj instanceof PIterator) {
+            return "iterator " + obj.getClass().getSimpleName();
+        }
+
+        return obj.getClass().getSimpleName();
+    }
+
+    /**
+     * The bytes an allocation of {@code obj} is counted with: its shallow size plus the arrays its
+     * storage holds at the time.
+     */
+    public static long estimateSize(Object obj) {
+        long size = shallowSizes.get(obj.getClass());
+
+        if (obj instanceof PList) {
+            SequenceStorage storage = ((PList) obj).getStorage();
+            size += shallowSizes.get(storage.getClass()) + arraySize(storage.length(), elementSize(storage));
+        } else if (obj instanceof PTuple) {
+            size += arraySize(((PTuple) obj).len(), 4);
+        } else if (obj instanceof PDict) {
+            size += shallowSizes.get(((PDict) obj).getStorage().getClass());
+        } else if (obj instanceof PythonObject) {
+            Object[] spill = ((PythonObject) obj).getSpillArray();
+            size += spill == null ? 0 : arraySize(spill.length, 4);
+        }
+
+        return size;
+    }
+
+    private static int elementSize(SequenceStorage storage) {
+        if (storage instanceof IntSequenceStorage) {
+            return 4;
+        } else if (storage instanceof LongSequenceStorage || storage instanceof DoubleSequenceStorage) {
+            return 8;
+        } else if (storage instanceof BoolSequenceStorage) {
+            return 1;
+        }
+
+        return 4;
+    }
+
+    private static int fieldSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == boolean.class || type == byte.class) {
+            return 1;
+        } else if (type == char.class || type == short.class) {
+            return 2;
+        }
+
+        return 4;
+    }
+
+    private static long arraySize(int length, int elementSize) {
+        return align(16 + (long) length * elementSize);
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+    /**
+     * Prints the estimated bytes per storage kind and the {@code topN} allocation sites by bytes.
+     */
+    public synchronized void printAllocationSites(PrintStream out, int topN) {
+        long totalCount = 0;
+        long totalBytes = 0;
+        for (long[] count : kinds.values()) {
+            totalCount += count[0];
+            totalBytes += count[1];
+        }
+
+        out.println("[ZipPy] allocation profile: " + totalCount + " allocations, " + totalBytes + " bytes estimated");
+        out.println(String.format("%10s %12s  %s", "count", "bytes", "storage kind"));
+        for (Map.Entry<String, long[]> entry : sortedByBytes(kinds)) {
+            out.println(String.format("%10d %12d  %s", entry.getValue()[0], entry.getValue()[1], entry.getKey()));
+        }
+
+        Map<String, long[]> bySite = new HashMap<>();
+        for (Map.Entry<Node, Map<String, long[]>> site : sites.entrySet()) {
+            String location = describeSite(site.getKey());
+            for (Map.Entry<String, long[]> kind : site.getValue().entrySet()) {
+                long[] count = kind.getValue();
+                long[] merged = bySite.get(location + "  " + kind.getKey());
+                if (merged == null) {
+                    bySite.put(location + "  " + kind.getKey(), new long[]{count[0], count[1]});
+                } else {
+                    merged[0] += count[0];
+                    merged[1] += count[1];
+                }
+            }
+        }
+
+        for (Map.Entry<String, long[]> kind : unattributed.entrySet()) {
+            bySite.put("<runtime>  " + kind.getKey(), kind.getValue());
+        }
+
+        out.println(String.format("%10s %12s  %s", "count", "bytes", "allocation site"));
+        List<Map.Entry<String, long[]>> sortedSites = sortedByBytes(bySite);
+        for (Map.Entry<String, long[]> entry : sortedSites.subList(0, Math.min(topN, sortedSites.size()))) {
+            out.println(String.format("%10d %12d  %s", entry.getValue()[0], entry.getValue()[1], entry.getKey()));
+        }
+    }
+
+    public synchronized void resetAllocationSites() {
+        sites.clear();
+        kinds.clear();
+        unattributed.clear();
+    }
+
+    private static String describeSite(Node site) {
+        RootNode root = site.getRootNode();
+        if (root == null) {
+            return "<unknown>";
+        }
+
+        Node location = site == root ? null : site;
+        return SamplingProfiler.getSourceLocation(root, location) + " in " + SamplingProfiler.getFunctionName(root);
+    }
+
+    private static List<Map.Entry<String, long[]>> sortedByBytes(Map<String, long[]> counts) {
+        List<Map.Entry<String, long[]>> entries = new ArrayList<>(counts.entrySet());
+        Collections.sort(entries, new Comparator<Map.Entry<String, long[]>>() {
+
+            public int compare(Map.Entry<String, long[]> a, Map.Entry<String, long[]> b) {
+                return Long.compare(b.getValue()[1], a.getValue()[1]);
+            }
+
+        });
+        return entries;
+    }
+
     public void printAllocations() {
         System.out.println("[ZipPy] allocated FixedObjectStorage " + FixedStorageAllocationSize + " byte");
         System.out.println("[ZipPy] allocated FlexibleObjectStorage " + FlexibleStorageAllocationSize + " byte");
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.profiler;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Writes a sampled call tree as an indented text tree, as collapsed stacks for flame graph tools,
+ * or as JSON. Times are in milliseconds: inclusive time counts the samples that found a function
+ * anywhere below its caller chain, exclusive time only those that found it on top.
+ */
+public final class ProfileExporter {
+
+    private static final Comparator<SampleNode> BY_TOTAL_TIME = new Comparator<SampleNode>() {
+
+        public int compare(SampleNode a, SampleNode b) {
+            return Long.compare(b.getTotalSamples(), a.getTotalSamples());
+        }
+
+    };
+
+    private final SampleNode callTree;
+    private final long interval;
+
+    public ProfileExporter(SampleNode callTree, long interval) {
+        this.callTree = callTree;
+        this.interval = interval;
+    }
+
+    public void printCallTree(PrintStream out) {
+        out.println(String.format("%10s %10s  %s", "incl ms", "excl ms", "call tree"));
+        for (SampleNode child : sortedChildren(callTree)) {
+            printCallTree(out, child, "");
+        }
+    }
+
+    private void printCallTree(PrintStream out, SampleNode node, String indent) {
+        out.println(String.format("%10d %10d  %s%s (%s)", node.getTotalSamples() * interval, node.getSelfSamples() * interval, indent, node.getName(), node.getSourceLocation()));
+        for (SampleNode child : sortedChildren(node)) {
+            printCallTree(out, child, indent + "  ");
+        }
+    }
+
+    /**
+     * One line per sampled stack, its frames separated by semicolons and followed by the number of
+     * samples.
+     */
+    public void writeCollapsedStacks(PrintStream out) {
+        for (SampleNode child : callTree.getChildren()) {
+            writeCollapsedStacks(out, child, "");
+        }
+    }
+
+    private static void writeCollapsedStacks(PrintStream out, SampleNode node, String prefix) {
+        String stack = prefix + node.getName() + " (" + node.getSourceLocation() + ")";
+        if (node.getSelfSamples() > 0) {
+            out.println(stack + " " + node.getSelfSamples());
+        }
+
+        for (SampleNode child : node.getChildren()) {
+            writeCollapsedStacks(out, child, stack + ";");
+        }
+    }
+
+    /**
+     * Writes the tree as one JSON object: the sampling interval, the number of samples and the
+     * outermost frames, each with its name, location, times and callees.
+     */
+    public void writeJson(PrintStream out) {
+        out.print("{\"interval_ms\":" + interval + ",\"samples\":" + callTree.getTotalSamples() + ",\"calls\":");
+        writeJsonChildren(out, callTree);
+        out.println("}");
+    }
+
+    private void writeJsonChildren(PrintStream out, SampleNode node) {
+        out.print('[');
+        boolean first = true;
+        for (SampleNode child : sortedChildren(node)) {
+            if (!first) {
+                out.print(',');
+            }
+
+            first = false;
+            out.print("{\"name\":");
+            writeJsonString(out, child.getName());
+            out.print(",\"location\":");
+            writeJsonString(out, child.getSourceLocation());
+            out.print(",\"inclusive_ms\":" + child.getTotalSamples() * interval);
+            out.print(",\"exclusive_ms\":" + child.getSelfSamples() * interval);
+            out.print(",\"calls\":");
+            writeJsonChildren(out, child);
+            out.print('}');
+        }
+
+        out.print(']');
+    }
+
+    private static void writeJsonString(PrintStream out, String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2);
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+
+        sb.append('"');
+        out.print(sb);
+    }
+
+    private static List<SampleNode> sortedChildren(SampleNode node) {
+        List<SampleNode> children = new ArrayList<>(node.getChildren());
+        Collections.sort(children, BY_TOTAL_TIME);
+        return children;
+    }
+
+}
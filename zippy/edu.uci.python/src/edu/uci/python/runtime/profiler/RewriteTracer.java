@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.profiler;
+
+import java.io.*;
+import java.util.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.RootNode;
+
+import edu.uci.python.runtime.PythonOptions;
+
+/**
+ * Records node rewrites, sequence, set and dict storage generalizations, and object layout
+ * invalidations with {@link PythonOptions#TraceRewrites}, keyed by the source location they happen
+ * at, and ranks the sites at exit.
+ *
+ * Rewrites are reported by the Python roots, which observe every replace below them. Each one
+ * invalidates compiled code of the root, so a site that keeps rewriting is a site that keeps
+ * deoptimizing. A site counts as megamorphic once it rewrote to a generic node, and as polymorphic
+ * once it rewrote to a polymorphic one.
+ */
+public final class RewriteTracer {
+
+    private static final RewriteTracer INSTANCE = new RewriteTracer();
+
+    private final Map<String, Site> sites = new HashMap<>();
+    private long rewrites;
+    private long generalizations;
+    private long invalidations;
+
+    private RewriteTracer() {
+    }
+
+    public static RewriteTracer getInstance() {
+        return INSTANCE;
+    }
+
+    @TruffleBoundary
+    public synchronized void nodeReplaced(Node oldNode, Node newNode, CharSequence reason) {
+        rewrites++;
+        Site site = getSite(describe(newNode));
+        String from = getNodeName(oldNode);
+        String to = getNodeName(newNode);
+        site.rewrites++;
+        site.specializations.add(to);
+        site.lastTransition = from + " -> " + to + (reason == null || reason.length() == 0 ? "" : " (" + reason + ")");
+
+        if (to.contains("Generic")) {
+            site.megamorphic = true;
+        } else if (to.contains("Polymorphic")) {
+            site.polymorphic = true;
+        }
+    }
+
+    @TruffleBoundary
+    public synchronized void storageGeneralized(Object storage, String generalizedTo) {
+        generalizations++;
+        Site site = getSite(describe(ShadowStack.currentSite()));
+        site.generalizations++;
+        site.lastTransition = storage.getClass().getSimpleName() + " -> " + generalizedTo;
+    }
+
+    @TruffleBoundary
+    public synchronized void layoutInvalidated(String layout, String change) {
+        invalidations++;
+        Site site = getSite(describe(ShadowStack.currentSite()));
+        site.invalidations++;
+        site.lastTransition = "layout of " + layout + " " + change;
+    }
+
+    private Site getSite(String location) {
+        Site site = sites.get(location);
+        if (site == null) {
+            site = new Site(location);
+            sites.put(location, site);
+        }
+
+        return site;
+    }
+
+    /**
+     * The location of {@code node}, or of its closest ancestor with a source section.
+     */
+    private static String describe(Node node) {
+        if (node == null) {
+            return "<runtime>";
+        }
+
+        Node current = node;
+        while (current != null && !(current instanceof RootNode) && current.getSourceSection() == null) {
+            current = current.getParent();
+        }
+
+        RootNode root = node.getRootNode();
+        if (root == null) {
+            return "<detached " + getNodeName(node) + ">";
+        }
+
+        Node location = current == null || current instanceof RootNode ? null : current;
+        return SamplingProfiler.getSourceLocation(root, location) + " in " + SamplingProfiler.getFunctionName(root);
+    }
+
+    private static String getNodeName(Node node) {
+        Class<?> nodeClass = node.getClass();
+        Class<?> enclosing = nodeClass.getEnclosingClass();
+        return enclosing == null ? nodeClass.getSimpleName() : enclosing.getSimpleName() + "." + nodeClass.getSimpleName();
+    }
+
+    public synchronized void reset() {
+        sites.clear();
+        rewrites = 0;
+        generalizations = 0;
+        invalidations = 0;
+    }
+
+    /**
+     * Prints the {@code topN} sites that did more than specialize once, megamorphic and polymorphic
+     * ones first, then by their number of events.
+     */
+    public synchronized void printReport(PrintStream out, int topN) {
+        out.println("[ZipPy] rewrite trace: " + rewrites + " node rewrites, " + generalizations + " storage generalizations, " + invalidations + " layout invalidations");
+        out.println(String.format("%9s %9s %9s  %-12s %s", "rewrites", "storage", "layout", "state", "site"));
+
+        List<Site> ranked = new ArrayList<>();
+        for (Site site : sites.values()) {
+            // a single rewrite is a node specializing once, which every site does
+            if (site.rank() > 0 || site.rewrites > 1 || site.generalizations > 0 || site.invalidations > 0) {
+                ranked.add(site);
+            }
+        }
+
+        Collections.sort(ranked, new Comparator<Site>() {
+
+            public int compare(Site a, Site b) {
+                int byState = Integer.compare(b.rank(), a.rank());
+                return byState != 0 ? byState : Long.compare(b.events(), a.events());
+            }
+
+        });
+
+        for (Site site : ranked.subList(0, Math.min(topN, ranked.size()))) {
+            out.println(String.format("%9d %9d %9d  %-12s %s", site.rewrites, site.generalizations, site.invalidations, site.state(), site.location));
+            out.println(String.format("%43s %d specializations, last %s", "", site.specializations.size(), site.lastTransition));
+        }
+    }
+
+    private static final class Site {
+
+        private final String location;
+        private final Set<String> specializations = new HashSet<>();
+        private long rewrites;
+        private long generalizations;
+        private long invalidations;
+        private boolean megamorphic;
+        private boolean polymorphic;
+        private String lastTransition;
+
+        Site(String location) {
+            this.location = location;
+        }
+
+        long events() {
+            return rewrites + generalizations + invalidations;
+        }
+
+        int rank() {
+            return megamorphic ? 2 : polymorphic ? 1 : 0;
+        }
+
+        String state() {
+            return megamorphic ? "megamorphic" : polymorphic ? "polymorphic" : "unstable";
+        }
+
+    }
+
+}
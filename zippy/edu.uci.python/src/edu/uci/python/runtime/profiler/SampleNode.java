@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.profiler;
+
+import java.util.*;
+
+import com.oracle.truffle.api.nodes.RootNode;
+
+/**
+ * A node of the call tree the {@link SamplingProfiler} builds, one per distinct Python stack prefix.
+ */
+public final class SampleNode {
+
+    private final RootNode root;
+    private final Map<RootNode, SampleNode> children = new LinkedHashMap<>();
+    private long selfSamples;
+    private long totalSamples;
+
+    SampleNode(RootNode root) {
+        this.root = root;
+    }
+
+    /**
+     * The function or module this node stands for, null for the root of the tree.
+     */
+    public RootNode getRootNode() {
+        return root;
+    }
+
+    public String getName() {
+        return root == null ? "<root>" : SamplingProfiler.getFunctionName(root);
+    }
+
+    /**
+     * Where the function is defined, as {@code file:line}.
+     */
+    public String getSourceLocation() {
+        return root == null ? "" : SamplingProfiler.getSourceLocation(root, null);
+    }
+
+    /**
+     * Samples that found this node at the top of the stack.
+     */
+    public long getSelfSamples() {
+        return selfSamples;
+    }
+
+    /**
+     * Samples that found this node anywhere on the stack.
+     */
+    public long getTotalSamples() {
+        return totalSamples;
+    }
+
+    public Collection<SampleNode> getChildren() {
+        return children.values();
+    }
+
+    SampleNode child(RootNode childRoot) {
+        SampleNode child = children.get(childRoot);
+        if (child == null) {
+            child = new SampleNode(childRoot);
+            children.put(childRoot, child);
+        }
+
+        return child;
+    }
+
+    void addSelf() {
+        selfSamples++;
+    }
+
+    void addTotal() {
+        totalSamples++;
+    }
+
+}
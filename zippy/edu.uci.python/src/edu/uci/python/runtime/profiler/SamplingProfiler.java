@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.profiler;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.source.SourceSection;
+
+import edu.uci.python.nodes.ModuleNode;
+import edu.uci.python.nodes.function.FunctionRootNode;
+import edu.uci.python.runtime.PythonOptions;
+
+/**
+ * Samples the {@link ShadowStack} of every thread running Python code every
+ * {@link PythonOptions#ProfileSamplingInterval} milliseconds, on a thread of its own.
+ *
+ * Unlike the wrapper based profiler, the profiled code only pushes and pops a frame per call and
+ * records the statement a block is at, so hot loops keep their shape in compiled code. Each sample
+ * counts as one interval of time for the function and line at the top of the stack (self time) and
+ * once for every distinct function and line on the stack (total time).
+ */
+public final class SamplingProfiler {
+
+    private static final SamplingProfiler INSTANCE = new SamplingProfiler();
+
+    private final List<ShadowStack> stacks = new CopyOnWriteArrayList<>();
+    private Thread sampler;
+
+    private SampleNode callTree = new SampleNode(null);
+    private final Map<RootNode, long[]> functions = new LinkedHashMap<>();
+    private final Map<String, long[]> lines = new LinkedHashMap<>();
+    private long samples;
+
+    private RootNode[] sampledRoots = new RootNode[64];
+    private Node[] sampledLocations = new Node[64];
+    private String[] sampledLines = new String[64];
+
+    private SamplingProfiler() {
+    }
+
+    public static SamplingProfiler getInstance() {
+        return INSTANCE;
+    }
+
+    synchronized void register(ShadowStack stack) {
+        stacks.add(stack);
+    }
+
+    /**
+     * Starts the sampler thread, unless it already runs. Only {@link ShadowStack#updateTracking()}
+     * calls this, when {@link PythonOptions#ProfileSampling} is set.
+     */
+    synchronized void start() {
+        if (sampler == null) {
+            sampler = new Thread(new Runnable() {
+
+                public void run() {
+                    sampleLoop();
+                }
+
+            }, "zippy-sampling-profiler");
+            sampler.setDaemon(true);
+            sampler.start();
+        }
+    }
+
+    private void sampleLoop() {
+        long interval = getInterval();
+        while (true) {
+            try {
+                Thread.sleep(interval);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            if (!PythonOptions.ProfileSampling) {
+                continue;
+            }
+
+            for (ShadowStack stack : stacks) {
+                if (!stack.isAlive()) {
+                    stacks.remove(stack);
+                } else {
+                    sample(stack);
+                }
+            }
+        }
+    }
+
+    private synchronized void sample(ShadowStack stack) {
+        int capacity = stack.getDepth();
+        if (capacity > sampledRoots.length) {
+            capacity = Math.max(capacity, sampledRoots.length * 2);
+            sampledRoots = new RootNode[capacity];
+            sampledLocations = new Node[capacity];
+            sampledLines = new String[capacity];
+        }
+
+        int depth = stack.sample(sampledRoots, sampledLocations);
+        for (int i = 0; i < depth; i++) {
+            if (sampledRoots[i] == null) {
+                depth = i;
+                break;
+            }
+        }
+
+        if (depth == 0) {
+            return;
+        }
+
+        samples++;
+        SampleNode node = callTree;
+        node.addTotal();
+
+        for (int i = 0; i < depth; i++) {
+            RootNode root = sampledRoots[i];
+            String line = getSourceLocation(root, sampledLocations[i]);
+            sampledLines[i] = line;
+            boolean top = i == depth - 1;
+
+            node = node.child(root);
+            node.addTotal();
+            if (top) {
+                node.addSelf();
+            }
+
+            boolean firstOfFunction = !containsBefore(sampledRoots, root, i);
+            if (top || firstOfFunction) {
+                count(functions, root, top, firstOfFunction);
+            }
+
+            boolean firstOfLine = !containsBefore(sampledLines, line, i);
+            if (top || firstOfLine) {
+                count(lines, line, top, firstOfLine);
+            }
+        }
+    }
+
+    private static boolean containsBefore(Object[] frames, Object value, int end) {
+        for (int i = 0; i < end; i++) {
+            if (frames[i].equals(value)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static <K> void count(Map<K, long[]> counts, K key, boolean self, boolean total) {
+        long[] count = counts.get(key);
+        if (count == null) {
+            count = new long[2];
+            counts.put(key, count);
+        }
+
+        if (self) {
+            count[0]++;
+        }
+
+        if (total) {
+            count[1]++;
+        }
+    }
+
+    public synchronized long getSampleCount() {
+        return samples;
+    }
+
+    /**
+     * The root of the call tree sampled so far. Its children are the outermost frames.
+     */
+    public synchronized SampleNode getCallTree() {
+        return callTree;
+    }
+
+    public synchronized void reset() {
+        callTree = new SampleNode(null);
+        functions.clear();
+        lines.clear();
+        samples = 0;
+    }
+
+    public synchronized void printProfile(PrintStream out) {
+        long interval = getInterval();
+        out.println("[ZipPy] sampling profile: " + samples + " samples every " + interval + " ms");
+
+        List<Map.Entry<RootNode, long[]>> byFunction = new ArrayList<>(functions.entrySet());
+        Collections.sort(byFunction, new BySelfTime<RootNode>());
+        out.println(String.format("%10s %10s  %s", "self ms", "total ms", "function"));
+        for (Map.Entry<RootNode, long[]> entry : byFunction) {
+            RootNode root = entry.getKey();
+            String name = getFunctionName(root) + " (" + getSourceLocation(root, null) + ")";
+            out.println(String.format("%10d %10d  %s", entry.getValue()[0] * interval, entry.getValue()[1] * interval, name));
+        }
+
+        List<Map.Entry<String, long[]>> byLine = new ArrayList<>(lines.entrySet());
+        Collections.sort(byLine, new BySelfTime<String>());
+        out.println(String.format("%10s %10s  %s", "self ms", "total ms", "line"));
+        for (Map.Entry<String, long[]> entry : byLine) {
+            out.println(String.format("%10d %10d  %s", entry.getValue()[0] * interval, entry.getValue()[1] * interval, entry.getKey()));
+        }
+    }
+
+    public synchronized void printCallTree(PrintStream out) {
+        new ProfileExporter(callTree, getInterval()).printCallTree(out);
+    }
+
+    /**
+     * Writes one line per sampled stack, the input format of flame graph tools.
+     */
+    public synchronized void writeCollapsedStacks(PrintStream out) {
+        new ProfileExporter(callTree, getInterval()).writeCollapsedStacks(out);
+    }
+
+    public synchronized void writeJson(PrintStream out) {
+        new ProfileExporter(callTree, getInterval()).writeJson(out);
+    }
+
+    /**
+     * Prints the profile, and the call tree with {@link PythonOptions#ProfileSamplingCallTree}, then
+     * writes the collapsed stacks and the JSON export to the files the options name.
+     */
+    public void report() {
+        printProfile(System.out);
+
+        if (PythonOptions.ProfileSamplingCallTree) {
+            printCallTree(System.out);
+        }
+
+        String collapsedStacks = PythonOptions.ProfileSamplingCollapsedStacks;
+        if (collapsedStacks != null) {
+            try (PrintStream out = new PrintStream(new FileOutputStream(collapsedStacks))) {
+                writeCollapsedStacks(out);
+            } catch (IOException e) {
+                System.err.println("[ZipPy] could not write collapsed stacks to " + collapsedStacks + ": " + e.getMessage());
+            }
+        }
+
+        String json = PythonOptions.ProfileSamplingJson;
+        if (json != null) {
+            try (PrintStream out = new PrintStream(new FileOutputStream(json))) {
+                writeJson(out);
+            } catch (IOException e) {
+                System.err.println("[ZipPy] could not write profile to " + json + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static long getInterval() {
+        return Math.max(1, PythonOptions.ProfileSamplingInterval);
+    }
+
+    public static String getFunctionName(RootNode root) {
+        if (root instanceof FunctionRootNode) {
+            return ((FunctionRootNode) root).getFunctionName();
+        } else if (root instanceof ModuleNode) {
+            return ((ModuleNode) root).getName();
+        }
+
+        return root.toString();
+    }
+
+    /**
+     * The {@code file:line} of {@code location}, or of the function if the location is unknown.
+     */
+    public static String getSourceLocation(RootNode root, Node location) {
+        SourceSection section = location == null ? null : location.getSourceSection();
+        if (section == null) {
+            section = root.getSourceSection();
+        }
+
+        if (section == null || section.getSource() == null) {
+            return "<unknown>";
+        }
+
+        return section.getSource().getName() + ":" + section.getStartLine();
+    }
+
+    private static final class BySelfTime<K> implements Comparator<Map.Entry<K, long[]>> {
+
+        public int compare(Map.Entry<K, long[]> a, Map.Entry<K, long[]> b) {
+            int bySelf = Long.compare(b.getValue()[0], a.getValue()[0]);
+            return bySelf != 0 ? bySelf : Long.compare(b.getValue()[1], a.getValue()[1]);
+        }
+
+    }
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.profiler;
+
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.RootNode;
+
+import edu.uci.python.runtime.PythonOptions;
+
+/**
+ * The Python-level stack of one thread as the {@link SamplingProfiler} sees it.
+ *
+ * ZipPy nodes carry no instrumentation wrappers, so instead of attaching to the
+ * {@code RootTag}, {@code CallTag} and {@code StatementTag} nodes {@link edu.uci.python.PythonLanguage}
+ * declares, the same places report to this stack directly: function and module roots push a frame
+ * and blocks record the statement they are about to run. The owning thread only writes two array
+ * slots and the depth; the sampler thread copies the frames below the depth it reads.
+ */
+public final class ShadowStack {
+
+    private static final ThreadLocal<ShadowStack> current = new ThreadLocal<ShadowStack>() {
+
+        @Override
+        protected ShadowStack initialValue() {
+            ShadowStack stack = new ShadowStack(Thread.currentThread());
+            SamplingProfiler.getInstance().register(stack);
+            return stack;
+        }
+
+    };
+
+    /**
+     * Valid until a profiler that needs the stacks is enabled, so that compiled roots and blocks do
+     * not read the profiler flags on every call and statement.
+     */
+    private static final Assumption notTracking = Truffle.getRuntime().createAssumption("shadow stack not tracked");
+
+    private final Thread owner;
+    private RootNode[] roots = new RootNode[32];
+    private Node[] locations = new Node[32];
+    private volatile int depth;
+
+    private ShadowStack(Thread owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Whether roots and blocks report to their thread's stack, which the sampling and the
+     * allocation profiler and the rewrite tracer need.
+     */
+    public static boolean isTracking() {
+        return !notTracking.isValid() && (PythonOptions.ProfileSampling || PythonOptions.ProfileAllocations || PythonOptions.TraceRewrites);
+    }
+
+    /**
+     * Called when a context is created. Enabling a profiler takes effect for the contexts created
+     * after it; once enabled, the flags are read again on every check.
+     */
+    public static void updateTracking() {
+        if (PythonOptions.ProfileSampling || PythonOptions.ProfileAllocations || PythonOptions.TraceRewrites) {
+            notTracking.invalidate();
+        }
+
+        if (PythonOptions.ProfileSampling) {
+            SamplingProfiler.getInstance().start();
+        }
+    }
+
+    @TruffleBoundary
+    public static ShadowStack enter(RootNode root) {
+        ShadowStack stack = current.get();
+        stack.push(root);
+        return stack;
+    }
+
+    /**
+     * Records the statement the innermost frame of the current thread is executing.
+     */
+    @TruffleBoundary
+    public static void at(Node statement) {
+        ShadowStack stack = current.get();
+        int top = stack.depth - 1;
+        if (top >= 0) {
+            stack.locations[top] = statement;
+        }
+    }
+
+    /**
+     * The statement the innermost frame of the current thread executes, or its root if no block
+     * reported one yet, or null outside of Python code.
+     */
+    @TruffleBoundary
+    public static Node currentSite() {
+        ShadowStack stack = current.get();
+        int top = stack.depth - 1;
+        if (top < 0) {
+            return null;
+        }
+
+        Node location = stack.locations[top];
+        return location != null ? location : stack.roots[top];
+    }
+
+    @TruffleBoundary
+    public void exit() {
+        int top = depth - 1;
+        roots[top] = null;
+        locations[top] = null;
+        depth = top;
+    }
+
+    private void push(RootNode root) {
+        int top = depth;
+        if (top == roots.length) {
+            RootNode[] newRoots = new RootNode[top * 2];
+            Node[] newLocations = new Node[top * 2];
+            System.arraycopy(roots, 0, newRoots, 0, top);
+            System.arraycopy(locations, 0, newLocations, 0, top);
+            roots = newRoots;
+            locations = newLocations;
+        }
+
+        roots[top] = root;
+        locations[top] = null;
+        depth = top + 1;
+    }
+
+    int getDepth() {
+        return depth;
+    }
+
+    boolean isAlive() {
+        return owner.isAlive();
+    }
+
+    /**
+     * Copies the frames, outermost first, into {@code sampledRoots} and {@code sampledLocations}
+     * and returns how many there are. Frames the owner popped while copying may read as null.
+     */
+    int sample(RootNode[] sampledRoots, Node[] sampledLocations) {
+        int sampledDepth = depth;
+        RootNode[] currentRoots = roots;
+        Node[] currentLocations = locations;
+        sampledDepth = Math.min(sampledDepth, Math.min(currentRoots.length, currentLocations.length));
+        sampledDepth = Math.min(sampledDepth, sampledRoots.length);
+
+        for (int i = 0; i < sampledDepth; i++) {
+            sampledRoots[i] = currentRoots[i];
+            sampledLocations[i] = currentLocations[i];
+        }
+
+        return sampledDepth;
+    }
+
+}
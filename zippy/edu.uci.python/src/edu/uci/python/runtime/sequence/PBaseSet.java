@@ -24,32 +24,31 @@
  */
 package edu.uci.python.runtime.sequence;
 
-import java.util.*;
-
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 
 import edu.uci.python.runtime.datatype.*;
 import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.iterator.*;
+import edu.uci.python.runtime.sequence.storage.*;
 import edu.uci.python.runtime.standardtype.*;
 
 public abstract class PBaseSet extends PythonBuiltinObject implements PIterable {
 
-    protected final TreeSet<Object> set;
+    protected SetStorage storage;
 
     public PBaseSet() {
-        this.set = new TreeSet<>();
+        this.storage = EmptySetStorage.INSTANCE;
     }
 
-    public PBaseSet(TreeSet<Object> elements) {
-        this.set = elements;
+    public PBaseSet(SetStorage storage) {
+        this.storage = storage;
     }
 
     public PBaseSet(PIterator iter) {
         this();
         try {
             while (true) {
-                this.set.add(iter.__next__());
+                addItem(iter.__next__());
             }
         } catch (StopIterationException e) {
             // fall through
@@ -57,30 +56,57 @@ public abstract class PBaseSet extends PythonBuiltinObject implements PIterable
     }
 
     public PBaseSet(PBaseSet baseSet) {
-        this();
-        addAll(baseSet);
-    }
-
-    @TruffleBoundary
-    private void addAll(PBaseSet baseSet) {
-        this.set.addAll(baseSet.set);
+        this(baseSet.storage.copy());
     }
 
-    public Set<Object> getSet() {
-        return set;
+    public final SetStorage getStorage() {
+        return storage;
     }
 
     public PIterator __iter__() {
-        return new PBaseSetIterator(set.iterator());
+        return new PBaseSetIterator(storage);
     }
 
     public final boolean contains(Object o) {
-        return this.set.contains(o);
+        return storage.contains(o);
+    }
+
+    /**
+     * Adds the value, generalizing the storage if it cannot hold it.
+     */
+    protected final boolean addItem(Object value) {
+        try {
+            return storage.add(value);
+        } catch (SequenceStoreException e) {
+            storage = storage.generalizeFor(value);
+
+            try {
+                return storage.add(value);
+            } catch (SequenceStoreException e1) {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    @TruffleBoundary
+    private void addAll(SetStorage other) {
+        if (storage instanceof IntSetStorage && other instanceof IntSetStorage) {
+            ((IntSetStorage) storage).addAllInts((IntSetStorage) other);
+            return;
+        }
+
+        for (int i = 0; i < other.getSlotCount(); i++) {
+            final Object item = other.getSlotItem(i);
+
+            if (item != null) {
+                addItem(item);
+            }
+        }
     }
 
     // disjoint
     public boolean isDisjoint(PBaseSet other) {
-        return Collections.disjoint(this.set, other.set);
+        return storage.isDisjointWith(other.storage);
     }
 
     @SuppressWarnings("unused")
@@ -94,12 +120,7 @@ public abstract class PBaseSet extends PythonBuiltinObject implements PIterable
             return false;
         }
 
-        for (Object p : this.set) {
-            if (!other.set.contains(p)) {
-                return false;
-            }
-        }
-        return true;
+        return storage.isSubsetOf(other.storage);
     }
 
     public boolean isSubset(PIterator other) {
@@ -127,7 +148,7 @@ public abstract class PBaseSet extends PythonBuiltinObject implements PIterable
     // union
     public PBaseSet union(PBaseSet other) {
         PBaseSet newSet = cloneThisSet();
-        newSet.set.addAll(other.set);
+        newSet.addAll(other.storage);
         return newSet;
     }
 
@@ -137,10 +158,20 @@ public abstract class PBaseSet extends PythonBuiltinObject implements PIterable
 
     // intersection
     public PBaseSet intersection(PBaseSet other) {
-        boolean set1IsLarger = set.size() > other.set.size();
-        PBaseSet cloneSet = (set1IsLarger ? other.cloneThisSet() : this.cloneThisSet());
-        cloneSet.set.retainAll(set1IsLarger ? this.set : other.set);
-        return cloneSet;
+        boolean set1IsLarger = len() > other.len();
+        PBaseSet smaller = set1IsLarger ? other : this;
+        PBaseSet larger = set1IsLarger ? this : other;
+        PBaseSet newSet = createSet(EmptySetStorage.INSTANCE);
+
+        for (int i = 0; i < smaller.storage.getSlotCount(); i++) {
+            final Object item = smaller.storage.getSlotItem(i);
+
+            if (item != null && larger.storage.contains(item)) {
+                newSet.addItem(item);
+            }
+        }
+
+        return newSet;
     }
 
     public PBaseSet intersection(PIterator other) {
@@ -150,7 +181,15 @@ public abstract class PBaseSet extends PythonBuiltinObject implements PIterable
     // difference
     public PBaseSet difference(PBaseSet other) {
         PBaseSet newSet = cloneThisSet();
-        newSet.set.removeAll(other.set);
+
+        for (int i = 0; i < other.storage.getSlotCount(); i++) {
+            final Object item = other.storage.getSlotItem(i);
+
+            if (item != null) {
+                newSet.storage.remove(item);
+            }
+        }
+
         return newSet;
     }
 
@@ -209,6 +248,8 @@ public abstract class PBaseSet extends PythonBuiltinObject implements PIterable
 
     protected abstract PBaseSet cloneThisSet();
 
+    protected abstract PBaseSet createSet(SetStorage newStorage);
+
     // update methods needed for updating both sets and frozen sets, internally
     // "Binary operations that mix set instances with frozenset return
     // the type of the first operand.
@@ -224,13 +265,13 @@ public abstract class PBaseSet extends PythonBuiltinObject implements PIterable
 
     protected void updateInternal(PBaseSet data) {
         // Skip the iteration if both are sets
-        set.addAll(data.set);
+        addAll(data.storage);
     }
 
     protected void updateInternal(PIterator iterator) {
         try {
             while (true) {
-                set.add(iterator.__next__());
+                addItem(iterator.__next__());
             }
         } catch (StopIterationException e) {
             // fall through
@@ -239,34 +280,41 @@ public abstract class PBaseSet extends PythonBuiltinObject implements PIterable
 
     @Override
     public Object getMax() {
-        return this.set.last();
+        return storage.getMax();
     }
 
     @Override
     public Object getMin() {
-        return this.set.first();
+        return storage.getMin();
     }
 
     @Override
     public int len() {
-        return this.set.size();
+        return storage.length();
     }
 
     @Override
     public String toString() {
-        if (set.size() == 0) {
+        if (storage.length() == 0) {
             return "set()";
         }
 
         StringBuilder buf = new StringBuilder().append("{");
+        boolean first = true;
+
+        for (int i = 0; i < storage.getSlotCount(); i++) {
+            final Object item = storage.getSlotItem(i);
 
-        for (Iterator<Object> i = set.iterator(); i.hasNext();) {
-            String str = PSequence.toString(i.next());
-            buf.append(str);
+            if (item == null) {
+                continue;
+            }
 
-            if (i.hasNext()) {
+            if (!first) {
                 buf.append(", ");
             }
+
+            buf.append(PSequence.toString(item));
+            first = false;
         }
 
         buf.append("}");
@@ -24,9 +24,8 @@
  */
 package edu.uci.python.runtime.sequence;
 
-import org.python.core.*;
-
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.iterator.*;
 
 /**
@@ -48,7 +47,7 @@ public class PEnumerate implements PIterable {
 
     @Override
     public int len() {
-        throw Py.AttributeError("'enumerate'" + " object has no attribute " + "'len'");
+        throw PythonErrors.AttributeError("'enumerate'" + " object has no attribute " + "'len'");
     }
 
     @Override
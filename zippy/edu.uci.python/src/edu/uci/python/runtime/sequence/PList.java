@@ -26,8 +26,6 @@ package edu.uci.python.runtime.sequence;
 
 import java.util.*;
 
-import org.python.core.*;
-
 import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 
@@ -36,20 +34,23 @@ import edu.uci.python.runtime.builtin.*;
 import edu.uci.python.runtime.datatype.*;
 import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.iterator.*;
+import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.sequence.storage.*;
 
 public class PList extends PSequence {
 
-    public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PList.class);
-
     @CompilationFinal private SequenceStorage store;
 
     public PList() {
         store = SequenceStorageFactory.createStorage(null);
+
+        PythonObjectAllocationInstrumentor.allocated(this);
     }
 
     public PList(SequenceStorage store) {
         this.store = store;
+
+        PythonObjectAllocationInstrumentor.allocated(this);
     }
 
     public PList(PIterator iter) {
@@ -62,11 +63,13 @@ public class PList extends PSequence {
         } catch (StopIterationException e) {
             // fall through
         }
+
+        PythonObjectAllocationInstrumentor.allocated(this);
     }
 
     @Override
     public final PythonBuiltinClass __class__() {
-        return __class__;
+        return PythonContext.getBuiltinTypeFor(PList.class);
     }
 
     @Override
@@ -198,7 +201,7 @@ public class PList extends PSequence {
     }
 
     public final void sort() {
-        store.sort();
+        SortUtil.sort(store, false);
     }
 
     @Override
@@ -287,7 +290,7 @@ public class PList extends PSequence {
         }
 
         CompilerDirectives.transferToInterpreterAndInvalidate();
-        throw Py.ValueError(value + " is not in list");
+        throw PythonErrors.ValueError(value + " is not in list");
     }
 
     public final void insert(int index, Object value) {
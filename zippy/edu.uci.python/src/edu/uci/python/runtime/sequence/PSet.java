@@ -24,22 +24,19 @@
  */
 package edu.uci.python.runtime.sequence;
 
-import java.util.*;
-
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.builtin.*;
 import edu.uci.python.runtime.iterator.*;
+import edu.uci.python.runtime.sequence.storage.*;
 
 public final class PSet extends PBaseSet {
 
-    public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PSet.class);
-
     public PSet() {
         super();
     }
 
-    public PSet(TreeSet<Object> elements) {
-        super(elements);
+    public PSet(SetStorage storage) {
+        super(storage);
     }
 
     public PSet(PIterator iterator) {
@@ -52,7 +49,7 @@ public final class PSet extends PBaseSet {
 
     @Override
     public PythonBuiltinClass __class__() {
-        return __class__;
+        return PythonContext.getBuiltinTypeFor(PSet.class);
     }
 
     // update
@@ -71,9 +68,14 @@ public final class PSet extends PBaseSet {
         return new PSet(this);
     }
 
+    @Override
+    protected PBaseSet createSet(SetStorage newStorage) {
+        return new PSet(newStorage);
+    }
+
     // add
     public boolean add(Object o) {
-        return set.add(o);
+        return addItem(o);
     }
 
     // remove
@@ -96,7 +98,7 @@ public final class PSet extends PBaseSet {
 
     // clear
     public void clear() {
-        set.clear();
+        storage = EmptySetStorage.INSTANCE;
     }
 
 }
@@ -27,55 +27,155 @@ package edu.uci.python.runtime.sequence;
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.builtin.*;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.sequence.storage.*;
 
-public final class PString extends PImmutableSequence {
+/**
+ * A Python str. It either wraps a materialized {@link String}, or a {@link StringStorage} view
+ * produced by slicing or splitting another string, or both once the view has been materialized.
+ */
+public final class PString extends PImmutableSequence implements CharSequence {
+
+    /**
+     * Shorter concatenations of two {@link String}s are simply copied.
+     */
+    public static final int MIN_LAZY_CONCAT_LENGTH = 128;
+
+    private static final String[] LATIN1_CHARS = new String[256];
 
-    public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PString.class);
+    static {
+        for (char c = 0; c < LATIN1_CHARS.length; c++) {
+            LATIN1_CHARS[c] = String.valueOf(c).intern();
+        }
+    }
 
-    private final String value;
+    private String value;
+    private StringStorage storage;
 
     public PString(String value) {
         this.value = value;
     }
 
+    public PString(StringStorage storage) {
+        this.storage = storage;
+    }
+
+    /**
+     * Single character strings, cached for Latin-1.
+     */
+    public static String charToString(char c) {
+        return c < LATIN1_CHARS.length ? LATIN1_CHARS[c] : String.valueOf(c);
+    }
+
     @Override
     public PythonBuiltinClass __class__() {
-        return __class__;
+        return PythonContext.getBuiltinTypeFor(PString.class);
     }
 
+    /**
+     * Materializes a view on first use. A view that is small compared to its backing array is
+     * dropped at that point, so a short slice does not keep a long parent string alive.
+     */
     public String getValue() {
+        if (value == null) {
+            value = storage.toString();
+
+            if (storage.isCompactionWorthy()) {
+                storage = null;
+            }
+        }
+
         return value;
     }
 
+    /**
+     * The characters of a materialized string are viewed in place, not copied.
+     */
+    public StringStorage getStringStorage() {
+        return storage != null ? storage : new StringViewStorage(value);
+    }
+
     @Override
     public int len() {
-        return value.length();
+        return value != null ? value.length() : storage.length();
+    }
+
+    public int length() {
+        return len();
+    }
+
+    public char charAt(int idx) {
+        return value != null ? value.charAt(idx) : storage.charAt(idx);
     }
 
     @Override
     public Object getItem(int idx) {
-        return value.charAt(idx);
+        return charToString(charAt(idx));
     }
 
     @Override
     public Object getSlice(int start, int stop, int step, int length) {
-        throw new UnsupportedOperationException();
+        if (step == 1) {
+            return substring(start, start + length);
+        }
+
+        return new PString(getStringStorage().getSlice(start, step, length));
     }
 
     @Override
     public Object getSlice(PSlice slice) {
-        throw new UnsupportedOperationException();
+        int length = slice.computeActualIndices(len());
+        return getSlice(slice.getStart(), slice.getStop(), slice.getStep(), length);
+    }
+
+    /**
+     * Shares the characters of this string.
+     */
+    public PString substring(int start, int stop) {
+        return new PString(getStringStorage().substring(start, stop));
+    }
+
+    public PString subSequence(int start, int end) {
+        return substring(start, end);
+    }
+
+    /**
+     * Appends in place if this string is the latest result of a concatenation.
+     */
+    public PString concat(CharSequence right) {
+        if (storage instanceof BuilderStringStorage) {
+            return new PString(((BuilderStringStorage) storage).append(right));
+        }
+
+        return new PString(BuilderStringStorage.concat(value != null ? value : this, right));
     }
 
     @Override
     public boolean lessThan(PSequence sequence) {
+        if (sequence instanceof PString) {
+            return getValue().compareTo(((PString) sequence).getValue()) < 0;
+        }
+
         throw new UnsupportedOperationException();
     }
 
     @Override
     public String toString() {
-        return value;
+        return getValue();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof PString) {
+            return getValue().equals(((PString) other).getValue());
+        }
+
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return getValue().hashCode();
     }
 
     @Override
@@ -86,17 +186,47 @@ public final class PString extends PImmutableSequence {
     @SuppressWarnings("hiding")
     @Override
     public int index(Object value) {
-        throw new UnsupportedOperationException();
+        final int index = getValue().indexOf(value.toString());
+
+        if (index < 0) {
+            throw PythonErrors.ValueError("substring not found");
+        }
+
+        return index;
     }
 
     @Override
     public Object getMax() {
-        throw new UnsupportedOperationException();
+        final int length = len();
+
+        if (length == 0) {
+            throw PythonErrors.ValueError("max() arg is an empty sequence");
+        }
+
+        char max = charAt(0);
+
+        for (int i = 1; i < length; i++) {
+            max = (char) Math.max(max, charAt(i));
+        }
+
+        return charToString(max);
     }
 
     @Override
     public Object getMin() {
-        throw new UnsupportedOperationException();
+        final int length = len();
+
+        if (length == 0) {
+            throw PythonErrors.ValueError("min() arg is an empty sequence");
+        }
+
+        char min = charAt(0);
+
+        for (int i = 1; i < length; i++) {
+            min = (char) Math.min(min, charAt(i));
+        }
+
+        return charToString(min);
     }
 
 }
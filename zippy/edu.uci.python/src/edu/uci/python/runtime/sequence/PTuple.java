@@ -26,8 +26,6 @@ package edu.uci.python.runtime.sequence;
 
 import java.util.*;
 
-import org.python.core.*;
-
 import com.oracle.truffle.api.*;
 
 import edu.uci.python.runtime.*;
@@ -35,21 +33,24 @@ import edu.uci.python.runtime.builtin.*;
 import edu.uci.python.runtime.datatype.*;
 import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.iterator.*;
+import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.sequence.storage.*;
 
 public final class PTuple extends PImmutableSequence implements Comparable<Object> {
 
-    public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PTuple.class);
-
     private final Object[] array;
 
     public PTuple() {
         array = new Object[0];
+
+        PythonObjectAllocationInstrumentor.allocated(this);
     }
 
     public PTuple(Object[] elements) {
         assert elements != null;
         array = elements;
+
+        PythonObjectAllocationInstrumentor.allocated(this);
     }
 
     public static PTuple create(Object[] objects) {
@@ -69,6 +70,13 @@ public final class PTuple extends PImmutableSequence implements Comparable<Objec
         }
 
         array = list.toArray();
+
+        PythonObjectAllocationInstrumentor.allocated(this);
+    }
+
+    @Override
+    public PythonBuiltinClass __class__() {
+        return PythonContext.getBuiltinTypeFor(PTuple.class);
     }
 
     public Object[] getArray() {
@@ -91,7 +99,7 @@ public final class PTuple extends PImmutableSequence implements Comparable<Objec
             return array[index];
         } catch (ArrayIndexOutOfBoundsException e) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("tuple index out of range");
+            throw PythonErrors.IndexError("tuple index out of range");
         }
     }
 
@@ -198,7 +206,7 @@ public final class PTuple extends PImmutableSequence implements Comparable<Objec
         for (int i = 0; i < array.length; i++) {
             Object val = array[i];
 
-            if (val.equals(value)) {
+            if (HashingUtil.equals(val, value)) {
                 return i;
             }
         }
@@ -216,13 +224,24 @@ public final class PTuple extends PImmutableSequence implements Comparable<Objec
             return false;
         }
 
-        PTuple otherTuple = (PTuple) other;
-        return Arrays.equals(array, otherTuple.array);
+        Object[] otherArray = ((PTuple) other).array;
+
+        if (otherArray.length != array.length) {
+            return false;
+        }
+
+        for (int i = 0; i < array.length; i++) {
+            if (!HashingUtil.equals(array[i], otherArray[i])) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return super.hashCode();
+        return HashingUtil.hash(this);
     }
 
 }
@@ -24,6 +24,8 @@
  */
 package edu.uci.python.runtime.sequence;
 
+import edu.uci.python.runtime.*;
+
 public class SequenceUtil {
 
     public static final int MISSING_INDEX = Integer.MIN_VALUE;
@@ -74,7 +76,7 @@ public class SequenceUtil {
         int length2 = sequence2.len();
 
         for (int i = 0; i < length1 && i < length2; i++) {
-            if (!sequence1.getItem(i).equals(sequence2.getItem(i))) {
+            if (!HashingUtil.equals(sequence1.getItem(i), sequence2.getItem(i))) {
                 return i;
             }
         }
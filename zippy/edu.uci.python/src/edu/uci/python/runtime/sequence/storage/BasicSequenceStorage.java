@@ -24,6 +24,8 @@
  */
 package edu.uci.python.runtime.sequence.storage;
 
+import edu.uci.python.runtime.*;
+
 public abstract class BasicSequenceStorage extends SequenceStorage {
 
     // nominated storage length
@@ -69,7 +71,7 @@ public abstract class BasicSequenceStorage extends SequenceStorage {
     @Override
     public int index(Object value) {
         for (int i = 0; i < length; i++) {
-            if (getItemNormalized(i).equals(value)) {
+            if (HashingUtil.equals(getItemNormalized(i), value)) {
                 return i;
             }
         }
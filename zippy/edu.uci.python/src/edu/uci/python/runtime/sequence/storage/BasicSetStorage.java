@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.sequence.storage;
+
+/**
+ * Open addressing hash table bookkeeping shared by the set storages. Probing follows CPython's
+ * perturbation scheme, so that small integers land in their own slot and iterate in order.
+ */
+public abstract class BasicSetStorage extends SetStorage {
+
+    protected static final byte FREE = 0;
+    protected static final byte USED = 1;
+    protected static final byte DUMMY = 2;
+
+    protected static final int MINSIZE = 8;
+    protected static final int PERTURB_SHIFT = 5;
+
+    protected byte[] states;
+
+    // live elements
+    protected int length;
+
+    // live and deleted elements
+    protected int filled;
+
+    @Override
+    public final int length() {
+        return length;
+    }
+
+    @Override
+    public final int getSlotCount() {
+        return states.length;
+    }
+
+    /**
+     * Keep the table at most two thirds full, counting deleted slots.
+     */
+    protected final boolean needsResize() {
+        return (filled + 1) * 3 >= states.length * 2;
+    }
+
+    protected static int nextSlot(int slot, int perturb, int mask) {
+        return (slot * 5 + perturb + 1) & mask;
+    }
+
+    /**
+     * Smallest power of two table that stays below the fill limit with the given number of
+     * elements.
+     */
+    public static int tableSizeFor(int entries) {
+        int size = MINSIZE;
+
+        while (size * 2 <= entries * 3) {
+            size <<= 1;
+        }
+
+        return size;
+    }
+
+}
@@ -24,15 +24,12 @@
  */
 package edu.uci.python.runtime.sequence.storage;
 
-import java.io.PrintStream;
 import java.util.Arrays;
 
-import org.python.core.Py;
-
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
 
-import edu.uci.python.runtime.PythonOptions;
+import edu.uci.python.runtime.exception.PythonErrors;
 import edu.uci.python.runtime.sequence.SequenceUtil;
 
 public final class BoolSequenceStorage extends BasicSequenceStorage {
@@ -99,7 +96,7 @@ public final class BoolSequenceStorage extends BasicSequenceStorage {
             return values[idx];
         } catch (ArrayIndexOutOfBoundsException e) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("list index out of range");
+            throw PythonErrors.IndexError("list index out of range");
         }
     }
 
@@ -119,7 +116,7 @@ public final class BoolSequenceStorage extends BasicSequenceStorage {
             values[idx] = value;
         } catch (ArrayIndexOutOfBoundsException e) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("list assignment index out of range");
+            throw PythonErrors.IndexError("list assignment index out of range");
         }
     }
 
@@ -326,12 +323,7 @@ public final class BoolSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public SequenceStorage generalizeFor(Object value) {
-        if (PythonOptions.TraceSequenceStorageGeneralization) {
-            PrintStream ps = System.out;
-            ps.println("[ZipPy]" + this + " generalizing to ObjectSequenceStorage");
-        }
-
-        return new ObjectSequenceStorage(getInternalArray());
+        return SequenceStorage.reportGeneralization(this, new ObjectSequenceStorage(getInternalArray()));
     }
 
     @Override
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.sequence.storage;
+
+/**
+ * Characters of a string built by concatenation. Concatenation results share one append-only
+ * {@link StringBuilder}: appending to the storage that ends at the end of the builder extends the
+ * builder in place, so a loop of <code>s += t</code> is linear. Earlier results stay valid because
+ * the prefix they cover never changes. The characters are flattened into a {@link String} only when
+ * the string is materialized.<br>
+ * Strings are shared between threads, so every access to the builder holds its lock; reads of the
+ * prefix a storage covers could otherwise race with another thread's append.
+ */
+public final class BuilderStringStorage extends StringStorage {
+
+    private final StringBuilder builder;
+
+    private BuilderStringStorage(StringBuilder builder, int offset, int length) {
+        super(offset, length);
+        this.builder = builder;
+    }
+
+    public static BuilderStringStorage concat(CharSequence left, CharSequence right) {
+        final StringBuilder builder = new StringBuilder((left.length() + right.length()) * 2);
+        builder.append(left).append(right);
+        return new BuilderStringStorage(builder, 0, builder.length());
+    }
+
+    public BuilderStringStorage append(CharSequence right) {
+        synchronized (builder) {
+            if (offset + length == builder.length()) {
+                builder.append(right);
+                return new BuilderStringStorage(builder, offset, length + right.length());
+            }
+        }
+
+        return concat(this.toString(), right);
+    }
+
+    @Override
+    public char charAt(int index) {
+        synchronized (builder) {
+            return builder.charAt(offset + index);
+        }
+    }
+
+    @Override
+    public StringStorage substring(int start, int stop) {
+        return new BuilderStringStorage(builder, offset + start, stop - start);
+    }
+
+    @Override
+    public StringStorage getSlice(int start, int step, int sliceLength) {
+        final char[] newChars = new char[sliceLength];
+
+        synchronized (builder) {
+            for (int i = 0, j = offset + start; i < sliceLength; i++, j += step) {
+                newChars[i] = builder.charAt(j);
+            }
+        }
+
+        return new UTF16StringStorage(newChars, 0, sliceLength);
+    }
+
+    @Override
+    protected int backingLength() {
+        synchronized (builder) {
+            return builder.length();
+        }
+    }
+
+    @Override
+    public String toString() {
+        synchronized (builder) {
+            return builder.substring(offset, offset + length);
+        }
+    }
+
+}
@@ -26,10 +26,10 @@ package edu.uci.python.runtime.sequence.storage;
 
 import java.util.*;
 
-import org.python.core.*;
-
 import com.oracle.truffle.api.*;
 
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.sequence.*;
 
 public final class DoubleSequenceStorage extends BasicSequenceStorage {
@@ -96,7 +96,7 @@ public final class DoubleSequenceStorage extends BasicSequenceStorage {
             return values[idx];
         } catch (ArrayIndexOutOfBoundsException e) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("list index out of range");
+            throw PythonErrors.IndexError("list index out of range");
         }
     }
 
@@ -116,7 +116,7 @@ public final class DoubleSequenceStorage extends BasicSequenceStorage {
             values[idx] = value;
         } catch (ArrayIndexOutOfBoundsException e) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("list assignment index out of range");
+            throw PythonErrors.IndexError("list assignment index out of range");
         }
     }
 
@@ -298,15 +298,17 @@ public final class DoubleSequenceStorage extends BasicSequenceStorage {
     @Override
     public void sort() {
         this.changed = true;
-        double[] copy = Arrays.copyOf(values, length);
-        Arrays.sort(copy);
-        values = copy;
-        minimizeCapacity();
+
+        if (length >= PythonOptions.ParallelSortThreshold) {
+            Arrays.parallelSort(values, 0, length);
+        } else {
+            Arrays.sort(values, 0, length);
+        }
     }
 
     @Override
     public SequenceStorage generalizeFor(Object value) {
-        return new ObjectSequenceStorage(getInternalArray());
+        return SequenceStorage.reportGeneralization(this, new ObjectSequenceStorage(getInternalArray()));
     }
 
     @Override
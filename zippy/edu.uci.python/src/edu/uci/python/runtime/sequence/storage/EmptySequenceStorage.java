@@ -26,11 +26,10 @@ package edu.uci.python.runtime.sequence.storage;
 
 import java.io.*;
 
-import org.python.core.*;
-
 import com.oracle.truffle.api.*;
 
 import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.sequence.*;
 
 public final class EmptySequenceStorage extends SequenceStorage {
@@ -78,7 +77,7 @@ public final class EmptySequenceStorage extends SequenceStorage {
 
     @Override
     public int index(Object value) {
-        throw Py.ValueError(value + " is not in list");
+        throw PythonErrors.ValueError(value + " is not in list");
     }
 
     @Override
@@ -99,13 +98,13 @@ public final class EmptySequenceStorage extends SequenceStorage {
     @Override
     public Object getItemNormalized(int idx) {
         CompilerDirectives.transferToInterpreterAndInvalidate();
-        throw Py.ValueError("list index out of range");
+        throw PythonErrors.ValueError("list index out of range");
     }
 
     @Override
     public void setItemNormalized(int idx, Object value) throws SequenceStoreException {
         CompilerDirectives.transferToInterpreterAndInvalidate();
-        throw Py.ValueError("list assignment index out of range");
+        throw PythonErrors.ValueError("list assignment index out of range");
     }
 
     @Override
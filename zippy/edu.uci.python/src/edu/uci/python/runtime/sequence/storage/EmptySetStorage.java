@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.sequence.storage;
+
+import java.io.PrintStream;
+
+import edu.uci.python.runtime.PythonOptions;
+import edu.uci.python.runtime.exception.PythonErrors;
+
+public final class EmptySetStorage extends SetStorage {
+
+    public static final EmptySetStorage INSTANCE = new EmptySetStorage();
+
+    @Override
+    public SetStorage generalizeFor(Object value) {
+        final SetStorage generalized;
+
+        if (value instanceof Integer) {
+            if (!PythonOptions.forceLongType) {
+                generalized = new IntSetStorage();
+            } else {
+                generalized = new LongSetStorage();
+            }
+        } else if (value instanceof Long) {
+            generalized = new LongSetStorage();
+        } else {
+            generalized = new ObjectSetStorage();
+        }
+
+        if (PythonOptions.TraceSequenceStorageGeneralization) {
+            PrintStream ps = System.out;
+            ps.println("[ZipPy]" + this + " generalizing to " + generalized);
+        }
+
+        return generalized;
+    }
+
+    @Override
+    public int length() {
+        return 0;
+    }
+
+    @Override
+    public SetStorage copy() {
+        return this;
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return false;
+    }
+
+    @Override
+    public boolean add(Object value) throws SequenceStoreException {
+        throw SequenceStoreException.INSTANCE;
+    }
+
+    @Override
+    public boolean remove(Object value) {
+        return false;
+    }
+
+    @Override
+    public int getSlotCount() {
+        return 0;
+    }
+
+    @Override
+    public Object getSlotItem(int slot) {
+        throw new ArrayIndexOutOfBoundsException(slot);
+    }
+
+    @Override
+    public Object getMax() {
+        throw PythonErrors.ValueError("max() arg is an empty sequence");
+    }
+
+    @Override
+    public Object getMin() {
+        throw PythonErrors.ValueError("min() arg is an empty sequence");
+    }
+
+}
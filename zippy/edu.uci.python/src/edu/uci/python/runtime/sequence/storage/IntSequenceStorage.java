@@ -24,15 +24,13 @@
  */
 package edu.uci.python.runtime.sequence.storage;
 
-import java.io.PrintStream;
 import java.util.Arrays;
 
-import org.python.core.Py;
-
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
 
 import edu.uci.python.runtime.PythonOptions;
+import edu.uci.python.runtime.exception.PythonErrors;
 import edu.uci.python.runtime.sequence.SequenceUtil;
 
 public final class IntSequenceStorage extends BasicSequenceStorage {
@@ -99,7 +97,7 @@ public final class IntSequenceStorage extends BasicSequenceStorage {
             return values[idx];
         } catch (ArrayIndexOutOfBoundsException e) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("list index out of range");
+            throw PythonErrors.IndexError("list index out of range");
         }
     }
 
@@ -119,7 +117,7 @@ public final class IntSequenceStorage extends BasicSequenceStorage {
             values[idx] = value;
         } catch (ArrayIndexOutOfBoundsException e) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("list assignment index out of range");
+            throw PythonErrors.IndexError("list assignment index out of range");
         }
     }
 
@@ -307,28 +305,21 @@ public final class IntSequenceStorage extends BasicSequenceStorage {
     @Override
     public void sort() {
         this.changed = true;
-        int[] copy = Arrays.copyOf(values, length);
-        Arrays.sort(copy);
-        values = copy;
-        minimizeCapacity();
+
+        if (length >= PythonOptions.ParallelSortThreshold) {
+            Arrays.parallelSort(values, 0, length);
+        } else {
+            Arrays.sort(values, 0, length);
+        }
     }
 
     @Override
     public SequenceStorage generalizeFor(Object value) {
         if (value instanceof Long) {
-            if (PythonOptions.TraceSequenceStorageGeneralization) {
-                PrintStream ps = System.out;
-                ps.println("[ZipPy]" + this + " generalizing to LongSequenceStorage");
-            }
-            return new LongSequenceStorage(getInternalIntArray());
-        }
-
-        if (PythonOptions.TraceSequenceStorageGeneralization) {
-            PrintStream ps = System.out;
-            ps.println("[ZipPy]" + this + " generalizing to ObjectSequenceStorage");
+            return SequenceStorage.reportGeneralization(this, new LongSequenceStorage(getInternalIntArray()));
         }
 
-        return new ObjectSequenceStorage(getInternalArray());
+        return SequenceStorage.reportGeneralization(this, new ObjectSequenceStorage(getInternalArray()));
     }
 
     @Override
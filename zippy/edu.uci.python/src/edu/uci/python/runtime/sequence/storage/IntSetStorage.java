@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.sequence.storage;
+
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives;
+
+import edu.uci.python.runtime.HashingUtil;
+import edu.uci.python.runtime.exception.PythonErrors;
+
+public final class IntSetStorage extends BasicSetStorage {
+
+    private int[] values;
+
+    public IntSetStorage() {
+        this(MINSIZE);
+    }
+
+    public IntSetStorage(int tableSize) {
+        allocate(tableSize);
+    }
+
+    private IntSetStorage(IntSetStorage other) {
+        values = Arrays.copyOf(other.values, other.values.length);
+        states = Arrays.copyOf(other.states, other.states.length);
+        length = other.length;
+        filled = other.filled;
+    }
+
+    private void allocate(int tableSize) {
+        values = new int[tableSize];
+        states = new byte[tableSize];
+        length = 0;
+        filled = 0;
+    }
+
+    public int[] getInternalIntArray() {
+        return values;
+    }
+
+    @Override
+    public SetStorage copy() {
+        return new IntSetStorage(this);
+    }
+
+    @Override
+    public Object getSlotItem(int slot) {
+        return states[slot] == USED ? values[slot] : null;
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        if (value instanceof Integer) {
+            return containsInt((int) value);
+        } else if (value instanceof Long) {
+            final long longValue = (long) value;
+            return longValue == (int) longValue && containsInt((int) longValue);
+        } else if (value instanceof Boolean) {
+            return containsInt((boolean) value ? 1 : 0);
+        } else if (value instanceof Double) {
+            final double doubleValue = (double) value;
+            return doubleValue == (int) doubleValue && containsInt((int) doubleValue);
+        }
+
+        return false;
+    }
+
+    public boolean containsInt(int value) {
+        return findSlot(value) >= 0;
+    }
+
+    private int findSlot(int value) {
+        final int hash = HashingUtil.hash(value);
+        final int mask = states.length - 1;
+        int perturb = hash;
+        int slot = hash & mask;
+
+        while (states[slot] != FREE) {
+            if (states[slot] == USED && values[slot] == value) {
+                return slot;
+            }
+
+            perturb >>>= PERTURB_SHIFT;
+            slot = nextSlot(slot, perturb, mask);
+        }
+
+        return -1;
+    }
+
+    @Override
+    public boolean add(Object value) throws SequenceStoreException {
+        if (value instanceof Integer) {
+            return addInt((int) value);
+        } else {
+            throw SequenceStoreException.INSTANCE;
+        }
+    }
+
+    public boolean addInt(int value) {
+        if (needsResize()) {
+            resize(length * 2);
+        }
+
+        final int hash = HashingUtil.hash(value);
+        final int mask = states.length - 1;
+        int perturb = hash;
+        int slot = hash & mask;
+        int freeSlot = -1;
+
+        while (states[slot] != FREE) {
+            if (states[slot] == USED) {
+                if (values[slot] == value) {
+                    return false;
+                }
+            } else if (freeSlot < 0) {
+                freeSlot = slot;
+            }
+
+            perturb >>>= PERTURB_SHIFT;
+            slot = nextSlot(slot, perturb, mask);
+        }
+
+        if (freeSlot < 0) {
+            freeSlot = slot;
+            filled++;
+        }
+
+        values[freeSlot] = value;
+        states[freeSlot] = USED;
+        length++;
+        return true;
+    }
+
+    public void addAllInts(IntSetStorage other) {
+        for (int i = 0; i < other.states.length; i++) {
+            if (other.states[i] == USED) {
+                addInt(other.values[i]);
+            }
+        }
+    }
+
+    @Override
+    public boolean remove(Object value) {
+        if (value instanceof Integer) {
+            return removeInt((int) value);
+        } else if (value instanceof Long) {
+            final long longValue = (long) value;
+            return longValue == (int) longValue && removeInt((int) longValue);
+        }
+
+        return false;
+    }
+
+    public boolean removeInt(int value) {
+        final int slot = findSlot(value);
+
+        if (slot < 0) {
+            return false;
+        }
+
+        states[slot] = DUMMY;
+        length--;
+        return true;
+    }
+
+    private void resize(int entries) {
+        final int[] oldValues = values;
+        final byte[] oldStates = states;
+        allocate(tableSizeFor(entries));
+
+        for (int i = 0; i < oldStates.length; i++) {
+            if (oldStates[i] == USED) {
+                addInt(oldValues[i]);
+            }
+        }
+    }
+
+    @Override
+    public boolean isSubsetOf(SetStorage other) {
+        if (!(other instanceof IntSetStorage)) {
+            return super.isSubsetOf(other);
+        }
+
+        final IntSetStorage otherStorage = (IntSetStorage) other;
+
+        for (int i = 0; i < states.length; i++) {
+            if (states[i] == USED && !otherStorage.containsInt(values[i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean isDisjointWith(SetStorage other) {
+        if (!(other instanceof IntSetStorage) || other.length() < length) {
+            return super.isDisjointWith(other);
+        }
+
+        final IntSetStorage otherStorage = (IntSetStorage) other;
+
+        for (int i = 0; i < states.length; i++) {
+            if (states[i] == USED && otherStorage.containsInt(values[i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public Object getMax() {
+        checkNotEmpty("max");
+        int max = Integer.MIN_VALUE;
+
+        for (int i = 0; i < states.length; i++) {
+            if (states[i] == USED && values[i] > max) {
+                max = values[i];
+            }
+        }
+
+        return max;
+    }
+
+    @Override
+    public Object getMin() {
+        checkNotEmpty("min");
+        int min = Integer.MAX_VALUE;
+
+        for (int i = 0; i < states.length; i++) {
+            if (states[i] == USED && values[i] < min) {
+                min = values[i];
+            }
+        }
+
+        return min;
+    }
+
+    private void checkNotEmpty(String function) {
+        if (length == 0) {
+            CompilerDirectives.transferToInterpreter();
+            throw PythonErrors.ValueError(function + "() arg is an empty sequence");
+        }
+    }
+
+    @Override
+    public SetStorage generalizeFor(Object value) {
+        if (value instanceof Long) {
+            final LongSetStorage generalized = new LongSetStorage(states.length);
+
+            for (int i = 0; i < states.length; i++) {
+                if (states[i] == USED) {
+                    generalized.addLong(values[i]);
+                }
+            }
+
+            return SequenceStorage.reportGeneralization(this, generalized);
+        }
+
+        return SequenceStorage.reportGeneralization(this, new ObjectSetStorage(getItems()));
+    }
+
+}
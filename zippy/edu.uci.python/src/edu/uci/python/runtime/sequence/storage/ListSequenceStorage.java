@@ -24,15 +24,12 @@
  */
 package edu.uci.python.runtime.sequence.storage;
 
-import java.io.PrintStream;
 import java.util.Arrays;
 
-import org.python.core.Py;
-
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
 
-import edu.uci.python.runtime.PythonOptions;
+import edu.uci.python.runtime.exception.PythonErrors;
 import edu.uci.python.runtime.sequence.PList;
 import edu.uci.python.runtime.sequence.SequenceUtil;
 
@@ -135,7 +132,7 @@ public final class ListSequenceStorage extends BasicSequenceStorage {
             return values[idx];
         } catch (ArrayIndexOutOfBoundsException e) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("list index out of range");
+            throw PythonErrors.IndexError("list index out of range");
         }
     }
 
@@ -155,7 +152,7 @@ public final class ListSequenceStorage extends BasicSequenceStorage {
             values[idx] = value;
         } catch (ArrayIndexOutOfBoundsException e) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("list assignment index out of range");
+            throw PythonErrors.IndexError("list assignment index out of range");
         }
     }
 
@@ -360,12 +357,7 @@ public final class ListSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public SequenceStorage generalizeFor(Object value) {
-        if (PythonOptions.TraceSequenceStorageGeneralization) {
-            PrintStream ps = System.out;
-            ps.println("[ZipPy]" + this + " generalizing to ObjectSequenceStorage");
-        }
-
-        return new ObjectSequenceStorage(getInternalArray());
+        return SequenceStorage.reportGeneralization(this, new ObjectSequenceStorage(getInternalArray()));
     }
 
     @Override
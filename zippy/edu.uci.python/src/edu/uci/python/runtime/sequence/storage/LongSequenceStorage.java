@@ -24,16 +24,14 @@
  */
 package edu.uci.python.runtime.sequence.storage;
 
-import java.io.PrintStream;
 import java.math.BigInteger;
 import java.util.Arrays;
 
-import org.python.core.Py;
-
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
 
 import edu.uci.python.runtime.PythonOptions;
+import edu.uci.python.runtime.exception.PythonErrors;
 import edu.uci.python.runtime.sequence.SequenceUtil;
 
 public final class LongSequenceStorage extends BasicSequenceStorage {
@@ -109,7 +107,7 @@ public final class LongSequenceStorage extends BasicSequenceStorage {
             return values[idx];
         } catch (ArrayIndexOutOfBoundsException e) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("list index out of range");
+            throw PythonErrors.IndexError("list index out of range");
         }
     }
 
@@ -131,7 +129,7 @@ public final class LongSequenceStorage extends BasicSequenceStorage {
             values[idx] = value;
         } catch (ArrayIndexOutOfBoundsException e) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("list assignment index out of range");
+            throw PythonErrors.IndexError("list assignment index out of range");
         }
     }
 
@@ -330,20 +328,17 @@ public final class LongSequenceStorage extends BasicSequenceStorage {
     @Override
     public void sort() {
         this.changed = true;
-        long[] copy = Arrays.copyOf(values, length);
-        Arrays.sort(copy);
-        values = copy;
-        minimizeCapacity();
+
+        if (length >= PythonOptions.ParallelSortThreshold) {
+            Arrays.parallelSort(values, 0, length);
+        } else {
+            Arrays.sort(values, 0, length);
+        }
     }
 
     @Override
     public SequenceStorage generalizeFor(Object value) {
-        if (PythonOptions.TraceSequenceStorageGeneralization) {
-            PrintStream ps = System.out;
-            ps.println("[ZipPy]" + this + " generalizing to ObjectSequenceStorage");
-        }
-
-        return new ObjectSequenceStorage(getInternalArray());
+        return SequenceStorage.reportGeneralization(this, new ObjectSequenceStorage(getInternalArray()));
     }
 
     @Override
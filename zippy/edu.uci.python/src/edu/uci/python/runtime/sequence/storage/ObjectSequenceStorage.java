@@ -26,11 +26,11 @@ package edu.uci.python.runtime.sequence.storage;
 
 import java.util.*;
 
-import org.python.core.*;
-
 import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.nodes.*;
 
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.sequence.*;
 
 public final class ObjectSequenceStorage extends BasicSequenceStorage {
@@ -53,7 +53,7 @@ public final class ObjectSequenceStorage extends BasicSequenceStorage {
             return values[idx];
         } catch (ArrayIndexOutOfBoundsException e) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("list index out of range");
+            throw PythonErrors.IndexError("list index out of range");
         }
     }
 
@@ -64,7 +64,7 @@ public final class ObjectSequenceStorage extends BasicSequenceStorage {
             values[idx] = value;
         } catch (ArrayIndexOutOfBoundsException e) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            throw Py.IndexError("list assignment index out of range");
+            throw PythonErrors.IndexError("list assignment index out of range");
         }
     }
 
@@ -219,10 +219,7 @@ public final class ObjectSequenceStorage extends BasicSequenceStorage {
     @Override
     public void sort() {
         this.changed = true;
-        Object[] copy = getCopyOfInternalArray();
-        Arrays.sort(copy);
-        values = copy;
-        minimizeCapacity();
+        SortUtil.sort(this, false);
     }
 
     @Override
@@ -245,7 +242,7 @@ public final class ObjectSequenceStorage extends BasicSequenceStorage {
         int nominalLength = length() <= other.length() ? length() : other.length();
         Object[] otherArray = other.getInternalArray();
         for (int i = 0; i < nominalLength; i++) {
-            if (!values[i].equals(otherArray[i])) {
+            if (!HashingUtil.equals(values[i], otherArray[i])) {
                 return false;
             }
         }
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.sequence.storage;
+
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.runtime.HashingUtil;
+import edu.uci.python.runtime.SortUtil;
+import edu.uci.python.runtime.exception.PythonErrors;
+
+public final class ObjectSetStorage extends BasicSetStorage {
+
+    private Object[] values;
+    private int[] hashes;
+
+    public ObjectSetStorage() {
+        allocate(MINSIZE);
+    }
+
+    public ObjectSetStorage(Object[] elements) {
+        allocate(tableSizeFor(elements.length));
+
+        for (Object element : elements) {
+            add(element);
+        }
+    }
+
+    private ObjectSetStorage(ObjectSetStorage other) {
+        values = Arrays.copyOf(other.values, other.values.length);
+        hashes = Arrays.copyOf(other.hashes, other.hashes.length);
+        states = Arrays.copyOf(other.states, other.states.length);
+        length = other.length;
+        filled = other.filled;
+    }
+
+    private void allocate(int tableSize) {
+        values = new Object[tableSize];
+        hashes = new int[tableSize];
+        states = new byte[tableSize];
+        length = 0;
+        filled = 0;
+    }
+
+    @Override
+    public SetStorage copy() {
+        return new ObjectSetStorage(this);
+    }
+
+    @Override
+    public Object getSlotItem(int slot) {
+        return states[slot] == USED ? values[slot] : null;
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return findSlot(value, HashingUtil.hash(value)) >= 0;
+    }
+
+    private int findSlot(Object value, int hash) {
+        final int mask = states.length - 1;
+        int perturb = hash;
+        int slot = hash & mask;
+
+        while (states[slot] != FREE) {
+            if (states[slot] == USED && hashes[slot] == hash && HashingUtil.equals(values[slot], value)) {
+                return slot;
+            }
+
+            perturb >>>= PERTURB_SHIFT;
+            slot = nextSlot(slot, perturb, mask);
+        }
+
+        return -1;
+    }
+
+    @Override
+    public boolean add(Object value) {
+        return add(value, HashingUtil.hash(value));
+    }
+
+    private boolean add(Object value, int hash) {
+        if (needsResize()) {
+            resize(length * 2);
+        }
+
+        final int mask = states.length - 1;
+        int perturb = hash;
+        int slot = hash & mask;
+        int freeSlot = -1;
+
+        while (states[slot] != FREE) {
+            if (states[slot] == USED) {
+                if (hashes[slot] == hash && HashingUtil.equals(values[slot], value)) {
+                    return false;
+                }
+            } else if (freeSlot < 0) {
+                freeSlot = slot;
+            }
+
+            perturb >>>= PERTURB_SHIFT;
+            slot = nextSlot(slot, perturb, mask);
+        }
+
+        if (freeSlot < 0) {
+            freeSlot = slot;
+            filled++;
+        }
+
+        values[freeSlot] = value;
+        hashes[freeSlot] = hash;
+        states[freeSlot] = USED;
+        length++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object value) {
+        final int slot = findSlot(value, HashingUtil.hash(value));
+
+        if (slot < 0) {
+            return false;
+        }
+
+        values[slot] = null;
+        states[slot] = DUMMY;
+        length--;
+        return true;
+    }
+
+    private void resize(int entries) {
+        final Object[] oldValues = values;
+        final int[] oldHashes = hashes;
+        final byte[] oldStates = states;
+        allocate(tableSizeFor(entries));
+
+        for (int i = 0; i < oldStates.length; i++) {
+            if (oldStates[i] == USED) {
+                add(oldValues[i], oldHashes[i]);
+            }
+        }
+    }
+
+    @Override
+    public Object getMax() {
+        return findExtreme("max", true);
+    }
+
+    @Override
+    public Object getMin() {
+        return findExtreme("min", false);
+    }
+
+    /**
+     * Compares with Python's {@code <}, so that mixed ints and floats, strings and user objects
+     * order as they do for {@code sorted}. Like CPython, the first of several equal extremes wins.
+     */
+    @TruffleBoundary
+    private Object findExtreme(String function, boolean max) {
+        if (length == 0) {
+            CompilerDirectives.transferToInterpreter();
+            throw PythonErrors.ValueError(function + "() arg is an empty sequence");
+        }
+
+        Object result = null;
+
+        for (int i = 0; i < states.length; i++) {
+            if (states[i] == USED && (result == null || (max ? SortUtil.lessThan(result, values[i]) : SortUtil.lessThan(values[i], result)))) {
+                result = values[i];
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public SetStorage generalizeFor(Object value) {
+        return this;
+    }
+
+}
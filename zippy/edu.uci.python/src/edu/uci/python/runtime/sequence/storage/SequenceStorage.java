@@ -24,6 +24,10 @@
  */
 package edu.uci.python.runtime.sequence.storage;
 
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.datatype.storage.*;
+import edu.uci.python.runtime.profiler.*;
+
 public abstract class SequenceStorage {
 
     protected boolean changed;
@@ -78,4 +82,27 @@ public abstract class SequenceStorage {
 
     public abstract Object getIndicativeValue();
 
+    /**
+     * Reports that {@code storage} generalizes to {@code generalized} to the enabled traces and
+     * metrics, and returns {@code generalized}.
+     */
+    public static <T> T reportGeneralization(Object storage, T generalized) {
+        String generalizedTo = generalized.getClass().getSimpleName();
+
+        if (generalized instanceof DictStorage ? PythonOptions.TraceDictStorageGeneralization : PythonOptions.TraceSequenceStorageGeneralization) {
+            System.out.println("[ZipPy]" + storage + " generalizing to " + generalizedTo);
+        }
+
+        if (PythonOptions.TraceRewrites) {
+            RewriteTracer.getInstance().storageGeneralized(storage, generalizedTo);
+        }
+
+        if (PythonOptions.Metrics) {
+            // storages do not know their context, but the module that runs them has entered it
+            PythonMetrics.countStorageGeneralization(PythonContext.getCurrent(), storage, generalizedTo);
+        }
+
+        return generalized;
+    }
+
 }
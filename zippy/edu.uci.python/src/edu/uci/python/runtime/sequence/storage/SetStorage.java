@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.sequence.storage;
+
+/**
+ * Hash based storage of a set. Like {@link SequenceStorage}, a set starts out with the most
+ * specific storage for its first element and generalizes when a value of a different type is added.
+ */
+public abstract class SetStorage {
+
+    public abstract int length();
+
+    public abstract SetStorage copy();
+
+    public abstract boolean contains(Object value);
+
+    /**
+     * Returns <code>true</code> if the value was not present.
+     */
+    public abstract boolean add(Object value) throws SequenceStoreException;
+
+    /**
+     * Returns <code>true</code> if the value was present.
+     */
+    public abstract boolean remove(Object value);
+
+    /**
+     * Number of slots in the hash table. Iterating over the slots visits elements in hash order.
+     */
+    public abstract int getSlotCount();
+
+    /**
+     * Returns the element in the slot, or <code>null</code> if the slot is not in use.
+     */
+    public abstract Object getSlotItem(int slot);
+
+    public abstract SetStorage generalizeFor(Object value);
+
+    public abstract Object getMax();
+
+    public abstract Object getMin();
+
+    public Object[] getItems() {
+        final Object[] items = new Object[length()];
+        int j = 0;
+
+        for (int i = 0; i < getSlotCount(); i++) {
+            final Object item = getSlotItem(i);
+
+            if (item != null) {
+                items[j++] = item;
+            }
+        }
+
+        return items;
+    }
+
+    public boolean isSubsetOf(SetStorage other) {
+        for (int i = 0; i < getSlotCount(); i++) {
+            final Object item = getSlotItem(i);
+
+            if (item != null && !other.contains(item)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public boolean isDisjointWith(SetStorage other) {
+        if (other.length() < length()) {
+            return other.isDisjointWith(this);
+        }
+
+        for (int i = 0; i < getSlotCount(); i++) {
+            final Object item = getSlotItem(i);
+
+            if (item != null && other.contains(item)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.sequence.storage;
+
+/**
+ * Characters of a {@link edu.uci.python.runtime.sequence.PString}. A {@link StringViewStorage}
+ * views a {@link String} in place; copied strings that only contain Latin-1 characters take one
+ * byte per character, everything else falls back to UTF-16.<br>
+ * A storage is an offset/length window of its backing array, so slicing, split and iteration hand
+ * out views that share the characters of the parent string instead of copying them.
+ */
+public abstract class StringStorage {
+
+    /**
+     * A view shorter than 1/COMPACTION_RATIO of its backing array is not worth keeping once the
+     * string has been materialized, because it would keep the whole parent alive.
+     */
+    private static final int COMPACTION_RATIO = 4;
+
+    protected static final char MAX_LATIN1 = 0xFF;
+
+    protected final int offset;
+    protected final int length;
+
+    protected StringStorage(int offset, int length) {
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public static StringStorage create(String value) {
+        final int length = value.length();
+
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) > MAX_LATIN1) {
+                return new UTF16StringStorage(value.toCharArray(), 0, length);
+            }
+        }
+
+        final byte[] bytes = new byte[length];
+
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) value.charAt(i);
+        }
+
+        return new Latin1StringStorage(bytes, 0, length);
+    }
+
+    public final int length() {
+        return length;
+    }
+
+    public abstract char charAt(int index);
+
+    /**
+     * View of the characters from start (inclusive) to stop (exclusive), sharing the backing array.
+     */
+    public abstract StringStorage substring(int start, int stop);
+
+    /**
+     * Copy of every step-th character starting at start.
+     */
+    public abstract StringStorage getSlice(int start, int step, int sliceLength);
+
+    protected abstract int backingLength();
+
+    public final boolean isCompactionWorthy() {
+        return length * COMPACTION_RATIO < backingLength();
+    }
+
+    /**
+     * Materializes the characters of this view.
+     */
+    @Override
+    public abstract String toString();
+
+}
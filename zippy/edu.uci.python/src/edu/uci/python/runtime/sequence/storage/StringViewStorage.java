@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.sequence.storage;
+
+/**
+ * Characters of a window of a {@link String}. Slicing or splitting a plain String hands out these
+ * views, which share the String itself instead of copying its characters.
+ */
+public final class StringViewStorage extends StringStorage {
+
+    private final String value;
+
+    public StringViewStorage(String value) {
+        this(value, 0, value.length());
+    }
+
+    public StringViewStorage(String value, int offset, int length) {
+        super(offset, length);
+        this.value = value;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return value.charAt(offset + index);
+    }
+
+    @Override
+    public StringStorage substring(int start, int stop) {
+        return new StringViewStorage(value, offset + start, stop - start);
+    }
+
+    @Override
+    public StringStorage getSlice(int start, int step, int sliceLength) {
+        final char[] newChars = new char[sliceLength];
+
+        for (int i = 0, j = offset + start; i < sliceLength; i++, j += step) {
+            newChars[i] = value.charAt(j);
+        }
+
+        return new StringViewStorage(new String(newChars));
+    }
+
+    @Override
+    protected int backingLength() {
+        return value.length();
+    }
+
+    @Override
+    public String toString() {
+        return value.substring(offset, offset + length);
+    }
+
+}
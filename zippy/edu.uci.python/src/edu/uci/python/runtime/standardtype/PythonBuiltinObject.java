@@ -39,10 +39,8 @@ import edu.uci.python.runtime.builtin.*;
  */
 public abstract class PythonBuiltinObject {
 
-    private static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PythonBuiltinObject.class);
-
     public PythonBuiltinClass __class__() {
-        return __class__;
+        return PythonContext.getBuiltinTypeFor(PythonBuiltinObject.class);
     }
 
     public Object __getattribute__(String name) {
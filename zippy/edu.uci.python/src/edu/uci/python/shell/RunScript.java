@@ -28,13 +28,18 @@ import java.io.OutputStream;
 
 import com.oracle.truffle.api.source.Source;
 
+import edu.uci.python.runtime.JythonRuntime;
+import edu.uci.python.runtime.PythonOptions;
+import edu.uci.python.runtime.StartupTimer;
+
 public class RunScript {
 
     public static void runThrowableScript(String[] args, Source source, OutputStream out, OutputStream err) {
         if (source != null) {
-            ZipPyConsole interp = new ZipPyConsole();
-            interp.init(args, null);
-            interp.execfile(source, null, out, err);
+            long start = System.nanoTime();
+            prepareJython(args, null);
+            ZipPyConsole.runSource(source, null, out, err);
+            StartupTimer.print("total", System.nanoTime() - start);
         }
     }
 
@@ -44,14 +49,30 @@ public class RunScript {
 
     public static void runScript(String[] args, Source source, String workingDir, OutputStream out, OutputStream err) {
         if (source != null) {
-            ZipPyConsole interp = new ZipPyConsole();
-            interp.init(args, workingDir);
+            long start = System.nanoTime();
+            ZipPyConsole interp = prepareJython(args, workingDir);
             try {
-                interp.execfile(source, null, out, err);
+                ZipPyConsole.runSource(source, null, out, err);
             } catch (Throwable t) {
                 ZipPyConsole.dispose(interp, t, false);
             }
+            StartupTimer.print("total", System.nanoTime() - start);
         }
     }
 
+    /**
+     * Initializes Jython for the script, or only records its arguments when Jython is initialized
+     * lazily, in which case there is no console to return.
+     */
+    private static ZipPyConsole prepareJython(String[] args, String workingDir) {
+        if (PythonOptions.LazyJythonInitialization) {
+            JythonRuntime.configure(args, workingDir);
+            return null;
+        }
+
+        ZipPyConsole interp = new ZipPyConsole();
+        interp.init(args, workingDir);
+        return interp;
+    }
+
 }
@@ -29,15 +29,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintStream;
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
 
 import org.python.core.Py;
 import org.python.core.PyException;
-import org.python.core.PyList;
-import org.python.core.PyString;
 import org.python.core.PySystemState;
-import org.python.core.PyTuple;
 import org.python.util.InteractiveConsole;
 import org.python.util.JLineConsole;
 
@@ -49,6 +44,7 @@ import edu.uci.python.PythonLanguage;
 import edu.uci.python.builtins.PythonDefaultBuiltinsLookup;
 import edu.uci.python.nodes.ModuleNode;
 import edu.uci.python.parser.PythonParserImpl;
+import edu.uci.python.runtime.JythonRuntime;
 import edu.uci.python.runtime.PythonContext;
 import edu.uci.python.runtime.PythonOptions;
 import edu.uci.python.runtime.PythonParseResult;
@@ -60,8 +56,16 @@ public class ZipPyConsole extends InteractiveConsole {
     /**
      * - TODO: deprecation
      */
-    @SuppressWarnings("deprecation")
     public void execfile(Source source, InputStream in, OutputStream out, OutputStream err) {
+        runSource(source, in, out, err);
+    }
+
+    /**
+     * Runs {@code source} without an interpreter instance, which leaves Jython uninitialized until
+     * the script needs it.
+     */
+    @SuppressWarnings("deprecation")
+    public static void runSource(Source source, InputStream in, OutputStream out, OutputStream err) {
         com.oracle.truffle.api.vm.PolyglotEngine.Builder builder = com.oracle.truffle.api.vm.PolyglotEngine.newBuilder();
         if (in != null)
             builder.setIn(in);
@@ -75,6 +79,7 @@ public class ZipPyConsole extends InteractiveConsole {
         com.oracle.truffle.api.vm.PolyglotEngine engine = builder.build();
         engine.eval(source);
         engine.dispose();
+        PythonLanguage.printRuntimeReports();
     }
 
     public void execfile(Source source) {
@@ -100,7 +105,7 @@ public class ZipPyConsole extends InteractiveConsole {
      * with the std file streams.
      */
     public static InteractiveConsole newInterpreter(String[] args, String workingDir, boolean interactiveStdin) {
-        PySystemState systemState = createPySystemState(args);
+        PySystemState systemState = JythonRuntime.initialize(args, workingDir);
         InteractiveConsole console = null;
         if (!interactiveStdin) {
             console = new InteractiveConsole();
@@ -116,12 +121,12 @@ public class ZipPyConsole extends InteractiveConsole {
             console = (console == null) ? new ZipPyConsole() : console;
         }
 
-        setPySystemState(console, systemState, workingDir);
+        systemState.__setattr__("_jy_interpreter", Py.java2py(console));
         return console;
     }
 
     public void init(String[] args, String workingDir) {
-        setPySystemState(this, createPySystemState(args), workingDir);
+        JythonRuntime.initialize(args, workingDir).__setattr__("_jy_interpreter", Py.java2py(this));
     }
 
     /**
@@ -150,72 +155,11 @@ public class ZipPyConsole extends InteractiveConsole {
     }
 
     /**
-     ***************************************************
-     * Jython front-end parser preparation and cleanup *
-     ***************************************************
+     ******************
+     * Jython cleanup *
+     ******************
      */
 
-    private static PyList passArgs(String[] args) {
-        PyList argv = new PyList();
-        if (args != null) {
-            for (String arg : args) {
-                argv.append(Py.newStringOrUnicode(arg));
-            }
-        }
-        return argv;
-    }
-
-    private static PySystemState createPySystemState(String[] args) {
-        String[] argsFiltered = args;
-
-        // Setup the basic python system state from these options
-        PySystemState systemState = null;
-        if (argsFiltered.length > 0) {
-            Py.setSystemState(new PySystemState()).argv = passArgs(argsFiltered);
-            Py.getSystemState().argv = passArgs(argsFiltered);
-            systemState = Py.getSystemState();
-        } else {
-            PySystemState.initialize(PySystemState.getBaseProperties(), PySystemState.getBaseProperties(), argsFiltered);
-            systemState = Py.getSystemState();
-        }
-
-        return systemState;
-    }
-
-    private static void setPySystemState(InteractiveConsole console, PySystemState systemState, String workingDir) {
-
-        systemState.__setattr__("_jy_interpreter", Py.java2py(console));
-
-        try {
-            // Modify verion info in Jython runtime
-            Field field = PySystemState.class.getField("version_info");
-            field.setAccessible(true);
-
-            Field modifiersField = Field.class.getDeclaredField("modifiers");
-            modifiersField.setAccessible(true);
-            modifiersField.setInt(field, field.getModifiers() & ~Modifier.FINAL);
-
-            field.set(null, new PyTuple(Py.newInteger(3), Py.newInteger(5), Py.newInteger(0), Py.newString("zippy"), Py.newInteger(0)));
-            modifiersField.setInt(field, field.getModifiers() & Modifier.FINAL);
-        } catch (Exception e) {
-            // pass through
-        }
-
-        String workingPath = System.getProperty("user.dir");
-        systemState.path.insert(0, new PyString(workingPath));
-        systemState.setCurrentWorkingDir(workingPath);
-        Py.getSystemState().path.insert(0, new PyString(workingPath));
-        Py.getSystemState().setCurrentWorkingDir(workingPath);
-        if (workingDir != null) {
-            workingPath = workingDir;
-            PyString path = new PyString(workingPath);
-            systemState.path.insert(0, path);
-            systemState.setCurrentWorkingDir(workingPath);
-            Py.getSystemState().path.insert(0, path);
-            Py.getSystemState().setCurrentWorkingDir(workingPath);
-        }
-    }
-
     public static void dispose(InteractiveConsole console, Throwable t, boolean exit) {
         if (t != null) {
             if (t instanceof PyException && ((PyException) t).match(org.python.modules._systemrestart.SystemRestart)) {
@@ -233,13 +177,17 @@ public class ZipPyConsole extends InteractiveConsole {
                 } catch (PyException pye) {
                     // continue
                 }
-                console.cleanup();
+                if (console != null) {
+                    console.cleanup();
+                }
                 // ..reset the state...
                 Py.setSystemState(new PySystemState());
                 // ...and start again
             } else {
                 Py.printException(t);
-                console.cleanup();
+                if (console != null) {
+                    console.cleanup();
+                }
                 if (exit) {
                     System.exit(-1);
                 }
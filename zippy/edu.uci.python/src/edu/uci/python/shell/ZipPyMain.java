@@ -35,6 +35,13 @@ import org.python.core.util.RelativeFile;
 import org.python.modules.posix.PosixModule;
 import org.python.util.InteractiveConsole;
 
+import com.oracle.truffle.api.source.Source;
+
+import edu.uci.python.PythonLanguage;
+import edu.uci.python.runtime.JythonRuntime;
+import edu.uci.python.runtime.PythonOptions;
+import edu.uci.python.runtime.StartupTimer;
+
 public class ZipPyMain {
 
     public static void main(String[] args) {
@@ -54,6 +61,19 @@ public class ZipPyMain {
                     path = script.getAbsoluteFile().getParent();
                 }
 
+                long start = System.nanoTime();
+
+                if (PythonOptions.LazyJythonInitialization) {
+                    JythonRuntime.configure(args, null);
+                    try {
+                        ZipPyConsole.runSource(Source.newBuilder(script).mimeType(PythonLanguage.MIME_TYPE).build(), null, null, null);
+                    } catch (Throwable t) {
+                        ZipPyConsole.dispose(null, t, true);
+                    }
+                    StartupTimer.print("total", System.nanoTime() - start);
+                    return;
+                }
+
                 InteractiveConsole interp = ZipPyConsole.newInterpreter(args, null, true);
                 try {
                     FileInputStream file;
@@ -70,6 +90,7 @@ public class ZipPyMain {
                             return;
                         } else {
                             interp.execfile(file, scriptName);
+                            StartupTimer.print("total", System.nanoTime() - start);
                         }
                     } finally {
                         file.close();
@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) 2018, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.shell;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.python.core.Py;
+import org.python.core.PyException;
+import org.python.core.PyFile;
+import org.python.core.PyInteger;
+import org.python.core.PyLong;
+import org.python.core.PyObject;
+import org.python.core.PySystemState;
+
+import com.oracle.truffle.api.source.Source;
+
+import edu.uci.python.PythonLanguage;
+import edu.uci.python.runtime.JythonRuntime;
+
+/**
+ * Runs many Python jobs concurrently in one JVM.
+ *
+ * Each worker thread owns one engine, and so one {@link edu.uci.python.runtime.PythonContext},
+ * which it initializes once and then reuses for every job it picks up. Each evaluation gets a fresh
+ * {@code __main__} module, while modules imported by earlier jobs stay cached in the worker's
+ * context. Jython's {@code sys} is per worker thread as well, so {@code sys.argv} of concurrent
+ * jobs do not interfere. The JVM-wide profiler reports are printed once, after the last worker
+ * has disposed its context.
+ */
+public final class ZipPyWorkerPool implements AutoCloseable {
+
+    private static final Source WARM_UP = Source.newBuilder("pass").name("(warm-up)").mimeType(PythonLanguage.MIME_TYPE).build();
+
+    private final ThreadLocal<Worker> workers = new ThreadLocal<>();
+    private final AtomicInteger liveThreads = new AtomicInteger();
+    private final ThreadPoolExecutor executor;
+
+    public ZipPyWorkerPool() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ZipPyWorkerPool(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("worker pool size must be positive: " + size);
+        }
+
+        this.executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(), new WorkerThreadFactory());
+        this.executor.prestartAllCoreThreads();
+    }
+
+    public int getSize() {
+        return executor.getCorePoolSize();
+    }
+
+    public Future<JobResult> submit(Source source) {
+        return submit(source, new String[0], new byte[0]);
+    }
+
+    public Future<JobResult> submit(final Source source, final String[] args, final byte[] stdin) {
+        return executor.submit(new Callable<JobResult>() {
+
+            public JobResult call() {
+                Worker worker = workers.get();
+                if (worker == null) {
+                    // the thread failed to create its worker; retry, and fail this job if it fails again
+                    worker = new Worker();
+                    workers.set(worker);
+                }
+
+                return worker.run(source, args, stdin);
+            }
+
+        });
+    }
+
+    /**
+     * Lets queued jobs finish, then disposes every worker's context.
+     */
+    public void close() {
+        executor.shutdown();
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    private final class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        public Thread newThread(final Runnable loop) {
+            liveThreads.incrementAndGet();
+            Thread thread = new Thread(new Runnable() {
+
+                public void run() {
+                    try {
+                        workers.set(new Worker());
+                    } catch (Throwable t) {
+                        // the thread must still run its loop, or the pool would count it but never
+                        // hand it a job; the first job it picks up creates the worker again
+                    }
+
+                    try {
+                        loop.run();
+                    } finally {
+                        Worker worker = workers.get();
+                        workers.remove();
+                        if (worker != null) {
+                            worker.dispose();
+                        }
+
+                        // core threads only exit when the pool shuts down
+                        if (liveThreads.decrementAndGet() == 0) {
+                            PythonLanguage.printRuntimeReports();
+                        }
+                    }
+                }
+
+            }, "zippy-worker-" + count.incrementAndGet());
+
+            thread.setDaemon(true);
+            return thread;
+        }
+
+    }
+
+    @SuppressWarnings("deprecation")
+    private static final class Worker {
+
+        private final SwitchableInputStream in = new SwitchableInputStream();
+        private final SwitchableOutputStream out = new SwitchableOutputStream();
+        private final SwitchableOutputStream err = new SwitchableOutputStream();
+        private final PySystemState systemState;
+        private final com.oracle.truffle.api.vm.PolyglotEngine engine;
+
+        Worker() {
+            JythonRuntime.ensureInitialized();
+            systemState = new PySystemState();
+            Py.setSystemState(systemState);
+
+            engine = com.oracle.truffle.api.vm.PolyglotEngine.newBuilder().setIn(in).setOut(out).setErr(err).build();
+            engine.eval(WARM_UP);
+        }
+
+        JobResult run(Source source, String[] args, byte[] stdin) {
+            ByteArrayOutputStream jobOut = new ByteArrayOutputStream();
+            ByteArrayOutputStream jobErr = new ByteArrayOutputStream();
+            in.switchTo(new ByteArrayInputStream(stdin == null ? new byte[0] : stdin));
+            out.switchTo(jobOut);
+            err.switchTo(jobErr);
+            systemState.argv = JythonRuntime.toArgv(args);
+            // a fresh file per job, so that input buffered but not read by one job never reaches the next
+            systemState.stdin = new PyFile(new ByteArrayInputStream(stdin == null ? new byte[0] : stdin));
+            int status = 0;
+
+            try {
+                engine.eval(source);
+            } catch (Throwable t) {
+                status = exitStatus(t, jobErr);
+            } finally {
+                in.switchTo(null);
+                out.switchTo(null);
+                err.switchTo(null);
+            }
+
+            return new JobResult(status, jobOut.toString(), jobErr.toString());
+        }
+
+        void dispose() {
+            engine.dispose();
+        }
+
+        /**
+         * The status {@code sys.exit} asked for, or 1 after printing the traceback of any other
+         * uncaught exception: the Python traceback for a Python exception, the Java stack trace for
+         * anything else.
+         */
+        private static int exitStatus(Throwable t, ByteArrayOutputStream jobErr) {
+            Throwable cause = t;
+            while (!(cause instanceof PyException) && cause.getCause() != null && cause.getCause() != cause) {
+                cause = cause.getCause();
+            }
+
+            if (cause instanceof PyException) {
+                PyException exception = (PyException) cause;
+                if (exception.match(Py.SystemExit)) {
+                    PyObject code = exception.value.__findattr__("code");
+                    if (code == null || code == Py.None) {
+                        return 0;
+                    } else if (code instanceof PyInteger || code instanceof PyLong) {
+                        return code.asInt();
+                    }
+
+                    print(jobErr, code.toString());
+                    return 1;
+                }
+
+                // Jython formats a PyException as its Python traceback
+                print(jobErr, exception.toString());
+                return 1;
+            }
+
+            PrintStream stream = new PrintStream(jobErr, true);
+            cause.printStackTrace(stream);
+            stream.flush();
+            return 1;
+        }
+
+        private static void print(ByteArrayOutputStream jobErr, String message) {
+            byte[] bytes = (message + System.getProperty("line.separator")).getBytes();
+            jobErr.write(bytes, 0, bytes.length);
+        }
+
+    }
+
+    /**
+     * The outcome of one job.
+     */
+    public static final class JobResult {
+
+        private final int exitStatus;
+        private final String output;
+        private final String errorOutput;
+
+        JobResult(int exitStatus, String output, String errorOutput) {
+            this.exitStatus = exitStatus;
+            this.output = output;
+            this.errorOutput = errorOutput;
+        }
+
+        public int getExitStatus() {
+            return exitStatus;
+        }
+
+        public String getOutput() {
+            return output;
+        }
+
+        public String getErrorOutput() {
+            return errorOutput;
+        }
+
+        @Override
+        public String toString() {
+            return "JobResult(" + exitStatus + ")";
+        }
+
+    }
+
+    /**
+     * Redirects a worker's engine stream to the current job; discards output between jobs.
+     */
+    private static final class SwitchableOutputStream extends OutputStream {
+
+        private OutputStream delegate;
+
+        void switchTo(OutputStream stream) {
+            delegate = stream;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (delegate != null) {
+                delegate.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (delegate != null) {
+                delegate.write(b, off, len);
+            }
+        }
+
+    }
+
+    private static final class SwitchableInputStream extends InputStream {
+
+        private InputStream delegate;
+
+        void switchTo(InputStream stream) {
+            delegate = stream;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return delegate == null ? -1 : delegate.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return delegate == null ? -1 : delegate.read(b, off, len);
+        }
+
+    }
+
+}